@@ -0,0 +1,98 @@
+package CommandLine;
+
+import java.util.Vector;
+
+/* The result of running one operation of the batch runner on one input, as an ordered list of named fields. It is printed
+ * as a single line of JSON so that results can be read by other programs */
+public class BatchResult {
+
+	/* The names of the fields, in the order they were added */
+	private Vector<String> names = new Vector<String>();
+
+	/* The values of the fields, already in JSON form, in one-to-one correspondence with the above list */
+	private Vector<String> values = new Vector<String>();
+
+	/* Whether the operation succeeded */
+	private boolean success = true;
+
+	/* Constructs the result for the given operation and input */
+	public BatchResult(String operation, String input) {
+		addString("operation",operation);
+		addString("input",input);
+	}
+
+	/* Adds a text field */
+	public void addString(String name, String value) {
+		names.add(name);
+		values.add(quote(value));
+	}
+
+	/* Adds a whole number field */
+	public void addNumber(String name, long value) {
+		names.add(name);
+		values.add(Long.toString(value));
+	}
+
+	/* Adds a true/false field */
+	public void addBoolean(String name, boolean value) {
+		names.add(name);
+		values.add(Boolean.toString(value));
+	}
+
+	/* Records that the operation failed for the given reason */
+	public void fail(String reason) {
+		success=false;
+		addString("error",reason);
+	}
+
+	/* Returns whether the operation succeeded */
+	public boolean succeeded() {
+		return success;
+	}
+
+	/* Prints the result as a single line of JSON, with the status first */
+	public String printJSON() {
+		StringBuffer output = new StringBuffer();
+		output.append("{\"status\":");
+		output.append(quote(success ? "ok" : "error"));
+		for(int i=0;i<names.size();i++){
+			output.append(",");
+			output.append(quote(names.get(i)));
+			output.append(":");
+			output.append(values.get(i));
+		}
+		output.append("}");
+		return output.toString();
+	}
+
+	/* Puts the given text in quotes, escaping any characters which JSON does not allow inside a string */
+	private static String quote(String text) {
+		StringBuffer output = new StringBuffer();
+		output.append('"');
+		for(int i=0;i<text.length();i++){
+			char c = text.charAt(i);
+			if(c=='"' || c=='\\'){
+				output.append('\\');
+				output.append(c);
+			}
+			else if(c=='\n'){
+				output.append("\\n");
+			}
+			else if(c=='\r'){
+				output.append("\\r");
+			}
+			else if(c=='\t'){
+				output.append("\\t");
+			}
+			else if(c<0x20){
+				output.append(String.format("\\u%04x",(int)c));
+			}
+			else{
+				output.append(c);
+			}
+		}
+		output.append('"');
+		return output.toString();
+	}
+
+}
@@ -0,0 +1,579 @@
+package CommandLine;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import ConstructionOperations.ConstructionCircuit;
+import ConstructionOperations.GenerateDecomposition;
+import ConversionOperations.SeqToSetConversion;
+import ConversionOperations.SetToSeqConversion;
+import DISetAlgebraLTSStructure.LTSDefinition;
+import DISetAlgebraLTSStructure.Simulation;
+import DISetAlgebraOperations.GenerationBudget;
+import DISetAlgebraOperations.InfiniteGrowthException;
+import DISetAlgebraOperations.LTSAnalysis;
+import DISetAlgebraOperations.LTSGeneration;
+import DISetAlgebraOperations.ParallelLTSGeneration;
+import DISetAlgebraOperations.ParallelSimulationVerification;
+import DISetAlgebraOperations.SimulationVerification;
+import DISetAlgebraOperations.WeakBisimilarity;
+import DISetAlgebraOperations.WeakSimulation;
+import DISetAlgebraStructure.PartiallyVisibleNetwork;
+import EnvironmentOperations.NonArbGeneration;
+import EnvironmentOperations.UncertaintyGeneration;
+import InputOutputOperations.ParseDISetAlgebra;
+import InputOutputOperations.ParseDISetAlgebraSimulation;
+import InputOutputOperations.ParseSequentialMachine;
+import InputOutputOperations.ParseSetNotationModule;
+import Logging.Log;
+import Logging.LogSink;
+import SequentialMachineStructure.NDSequentialMachine;
+import SetNotationStructure.SetNotationModule;
+
+/* Runs one of the software's operations on a list of input files without the GUI, so it can be used from scripts and on machines
+ * with no display. The inputs are the same definitions as the GUI's preset files. Several inputs are processed at once, and one line of
+ * JSON (see BatchResult) is printed to standard output for each input, in the order the inputs were given. Log messages are only
+ * shown (on standard error) if asked for */
+public class BatchRunner {
+
+	/* The usage message printed when the arguments are not valid */
+	private static final String USAGE =
+			"Usage: java Launch <operation> [options] <input>...\n\n"
+			+ "Operations:\n"
+			+ "  lts          Generate and analyse the LTS of each DI-Set algebra network (.dsa)\n"
+			+ "  simulation   Verify a simulation relation; each input is network1.dsa,network2.dsa,relation.bsp\n"
+			+ "  bisimilar    Decide weak bisimilarity of two networks; each input is network1.dsa,network2.dsa\n"
+			+ "  simulates    Compute the greatest weak simulation between two networks; each input is network1.dsa,network2.dsa\n"
+			+ "  toset        Convert each (ND) sequential machine (.sqmp) to a Set Notation module\n"
+			+ "  toseq        Convert each Set Notation module (.snp) to an (ND) sequential machine\n"
+			+ "  environment  Generate the environment of each Set Notation module (.snp)\n"
+			+ "  decompose    Construct each Set Notation module (.snp) using a network of modules\n\n"
+			+ "Options:\n"
+			+ "  -threads N         Number of inputs processed at once (default: one per processor)\n"
+			+ "  -print             Include the full result (LTS, module, construction, relation) in the output\n"
+			+ "  -verbose           Show log messages on standard error\n"
+			+ "  -trace             Show detailed tracing log messages on standard error\n"
+			+ "  -noinfinite        (lts, simulation, bisimilar, simulates) Disable infinite growth detection\n"
+			+ "  -bfs               (lts) Explore breadth-first rather than depth-first\n"
+			+ "  -por               (lts) Use partial order reduction\n"
+			+ "  -maxstates N       (lts) Stop generation once the LTS has N states\n"
+			+ "  -maxtransitions N  (lts) Stop generation once the LTS has N transitions\n"
+			+ "  -timelimit MS      (lts) Stop generation after MS milliseconds\n"
+			+ "  -ltsthreads N      (lts) Generate each LTS using N threads (cannot be combined with limits)\n"
+			+ "  -verifythreads N   (simulation) Verify the pairs using N threads, and report every move which is not matched\n"
+			+ "  -type T            (simulation) bisimulation (default), left (network 1 simulates network 2)\n"
+			+ "                     or right (network 2 simulates network 1)\n"
+			+ "                     (simulates) left (default) or right only\n"
+			+ "  -keepunreachable   (toset) Keep states unreachable from the top-most state\n"
+			+ "  -keepduplicates    (environment) Keep duplicate environment states\n";
+
+	/* The options which are followed by a value */
+	private static final List<String> VALUE_OPTIONS = Arrays.asList("-threads","-maxstates","-maxtransitions","-timelimit","-ltsthreads","-verifythreads","-type");
+
+	/* The operation to run */
+	private String operation;
+
+	/* The inputs to run it on */
+	private Vector<String> inputs = new Vector<String>();
+
+	/* The number of inputs processed at once */
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/* Whether the full result of each operation is included in the output */
+	private boolean printResult = false;
+
+	/* The level of log messages shown on standard error. Only errors are shown unless asked for */
+	private int logLevel = Log.ERROR;
+
+	/* Settings for LTS generation */
+	private boolean infiniteCheck = true;
+	private int explorationOrder = LTSGeneration.DEPTH_FIRST;
+	private boolean partialOrderReduction = false;
+	private int maxStates = 0;
+	private long maxTransitions = 0;
+	private long timeLimit = 0;
+	private int ltsThreads = 0;
+
+	/* The type of simulation to verify, numbered as in SimulationVerification */
+	private int simulationType = 1;
+
+	/* The number of threads used to verify a simulation, or 0 to verify it on a single thread stopping at the first move which is not matched */
+	private int verifyThreads = 0;
+
+	/* Whether unreachable states are removed after converting to Set Notation */
+	private boolean removeUnreachable = true;
+
+	/* Whether duplicate states are removed after generating an environment */
+	private boolean removeDuplicates = true;
+
+	/* Runs the batch described by the given command line arguments, and returns the exit code: 0 if every input succeeded,
+	 * 1 if any failed, or 2 if the arguments were not valid */
+	public static int run(String[] args) {
+		if(args.length==1 && (args[0].equals("help") || args[0].equals("-help"))){
+			System.out.print(USAGE);
+			return 0;
+		}
+		BatchRunner runner = new BatchRunner();
+		String problem = runner.parseArguments(args);
+		if(problem!=null){
+			System.err.println(problem);
+			System.err.println();
+			System.err.print(USAGE);
+			return 2;
+		}
+		return runner.runAll();
+	}
+
+	/* Reads the operation, options and inputs from the given arguments. Returns a description of the problem if they are
+	 * not valid, or null otherwise */
+	private String parseArguments(String[] args) {
+		if(args.length==0){
+			return "No operation given";
+		}
+		operation=args[0];
+		if(!operation.equals("lts") && !operation.equals("simulation") && !operation.equals("bisimilar") && !operation.equals("simulates")
+				&& !operation.equals("toset") && !operation.equals("toseq")
+				&& !operation.equals("environment") && !operation.equals("decompose")){
+			return "Unknown operation: "+operation;
+		}
+		try{
+			for(int i=1;i<args.length;i++){
+				String arg = args[i];
+				if(!arg.startsWith("-")){
+					inputs.add(arg);
+				}
+				else if(arg.equals("-print")){
+					printResult=true;
+				}
+				else if(arg.equals("-verbose")){
+					logLevel=Log.INFO;
+				}
+				else if(arg.equals("-trace")){
+					logLevel=Log.TRACE;
+				}
+				else if(arg.equals("-noinfinite")){
+					infiniteCheck=false;
+				}
+				else if(arg.equals("-bfs")){
+					explorationOrder=LTSGeneration.BREADTH_FIRST;
+				}
+				else if(arg.equals("-por")){
+					partialOrderReduction=true;
+				}
+				else if(arg.equals("-keepunreachable")){
+					removeUnreachable=false;
+				}
+				else if(arg.equals("-keepduplicates")){
+					removeDuplicates=false;
+				}
+				else if(!VALUE_OPTIONS.contains(arg)){
+					return "Unknown option: "+arg;
+				}
+				else if(i+1==args.length){
+					return "Missing value for option "+arg;
+				}
+				else if(arg.equals("-threads")){
+					threads=Integer.parseInt(args[++i]);
+				}
+				else if(arg.equals("-maxstates")){
+					maxStates=Integer.parseInt(args[++i]);
+				}
+				else if(arg.equals("-maxtransitions")){
+					maxTransitions=Long.parseLong(args[++i]);
+				}
+				else if(arg.equals("-timelimit")){
+					timeLimit=Long.parseLong(args[++i]);
+				}
+				else if(arg.equals("-ltsthreads")){
+					ltsThreads=Integer.parseInt(args[++i]);
+				}
+				else if(arg.equals("-verifythreads")){
+					verifyThreads=Integer.parseInt(args[++i]);
+				}
+				else if(arg.equals("-type")){
+					String type = args[++i];
+					if(type.equals("bisimulation")){
+						if(operation.equals("simulates")){
+							return "simulates needs -type left or right, as it computes a simulation in one direction";
+						}
+						simulationType=1;
+					}
+					else if(type.equals("left")){
+						simulationType=2;
+					}
+					else if(type.equals("right")){
+						simulationType=3;
+					}
+					else{
+						return "Unknown simulation type: "+type;
+					}
+				}
+			}
+		}
+		catch(NumberFormatException e){
+			return "Invalid number: "+e.getMessage();
+		}
+		if(inputs.size()==0){
+			return "No inputs given";
+		}
+		if(threads<=0){
+			threads=Runtime.getRuntime().availableProcessors();
+		}
+		if(operation.equals("simulates") && simulationType==1){
+			simulationType=2;
+		}
+		if((operation.equals("simulation") || operation.equals("bisimilar") || operation.equals("simulates")) && partialOrderReduction){
+			return "-por cannot be used for "+operation+", as a reduced LTS leaves out some traces";
+		}
+		if(ltsThreads>0 && (maxStates>0 || maxTransitions>0 || timeLimit>0)){
+			return "-ltsthreads cannot be combined with -maxstates, -maxtransitions or -timelimit";
+		}
+		return null;
+	}
+
+	/* Runs the operation on every input using a pool of threads, printing each result once it and every earlier result are finished */
+	private int runAll() {
+		Log.setLevel(logLevel);
+		Log.setSink(new LogSink(){
+			public void messagesWaiting(){
+				System.err.print(Log.drain());
+			}
+		});
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		Vector<Future<BatchResult>> results = new Vector<Future<BatchResult>>();
+		for(int i=0;i<inputs.size();i++){
+			final String input = inputs.get(i);
+			results.add(pool.submit(new Callable<BatchResult>(){
+				public BatchResult call(){
+					return runOne(input);
+				}
+			}));
+		}
+		pool.shutdown();
+
+		int exitCode = 0;
+		for(int i=0;i<results.size();i++){
+			BatchResult result;
+			try{
+				result=results.get(i).get();
+			}
+			catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				return 1;
+			}
+			catch(ExecutionException e){
+				result = new BatchResult(operation,inputs.get(i));
+				result.fail(describe(e.getCause()));
+			}
+			if(!result.succeeded()){
+				exitCode=1;
+			}
+			System.out.println(result.printJSON());
+			System.out.flush();
+		}
+		return exitCode;
+	}
+
+	/* Runs the operation on a single input, recording any failure in the result */
+	private BatchResult runOne(String input) {
+		BatchResult result = new BatchResult(operation,input);
+		long startTime = System.currentTimeMillis();
+		try{
+			if(operation.equals("lts")){
+				runLTS(input,result);
+			}
+			else if(operation.equals("simulation")){
+				runSimulation(input,result);
+			}
+			else if(operation.equals("bisimilar")){
+				runBisimilar(input,result);
+			}
+			else if(operation.equals("simulates")){
+				runSimulates(input,result);
+			}
+			else if(operation.equals("toset")){
+				runToSet(input,result);
+			}
+			else if(operation.equals("toseq")){
+				runToSeq(input,result);
+			}
+			else if(operation.equals("environment")){
+				runEnvironment(input,result);
+			}
+			else if(operation.equals("decompose")){
+				runDecompose(input,result);
+			}
+		}
+		catch(InfiniteGrowthException e){
+			result.addBoolean("infiniteGrowth",true);
+			result.fail(e.getMessage());
+		}
+		catch(Exception e){
+			result.fail(describe(e));
+		}
+		catch(StackOverflowError e){
+			result.fail("Stack overflow");
+		}
+		catch(OutOfMemoryError e){
+			result.fail("Out of memory");
+		}
+		result.addNumber("ms",System.currentTimeMillis()-startTime);
+		return result;
+	}
+
+	/* Generates and analyses the LTS of the network in the given file */
+	private void runLTS(String input, BatchResult result) throws Exception {
+		LTSDefinition definition = generateLTS(input);
+		boolean[] properties = LTSAnalysis.analyseProperties(definition);
+		result.addBoolean("complete",definition.isComplete());
+		result.addNumber("states",definition.getNoOfStates());
+		result.addNumber("transitions",definition.getNoOfTransitions());
+		result.addNumber("endStates",definition.getNoOfEndStates());
+		if(!definition.isComplete()){
+			result.addNumber("unexploredStates",definition.getFrontier().getNoOfStates());
+		}
+		result.addBoolean("clashes",properties[0]);
+		result.addBoolean("alwaysSafe",properties[1]);
+		if(printResult){
+			result.addString("lts",definition.printAll());
+		}
+	}
+
+	/* Verifies the simulation relation in the third of the given comma-separated files, between the LTSs of the networks in the
+	 * first two */
+	private void runSimulation(String input, BatchResult result) throws Exception {
+		String[] files = input.split(",");
+		if(files.length!=3){
+			throw new Exception("Simulation input must be network1.dsa,network2.dsa,relation.bsp");
+		}
+		LTSDefinition left = generateLTS(files[0]);
+		LTSDefinition right = generateLTS(files[1]);
+		if(!left.isComplete() || !right.isComplete()){
+			throw new Exception("LTS generation stopped before completion, so the simulation cannot be verified");
+		}
+		Simulation simulation = ParseDISetAlgebraSimulation.parseDefinition(readDefinition(files[2]),left,right);
+		if(simulation==null){
+			throw new Exception("Error parsing Simulation definition");
+		}
+		boolean valid;
+		Vector<String> failures = null;
+		if(verifyThreads>0){
+			failures = ParallelSimulationVerification.findFailures(simulation,left,right,simulationType,verifyThreads);
+			valid=failures.size()==0;
+		}
+		else{
+			valid=SimulationVerification.validSimulation(simulation,left,right,simulationType);
+		}
+		if(simulationType==1){
+			result.addString("type","bisimulation");
+		}
+		else if(simulationType==2){
+			result.addString("type","network 1 simulates network 2");
+		}
+		else{
+			result.addString("type","network 2 simulates network 1");
+		}
+		result.addNumber("pairs",simulation.getNoOfPairs());
+		result.addBoolean("valid",valid);
+		result.addBoolean("initialPairPresent",simulation.pairPresent(0,0));
+		if(failures!=null){
+			StringBuffer report = new StringBuffer();
+			for(int i=0;i<failures.size();i++){
+				report.append(failures.get(i)+"\n");
+			}
+			result.addNumber("unmatchedMoves",failures.size());
+			result.addString("unmatched",report.toString());
+		}
+	}
+
+	/* Decides whether the networks in the given comma-separated files are weakly bisimilar, by computing the coarsest weak
+	 * bisimulation between their LTSs. The relation can be printed as a Simulation definition for the simulation operation */
+	private void runBisimilar(String input, BatchResult result) throws Exception {
+		String[] files = input.split(",");
+		if(files.length!=2){
+			throw new Exception("Bisimilarity input must be network1.dsa,network2.dsa");
+		}
+		LTSDefinition left = generateLTS(files[0]);
+		LTSDefinition right = generateLTS(files[1]);
+		if(!left.isComplete() || !right.isComplete()){
+			throw new Exception("LTS generation stopped before completion, so bisimilarity cannot be decided");
+		}
+		WeakBisimilarity bisimilarity = new WeakBisimilarity(left,right);
+		Simulation witness = bisimilarity.getWitness();
+		result.addBoolean("bisimilar",bisimilarity.bisimilar());
+		result.addNumber("classes",bisimilarity.getNoOfClasses());
+		result.addNumber("pairs",witness.getNoOfPairs());
+		if(printResult){
+			result.addString("relation",witness.printDefinition());
+		}
+	}
+
+	/* Computes the greatest weak simulation between the networks in the given comma-separated files, of the type given by -type. If
+	 * the simulator network's starting state is not related to the other's, a counterexample is given. Otherwise the relation needed to
+	 * show that it is can be printed as a Simulation definition for the simulation operation */
+	private void runSimulates(String input, BatchResult result) throws Exception {
+		String[] files = input.split(",");
+		if(files.length!=2){
+			throw new Exception("Simulation input must be network1.dsa,network2.dsa");
+		}
+		LTSDefinition left = generateLTS(files[0]);
+		LTSDefinition right = generateLTS(files[1]);
+		if(!left.isComplete() || !right.isComplete()){
+			throw new Exception("LTS generation stopped before completion, so the simulation cannot be computed");
+		}
+		WeakSimulation simulation = new WeakSimulation(left,right,simulationType);
+		if(simulationType==2){
+			result.addString("type","network 1 simulates network 2");
+		}
+		else{
+			result.addString("type","network 2 simulates network 1");
+		}
+		result.addBoolean("simulates",simulation.simulates());
+		result.addNumber("relatedPairs",simulation.getNoOfPairs());
+		if(simulation.simulates()){
+			Simulation witness = simulation.getWitness();
+			result.addNumber("pairs",witness.getNoOfPairs());
+			if(printResult){
+				result.addString("relation",witness.printDefinition());
+			}
+		}
+		else{
+			Vector<String> counterexample = simulation.getCounterexample();
+			StringBuffer steps = new StringBuffer();
+			for(int i=0;i<counterexample.size();i++){
+				steps.append(counterexample.get(i)+"\n");
+			}
+			result.addString("counterexample",steps.toString());
+		}
+	}
+
+	/* Converts the (ND) sequential machine in the given file to a Set Notation module */
+	private void runToSet(String input, BatchResult result) throws Exception {
+		String[] bothComponents = readDefinition(input).split("\\Q?\\E");
+		if(bothComponents.length!=2){
+			throw new Exception("Sequential machine definition must be of the form definition?Afunction");
+		}
+		NDSequentialMachine sequentialMachine = ParseSequentialMachine.parse(bothComponents[0],bothComponents[1]);
+		if(sequentialMachine==null){
+			throw new Exception("Error parsing Sequential Machine definition");
+		}
+		SetNotationModule converted = SeqToSetConversion.convertToSet(sequentialMachine,removeUnreachable);
+		result.addNumber("states",converted.getNoOfStates());
+		result.addNumber("transitions",converted.getNoOfTransitions());
+		if(printResult){
+			result.addString("module",converted.printModule());
+		}
+	}
+
+	/* Converts the Set Notation module in the given file to an (ND) sequential machine */
+	private void runToSeq(String input, BatchResult result) throws Exception {
+		SetNotationModule module = parseSetNotationModule(input);
+		boolean deterministic = SetToSeqConversion.convertibleToSeq(module)==1;
+		NDSequentialMachine converted = SetToSeqConversion.convertAnyToSeq(module);
+		result.addBoolean("deterministic",deterministic);
+		result.addNumber("states",converted.getNoOfStates());
+		result.addNumber("transitions",converted.getNoOfTransitions());
+		if(printResult){
+			result.addString("machine",converted.printMainOnly(false));
+			result.addString("aFunction",converted.printAFunction());
+		}
+	}
+
+	/* Generates the environment of the Set Notation module in the given file, using the non-arb algorithm if the module is non-arb
+	 * and the uncertainty algorithm otherwise (as in the Environment tab) */
+	private void runEnvironment(String input, BatchResult result) throws Exception {
+		SetNotationModule module = parseSetNotationModule(input);
+		SetNotationModule environment;
+		if(!module.checkArb()){
+			result.addString("algorithm","non-arb");
+			environment=NonArbGeneration.nonArb(module,removeDuplicates);
+		}
+		else{
+			result.addString("algorithm","uncertainty");
+			environment=UncertaintyGeneration.generate(module,removeDuplicates);
+		}
+		result.addNumber("states",environment.getNoOfStates());
+		result.addNumber("transitions",environment.getNoOfTransitions());
+		result.addBoolean("deadlockGuaranteed",!environment.allStatesHaveTransitions());
+		if(printResult){
+			result.addString("environment",environment.printModule());
+		}
+	}
+
+	/* Constructs the Set Notation module in the given file using a network of modules, if it is constructible (non-arb or eq-arb) */
+	private void runDecompose(String input, BatchResult result) throws Exception {
+		SetNotationModule module = parseSetNotationModule(input);
+		if(module.checkArb() && !module.checkEqArb()){
+			throw new Exception("Module is arb (and not eq-arb), so cannot be constructed");
+		}
+		ConstructionCircuit construction = GenerateDecomposition.generateDecomposition(module);
+		result.addNumber("modules",construction.getNoOfModules());
+		result.addNumber("wires",construction.getNoOfWires());
+		if(printResult){
+			result.addString("circuit",construction.printCircuit());
+			result.addString("diSetAlgebra",construction.getDIAlgebraRepresentation());
+		}
+	}
+
+	/* Generates the LTS of the network in the given file with the LTS settings given on the command line */
+	private LTSDefinition generateLTS(String file) throws Exception {
+		PartiallyVisibleNetwork network = parseNetwork(file);
+		if(ltsThreads>0){
+			return ParallelLTSGeneration.computeLTS(network,infiniteCheck,partialOrderReduction,ltsThreads);
+		}
+		return LTSGeneration.computeLTS(network,infiniteCheck,explorationOrder,partialOrderReduction,
+				new GenerationBudget(maxStates,maxTransitions,timeLimit));
+	}
+
+	/* Parses the DI-Set algebra network definition in the given file */
+	private static PartiallyVisibleNetwork parseNetwork(String file) throws Exception {
+		PartiallyVisibleNetwork network = ParseDISetAlgebra.parseEntireDefinition(readDefinition(file));
+		if(network==null){
+			throw new Exception("Error parsing DI-Set algebra definition");
+		}
+		return network;
+	}
+
+	/* Parses the Set Notation module definition in the given file */
+	private static SetNotationModule parseSetNotationModule(String file) throws Exception {
+		SetNotationModule module = ParseSetNotationModule.parse(readDefinition(file));
+		if(module==null){
+			throw new Exception("Error parsing Set Notation Module definition");
+		}
+		return module;
+	}
+
+	/* Reads the definition in the given file, with line breaks removed as in the preset files saved by the GUI */
+	private static String readDefinition(String file) throws Exception {
+		File fileHandle = new File(file);
+		if(!fileHandle.exists()){
+			throw new Exception("File not found: "+file);
+		}
+		String definition = new String(Files.readAllBytes(fileHandle.toPath()));
+		definition=definition.replaceAll("\n", "");
+		definition=definition.replaceAll("\r", "");
+		return definition;
+	}
+
+	/* Describes the given failure for the output. The parsers and algorithms report the details of their own failures as log
+	 * messages before throwing a plain exception, so those are pointed to instead */
+	private static String describe(Throwable failure) {
+		if(failure.getMessage()!=null && !failure.getMessage().equals("")){
+			return failure.getMessage();
+		}
+		if(failure.getClass()==Exception.class){
+			return "Failed, see the error messages on standard error";
+		}
+		return failure.getClass().getSimpleName();
+	}
+
+}
@@ -1,45 +1,125 @@
 package CommonStructures;
 
+import java.util.Arrays;
 import java.util.Vector;
 
 /* Representing a set of integers. Typical set operations are present.
  * The class can also be used as an ordered set (but not multiset) for certain
  * operations requiring sequences, and the prefix operation assumes that
  * it is being used as an ordered set. Equality checking assumes normal sets
- * and not ordered sets. */
+ * and not ordered sets. 
+ * 
+ * The elements are stored twice: as a primitive array in the order they were added
+ * (used for indexing, printing and the ordered set operations), and as a bitset
+ * of 64-bit words with one bit per element. Membership is then a single bit test, and
+ * subset, equality, union and difference work on whole words at a time rather
+ * than comparing elements pairwise. Negative values (used by the construction
+ * algorithms) are mapped to odd bits and non-negative values to even bits */
 public class IntSet{
 
-	/* The actual set data stored as a vector */
-	private Vector<Integer> contents = new Vector<Integer>();
+	/* The elements of the set, in the order they were added. Only the first size entries are used */
+	private int[] elements;
+
+	/* The number of elements in the set */
+	private int size=0;
+
+	/* The bitset of the elements in the set (see bitOf) */
+	private long[] words;
+
+	/* The immutable snapshot of the set's elements used to key it in hash-based collections (see IntSetKey).
+	 * It is cached since sets are frequently used as keys, and is discarded when the set changes */
+	private IntSetKey key=null;
 
 	/* Initialises the set with no values */
 	public IntSet() {
+		elements = new int[4];
+		words = new long[1];
 	}
 
 	/* Initialises the set with a single element */
 	public IntSet(int input) {
-		contents.add(new Integer(input));
+		this();
+		add(input);
 	}
 
 	/* Same as above but uses an array of values */
 	public IntSet(int[] initials){
+		this();
 		for(int i=0;i<initials.length;i++){
-			contents.addElement(new Integer(initials[i]));
+			add(initials[i]);
 		}
 	}
 
 	/* Initialises the set with a given vector of values */
 	public IntSet(Vector<Integer> initials){
+		this();
 		for(int i=0;i<initials.size();i++){
-			contents.addElement(initials.get(i));
+			add(initials.get(i));
+		}
+	}
+
+	/* Returns the position in the bitset of the given value: non-negative values map to even bits,
+	 * and negative values to odd bits, so that small values of either sign stay in the first few words */
+	private static int bitOf(int value){
+		if(value>=0){
+			return value<<1;
+		}
+		return ((-value)<<1)-1;
+	}
+
+	/* Checks whether a given value is in the bitset */
+	private boolean member(int value){
+		int bit = bitOf(value);
+		int word = bit>>>6;
+		return word<words.length && (words[word] & (1L<<bit))!=0;
+	}
+
+	/* Appends a value which is not already in the set */
+	private void append(int value){
+		if(size==elements.length){
+			elements = Arrays.copyOf(elements,size*2);
+		}
+		elements[size++]=value;
+		int bit = bitOf(value);
+		int word = bit>>>6;
+		if(word>=words.length){
+			words = Arrays.copyOf(words,Math.max(word+1,words.length*2));
+		}
+		words[word]|=1L<<bit;
+		key=null;
+	}
+
+	/* Removes the element at the given position of the ordered set */
+	private int removeAt(int index){
+		int value = elements[index];
+		System.arraycopy(elements,index+1,elements,index,size-index-1);
+		size--;
+		int bit = bitOf(value);
+		words[bit>>>6]&=~(1L<<bit);
+		key=null;
+		return value;
+	}
+
+	/* Inserts a value which is not already in the set at the start of the ordered set */
+	private void prepend(int value){
+		append(value);
+		System.arraycopy(elements,0,elements,1,size-1);
+		elements[0]=value;
+	}
+
+	/* Returns the given word of the bitset of the given set, which is 0 beyond the end of its words */
+	private static long wordOf(IntSet set, int word){
+		if(word<set.words.length){
+			return set.words[word];
 		}
+		return 0;
 	}
 
 	/* Adds a given value to the set if it doesn't exist
 	 * in it already */
 	public boolean add(int add){
-		if(contains(add)==-1){
-			contents.addElement(add);
+		if(!member(add)){
+			append(add);
 			return true;
 		}
 		return false;
@@ -48,8 +128,11 @@ public class IntSet{
 	/* Checks whether a given value exists in the set,
 	 * and returns its index if it does */
 	public int contains(int check){
-		for(int i=0;i<contents.size();i++){
-			if(contents.get(i)==(check)){
+		if(!member(check)){
+			return -1;
+		}
+		for(int i=0;i<size;i++){
+			if(elements[i]==check){
 				return i;
 			}
 		}
@@ -58,8 +141,8 @@ public class IntSet{
 
 	/* Checks if the set contains any negative numbers */
 	public boolean containsNegative(){	
-		for(int i=0;i<size();i++){
-			if(get(i)<0){
+		for(int i=0;i<size;i++){
+			if(elements[i]<0){
 				return true;
 			}
 		}
@@ -69,29 +152,50 @@ public class IntSet{
 	/* Returns a deep copy of the set object */
 	public IntSet deepCopy(){
 		IntSet copy = new IntSet();
-		for(int i=0;i<size();i++){
-			copy.add(get(i));
-		}
+		copy.elements=Arrays.copyOf(elements,Math.max(size,4));
+		copy.size=size;
+		copy.words=words.clone();
+		copy.key=key;
 		return copy;
 	}
 
-	/* Checks whether this set is equal to the second set */
+	/* Checks whether this set is equal to the second set, comparing the bitsets a word at a time */
 	public boolean equals(IntSet second){
-		if(subset(second) && second.subset(this)){
+		if(size!=second.size){
+			return false;
+		}
+		if(key!=null && second.key!=null && key.hashCode()!=second.key.hashCode()){
+			return false;
+		}
+		int noOfWords = Math.max(words.length,second.words.length);
+		for(int i=0;i<noOfWords;i++){
+			if(wordOf(this,i)!=wordOf(second,i)){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Checks whether the given object is a set equal to this set as above, so that
+	 * sets can be used as keys in hash-based collections */
+	@Override
+	public boolean equals(Object other){
+		if(this==other){
 			return true;
 		}
-		else{
+		if(!(other instanceof IntSet)){
 			return false;
 		}
+		return equals((IntSet)other);
 	}
 
 	/* Gets the value at the given index if the
 	 * index is valid */
 	public int get(int index){
-		if(index<0 || index>=contents.size()){
+		if(index<0 || index>=size){
 			return -1;
 		}
-		return contents.get(index).intValue();
+		return elements[index];
 	}
 
 	/* Assuming that this is an ordered set, returns the 
@@ -108,78 +212,39 @@ public class IntSet{
 	/* Return all possible sequences given by all
 	 * possible permutations of this set */
 	public Vector<IntSet> permutations(){
-		return recursePermutations(deepCopy());
+		return permutationIterator().remaining();
 	}
-	
-	/* Recursive method used by the above function to generate
-	 * all possible sequences: it strips out an item, then finds
-	 * all possible permutations of the resulting list, then adds
-	 * the stripped item to the start of all such permutations */
-	private Vector<IntSet> recursePermutations(IntSet list) {
-		
-		/* List of sequences to return up the stack */
-		Vector<IntSet> toReturn = new Vector<IntSet>();
-		if(list.size()==1){
-			toReturn.add(list);
-		}
-		
-		/* For every item in the current list */
-		for(int i=0;i<list.size();i++){
-			
-			/* Make a fresh copy of the list */
-			IntSet subList=list.deepCopy();
-			
-			/* Strip out the ith item */
-			int firstItem=subList.contents.remove(i);
-			
-			/* Find all sequences/permutations of the new list */
-			Vector<IntSet> subListPermutations = recursePermutations(subList);
-			
-			/* For all possible permutations of the new list, add the stripped item
-			 * back in, and send them up the stack */
-			for(int j=0;j<subListPermutations.size();j++){
-				IntSet retrieved = subListPermutations.get(j).deepCopy();
-				retrieved.contents.add(0,firstItem);
-				toReturn.add(retrieved);
-			}
-		}
-		return toReturn;
+
+	/* Returns an iterator which generates the sequences given by
+	 * all possible permutations of this set one at a time, in the same
+	 * order as above, and which can skip sequences by prefix */
+	public PermutationIterator permutationIterator(){
+		return new PermutationIterator(this);
 	}
 
-	/* Returns the power set of this set: uses an iterative algorithm
-	 * where results are continuously cloned and then new elements
-	 * are added to existing results */
+	/* Returns the power set of this set, excluding the empty set. The
+	 * subsets are streamed from a SubsetIterator, which describes their order */
 	public SetSet powerSet(){
 		SetSet result = new SetSet();
-		IntSet singleton = new IntSet();
-		singleton.add(get(0));
-		result.add(singleton);
-
-		/* For each element of the original set except the first */
-		for(int i=1;i<size();i++){
-
-			/* Clone the current results */
-			SetSet clone = new SetSet();
-			for(int j=0;j<result.size();j++){
-				clone.add(result.get(j).deepCopy());
-			}
-
-			/* For every element in the clone, add the current element to the subset */
-			for(int j=0;j<clone.size();j++){
-				clone.get(j).add(get(i));
-			}			
+		SubsetIterator subsets = new SubsetIterator(this);
+		while(subsets.hasNext()){
+			result.add(subsets.next());
+		}
+		return result;	
+	}
 
-			/* Add the element on its own too */
-			IntSet single = new IntSet();
-			single.add(get(i));
-			clone.add(single);
+	/* Returns the hash of the set, which is consistent with equals */
+	@Override
+	public int hashCode(){
+		return key().hashCode();
+	}
 
-			/* Add the additional results to the main set */
-			for(int j=0;j<clone.size();j++){
-				result.add(clone.get(j));
-			}
+	/* Returns the immutable snapshot of the set's current elements */
+	IntSetKey key(){
+		if(key==null){
+			key = new IntSetKey(words);
 		}
-		return result;	
+		return key;
 	}
 
 	/* Assuming this is an ordered set, check whether this set
@@ -230,12 +295,7 @@ public class IntSet{
 	/* Checks whether this set is a proper subset of
 	 * the passed set */
 	public boolean properSubset(IntSet second){
-		if(subset(second) && !equals(second)){
-			return true;
-		}
-		else{
-			return false;
-		}
+		return size<second.size && subset(second);
 	}
 
 	/* Removes a given value if it exists in the set */
@@ -245,7 +305,7 @@ public class IntSet{
 			return false;
 		}
 		else{
-			contents.remove(index);
+			removeAt(index);
 			return true;
 		}
 	}
@@ -255,9 +315,14 @@ public class IntSet{
 	 * set as the second component */
 	public IntSet setDifference(IntSet second){
 		IntSet result = new IntSet();
-		for(int i=0;i<size();i++){
-			if(second.contains(get(i))==-1){
-				result.add(get(i));
+		result.words = new long[words.length];
+		for(int i=0;i<words.length;i++){
+			result.words[i]=words[i] & ~wordOf(second,i);
+		}
+		result.elements = new int[Math.max(size,4)];
+		for(int i=0;i<size;i++){
+			if(result.member(elements[i])){
+				result.elements[result.size++]=elements[i];
 			}
 		}
 		return result;
@@ -267,23 +332,33 @@ public class IntSet{
 	 * set as the first component, and the passed
 	 * set as the second component */
 	public IntSet setUnion(IntSet second){
-		IntSet result = new IntSet(contents);
-		for(int i=0;i<second.size();i++){
-			result.add(second.get(i));
+		IntSet result = new IntSet();
+		result.words = new long[Math.max(words.length,second.words.length)];
+		for(int i=0;i<result.words.length;i++){
+			result.words[i]=wordOf(this,i) | wordOf(second,i);
+		}
+		result.elements = Arrays.copyOf(elements,Math.max(size+second.size,4));
+		result.size=size;
+		for(int i=0;i<second.size;i++){
+			if(!member(second.elements[i])){
+				result.elements[result.size++]=second.elements[i];
+			}
 		}
 		return result;
 	}
 
 	/* Returns size of the set */
 	public int size(){
-		return contents.size();
+		return size;
 	}
 
-	/* Checks whether this set is a subset of the passed set */
+	/* Checks whether this set is a subset of the passed set, comparing the bitsets a word at a time */
 	public boolean subset(IntSet second){
-		for(int i=0;i<size();i++){
-			int item = get(i);
-			if(second.contains(item)==-1){
+		if(size>second.size){
+			return false;
+		}
+		for(int i=0;i<words.length;i++){
+			if((words[i] & ~wordOf(second,i))!=0){
 				return false;
 			}
 		}
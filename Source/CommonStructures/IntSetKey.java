@@ -0,0 +1,44 @@
+package CommonStructures;
+
+import java.util.Arrays;
+
+/* An immutable snapshot of the elements of an IntSet, used to key sets in hash-based collections (see SetSet).
+ * It holds a copy of the set's bitset with any trailing empty words removed, so that two keys are equal exactly
+ * when the sets had the same elements (in any order) when the keys were taken. Later changes to the set do not
+ * affect the key */
+final class IntSetKey {
+
+	/* The words of the bitset of the set, without trailing empty words */
+	private final long[] words;
+
+	/* The hash of the key, computed once */
+	private final int hash;
+
+	/* Takes a snapshot of the given bitset words */
+	IntSetKey(long[] setWords) {
+		int noOfWords = setWords.length;
+		while(noOfWords>0 && setWords[noOfWords-1]==0){
+			noOfWords--;
+		}
+		words = Arrays.copyOf(setWords,noOfWords);
+		hash = Arrays.hashCode(words);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if(this==other){
+			return true;
+		}
+		if(!(other instanceof IntSetKey)){
+			return false;
+		}
+		IntSetKey otherKey = (IntSetKey)other;
+		return hash==otherKey.hash && Arrays.equals(words,otherKey.words);
+	}
+
+}
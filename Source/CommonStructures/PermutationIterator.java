@@ -0,0 +1,248 @@
+package CommonStructures;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Vector;
+
+/* Lazily generates the permutations (sequences) of an IntSet, in the same order as IntSet.permutations:
+ * the first element of the sequence is chosen in the order of the set, then the rest are permuted in the
+ * same way. Only the current sequence is held, as a stack of chosen positions, and a fresh IntSet is only
+ * created for each sequence actually returned.
+ *
+ * Permutations can be excluded by prefix before generation begins. A whole subtree of sequences is then
+ * skipped as soon as its prefix is excluded, rather than generating every sequence and filtering it afterwards.
+ * Two kinds of exclusion are supported: a prefix given as a sequence (excludePrefixes), which is matched
+ * against a tree of the excluded sequences, and a prefix given as a set (excludePrefixSets), which excludes any
+ * sequence whose first elements are exactly that set in any order */
+public class PermutationIterator implements Iterator<IntSet> {
+
+	/* A node in the tree of excluded sequences. A node at depth d stands for a sequence of length d,
+	 * and is terminal if that sequence is excluded */
+	private static class PrefixNode {
+		private HashMap<Integer,PrefixNode> children = new HashMap<Integer,PrefixNode>();
+		private boolean terminal = false;
+	}
+
+	/* The elements being permuted, in the order of the original set */
+	private int[] elements;
+
+	/* The number of elements */
+	private int n;
+
+	/* Which elements are used in the current sequence */
+	private boolean[] used;
+
+	/* The position (in elements) of the element chosen at each point of the current sequence, or -1 if
+	 * none has been chosen yet */
+	private int[] choice;
+
+	/* The point of the current sequence being chosen */
+	private int depth;
+
+	/* The root of the tree of excluded sequences, or null if none are excluded */
+	private PrefixNode excludedSequences = null;
+
+	/* The node of the tree of excluded sequences matching the current sequence up to each point (the entry
+	 * at index d matches the first d elements), or null where no excluded sequence matches */
+	private PrefixNode[] sequenceNodes;
+
+	/* The excluded prefix sets of each size, or null if none are excluded */
+	private Vector<Vector<IntSet>> excludedSetsBySize = null;
+
+	/* The elements of the current sequence as a set, maintained when prefix sets are excluded */
+	private IntSet prefixSet;
+
+	/* Whether the current sequence is a permutation which has not yet been returned */
+	private boolean ready = false;
+
+	/* Whether generation has finished */
+	private boolean finished = false;
+
+	/* Constructs the iterator for the given set, which should not be modified while the iterator is in use */
+	public PermutationIterator(IntSet set) {
+		n = set.size();
+		elements = new int[n];
+		for(int i=0;i<n;i++){
+			elements[i]=set.get(i);
+		}
+		used = new boolean[n];
+		choice = new int[n];
+		sequenceNodes = new PrefixNode[n+1];
+		prefixSet = new IntSet();
+		depth=0;
+		if(n==0){
+			finished=true;
+		}
+		else{
+			choice[0]=-1;
+		}
+	}
+
+	/* Excludes every permutation which has one of the given sequences as a prefix (see IntSet.prefix).
+	 * This must be called before generation begins */
+	public void excludePrefixes(Vector<IntSet> sequences) {
+		if(excludedSequences==null){
+			excludedSequences = new PrefixNode();
+		}
+		for(int i=0;i<sequences.size();i++){
+			IntSet sequence = sequences.get(i);
+			PrefixNode node = excludedSequences;
+			for(int j=0;j<sequence.size();j++){
+				PrefixNode child = node.children.get(sequence.get(j));
+				if(child==null){
+					child = new PrefixNode();
+					node.children.put(sequence.get(j),child);
+				}
+				node=child;
+			}
+			node.terminal=true;
+		}
+		sequenceNodes[0]=excludedSequences;
+		if(excludedSequences.terminal){
+			finished=true;
+		}
+	}
+
+	/* Excludes every permutation whose first elements are exactly one of the given sets, in any order.
+	 * This must be called before generation begins */
+	public void excludePrefixSets(Vector<IntSet> sets) {
+		if(excludedSetsBySize==null){
+			excludedSetsBySize = new Vector<Vector<IntSet>>();
+			for(int i=0;i<=n;i++){
+				excludedSetsBySize.add(new Vector<IntSet>());
+			}
+		}
+		for(int i=0;i<sets.size();i++){
+			IntSet set = sets.get(i);
+			if(set.size()==0){
+				finished=true;
+			}
+			else if(set.size()<=n){
+				excludedSetsBySize.get(set.size()).add(set);
+			}
+		}
+	}
+
+	/* Moves on to the next permutation which is not excluded, returning false if there are no more. Each
+	 * point of the sequence tries the unused elements in order, and a point is abandoned (skipping every
+	 * sequence beginning with the prefix so far) as soon as the prefix is excluded */
+	private boolean advance() {
+		if(finished){
+			return false;
+		}
+		while(depth>=0){
+
+			/* Release the element currently chosen at this point, if any */
+			int current = choice[depth];
+			if(current>=0){
+				used[current]=false;
+				if(excludedSetsBySize!=null){
+					prefixSet.remove(elements[current]);
+				}
+			}
+
+			/* Choose the next unused element, or go back a point if there are none left */
+			int next = current+1;
+			while(next<n && used[next]){
+				next++;
+			}
+			if(next==n){
+				choice[depth]=-1;
+				depth--;
+				continue;
+			}
+			choice[depth]=next;
+			used[next]=true;
+			if(excludedSetsBySize!=null){
+				prefixSet.add(elements[next]);
+			}
+
+			if(excluded()){
+				continue;
+			}
+			if(depth==n-1){
+				return true;
+			}
+			depth++;
+			choice[depth]=-1;
+		}
+		finished=true;
+		return false;
+	}
+
+	/* Checks whether the current sequence up to and including the current point is an excluded prefix */
+	private boolean excluded() {
+		if(excludedSequences!=null){
+			PrefixNode node = sequenceNodes[depth];
+			if(node!=null){
+				node = node.children.get(elements[choice[depth]]);
+			}
+			sequenceNodes[depth+1]=node;
+			if(node!=null && node.terminal){
+				return true;
+			}
+		}
+		if(excludedSetsBySize!=null){
+			Vector<IntSet> sameSize = excludedSetsBySize.get(depth+1);
+			for(int i=0;i<sameSize.size();i++){
+				if(prefixSet.equals(sameSize.get(i))){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/* Returns whether there is another permutation */
+	@Override
+	public boolean hasNext() {
+		if(!ready){
+			ready=advance();
+		}
+		return ready;
+	}
+
+	/* Returns the next permutation as a fresh ordered set */
+	@Override
+	public IntSet next() {
+		if(!hasNext()){
+			throw new NoSuchElementException();
+		}
+		ready=false;
+		IntSet sequence = new IntSet();
+		for(int i=0;i<n;i++){
+			sequence.add(elements[choice[i]]);
+		}
+		return sequence;
+	}
+
+	/* Permutations are generated rather than stored, so cannot be removed */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/* Counts the remaining permutations without creating them */
+	public int countRemaining() {
+		int count = 0;
+		if(ready){
+			ready=false;
+			count++;
+		}
+		while(advance()){
+			count++;
+		}
+		return count;
+	}
+
+	/* Returns all of the remaining permutations */
+	public Vector<IntSet> remaining() {
+		Vector<IntSet> sequences = new Vector<IntSet>();
+		while(hasNext()){
+			sequences.add(next());
+		}
+		return sequences;
+	}
+
+}
@@ -0,0 +1,137 @@
+package CommonStructures;
+
+/* A partition of the elements 0..n-1 into numbered sets, which can only be refined. Elements are marked,
+ * and then every set containing marked elements is split into its marked and unmarked elements at once. When a
+ * set is split, the smaller of the two parts is given a new set number and the larger part keeps the old number,
+ * so every element changes set at most log n times. The cost of marking and splitting is proportional to the
+ * number of elements marked, which is what allows partition refinement to run in O(m log n) time.
+ *
+ * The elements are held in a single array in which every set is a contiguous range, with its marked elements
+ * moved to the front of the range as they are marked */
+public class RefinablePartition {
+
+	/* The number of sets */
+	private int noOfSets;
+
+	/* The elements, arranged so that each set is a contiguous range */
+	private int[] elements;
+
+	/* The position of each element in the elements array */
+	private int[] location;
+
+	/* The set containing each element */
+	private int[] setOf;
+
+	/* The start of the range of each set, and the position just past its end */
+	private int[] first;
+	private int[] past;
+
+	/* The set each set was split from, or the set itself for the first set */
+	private int[] splitFrom;
+
+	/* The number of marked elements in each set */
+	private int[] marked;
+
+	/* The sets which contain marked elements, and how many there are */
+	private int[] touched;
+	private int noOfTouched = 0;
+
+	/* Constructs the partition of the given number of elements with all of them in a single set
+	 * (or no sets if there are no elements) */
+	public RefinablePartition(int n) {
+		elements = new int[n];
+		location = new int[n];
+		setOf = new int[n];
+		first = new int[n+1];
+		past = new int[n+1];
+		splitFrom = new int[n+1];
+		marked = new int[n+1];
+		touched = new int[n+1];
+		for(int i=0;i<n;i++){
+			elements[i]=i;
+			location[i]=i;
+		}
+		if(n>0){
+			noOfSets=1;
+			past[0]=n;
+		}
+	}
+
+	/* Returns the number of sets */
+	public int getNoOfSets() {
+		return noOfSets;
+	}
+
+	/* Returns the set containing the given element */
+	public int getSet(int element) {
+		return setOf[element];
+	}
+
+	/* Returns the set whose elements the given set was split from, or the set itself if it was not split from another */
+	public int getSplitFrom(int set) {
+		return splitFrom[set];
+	}
+
+	/* Returns the number of elements in the given set */
+	public int getSetSize(int set) {
+		return past[set]-first[set];
+	}
+
+	/* Returns the element at the given index of the given set, where the index is between 0 and the size of the set */
+	public int getElement(int set, int index) {
+		return elements[first[set]+index];
+	}
+
+	/* Marks the given element, to be split from the unmarked elements of its set by the next split. Marking an
+	 * element which is already marked has no effect */
+	public void mark(int element) {
+		int set = setOf[element];
+		int position = location[element];
+		int firstUnmarked = first[set]+marked[set];
+		if(position<firstUnmarked){
+			return;
+		}
+		elements[position]=elements[firstUnmarked];
+		location[elements[position]]=position;
+		elements[firstUnmarked]=element;
+		location[element]=firstUnmarked;
+		if(marked[set]==0){
+			touched[noOfTouched]=set;
+			noOfTouched++;
+		}
+		marked[set]++;
+	}
+
+	/* Splits every set containing marked elements into its marked and unmarked elements, and unmarks every element.
+	 * A set whose elements are all marked is left as it is. Otherwise the smaller part becomes a new set,
+	 * numbered after every existing set */
+	public void split() {
+		while(noOfTouched>0){
+			noOfTouched--;
+			int set = touched[noOfTouched];
+			int firstUnmarked = first[set]+marked[set];
+			if(firstUnmarked==past[set]){
+				marked[set]=0;
+				continue;
+			}
+			if(marked[set]<=past[set]-firstUnmarked){
+				first[noOfSets]=first[set];
+				past[noOfSets]=firstUnmarked;
+				first[set]=firstUnmarked;
+			}
+			else{
+				past[noOfSets]=past[set];
+				first[noOfSets]=firstUnmarked;
+				past[set]=firstUnmarked;
+			}
+			for(int i=first[noOfSets];i<past[noOfSets];i++){
+				setOf[elements[i]]=noOfSets;
+			}
+			splitFrom[noOfSets]=set;
+			marked[set]=0;
+			marked[noOfSets]=0;
+			noOfSets++;
+		}
+	}
+
+}
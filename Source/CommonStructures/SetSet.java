@@ -1,14 +1,27 @@
 package CommonStructures;
 
+import java.util.HashSet;
 import java.util.Vector;
 
 /* Representing a set of IntSet objects. Typical set operations are present.
- * Many operations rely heavily on corresponding IntSet operations. */
+ * Many operations rely heavily on corresponding IntSet operations. 
+ * 
+ * Alongside the list of members, the set keeps a hash set of an immutable snapshot
+ * of each member (see IntSetKey), so that membership, and therefore adding without
+ * duplicates, takes constant time rather than comparing against every member. The
+ * snapshot is taken when a member is added, so members must not be modified while
+ * they are in the set (as with keys of a HashMap) */
 public class SetSet {
 
 	/* The actual set data stored as a vector */
 	private Vector<IntSet> contents = new Vector<IntSet>();
 
+	/* The snapshot of each member taken when it was added, in the same order as the members */
+	private Vector<IntSetKey> keys = new Vector<IntSetKey>();
+
+	/* The snapshots of all members, for constant time membership checks */
+	private HashSet<IntSetKey> keySet = new HashSet<IntSetKey>();
+
 	/* Initialises the set with no values */
 	public SetSet() {
 	}
@@ -16,15 +29,17 @@ public class SetSet {
 	/* Initialises the set with a vector of IntSet objects*/
 	public SetSet(Vector<IntSet> initials){
 		for(int i=0;i<initials.size();i++){
-			contents.addElement(initials.get(i));
+			add(initials.get(i));
 		}
 	}
 
 	/* Adds a given IntSet to the set if it doesn't exist
 	 * in it already */
 	public boolean add(IntSet add){
-		if(contains(add)==-1){
+		IntSetKey key = add.key();
+		if(keySet.add(key)){
 			contents.addElement(add);
+			keys.addElement(key);
 			return true;
 		}
 		return false;
@@ -33,8 +48,12 @@ public class SetSet {
 	/* Checks whether a given IntSet exists in the set,
 	 * and returns its index if it does */
 	public int contains(IntSet check){
-		for(int i=0;i<contents.size();i++){
-			if(contents.get(i).equals(check)){
+		IntSetKey key = check.key();
+		if(!keySet.contains(key)){
+			return -1;
+		}
+		for(int i=0;i<keys.size();i++){
+			if(keys.get(i).equals(key)){
 				return i;
 			}
 		}
@@ -52,12 +71,7 @@ public class SetSet {
 
 	/* Checks whether this set is equal to the second set */
 	public boolean equals(SetSet second){
-		if(subset(second) && second.subset(this)){
-			return true;
-		}
-		else{
-			return false;
-		}
+		return size()==second.size() && subset(second);
 	}
 	
 	/* Gets the value at the given index if the
@@ -87,12 +101,7 @@ public class SetSet {
 	/* Checks whether this set is a proper subset of
 	 * the passed set */
 	public boolean properSubset(SetSet second){
-		if(subset(second) && !equals(second)){
-			return true;
-		}
-		else{
-			return false;
-		}
+		return size()<second.size() && subset(second);
 	}
 	
 	/* Removes the value at the given index if the index
@@ -100,6 +109,7 @@ public class SetSet {
 	public boolean remove(int i){
 		if(i>=0 && i<contents.size()){
 			contents.removeElementAt(i);
+			keySet.remove(keys.remove(i));
 			return true;
 		}
 		return false;
@@ -112,8 +122,7 @@ public class SetSet {
 			return false;
 		}
 		else{
-			contents.remove(index);
-			return true;
+			return remove(index);
 		}
 	}
 
@@ -123,7 +132,7 @@ public class SetSet {
 	public SetSet setDifference(SetSet second){
 		SetSet result = new SetSet();
 		for(int i=0;i<size();i++){
-			if(second.contains(get(i))==-1){
+			if(!second.keySet.contains(keys.get(i))){
 				result.add(get(i));
 			}
 		}
@@ -149,7 +158,7 @@ public class SetSet {
 	/* Checks whether this set is a subset of the passed set */
 	public boolean subset(SetSet second){
 		for(int i=0;i<size();i++){
-			if(second.contains(get(i))==-1){
+			if(!second.keySet.contains(keys.get(i))){
 				return false;
 			}
 		}
@@ -0,0 +1,125 @@
+package CommonStructures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* Streams the non-empty subsets of an IntSet one at a time, optionally only those within a range of sizes,
+ * without building the whole family of subsets. Each subset is represented by a bitmask over the positions
+ * of the original set, so moving to the next subset is a few bit operations, and an IntSet is only created
+ * for each subset actually returned (with its elements in the order of the original set).
+ *
+ * Subsets are produced in the same order as IntSet.powerSet: {e0}, then {e0,e1}, {e1}, then {e0,e2},
+ * {e0,e1,e2}, {e1,e2}, {e2} and so on. That is, every subset whose last element is e(i) comes after those
+ * whose last element is earlier, and among them the subsets are ordered as the subsets of the earlier
+ * elements were, followed by {e(i)} on its own. Keeping this order keeps the output of callers unchanged.
+ * As bitmasks are held in a long, the set may have at most 62 elements */
+public class SubsetIterator implements Iterator<IntSet> {
+
+	/* The largest set whose subsets can be enumerated */
+	public static final int MAX_ELEMENTS = 62;
+
+	/* The elements of the original set, in order */
+	private int[] elements;
+
+	/* The number of elements */
+	private int n;
+
+	/* The smallest and largest sizes of the subsets produced */
+	private int minimumSize;
+	private int maximumSize;
+
+	/* The bitmask of the next subset to return, or 0 once there are no more */
+	private long nextMask;
+
+	/* Constructs the iterator over all non-empty subsets of the given set */
+	public SubsetIterator(IntSet set) {
+		this(set,1,set.size());
+	}
+
+	/* Constructs the iterator over the subsets of the given set whose size is between the given bounds
+	 * (inclusive). The empty set is never produced */
+	public SubsetIterator(IntSet set, int smallestSize, int largestSize) {
+		n = set.size();
+		if(n>MAX_ELEMENTS){
+			throw new IllegalArgumentException("Cannot enumerate the subsets of a set of more than "+MAX_ELEMENTS+" elements");
+		}
+		elements = new int[n];
+		for(int i=0;i<n;i++){
+			elements[i]=set.get(i);
+		}
+		minimumSize = Math.max(smallestSize,1);
+		maximumSize = Math.min(largestSize,n);
+		if(n==0 || minimumSize>maximumSize){
+			nextMask=0;
+		}
+		else{
+			nextMask=1;
+			if(!wanted(nextMask)){
+				nextMask=following(nextMask);
+			}
+		}
+	}
+
+	/* Checks whether the subset given by the bitmask is within the size bounds */
+	private boolean wanted(long mask) {
+		int size = Long.bitCount(mask);
+		return size>=minimumSize && size<=maximumSize;
+	}
+
+	/* Returns the next subset after the given one which is within the size bounds, or 0 if there is none */
+	private long following(long mask) {
+		do{
+			mask=successor(mask);
+		}while(mask!=0 && !wanted(mask));
+		return mask;
+	}
+
+	/* Returns the subset straight after the given one in the order described above, or 0 if it is the last.
+	 * If the given subset is {e(h)} on its own it is the last subset whose last element is e(h), so the next is
+	 * {e0,e(h+1)}. Otherwise the rest of the subset is moved on to its own successor, unless the rest is
+	 * {e(h-1)} on its own, which is the last of the subsets of the earlier elements, in which case {e(h)} follows */
+	private long successor(long mask) {
+		long highest = Long.highestOneBit(mask);
+		long rest = mask^highest;
+		if(rest==0){
+			long nextHighest = highest<<1;
+			if(Long.numberOfTrailingZeros(nextHighest)>=n){
+				return 0;
+			}
+			return nextHighest|1;
+		}
+		if(rest==(highest>>>1)){
+			return highest;
+		}
+		return highest|successor(rest);
+	}
+
+	/* Returns whether there is another subset */
+	@Override
+	public boolean hasNext() {
+		return nextMask!=0;
+	}
+
+	/* Returns the next subset as a fresh set */
+	@Override
+	public IntSet next() {
+		if(nextMask==0){
+			throw new NoSuchElementException();
+		}
+		IntSet subset = new IntSet();
+		long mask = nextMask;
+		while(mask!=0){
+			subset.add(elements[Long.numberOfTrailingZeros(mask)]);
+			mask&=mask-1;
+		}
+		nextMask=following(nextMask);
+		return subset;
+	}
+
+	/* Subsets are generated rather than stored, so cannot be removed */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -0,0 +1,43 @@
+package CommonStructures;
+
+/* Lets a long operation be cancelled and followed while it runs on a background thread (see GUI.BackgroundTask), without the
+ * operation knowing anything about the GUI. A task is cancelled by interrupting the thread running it, so the operation calls
+ * checkpoint between steps of its main loops, which stops it by throwing an InterruptedException once the thread has been
+ * interrupted, and otherwise passes on the given progress to whoever is following the thread. Outside of a background task
+ * nobody is following, so a checkpoint only checks for cancellation */
+public class TaskControl {
+
+	/* Told of the progress of the operation running on a thread */
+	public interface ProgressListener {
+		public void progress(String progress);
+	}
+
+	/* The listener following each thread, if any */
+	private static final ThreadLocal<ProgressListener> listeners = new ThreadLocal<ProgressListener>();
+
+	/* Sets the listener to be told of the progress of operations run on the current thread, or stops following it if null */
+	public static void setProgressListener(ProgressListener listener) {
+		if(listener==null){
+			listeners.remove();
+		}
+		else{
+			listeners.set(listener);
+		}
+	}
+
+	/* Throws an InterruptedException if the current thread has been interrupted, which stops the operation (and clears the
+	 * interruption, as for any other method throwing one). Otherwise the given progress (if not null) is passed on to the listener
+	 * following the thread, if any */
+	public static void checkpoint(String progress) throws InterruptedException {
+		if(Thread.interrupted()){
+			throw new InterruptedException("Operation cancelled");
+		}
+		if(progress!=null){
+			ProgressListener listener = listeners.get();
+			if(listener!=null){
+				listener.progress(progress);
+			}
+		}
+	}
+
+}
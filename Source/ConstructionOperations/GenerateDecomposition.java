@@ -1,7 +1,8 @@
 package ConstructionOperations;
 import java.util.Vector;
 import CommonStructures.IntSet;
-import GUI.ConsoleWindow;
+import CommonStructures.TaskControl;
+import Logging.Log;
 import SetNotationStructure.SetNotationModule;
 import SetNotationStructure.SetTransition;
 
@@ -123,21 +124,26 @@ public class GenerateDecomposition {
 	private static Vector<Wire> updateStageInterconnections;
 
 	/* Generates the construction of the given Set Notation module. The correct construction method is chosen
-	 * depending on the whether the module non-b-arb or b-arb */
-	public static ConstructionCircuit generateDecomposition(SetNotationModule setModule){	
+	 * depending on the whether the module non-b-arb or b-arb. As the stages of the construction are held in the shared fields
+	 * above, only one construction is generated at a time. The input sets of the given module are changed while the construction
+	 * is generated, so a copy should be given if the module may be used elsewhere at the same time. Throws an InterruptedException
+	 * if the thread is interrupted part of the way through (see TaskControl) */
+	public static synchronized ConstructionCircuit generateDecomposition(SetNotationModule setModule) throws InterruptedException{	
 		GenerateDecomposition.originalModuleDefinition=setModule;
 		
 		/* Create SerN module from the Set Notation module definition */
-		ConsoleWindow.output("Generating SerN definition");
+		Log.info("Generating SerN definition");
 		SerNDefinition = GenerateSerModules.createSerN(originalModuleDefinition);
-		ConsoleWindow.output("SerN generation complete. Definition is: "+SerNDefinition.getInternalSetDefinition().printModule());
+		Log.info("SerN generation complete. Definition is: "+SerNDefinition.getInternalSetDefinition().printModule());
 		
 		/* Print out some useful info about SerN for the user */
 		for(int i=0;i<SerNDefinition.getNoOfInputs();i++){
 			IntSet setInput = SerNDefinition.getSetInput(i);
 			if(!setInput.containsNegative()){
-				ConsoleWindow.output("SerN input " +SerNDefinition.getInput(i).getName()+ " maps to "+
-						setInput.printStringRepresentation(originalModuleDefinition.getInputNames()));
+				if(Log.tracing()){
+					Log.trace("SerN input " +SerNDefinition.getInput(i).getName()+ " maps to "+
+							setInput.printStringRepresentation(originalModuleDefinition.getInputNames()));
+				}
 			}
 			else{
 				IntSet modifiableSetInput = setInput.deepCopy();
@@ -146,20 +152,22 @@ public class GenerateDecomposition {
 				value=-value;
 				value++;
 
-				ConsoleWindow.output("SerN input " +SerNDefinition.getInput(i).getName()+ " maps to "+ value+"th occurrence of "+
-						modifiableSetInput.printStringRepresentation(originalModuleDefinition.getInputNames())+" in the same state");
+				if(Log.tracing()){
+					Log.trace("SerN input " +SerNDefinition.getInput(i).getName()+ " maps to "+ value+"th occurrence of "+
+							modifiableSetInput.printStringRepresentation(originalModuleDefinition.getInputNames())+" in the same state");
+				}
 			}
 		}
 		
 		/* Create SerNQ module from SerN definition */
-		ConsoleWindow.output("Generating SerNQ definition");
+		Log.info("Generating SerNQ definition");
 		SerNQDefinition = GenerateSerModules.createSerNQFromSerN(SerNDefinition);
-		ConsoleWindow.output("SerNQ generation complete. Definition is: "+SerNQDefinition.getInternalSetDefinition().printModule());
+		Log.info("SerNQ generation complete. Definition is: "+SerNQDefinition.getInternalSetDefinition().printModule());
 		
 		/* Create SerNQ' module from SerN definition */
-		ConsoleWindow.output("Generating SerNQ' definition");
+		Log.info("Generating SerNQ' definition");
 		SerNQPrimeDefinition = GenerateSerModules.createSerNQPrimeFromSerN(SerNDefinition);
-		ConsoleWindow.output("SerNQ' generated complete. Definition is: "+SerNQPrimeDefinition.getInternalSetDefinition().printModule());
+		Log.info("SerNQ' generated complete. Definition is: "+SerNQPrimeDefinition.getInternalSetDefinition().printModule());
 
 		/* Initialise empty stage 1 module and wire collections */
 		SerNQModuleInstances = new Vector<ConstructionModule>();
@@ -207,12 +215,13 @@ public class GenerateDecomposition {
 		overallConstruction.setNoOfSerNQForInputStage(originalModuleDefinition.getNoOfInputs());
 
 		/* Initialise stage 1 of construction */
-		ConsoleWindow.output("Generating stage 1 (input stage) of construction");
+		TaskControl.checkpoint("Generating input stage");
+		Log.info("Generating stage 1 (input stage) of construction");
 
 		generateStage1(SerNQModuleInstances,SerNQPrimeModuleInstances,forkTreeModuleInstances,
 				SerNQToForkTreeInterconnections,MxNJoinColumns,MxNJoinColumnInterconnections,true);
 
-		ConsoleWindow.output("Stage 1 (input stage) of construction complete");
+		Log.info("Stage 1 (input stage) of construction complete");
 
 		/* Remove the "negative" flags/relabellings that we put in the input sets of the Set Notation module if it
 		 * was eq-arb. (we did this when generating SerN in order to preserve determinism of SerN - see GenerateSerNodules) */
@@ -223,49 +232,53 @@ public class GenerateDecomposition {
 				inputSet.remove(inputSet.get(inputSet.size()-1));
 			}
 		}
+		/* The input sets were changed in place, so the module must be told */
+		originalModuleDefinition.transitionsChanged();
 		
 		/* The module is non-b-arb, invert it, then build stage 1 for the inverted module, then invert the "new" stage 1 back
 		 * to get stage 2 (described in more detail at the top of this file) */
+		TaskControl.checkpoint("Generating output stage");
 		if(!setModule.checkBarb()){
-			ConsoleWindow.output("Generating \"reversible\" stage 2 (output stage) of construction using \"inverse\" of input stage approach");
-			ConsoleWindow.output("Inverting original Set Notation module definition to achieve new input stage data");
+			Log.info("Generating \"reversible\" stage 2 (output stage) of construction using \"inverse\" of input stage approach");
+			Log.info("Inverting original Set Notation module definition to achieve new input stage data");
 
 			originalModuleDefinition.invertModule();
 
 			SerNDefinition.swapSetAppearances();
 			
-			ConsoleWindow.output("Inversion of original Set Notation module definition complete, resulting module: "+originalModuleDefinition.printModule());
-			ConsoleWindow.output("Generating stage 1 (input stage) for inverted module definition");
+			Log.info("Inversion of original Set Notation module definition complete, resulting module: "+originalModuleDefinition.printModule());
+			Log.info("Generating stage 1 (input stage) for inverted module definition");
 
 			generateStage1(outputSerNQPrimeModuleInstances,outputSerNQModuleInstances,outputJoinTreeModuleInstances,
 					outputJoinTreeToSerNQPrimeInterconnections,outputMxNForkColumns,outputMxNForkColumnInterconnections,false);
 
-			ConsoleWindow.output("Stage 1 (input stage) for inverted module definiton complete");
-			ConsoleWindow.output("Inverting Set Notation module definition back to its initial definition");
+			Log.info("Stage 1 (input stage) for inverted module definiton complete");
+			Log.info("Inverting Set Notation module definition back to its initial definition");
 
 			originalModuleDefinition.invertModule();
 			SerNDefinition.swapSetAppearances();
 			
-			ConsoleWindow.output("Restoration of original Set Notation module definition complete");
-			ConsoleWindow.output("\"Inverting\" stage 1 (input stage) of inverted Set Notation module definition to achieve stage 2 (output stage) of the original "
+			Log.info("Restoration of original Set Notation module definition complete");
+			Log.info("\"Inverting\" stage 1 (input stage) of inverted Set Notation module definition to achieve stage 2 (output stage) of the original "
 					+ "Set Notation module definition");
 			invertStage2();
 
-			ConsoleWindow.output("\"Inverting\" of inverted Set Notation module's stage 1 (input stage) complete. \"Reversible\" stage 2 (output stage) of construction complete");
+			Log.info("\"Inverting\" of inverted Set Notation module's stage 1 (input stage) complete. \"Reversible\" stage 2 (output stage) of construction complete");
 		}
 		
 		/* If the module is b-arb, build the irreversible stage 2 */
 		else{
-			ConsoleWindow.output("Generating \"irreversible\" stage 2 (output stage) of construction using Fork trees and Merge trees");
+			Log.info("Generating \"irreversible\" stage 2 (output stage) of construction using Fork trees and Merge trees");
 			generateIrreversibleStage2();
-			ConsoleWindow.output("\"Irreversible\" stage 2 (output stage) of construction complete");
+			Log.info("\"Irreversible\" stage 2 (output stage) of construction complete");
 		}
 		
 		/* Generate the "update stage" of the construction */
-		ConsoleWindow.output("Generating update stage of construction (connecting stage 1 and stage 2 together via Fork/Join trees");
+		TaskControl.checkpoint("Generating update stage");
+		Log.info("Generating update stage of construction (connecting stage 1 and stage 2 together via Fork/Join trees");
 		generateUpdateStage();
-		ConsoleWindow.output("Update stage of construction complete");
-		ConsoleWindow.output("Collecting up all modules and interconnections into a list, and identifying external ports");
+		Log.info("Update stage of construction complete");
+		Log.info("Collecting up all modules and interconnections into a list, and identifying external ports");
 		
 		/* Collect modules and wires, label external inputs/outputs of the circuit and finish */
 		tidyUpAndLabel();
@@ -282,30 +295,31 @@ public class GenerateDecomposition {
 	 * but due to the imperative nature is quite tedious and laborious, with lots of variables to remember "free" inputs/outputs,
 	 * and which MxN columns need to "cancel" signals from other columns etc. 
 	 * 
-	 * Please see ConsoleWindow.output calls below, as well as the comments if you are interested in the specific nature of the 
+	 * Please see Log calls below, as well as the comments if you are interested in the specific nature of the 
 	 * algorithm and exactly what it does in what order. */
 	static void generateStage1(Vector<ConstructionModule> SerNQ, Vector<ConstructionModule> SerNQPrime, Vector<ConstructionModule> forkTrees,
-			Vector<Wire> SerNQToForks, Vector<Vector<Vector<ConstructionModule>>> MxNJoins, Vector<Vector<Wire>> MxNJoinInterconnects, boolean inputStage){
+			Vector<Wire> SerNQToForks, Vector<Vector<Vector<ConstructionModule>>> MxNJoins, Vector<Vector<Wire>> MxNJoinInterconnects, boolean inputStage)
+			throws InterruptedException{
 
-		ConsoleWindow.output("Creating SerNQ and SerNQ' modules for this stage");
+		Log.info("Creating SerNQ and SerNQ' modules for this stage");
 
 		/* Number of SerNQ is number of input lines to original Set Notation module 
 		 * - one SerNQ for each input line a,b,c... etc. */
 		int noOfSerNQNeeded=originalModuleDefinition.getNoOfInputs();
 
-		ConsoleWindow.output(noOfSerNQNeeded+ " SerNQ modules are needed for this stage");
+		Log.info(noOfSerNQNeeded+ " SerNQ modules are needed for this stage");
 
 		/* Number of SerNQ' is number of input lines for SerN */
 		int noOfSerNQPrime=SerNDefinition.getNoOfInputs();
 
-		ConsoleWindow.output(noOfSerNQPrime+ " SerNQ' modules are needed for this stage");
+		Log.info(noOfSerNQPrime+ " SerNQ' modules are needed for this stage");
 
 		/* Generate a series of SerNQ modules */
 		for(int i=0;i<noOfSerNQNeeded;i++){
 			ConstructionModule currentSerNQ = GenerateSerModules.createSerNQFromSerN(SerNDefinition);
 			currentSerNQ.setIdentifyingName(currentSerNQ.getIdentifyingName()+" \""+originalModuleDefinition.getInputName(i)+"\"");
 			SerNQ.add(currentSerNQ);
-			ConsoleWindow.output("Created new SerNQ instance "+currentSerNQ.getIdentifyingName());
+			Log.trace("Created new SerNQ instance "+currentSerNQ.getIdentifyingName());
 		}
 
 		/* Generate a series of SerNQ' modules */
@@ -329,16 +343,17 @@ public class GenerateDecomposition {
 			setModuleInputSetThatThisMapsTo.append("}");
 			currentSerNQPrime.setIdentifyingName(currentSerNQPrime.getIdentifyingName()+(" \""+setModuleInputSetThatThisMapsTo.toString()+"\""));
 			SerNQPrime.add(currentSerNQPrime);
-			ConsoleWindow.output("Created new SerNQ' instance "+currentSerNQPrime.getIdentifyingName());
+			Log.trace("Created new SerNQ' instance "+currentSerNQPrime.getIdentifyingName());
 		}
 
-		ConsoleWindow.output("Finished creating SerNQ and SerNQ' modules for this stage");
-		ConsoleWindow.output("Creating Forks which link SerNQ state query outputs to MxN Join columns");
+		Log.info("Finished creating SerNQ and SerNQ' modules for this stage");
+		Log.info("Creating Forks which link SerNQ state query outputs to MxN Join columns");
 
 		/* Generate top-end fork trees (just underneath the SerNQ modules) */
 		
 		/* For every SerNQ module (i.e. each input line) */
 		for(int i=0;i<noOfSerNQNeeded;i++){
+			TaskControl.checkpoint(null);
 
 			//* For every state (each qx output of the SerNQ) */
 			for(int j=0;j<originalModuleDefinition.getNoOfStates();j++){
@@ -374,7 +389,7 @@ public class GenerateDecomposition {
 				/* Build the Fork tree */
 				forkTreeForThisInputLine.setIdentifyingName("("+originalModuleDefinition.getInputName(i)+
 						","+originalModuleDefinition.getStateName(j)+")"+forkTreeForThisInputLine.getIdentifyingName());
-				ConsoleWindow.output("Created "+noOfOutputsForThisForkTree+"-way Fork instance named "+forkTreeForThisInputLine.getIdentifyingName()+" as "+
+				Log.trace("Created "+noOfOutputsForThisForkTree+"-way Fork instance named "+forkTreeForThisInputLine.getIdentifyingName()+" as "+
 						"the input line "+originalModuleDefinition.getInputName(i)+" appears in "+noOfOutputsForThisForkTree+" different sets in state "+
 						originalModuleDefinition.getStateName(j));
 
@@ -385,11 +400,11 @@ public class GenerateDecomposition {
 							(SerNQ.get(i).getNoOfOutputs()-originalModuleDefinition.getNoOfStates()+j),forkTreeForThisInputLine.getInput(0));
 					SerNQToForks.add(connectForkTreeToSerNQ);
 
-					ConsoleWindow.output("Connected "+forkTreeForThisInputLine.getIdentifyingName()+" to "+SerNQ.get(i).getIdentifyingName()+"'s "+SerNQ.get(i).getOutput
+					Log.trace("Connected "+forkTreeForThisInputLine.getIdentifyingName()+" to "+SerNQ.get(i).getIdentifyingName()+"'s "+SerNQ.get(i).getOutput
 							(SerNQ.get(i).getNoOfOutputs()-originalModuleDefinition.getNoOfStates()+j).getName()+" output line");
 				}
 				else{
-					ConsoleWindow.output(forkTreeForThisInputLine.getIdentifyingName()+" is left unconnected as it is 0 or 1-way. It will be deleted at the end.");
+					Log.trace(forkTreeForThisInputLine.getIdentifyingName()+" is left unconnected as it is 0 or 1-way. It will be deleted at the end.");
 				}
 			}
 		}
@@ -401,8 +416,9 @@ public class GenerateDecomposition {
 
 		/* For every state of the module */
 		for(int i=0;i<originalModuleDefinition.getNoOfStates();i++){
+			TaskControl.checkpoint(null);
 
-			ConsoleWindow.output("Building MxN Join columns for state "+originalModuleDefinition.getStateName(i));
+			Log.info("Building MxN Join columns for state "+originalModuleDefinition.getStateName(i));
 
 			Vector<Wire> cancellationSetInterconnections = new Vector<Wire>();
 			Vector<Vector<ConstructionModule>> columnsForState = new Vector<Vector<ConstructionModule>>();
@@ -439,8 +455,10 @@ public class GenerateDecomposition {
 				/* Retrieve the input set */
 				IntSet currentInputSet=SerNDefinition.getSetInput(cancellationSet.get(j));
 
-				ConsoleWindow.output("Building column for input set "+currentInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+
-						" in state "+originalModuleDefinition.getStateName(i));
+				if(Log.tracing()){
+					Log.trace("Building column for input set "+currentInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+
+							" in state "+originalModuleDefinition.getStateName(i));
+				}
 
 				Vector<ConstructionModule> MxNJoinColumn = new Vector<ConstructionModule>();
 
@@ -459,14 +477,14 @@ public class GenerateDecomposition {
 				 * the input set */
 				int noOfJoinsForThisColumn = currentInputSet.size()-1;
 
-				ConsoleWindow.output("This join requires "+noOfJoinsForThisColumn+" MxN Joins as the input set is size "+(noOfJoinsForThisColumn+1));
+				Log.trace("This join requires "+noOfJoinsForThisColumn+" MxN Joins as the input set is size "+(noOfJoinsForThisColumn+1));
 
 				/* For every one of the MxN Joins in this column */
 				for(int k=0;k<noOfJoinsForThisColumn;k++){
 
-					ConsoleWindow.output("Building "+k+"th MxN Join in this column");
+					Log.trace("Building "+k+"th MxN Join in this column");
 
-					ConsoleWindow.output("Calculating size of M and N for this MxN Join");
+					Log.trace("Calculating size of M and N for this MxN Join");
 
 					/* The list of indexes of other columns in the cancellation set which cancel signals on
 					 * the current MxN Join, should the other set be satisfied */
@@ -482,14 +500,16 @@ public class GenerateDecomposition {
 						horizontalAxisAccumulatesInputIndexes.add(currentInputSet.get(l));
 					}
 
-					ConsoleWindow.output("Horizontal axis of this MxN Join (M) represents the accumulation of the inputs "+
-							horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames()));
+					if(Log.tracing()){
+						Log.trace("Horizontal axis of this MxN Join (M) represents the accumulation of the inputs "+
+								horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames()));
+					}
 
 					/* Signalling the vertical axis of this MxN join represents the (k+1)th input from
 					/* the set - to be joined with the previous k inputs (already joined together) */
 					int verticalAxisRepresentsInputIndex = currentInputSet.get(k+1);
 
-					ConsoleWindow.output("Vertical axis of this MxN Join (N) represents the addition of the input "+
+					Log.trace("Vertical axis of this MxN Join (N) represents the addition of the input "+
 							originalModuleDefinition.getInputName(verticalAxisRepresentsInputIndex));
 
 					/* Given that we now know which inputs are being joined for this MxN Join, we need
@@ -518,9 +538,11 @@ public class GenerateDecomposition {
 							/* Retrieve the input set */
 							IntSet otherInputSet = SerNDefinition.getSetInput(cancellationSet.get(l));
 
-							ConsoleWindow.output("Checking if the MxN Join column corresponding to input set "+
-									otherInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+" in state "+
-									originalModuleDefinition.getStateName(i)+" would need to cancel any pending signals on this MxN Join");
+							if(Log.tracing()){
+								Log.trace("Checking if the MxN Join column corresponding to input set "+
+										otherInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+" in state "+
+										originalModuleDefinition.getStateName(i)+" would need to cancel any pending signals on this MxN Join");
+							}
 
 							/* If the set represented by the horizontal axis of this MxN Join exists in the other set */
 							if(horizontalAxisAccumulatesInputIndexes.subset(otherInputSet)){
@@ -528,17 +550,19 @@ public class GenerateDecomposition {
 								/* But the set represented by the vertical axis doesn't */
 								if(otherInputSet.contains(verticalAxisRepresentsInputIndex)==-1){
 
-									ConsoleWindow.output("The inputs represented by the signal that would pend on the horizontal axis (M) of "
-											+ "this join ("+horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames())+
-											") are present in the other columns input set ("+otherInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+
-											"), but the horizontal signal's corresponding inputs unioned with the vertical signal's (N) corresponding input ("
-											+originalModuleDefinition.getInputName(verticalAxisRepresentsInputIndex)+") are not (i.e. the set "
-											+horizontalAxisAccumulatesInputIndexes.setUnion(new IntSet(verticalAxisRepresentsInputIndex))
-											.printStringRepresentation(originalModuleDefinition.getInputNames())+"), and hence if the other input set were signalled, a horizontal signal (M) "
-											+ "would remain pending on this join indefinitely "
-											+ "(never joining with a signal on N and continuing onwards). "
-											+ "The other column would therefore have to cancel these signals via the vertical axis (N), "
-											+ "and therefore we increase the size of this MxN Join's vertical axis (N) to accommodate this.");
+									if(Log.tracing()){
+										Log.trace("The inputs represented by the signal that would pend on the horizontal axis (M) of "
+												+ "this join ("+horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames())+
+												") are present in the other columns input set ("+otherInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+
+												"), but the horizontal signal's corresponding inputs unioned with the vertical signal's (N) corresponding input ("
+												+originalModuleDefinition.getInputName(verticalAxisRepresentsInputIndex)+") are not (i.e. the set "
+												+horizontalAxisAccumulatesInputIndexes.setUnion(new IntSet(verticalAxisRepresentsInputIndex))
+												.printStringRepresentation(originalModuleDefinition.getInputNames())+"), and hence if the other input set were signalled, a horizontal signal (M) "
+												+ "would remain pending on this join indefinitely "
+												+ "(never joining with a signal on N and continuing onwards). "
+												+ "The other column would therefore have to cancel these signals via the vertical axis (N), "
+												+ "and therefore we increase the size of this MxN Join's vertical axis (N) to accommodate this.");
+									}
 
 									/* Add an input to N (to allow cancelling of the horizontal signal which may be left pending on this MxN Join) */
 									verticalAxisSizeForThisJoin++;
@@ -553,17 +577,19 @@ public class GenerateDecomposition {
 							 * represented by the vertical axis is present */
 							else if(otherInputSet.contains(verticalAxisRepresentsInputIndex)!=-1){
 
-								ConsoleWindow.output("The input represented by the signal that would pend on the vertical axis (N) of "
-										+ "this join ("
-										+originalModuleDefinition.getInputName(verticalAxisRepresentsInputIndex)+") is present in the other column's input set ("
-										+otherInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+
-										"), but the horizontal signal's corresponding inputs ("+
-										horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames())+
-										") are not, and hence if the other input set were signalled, a the vertical signal (N) "
-										+ "would remain pending on this join indefinitely "
-										+ "(never joining with a signal on M and continuing onwards). "
-										+ "The other column would therefore have to cancel these signals via the horizontal axis (M), "
-										+ "and therefore we increase the size of this MxN Join's horizontal axis (M) to accommodate this.");
+								if(Log.tracing()){
+									Log.trace("The input represented by the signal that would pend on the vertical axis (N) of "
+											+ "this join ("
+											+originalModuleDefinition.getInputName(verticalAxisRepresentsInputIndex)+") is present in the other column's input set ("
+											+otherInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+
+											"), but the horizontal signal's corresponding inputs ("+
+											horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames())+
+											") are not, and hence if the other input set were signalled, a the vertical signal (N) "
+											+ "would remain pending on this join indefinitely "
+											+ "(never joining with a signal on M and continuing onwards). "
+											+ "The other column would therefore have to cancel these signals via the horizontal axis (M), "
+											+ "and therefore we increase the size of this MxN Join's horizontal axis (M) to accommodate this.");
+								}
 
 								/* Add an input to M (to allow cancelling of the vertical signal which may be left pending on this MxN Join) */
 								horizontalAxisSizeForThisJoin++;
@@ -577,7 +603,7 @@ public class GenerateDecomposition {
 							/* Neither only the set represented by the horizontal axis, nor only the set represented by the vertical axis exist in the
 							 * other input set, and so we do not need to increase the size of this MxN Join */
 							else{
-								ConsoleWindow.output("Neither 1) ONLY the inputs represented by the horizontal axis (without the vertical signal) nor "
+								Log.trace("Neither 1) ONLY the inputs represented by the horizontal axis (without the vertical signal) nor "
 										+ "2) the input represented by the vertical axis and NOT ALL of the horizontal axis' inputs, "
 										+ "are present in the other column's input set, and hence the other column does not cancel any signals on this MxN Join");
 							}
@@ -593,10 +619,12 @@ public class GenerateDecomposition {
 					columnReferencesForEachJoin.add(columnReferencesForThisJoin);
 					axisWhichNeedsCancellingForEachJoin.add(axisWhichNeedsCancellingForThisJoin);
 					
-					ConsoleWindow.output("Built "+horizontalAxisSizeForThisJoin+"x"+verticalAxisSizeForThisJoin+" Join for this column "
-					+currentJoin.getIdentifyingName()+" representing the joining of the set "+
-							"("+horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames())+","+
-							originalModuleDefinition.getInputName(verticalAxisRepresentsInputIndex)+")");
+					if(Log.tracing()){
+						Log.trace("Built "+horizontalAxisSizeForThisJoin+"x"+verticalAxisSizeForThisJoin+" Join for this column "
+						+currentJoin.getIdentifyingName()+" representing the joining of the set "+
+								"("+horizontalAxisAccumulatesInputIndexes.printStringRepresentation(originalModuleDefinition.getInputNames())+","+
+								originalModuleDefinition.getInputName(verticalAxisRepresentsInputIndex)+")");
+					}
 				}
 				
 				/* Finish building the current MxN Join column and store it along with any relevant information regarding which columns 
@@ -607,7 +635,7 @@ public class GenerateDecomposition {
 			}
 			MxNJoins.add(columnsForState);
 
-			ConsoleWindow.output("Built all MxN Join columns for state "+originalModuleDefinition.getStateName(i));
+			Log.info("Built all MxN Join columns for state "+originalModuleDefinition.getStateName(i));
 			
 			/* Now we can now link up the various modules with wires, which are relevant to the current state */
 
@@ -616,7 +644,7 @@ public class GenerateDecomposition {
 			 * we link the columns together within this cancellation network
 			 * we link "ends of" this cancellation networks to SerNQ' modules */
 
-			ConsoleWindow.output("Building wires between and within these columns");
+			Log.info("Building wires between and within these columns");
 			
 			/* For every input set (MxN Join column) in this state */
 			for(int j=0;j<cancellationSet.size();j++){
@@ -624,16 +652,18 @@ public class GenerateDecomposition {
 				/* Retrieve the input set */
 				IntSet currentInputSet=SerNDefinition.getSetInput(cancellationSet.get(j));
 
-				ConsoleWindow.output("Connecting column corresponding to input set "+
-				currentInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+" in state "+
-						originalModuleDefinition.getStateName(i));
+				if(Log.tracing()){
+					Log.trace("Connecting column corresponding to input set "+
+					currentInputSet.printStringRepresentation(originalModuleDefinition.getInputNames())+" in state "+
+							originalModuleDefinition.getStateName(i));
+				}
 				
 				int inputIndex = currentInputSet.get(0);
 
 				/* Retrieve the correct Fork tree which sends a signal to the top-most MxN Join's horizontal axis */
 				ConstructionModule firstInputForkTree=forkTrees.get((inputIndex*originalModuleDefinition.getNoOfStates())+i);
 
-				ConsoleWindow.output("Retrieving "+firstInputForkTree.getIdentifyingName()+" which corresponds to first input: "+originalModuleDefinition.getInputName(inputIndex)+ 
+				Log.trace("Retrieving "+firstInputForkTree.getIdentifyingName()+" which corresponds to first input: "+originalModuleDefinition.getInputName(inputIndex)+ 
 						" in state "+originalModuleDefinition.getStateName(i));
 				
 				/* Retrieve the MxN Join column that we are dealing with */
@@ -644,13 +674,13 @@ public class GenerateDecomposition {
 				if(firstInputForkTree.getNoOfOutputs()>1){
 					firstInputForkOrSerNQOutput = firstInputForkTree.getOutput(firstInputForkTree.getAttribute(0));
 					
-					ConsoleWindow.output("Retrieving next free output of "+firstInputForkTree.getIdentifyingName()+" which is "+firstInputForkOrSerNQOutput.getName());
+					Log.trace("Retrieving next free output of "+firstInputForkTree.getIdentifyingName()+" which is "+firstInputForkOrSerNQOutput.getName());
 				}
 				
 				/* Otherwise skip the Fork tree, and retrieve the output of the SerNQ module (the Fork tree can simply be replaced by a wire) */
 				else{
 					firstInputForkOrSerNQOutput=SerNQ.get(inputIndex).getOutput(SerNQ.get(inputIndex).getNoOfOutputs()-originalModuleDefinition.getNoOfStates()+i);
-					ConsoleWindow.output(firstInputForkTree.getIdentifyingName()+" is 0-way, so ignoring and retrieving the query output "+firstInputForkOrSerNQOutput.getName()+" of "+SerNQ.get(inputIndex).getIdentifyingName());
+					Log.trace(firstInputForkTree.getIdentifyingName()+" is 0-way, so ignoring and retrieving the query output "+firstInputForkOrSerNQOutput.getName()+" of "+SerNQ.get(inputIndex).getIdentifyingName());
 				}
 				
 				/* If the MxN Join column is greater than 0 (i.e. the current input set is not a singleton, and actually
@@ -663,7 +693,7 @@ public class GenerateDecomposition {
 					Wire forkToFirstJoin = new Wire(firstInputForkOrSerNQOutput,firstJoinInput);
 					cancellationSetInterconnections.add(forkToFirstJoin);
 					
-					ConsoleWindow.output("Linked output "+firstInputForkOrSerNQOutput.getName()+" to top-most MxN Join in column "+
+					Log.trace("Linked output "+firstInputForkOrSerNQOutput.getName()+" to top-most MxN Join in column "+
 							firstJoinInColumn.getIdentifyingName()+"'s top-most horizontal input "+firstJoinInput.getName() +" so first input of set is dealt with");
 				}
 				firstInputForkTree.incrementAttribute(0);
@@ -677,14 +707,14 @@ public class GenerateDecomposition {
 					/* Retrieve the SerNQ corresponding to this input */
 					inputIndex=currentInputSet.get(k+1);
 
-					ConsoleWindow.output("Retrieving "+k+"th MxN Join in this column: "+
+					Log.trace("Retrieving "+k+"th MxN Join in this column: "+
 							currentJoinInInputSetColumn.getIdentifyingName()+" and "+(k+1)+
 							"th input from the set: "+originalModuleDefinition.getInputName(inputIndex));
 					
 					/* Find the appropriate Fork tree which distributes this input to various MxN Join columns */
 					ConstructionModule currentInputForkTree=forkTrees.get((inputIndex*originalModuleDefinition.getNoOfStates())+i);
 
-					ConsoleWindow.output("Retrieving "+currentInputForkTree.getIdentifyingName()+" which corresponds to current input: "+originalModuleDefinition.getInputName(inputIndex)+ 
+					Log.trace("Retrieving "+currentInputForkTree.getIdentifyingName()+" which corresponds to current input: "+originalModuleDefinition.getInputName(inputIndex)+ 
 							" in state "+originalModuleDefinition.getStateName(i));
 					
 					ModuleOutputLine currentInputForkOrSerNQOutput;
@@ -693,7 +723,7 @@ public class GenerateDecomposition {
 					if(currentInputForkTree.getNoOfOutputs()>1){
 						currentInputForkOrSerNQOutput = currentInputForkTree.getOutput(currentInputForkTree.getAttribute(0));
 						currentInputForkTree.incrementAttribute(0);
-						ConsoleWindow.output("Retrieving next free output of "+currentInputForkTree.getIdentifyingName()+" which is "+currentInputForkOrSerNQOutput.getName());
+						Log.trace("Retrieving next free output of "+currentInputForkTree.getIdentifyingName()+" which is "+currentInputForkOrSerNQOutput.getName());
 					}
 					
 					/* Otherwise skip the Fork tree, and retrieve the output of the input's SerNQ module (the Fork tree can simply be replaced by a wire) */
@@ -701,7 +731,7 @@ public class GenerateDecomposition {
 						currentInputForkOrSerNQOutput=SerNQ.get(inputIndex).getOutput
 								(SerNQ.get(inputIndex).getNoOfOutputs()-originalModuleDefinition.getNoOfStates()+i);
 
-						ConsoleWindow.output("Fork is 0-way, so ignoring and retrieving the query output "+currentInputForkOrSerNQOutput.getName()+" of "+SerNQ.get(inputIndex).getIdentifyingName());
+						Log.trace("Fork is 0-way, so ignoring and retrieving the query output "+currentInputForkOrSerNQOutput.getName()+" of "+SerNQ.get(inputIndex).getIdentifyingName());
 					}
 					
 					/* Link the output of the Fork tree (or SerNQ if ignoring the Fork tree) to the current MxN Join in this column's topmost vertical input */
@@ -710,14 +740,14 @@ public class GenerateDecomposition {
 					Wire currentForkOrSerNQToCurrentJoin = new Wire(currentInputForkOrSerNQOutput,
 							currentJoinFirstVerticalInput);
 					cancellationSetInterconnections.add(currentForkOrSerNQToCurrentJoin);
-					ConsoleWindow.output("Linked output "+currentInputForkOrSerNQOutput.getName()+" to current MxN Join in column "+
+					Log.trace("Linked output "+currentInputForkOrSerNQOutput.getName()+" to current MxN Join in column "+
 							currentJoinInInputSetColumn.getIdentifyingName()+"'s top-most vertical input "+currentJoinFirstVerticalInput.getName());
 
 					/* If we are not on the last MxN Join, then link the (0,0) output to the 0th horizontal input of the next MxN Join in this column */
 					if(k<currentInputSet.size()-2){
 						Wire outputToNextJoin = new Wire(currentJoinInInputSetColumn.getOutput(0),currentJoinColumnToLinkWithFork.get(k+1).getInput(0));
 						cancellationSetInterconnections.add(outputToNextJoin);
-						ConsoleWindow.output("This is not the bottom-most join of the current column, so we link first output "+
+						Log.trace("This is not the bottom-most join of the current column, so we link first output "+
 								currentJoinInInputSetColumn.getOutput(0).getName()+" to the first horizontal input "+ currentJoinColumnToLinkWithFork.get(k+1).getInput(0).getName()
 								+ " of the next MxN Join "+currentJoinColumnToLinkWithFork.get(k+1).getIdentifyingName());
 					}
@@ -736,14 +766,14 @@ public class GenerateDecomposition {
 				 * be a member of any other input set in this state, due to the module being non-arb or eq-arb) */
 				if(currentJoinColumnToLinkWithFork.size()==0){
 					currentOutputToConnect=firstInputForkOrSerNQOutput;
-					ConsoleWindow.output("There are no MxN Joins in this column, so taking the output "+currentOutputToConnect.getName()+
+					Log.trace("There are no MxN Joins in this column, so taking the output "+currentOutputToConnect.getName()+
 							" of "+currentOutputToConnect.getModule().getIdentifyingName());
 				}
 				
 				/* Else take the (0,0) output of this MxN Join column's bottommost MxN Join */
 				else{
 					currentOutputToConnect=currentJoinColumnToLinkWithFork.get(currentJoinColumnToLinkWithFork.size()-1).getOutput(0);
-					ConsoleWindow.output("Taking the first output "+currentOutputToConnect.getName()+" of the bottom-most MxN Join "
+					Log.trace("Taking the first output "+currentOutputToConnect.getName()+" of the bottom-most MxN Join "
 							+currentOutputToConnect.getModule().getIdentifyingName()+" of this column");
 				}
 
@@ -772,8 +802,10 @@ public class GenerateDecomposition {
 								 *  "other" MxN Join column's current MxN Join */
 								if(cancellingColumnIndex==j){
 									
-									ConsoleWindow.output("MxN Column for input set "+SerNDefinition.getSetInput(cancellationSet.get(k)).printStringRepresentation(originalModuleDefinition.getInputNames())
-									+" in state "+originalModuleDefinition.getStateName(i)+" contains MxN Joins that have signals that need cancelling by the current input set");
+									if(Log.tracing()){
+										Log.trace("MxN Column for input set "+SerNDefinition.getSetInput(cancellationSet.get(k)).printStringRepresentation(originalModuleDefinition.getInputNames())
+										+" in state "+originalModuleDefinition.getStateName(i)+" contains MxN Joins that have signals that need cancelling by the current input set");
+									}
 
 									/* Retrieve the MxN Join that needs signals cancelling */
 									ConstructionModule joinToCancelSignalOn = MxNJoins.get(i).get(k).get(l);
@@ -785,18 +817,18 @@ public class GenerateDecomposition {
 									/* Cancel the pending 0th horizontal input's signal via the next free vertical input if necessary */
 									if(cancelVerticalViaHorizontal==false){
 										
-										ConsoleWindow.output("MxN Join "+joinToCancelSignalOn.getIdentifyingName()+" needs horizontal signal cancelling via free vertical axis input");
+										Log.trace("MxN Join "+joinToCancelSignalOn.getIdentifyingName()+" needs horizontal signal cancelling via free vertical axis input");
 										
 										inputToSignalToCancelSignalOnJoin = joinToCancelSignalOn.getInput
 												(joinToCancelSignalOn.getAttribute(0)+joinToCancelSignalOn.getAttribute(2)+1);
 										cancellationSetInterconnections.add(new Wire(currentOutputToConnect,inputToSignalToCancelSignalOnJoin));
 										
-										ConsoleWindow.output("Connecting output"+currentOutputToConnect.getName()+" of "+currentOutputToConnect.getModule().getIdentifyingName()+" to input "+
+										Log.trace("Connecting output"+currentOutputToConnect.getName()+" of "+currentOutputToConnect.getModule().getIdentifyingName()+" to input "+
 										inputToSignalToCancelSignalOnJoin.getName()+" of "+inputToSignalToCancelSignalOnJoin.getModule().getIdentifyingName());
 										
 										currentOutputToConnect=joinToCancelSignalOn.getOutput(joinToCancelSignalOn.getAttribute(0) *((joinToCancelSignalOn.getAttribute(2)+1)));
 										
-										ConsoleWindow.output("Corresponding output of current MxN Join "+currentOutputToConnect.getModule().getIdentifyingName()+
+										Log.trace("Corresponding output of current MxN Join "+currentOutputToConnect.getModule().getIdentifyingName()+
 												" to continue from is "+currentOutputToConnect.getName());
 										
 										joinToCancelSignalOn.incrementAttribute(2);
@@ -805,18 +837,18 @@ public class GenerateDecomposition {
 									/* Otherwise cancel the 0th vertical input's signal via the next free horizontal input */
 									else{
 										
-										ConsoleWindow.output("MxN Join "+joinToCancelSignalOn.getIdentifyingName()+" needs vertical signal cancelling via free horizontal axis input");
+										Log.trace("MxN Join "+joinToCancelSignalOn.getIdentifyingName()+" needs vertical signal cancelling via free horizontal axis input");
 										
 										inputToSignalToCancelSignalOnJoin = joinToCancelSignalOn.getInput(joinToCancelSignalOn.getAttribute(1)+1);
 										cancellationSetInterconnections.add(new Wire(currentOutputToConnect,inputToSignalToCancelSignalOnJoin));
 				
 
-										ConsoleWindow.output("Connecting output"+currentOutputToConnect.getName()+" of "+currentOutputToConnect.getModule().getIdentifyingName()+" to input "+
+										Log.trace("Connecting output"+currentOutputToConnect.getName()+" of "+currentOutputToConnect.getModule().getIdentifyingName()+" to input "+
 										inputToSignalToCancelSignalOnJoin.getName()+" of "+inputToSignalToCancelSignalOnJoin.getModule().getIdentifyingName());
 										
 										currentOutputToConnect=joinToCancelSignalOn.getOutput((joinToCancelSignalOn.getAttribute(1)+1));
 										
-										ConsoleWindow.output("Corresponding output of current MxN Join "+currentOutputToConnect.getModule().getIdentifyingName()+
+										Log.trace("Corresponding output of current MxN Join "+currentOutputToConnect.getModule().getIdentifyingName()+
 												" to continue from is "+currentOutputToConnect.getName());
 										
 										joinToCancelSignalOn.incrementAttribute(1);
@@ -827,8 +859,10 @@ public class GenerateDecomposition {
 					}
 				}
 				
-				ConsoleWindow.output("Finished cancelling any pending signals as a result of signalling input set "+
-					currentInputSet.printStringRepresentation(originalModuleDefinition.getInputNames()));
+				if(Log.tracing()){
+					Log.trace("Finished cancelling any pending signals as a result of signalling input set "+
+						currentInputSet.printStringRepresentation(originalModuleDefinition.getInputNames()));
+				}
 				
 				/* After "cancelling" pending signals in other MxN Join columns in the cancellation set, we need to work out whether
 				 * we need to add Choice trees in order to make a non-deterministic choice (if the original module is eq-arb)
@@ -864,7 +898,7 @@ public class GenerateDecomposition {
 					ModuleInputLine receivingInputOfOnlySerNQPrime = SerNQPrime.get(indexOfSerNQPrimeOfEachChoice.get(0)).getInput(SerNDefinition.getNoOfInputs()+i);
 					cancellationSetInterconnections.add(new Wire(currentOutputToConnect,receivingInputOfOnlySerNQPrime));
 					
-					ConsoleWindow.output("Connecting last output "+currentOutputToConnect.getName()+" of "+
+					Log.trace("Connecting last output "+currentOutputToConnect.getName()+" of "+
 							currentOutputToConnect.getModule().getIdentifyingName()+ " to this input set's SerNQ' module "+
 							receivingInputOfOnlySerNQPrime.getModule().getIdentifyingName()+" input "+receivingInputOfOnlySerNQPrime.getName());
 				}
@@ -875,15 +909,15 @@ public class GenerateDecomposition {
 				 * the Set Notation module) */
 				else{
 					
-					ConsoleWindow.output("Input set is part of a "+numberOfEqArbChoicesForThisInputSet+"-way eq-arb non-deterministic choice");
+					Log.trace("Input set is part of a "+numberOfEqArbChoicesForThisInputSet+"-way eq-arb non-deterministic choice");
 					
 					ConstructionModule currentInputSetChoice = GenerateCommonModules.createChoiceTree(numberOfEqArbChoicesForThisInputSet);
 					
-					ConsoleWindow.output("Building "+numberOfEqArbChoicesForThisInputSet+"-way Choice module");
+					Log.trace("Building "+numberOfEqArbChoicesForThisInputSet+"-way Choice module");
 					
 					cancellationSetInterconnections.add(new Wire(currentOutputToConnect,currentInputSetChoice.getInput(0)));
 					
-					ConsoleWindow.output("Connecting last output "+currentOutputToConnect.getName()+" of "+
+					Log.trace("Connecting last output "+currentOutputToConnect.getName()+" of "+
 							currentOutputToConnect.getModule().getIdentifyingName()+ " to this input set's Choice module "+
 							currentInputSetChoice.getIdentifyingName()+"'s only input "+currentInputSetChoice.getInput(0).getName());
 					
@@ -895,7 +929,7 @@ public class GenerateDecomposition {
 						ModuleInputLine receivingInputOfCurrentChoicesSerNQPrime = SerNQPrime.get(indexOfSerNQPrimeOfEachChoice.get(k)).getInput(SerNDefinition.getNoOfInputs()+i);
 						cancellationSetInterconnections.add(new Wire(currentInputSetChoice.getOutput(k),receivingInputOfCurrentChoicesSerNQPrime));
 						
-						ConsoleWindow.output("Linking "+k+"th output "+currentInputSetChoice.getOutput(k).getName()+" of "+currentInputSetChoice.getIdentifyingName()+
+						Log.trace("Linking "+k+"th output "+currentInputSetChoice.getOutput(k).getName()+" of "+currentInputSetChoice.getIdentifyingName()+
 								" to "+receivingInputOfCurrentChoicesSerNQPrime.getModule().getIdentifyingName()+"'s input "+receivingInputOfCurrentChoicesSerNQPrime.getName());
 						
 					}
@@ -910,7 +944,7 @@ public class GenerateDecomposition {
 		/* Remove Fork trees that are only sized 1 (they have been ignored by the algorithm in place of wires */
 		for(int i=forkTrees.size()-1;i>=0;i--){
 			if(forkTrees.get(i).getNoOfOutputs()<2){
-				ConsoleWindow.output("Removing "+forkTrees.get(i).getIdentifyingName()+" as it is unused");
+				Log.trace("Removing "+forkTrees.get(i).getIdentifyingName()+" as it is unused");
 				forkTrees.remove(i);
 			}
 		}
@@ -930,8 +964,10 @@ public class GenerateDecomposition {
 					(originalModuleDefinition.getOutputNames())+forkForCurrentOutputSet.getIdentifyingName());
 			irreversibleOutputStageForkTreeModuleInstances.add(forkForCurrentOutputSet);
 			
-			ConsoleWindow.output("Created "+forkForCurrentOutputSet.getIdentifyingName()+" corresponding to output set " +
-					SerNDefinition.getSetOutput(i).printStringRepresentation(originalModuleDefinition.getOutputNames()));
+			if(Log.tracing()){
+				Log.trace("Created "+forkForCurrentOutputSet.getIdentifyingName()+" corresponding to output set " +
+						SerNDefinition.getSetOutput(i).printStringRepresentation(originalModuleDefinition.getOutputNames()));
+			}
 		}
 
 		/* For every output line of the original Set Notation module */
@@ -951,7 +987,7 @@ public class GenerateDecomposition {
 			mergeForCurrentOutput.setIdentifyingName("("+originalModuleDefinition.getOutputName(i)+")"+mergeForCurrentOutput.getIdentifyingName());
 			irreversibleOutputStageMergeTreeModuleInstances.add(mergeForCurrentOutput);	
 			
-			ConsoleWindow.output("Created "+mergeForCurrentOutput.getIdentifyingName()+" corresponding to output line " +
+			Log.trace("Created "+mergeForCurrentOutput.getIdentifyingName()+" corresponding to output line " +
 					originalModuleDefinition.getOutputName(i));
 		}
 
@@ -968,7 +1004,7 @@ public class GenerateDecomposition {
 				Wire forkToMerge= new Wire(forkForCurrentOutputSet.getOutput(forkForCurrentOutputSet.getAttribute(0)),currentOutputMerge.getInput(currentOutputMerge.getAttribute(0)));
 				irreversibleOutputStageInterconnections.add(forkToMerge);
 				
-				ConsoleWindow.output("Connected "+forkForCurrentOutputSet.getOutput(forkForCurrentOutputSet.getAttribute(0)).getName()+" of "+ 
+				Log.trace("Connected "+forkForCurrentOutputSet.getOutput(forkForCurrentOutputSet.getAttribute(0)).getName()+" of "+ 
 					forkForCurrentOutputSet.getIdentifyingName()+" to input " + currentOutputMerge.getInput(currentOutputMerge.getAttribute(0)) + 
 					" of "+currentOutputMerge.getIdentifyingName());
 				
@@ -989,7 +1025,7 @@ public class GenerateDecomposition {
 			/* We build Fork trees which link each SerNQ' of stage 1 to all SerNQ/SerNQ' in stage 1 
 			* and then Join trees which link each identical output from SerNQ/SerNQ' of stage 1 to the appropriate Fork tree in stage 2 */
 
-			ConsoleWindow.output("Generating b-arb style update stage, which forks to only SerNQ and SerNQ' in input stage");
+			Log.info("Generating b-arb style update stage, which forks to only SerNQ and SerNQ' in input stage");
 			
 			/* For every SerNQ' in stage 1, build a Fork tree whose output size is the total number of all SerNQ and SerNQ' in stage 1,
 			 * and then connect the "q" output of this SerNQ' to the input of this Fork tree. Finally, for each output of the Fork tree,
@@ -998,7 +1034,7 @@ public class GenerateDecomposition {
 				int numberOfOutputsOfCurrentInputSetFork = SerNQModuleInstances.size()+SerNQPrimeModuleInstances.size();
 				ConstructionModule forkTreeToForkToAllAuxiliaries = GenerateCommonModules.createForkTree(numberOfOutputsOfCurrentInputSetFork);
 				
-				ConsoleWindow.output("Creating "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+
+				Log.trace("Creating "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+
 						" to link "+SerNQPrimeModuleInstances.get(i).getIdentifyingName() +" to all "+numberOfOutputsOfCurrentInputSetFork +
 						" SerNQ and SerNQ' modules in the input stage");
 				
@@ -1007,14 +1043,14 @@ public class GenerateDecomposition {
 				Wire currentInputSetSerNQPrimeToCurrentFork = new Wire(SerNQPrimeModuleInstances.get(i).getOutput(SerNQPrimeModuleInstances.get(i).getNoOfOutputs()-1),forkTreeToForkToAllAuxiliaries.getInput(0));
 				updateStageInterconnections.add(currentInputSetSerNQPrimeToCurrentFork);
 				
-				ConsoleWindow.output("Connected output "+SerNQPrimeModuleInstances.get(i).getOutput(SerNQPrimeModuleInstances.get(i).getNoOfOutputs()-1).getName()+
+				Log.trace("Connected output "+SerNQPrimeModuleInstances.get(i).getOutput(SerNQPrimeModuleInstances.get(i).getNoOfOutputs()-1).getName()+
 						" of "+SerNQPrimeModuleInstances.get(i).getIdentifyingName()+" to only input "+forkTreeToForkToAllAuxiliaries.getInput(0).getName()+" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName());
 				
 				for(int j=0;j<SerNQModuleInstances.size();j++){
 					Wire currentForkToCurrentSerNQ = new Wire(forkTreeToForkToAllAuxiliaries.getOutput(j),SerNQModuleInstances.get(j).getInput(i));
 					updateStageInterconnections.add(currentForkToCurrentSerNQ);
 					
-					ConsoleWindow.output("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(j).getName()+
+					Log.trace("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(j).getName()+
 							" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+" to input "+SerNQModuleInstances.get(j).getInput(i).getName()+" of "+SerNQModuleInstances.get(j).getIdentifyingName());
 				}
 				forkTreeToForkToAllAuxiliaries.setAttribute(0,SerNQModuleInstances.size());
@@ -1022,7 +1058,7 @@ public class GenerateDecomposition {
 					Wire currentForkToCurrentSerNQPrime= new Wire(forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)),SerNQPrimeModuleInstances.get(j).getInput(i));
 					updateStageInterconnections.add(currentForkToCurrentSerNQPrime);
 					
-					ConsoleWindow.output("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
+					Log.trace("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
 							" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+" to input "+SerNQPrimeModuleInstances.get(j).getInput(i).getName()+" of "+SerNQPrimeModuleInstances.get(j).getIdentifyingName());
 					
 					forkTreeToForkToAllAuxiliaries.incrementAttribute(0);
@@ -1037,14 +1073,14 @@ public class GenerateDecomposition {
 				ConstructionModule joinTreeToJoinFromAllAuxiliaries = GenerateCommonModules.createJoinTree(numberOfInputsOfCurrentOutputSetJoin);
 				updateStageJoinTreeModuleInstances.add(joinTreeToJoinFromAllAuxiliaries);
 
-				ConsoleWindow.output("Creating "+numberOfInputsOfCurrentOutputSetJoin+"-way Join Tree Network to link all SerNQ and SerNQ' modules in the input stage to "
+				Log.trace("Creating "+numberOfInputsOfCurrentOutputSetJoin+"-way Join Tree Network to link all SerNQ and SerNQ' modules in the input stage to "
 						+irreversibleOutputStageForkTreeModuleInstances.get(i).getIdentifyingName() +" in the irreversible output stage");
 				
 				for(int j=0;j<SerNQModuleInstances.size();j++){
 					Wire currentSerNQToJoinTree = new Wire(SerNQModuleInstances.get(j).getOutput(i),joinTreeToJoinFromAllAuxiliaries.getInput(j));
 					updateStageInterconnections.add(currentSerNQToJoinTree);
 					
-					ConsoleWindow.output("Connected output "+SerNQModuleInstances.get(j).getOutput(i).getName()+
+					Log.trace("Connected output "+SerNQModuleInstances.get(j).getOutput(i).getName()+
 							" of "+SerNQModuleInstances.get(j).getIdentifyingName()+" to input "+joinTreeToJoinFromAllAuxiliaries.getInput(j).getName()+
 							" of "+joinTreeToJoinFromAllAuxiliaries.getInput(j).getModule().getIdentifyingName()+ " (input to Join Tree sub-circuit)");
 				}
@@ -1053,7 +1089,7 @@ public class GenerateDecomposition {
 					Wire currentSerNQPrimeToJoinTree= new Wire(SerNQPrimeModuleInstances.get(j).getOutput(i),joinTreeToJoinFromAllAuxiliaries.getInput(j+SerNQModuleInstances.size()));
 					updateStageInterconnections.add(currentSerNQPrimeToJoinTree);
 					
-					ConsoleWindow.output("Connected output "+SerNQPrimeModuleInstances.get(j).getOutput(i).getName()+
+					Log.trace("Connected output "+SerNQPrimeModuleInstances.get(j).getOutput(i).getName()+
 							" of "+SerNQPrimeModuleInstances.get(j).getIdentifyingName()+" to input "+joinTreeToJoinFromAllAuxiliaries.getInput(j+SerNQModuleInstances.size()).getName()+
 							" of "+joinTreeToJoinFromAllAuxiliaries.getInput(j+SerNQModuleInstances.size()).getModule().getIdentifyingName()+ " (input to Join Tree sub-circuit)");
 					
@@ -1066,7 +1102,7 @@ public class GenerateDecomposition {
 				Wire joinTreeToOutputSetFork = new Wire(outputFromJoinTree,inputToForkTree);
 				updateStageInterconnections.add(joinTreeToOutputSetFork);
 
-				ConsoleWindow.output("Connected output "+outputFromJoinTree.getName()+
+				Log.trace("Connected output "+outputFromJoinTree.getName()+
 						" of "+outputFromJoinTree.getModule().getIdentifyingName()+" (output from Join Tree sub-circuit) to only input "
 						+inputToForkTree.getName()+" of "+forkTreeForOutputSet.getIdentifyingName());
 			}
@@ -1075,7 +1111,7 @@ public class GenerateDecomposition {
 		/* The version of the "update stage" in the case of the reversible stage 2 construction, when the original module is non-b-arb */
 		else{
 			
-			ConsoleWindow.output("Generating non-b-arb style update stage, which updates SerNQ and SerNQ' in input and output stage");
+			Log.info("Generating non-b-arb style update stage, which updates SerNQ and SerNQ' in input and output stage");
 			
 			/* We build Fork trees which link each SerNQ' of stage 1 to all SerNQ/SerNQ' in stage 1 and stage 2
 			 * and then Join trees which link each identical output from SerNQ/SerNQ' of stage 1 and stage 2 to the 
@@ -1088,7 +1124,7 @@ public class GenerateDecomposition {
 				int numberOfOutputsOfCurrentInputSetFork = SerNQModuleInstances.size()+SerNQPrimeModuleInstances.size() + outputSerNQPrimeModuleInstances.size()+outputSerNQModuleInstances.size();
 				ConstructionModule forkTreeToForkToAllAuxiliaries = GenerateCommonModules.createForkTree(numberOfOutputsOfCurrentInputSetFork);
 				
-				ConsoleWindow.output("Creating "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+
+				Log.trace("Creating "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+
 						" to link "+SerNQPrimeModuleInstances.get(i).getIdentifyingName() +" to all "+numberOfOutputsOfCurrentInputSetFork +
 						" SerNQ and SerNQ' modules in the input and output stages");
 				
@@ -1097,7 +1133,7 @@ public class GenerateDecomposition {
 				Wire currentInputSetSerNQPrimeToCurrentFork = new Wire(SerNQPrimeModuleInstances.get(i).getOutput(SerNQPrimeModuleInstances.get(i).getNoOfOutputs()-1),forkTreeToForkToAllAuxiliaries.getInput(0));
 				updateStageInterconnections.add(currentInputSetSerNQPrimeToCurrentFork);
 			
-				ConsoleWindow.output("Connected output "+SerNQPrimeModuleInstances.get(i).getOutput(SerNQPrimeModuleInstances.get(i).getNoOfOutputs()-1).getName()+
+				Log.trace("Connected output "+SerNQPrimeModuleInstances.get(i).getOutput(SerNQPrimeModuleInstances.get(i).getNoOfOutputs()-1).getName()+
 						" of "+SerNQPrimeModuleInstances.get(i).getIdentifyingName()+" to only input "+forkTreeToForkToAllAuxiliaries.getInput(0).getName()+" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName());
 				
 				for(int j=0;j<SerNQModuleInstances.size();j++){
@@ -1105,14 +1141,14 @@ public class GenerateDecomposition {
 					forkTreeToForkToAllAuxiliaries.incrementAttribute(0);
 					updateStageInterconnections.add(currentForkToCurrentSerNQ);
 				
-					ConsoleWindow.output("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(j).getName()+
+					Log.trace("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(j).getName()+
 							" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+" to input "+SerNQModuleInstances.get(j).getInput(i).getName()+" of "+SerNQModuleInstances.get(j).getIdentifyingName());
 				}
 				for(int j=0;j<SerNQPrimeModuleInstances.size();j++){
 					Wire currentForkToCurrentSerNQPrime= new Wire(forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)),SerNQPrimeModuleInstances.get(j).getInput(i));
 					updateStageInterconnections.add(currentForkToCurrentSerNQPrime);
 					
-					ConsoleWindow.output("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
+					Log.trace("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
 							" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+" to input "+SerNQPrimeModuleInstances.get(j).getInput(i).getName()+" of "+SerNQPrimeModuleInstances.get(j).getIdentifyingName());
 				
 					forkTreeToForkToAllAuxiliaries.incrementAttribute(0);
@@ -1121,7 +1157,7 @@ public class GenerateDecomposition {
 					Wire currentForkToCurrentOutputStageSerNQ = new Wire(forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)),outputSerNQModuleInstances.get(j).getInput(i));
 					updateStageInterconnections.add(currentForkToCurrentOutputStageSerNQ);
 					
-					ConsoleWindow.output("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
+					Log.trace("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
 							" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+" to input "+outputSerNQModuleInstances.get(j).getInput(i).getName()+" of "+outputSerNQModuleInstances.get(j).getIdentifyingName());
 					
 					forkTreeToForkToAllAuxiliaries.incrementAttribute(0);
@@ -1130,7 +1166,7 @@ public class GenerateDecomposition {
 					Wire currentForkToCurrentOutputStageSerNQPrime = new Wire(forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)),outputSerNQPrimeModuleInstances.get(j).getInput(i));
 					updateStageInterconnections.add(currentForkToCurrentOutputStageSerNQPrime);
 					
-					ConsoleWindow.output("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
+					Log.trace("Connected output "+forkTreeToForkToAllAuxiliaries.getOutput(forkTreeToForkToAllAuxiliaries.getAttribute(0)).getName()+
 							" of "+forkTreeToForkToAllAuxiliaries.getIdentifyingName()+" to input "+outputSerNQPrimeModuleInstances.get(j).getInput(i).getName()+" of "+outputSerNQPrimeModuleInstances.get(j).getIdentifyingName());
 					
 					forkTreeToForkToAllAuxiliaries.incrementAttribute(0);
@@ -1144,7 +1180,7 @@ public class GenerateDecomposition {
 				int numberOfInputsOfCurrentOutputSetJoin = SerNQModuleInstances.size()+SerNQPrimeModuleInstances.size() + outputSerNQPrimeModuleInstances.size()+outputSerNQModuleInstances.size();
 				ConstructionModule joinTreeToJoinFromAllAuxiliaries = GenerateCommonModules.createJoinTree(numberOfInputsOfCurrentOutputSetJoin);
 
-				ConsoleWindow.output("Creating "+numberOfInputsOfCurrentOutputSetJoin+
+				Log.trace("Creating "+numberOfInputsOfCurrentOutputSetJoin+
 						"-way Join Tree Network to link all SerNQ and SerNQ' modules in the input and output stages to "+outputSerNQModuleInstances.get(i).getIdentifyingName());
 				
 				updateStageJoinTreeModuleInstances.add(joinTreeToJoinFromAllAuxiliaries);
@@ -1152,7 +1188,7 @@ public class GenerateDecomposition {
 					Wire currentSerNQToJoinTree = new Wire(SerNQModuleInstances.get(j).getOutput(i),joinTreeToJoinFromAllAuxiliaries.getInput(j));
 					updateStageInterconnections.add(currentSerNQToJoinTree);
 					
-					ConsoleWindow.output("Connected output "+SerNQModuleInstances.get(j).getOutput(i).getName()+
+					Log.trace("Connected output "+SerNQModuleInstances.get(j).getOutput(i).getName()+
 							" of "+SerNQModuleInstances.get(j).getIdentifyingName()+" to input "+joinTreeToJoinFromAllAuxiliaries.getInput(j).getName()+" of "+
 							joinTreeToJoinFromAllAuxiliaries.getInput(j).getModule().getIdentifyingName()+"(input to Join Tree sub-circuit)");
 					
@@ -1162,7 +1198,7 @@ public class GenerateDecomposition {
 					Wire currentSerNQPrimeToJoinTree= new Wire(SerNQPrimeModuleInstances.get(j).getOutput(i),joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)));
 					updateStageInterconnections.add(currentSerNQPrimeToJoinTree);
 					
-					ConsoleWindow.output("Connected output "+SerNQPrimeModuleInstances.get(j).getOutput(i).getName()+
+					Log.trace("Connected output "+SerNQPrimeModuleInstances.get(j).getOutput(i).getName()+
 							" of "+SerNQPrimeModuleInstances.get(j).getIdentifyingName()+" to input "+
 							joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)).getName()+" of "+
 							joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)).getModule().getIdentifyingName()+" (input to Join Tree sub-circuit)");
@@ -1174,7 +1210,7 @@ public class GenerateDecomposition {
 							joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)));
 					updateStageInterconnections.add(currentOutputStageSerNQToJoinTree);
 					
-					ConsoleWindow.output("Connected output "+outputSerNQModuleInstances.get(j).getOutput(i).getName()+
+					Log.trace("Connected output "+outputSerNQModuleInstances.get(j).getOutput(i).getName()+
 							" of "+outputSerNQModuleInstances.get(j).getIdentifyingName()+" to input "+
 							joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)).getName()+" of "+
 							joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)).getModule().getIdentifyingName()+" (input to Join Tree sub-circuit)");
@@ -1185,7 +1221,7 @@ public class GenerateDecomposition {
 					Wire currentOutputStageSerNQPrimeToJoinTree = new Wire(outputSerNQPrimeModuleInstances.get(j).getOutput(i),joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)));
 					updateStageInterconnections.add(currentOutputStageSerNQPrimeToJoinTree);
 					
-					ConsoleWindow.output("Connected output "+outputSerNQPrimeModuleInstances.get(j).getOutput(i).getName()+
+					Log.trace("Connected output "+outputSerNQPrimeModuleInstances.get(j).getOutput(i).getName()+
 							" of "+outputSerNQPrimeModuleInstances.get(j).getIdentifyingName()+" to input "+
 							joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)).getName()+" of "+
 							joinTreeToJoinFromAllAuxiliaries.getInput(joinTreeToJoinFromAllAuxiliaries.getAttribute(0)).getModule().getIdentifyingName()+" (input to Join Tree sub-circuit)");
@@ -1200,7 +1236,7 @@ public class GenerateDecomposition {
 				Wire joinToOutputSetCorrespondingSerNQ = new Wire(joinTreeOutput,inputOfSerNQ);
 				updateStageInterconnections.add(joinToOutputSetCorrespondingSerNQ);
 				
-				ConsoleWindow.output("Connected output "+joinTreeOutput+
+				Log.trace("Connected output "+joinTreeOutput+
 						" of "+joinTreeOutput.getModule().getIdentifyingName()+" (output from Join Tree sub-circuit) to query input "+inputOfSerNQ.getName()+" of "+inputOfSerNQ.getModule().getIdentifyingName());
 			}			
 		}
@@ -1212,33 +1248,35 @@ public class GenerateDecomposition {
 	 * of stage 2 for the original module, ready to be connected to stage 1 via the update stage of the algorithm. */
 	private static void invertStage2() {
 		for(int i=0;i<outputSerNQPrimeModuleInstances.size();i++){		
-			ConsoleWindow.output("Swapping "+outputSerNQPrimeModuleInstances.get(i).getIdentifyingName()+" for SerNQ' module");	
+			Log.trace("Swapping "+outputSerNQPrimeModuleInstances.get(i).getIdentifyingName()+" for SerNQ' module");	
 			GenerateSerModules.convertExistingSerNQToSerNQPrime(outputSerNQPrimeModuleInstances.get(i),
 					SerNQPrimeDefinition.getInternalSetDefinition(),SerNDefinition.getNoOfOutputs());
 			
 		}
 		for(int i=0;i<outputSerNQModuleInstances.size();i++){	
-			ConsoleWindow.output("Swapping "+outputSerNQModuleInstances.get(i).getIdentifyingName()+" for SerNQ module");
+			Log.trace("Swapping "+outputSerNQModuleInstances.get(i).getIdentifyingName()+" for SerNQ module");
 			GenerateSerModules.convertExistingSerNQPrimeToSerNQ(outputSerNQModuleInstances.get(i),
 					SerNQDefinition.getInternalSetDefinition(),SerNDefinition.getNoOfOutputs());
 			
 		}
 		for(int i=0;i<outputJoinTreeModuleInstances.size();i++){			
 			ConstructionModule joinTreeDefinitionToReplaceForkTreeDefinition =GenerateCommonModules.createJoinTree(outputJoinTreeModuleInstances.get(i).getNoOfOutputs());
-			ConsoleWindow.output("Inverting module "+outputJoinTreeModuleInstances.get(i).getIdentifyingName());
+			Log.trace("Inverting module "+outputJoinTreeModuleInstances.get(i).getIdentifyingName());
 			outputJoinTreeModuleInstances.get(i).invertModule(joinTreeDefinitionToReplaceForkTreeDefinition.getInternalSetDefinition());
 		}
 		for(int i=0;i<outputJoinTreeToSerNQPrimeInterconnections.size();i++){
-			ConsoleWindow.output("Inverting wire "+outputJoinTreeToSerNQPrimeInterconnections.get(i).print());	
+			if(Log.tracing()){
+				Log.trace("Inverting wire "+outputJoinTreeToSerNQPrimeInterconnections.get(i).print());	
+			}
 			outputJoinTreeToSerNQPrimeInterconnections.get(i).invertWire();
 		}
 		for(int i=0;i<outputMxNForkColumns.size();i++){	
-			ConsoleWindow.output("Inverting MxN Join columns in state "+originalModuleDefinition.getStateName(i));
+			Log.trace("Inverting MxN Join columns in state "+originalModuleDefinition.getStateName(i));
 			for(int j=0;j<outputMxNForkColumns.get(i).size();j++){
-				ConsoleWindow.output("Inverting MxN Join column");
+				Log.trace("Inverting MxN Join column");
 				for(int k=0;k<outputMxNForkColumns.get(i).get(j).size();k++){
 					ConstructionModule joinToInvert = outputMxNForkColumns.get(i).get(j).get(k);	
-					ConsoleWindow.output("Inverting MxN Join "+joinToInvert.getIdentifyingName());	
+					Log.trace("Inverting MxN Join "+joinToInvert.getIdentifyingName());	
 					ConstructionModule forkDefinitionToReplaceJoinDefinition = GenerateCommonModules.createFork(
 							joinToInvert.getAttribute(0),joinToInvert.getNoOfInputs()-joinToInvert.getAttribute(0));
 					joinToInvert.invertModule(forkDefinitionToReplaceJoinDefinition.getInternalSetDefinition());
@@ -1247,7 +1285,9 @@ public class GenerateDecomposition {
 		}
 		for(int i=0;i<outputMxNForkColumnInterconnections.size();i++){
 			for(int j=0;j<outputMxNForkColumnInterconnections.get(i).size();j++){
-				ConsoleWindow.output("Inverting wire "+outputMxNForkColumnInterconnections.get(i).get(j).print());
+				if(Log.tracing()){
+					Log.trace("Inverting wire "+outputMxNForkColumnInterconnections.get(i).get(j).print());
+				}
 				outputMxNForkColumnInterconnections.get(i).get(j).invertWire();
 			}
 		}
@@ -1261,7 +1301,7 @@ public class GenerateDecomposition {
 			overallConstruction.addConstructionModule(SerNQModuleInstances.get(i));
 			overallConstruction.setCircuitInput(i,SerNDefinition.getNoOfInputs(),originalModuleDefinition.getInputName(i));
 			
-			ConsoleWindow.output("External input port "+originalModuleDefinition.getInputName(i)+" is on input "+
+			Log.trace("External input port "+originalModuleDefinition.getInputName(i)+" is on input "+
 			overallConstruction.getModule(i).getInput(SerNDefinition.getNoOfInputs()).getName()+" of "+overallConstruction.getModule(i).getIdentifyingName());
 		}
 		for(int i=0;i<SerNQPrimeModuleInstances.size();i++){
@@ -1296,7 +1336,7 @@ public class GenerateDecomposition {
 				overallConstruction.addConstructionModule(irreversibleOutputStageMergeTreeModuleInstances.get(i));
 				overallConstruction.setCircuitOutput(overallConstruction.getNoOfModules()-1,0,originalModuleDefinition.getOutputName(i));
 				
-				ConsoleWindow.output("External output port "+originalModuleDefinition.getOutputName(i)+" is on output "+
+				Log.trace("External output port "+originalModuleDefinition.getOutputName(i)+" is on output "+
 						overallConstruction.getModule(overallConstruction.getNoOfModules()-1).getOutput(0).getName()+" of "
 						+overallConstruction.getModule(overallConstruction.getNoOfModules()-1).getIdentifyingName());
 			}
@@ -1309,7 +1349,7 @@ public class GenerateDecomposition {
 				overallConstruction.addConstructionModule(outputSerNQPrimeModuleInstances.get(i));
 				overallConstruction.setCircuitOutput(overallConstruction.getNoOfModules()-1,SerNDefinition.getNoOfOutputs(),originalModuleDefinition.getOutputName(i));
 				
-				ConsoleWindow.output("External output port "+originalModuleDefinition.getOutputName(i)+" is on output "+
+				Log.trace("External output port "+originalModuleDefinition.getOutputName(i)+" is on output "+
 						overallConstruction.getModule(overallConstruction.getNoOfModules()-1).getOutput(SerNDefinition.getNoOfOutputs()).getName()+" of "
 						+overallConstruction.getModule(overallConstruction.getNoOfModules()-1).getIdentifyingName());
 			}
@@ -54,6 +54,8 @@ public class GenerateSerModules{
 				}
 			}
 		}
+		/* The input sets were changed in place, so the module must be told */
+		setModuleDefinition.transitionsChanged();
 		
 		/* Lists all unique Set Notation module input sets (sets with a negative trailing value are 
 		 * counted separately from the set they are "equal" to). This allows a mapping between 
@@ -4,8 +4,9 @@ import java.util.Vector;
 
 import CommonStructures.IntSet;
 import CommonStructures.SetSet;
-import GUI.ConsoleWindow;
-import GUI.ConversionTab;
+import CommonStructures.SubsetIterator;
+import CommonStructures.TaskControl;
+import Logging.Log;
 import SequentialMachineStructure.NDSequentialMachine;
 import SequentialMachineStructure.SeqTransition;
 import SetNotationStructure.SetNotationModule;
@@ -22,13 +23,16 @@ public class SeqToSetConversion {
 	private static boolean[] stateReachability;	
 
 	/* Converts the given (ND) sequential machine to a Set Notation module according to the algorithm given in the thesis.
-	 * It follows the algorithm very closely. See ConsoleWindow.output calls below for more information as to what operations are
-	 * performed at each stage */
-	public static SetNotationModule convertToSet(NDSequentialMachine sequentialDefinition){
+	 * It follows the algorithm very closely, and optionally removes the states which are unreachable from the top-most state
+	 * afterwards. See Log calls below for more information as to what operations are performed at each stage. As the
+	 * reachability matrix above is shared, only one conversion runs at a time. Throws an InterruptedException if the thread
+	 * is interrupted part of the way through (see TaskControl) */
+	public static synchronized SetNotationModule convertToSet(NDSequentialMachine sequentialDefinition, boolean removeUnreachable)
+			throws InterruptedException{
 
 		SetNotationModule builtSetDefinition = new SetNotationModule();
 
-		ConsoleWindow.output("Adding list of state names, input names, and output names to Set Notation module");
+		Log.info("Adding list of state names, input names, and output names to Set Notation module");
 		
 		for(int i=0;i<sequentialDefinition.getNoOfStates();i++){
 			builtSetDefinition.addStateName(sequentialDefinition.getStateName(i));
@@ -40,7 +44,7 @@ public class SeqToSetConversion {
 			builtSetDefinition.addOutputName(sequentialDefinition.getOutputName(i));
 		}
 		
-		ConsoleWindow.output("Adding initial list of (ND) sequential machine transitions to Set Notation module. These will be built upon"
+		Log.info("Adding initial list of (ND) sequential machine transitions to Set Notation module. These will be built upon"
 				+ " and possibly eventually deleted by the algorithm");
 		for(int i=0;i<sequentialDefinition.getNoOfTransitions();i++){
 			SeqTransition seqTransition = sequentialDefinition.getTransition(i);
@@ -51,31 +55,34 @@ public class SeqToSetConversion {
 		/* Determine largest "A" set */
 		int biggestASet = sequentialDefinition.maximumConcurrentSetSize();
 
-		ConsoleWindow.output("Largest A set is size "+biggestASet+
+		Log.info("Largest A set is size "+biggestASet+
 				" so we progressively build up actions with increasing input set size until reaching input size "+biggestASet);
 		
 		/* Build up actions in increasing size */
 		for(int i=2;i<=biggestASet;i++){
+			TaskControl.checkpoint("Building actions of input set size "+i+" of "+biggestASet);
 			buildActionsOfSizeX(i,builtSetDefinition,sequentialDefinition);			
 		}
 
-		ConsoleWindow.output("Removing actions with null outputs");
+		Log.info("Removing actions with null outputs");
 		removeNullOutputActions(builtSetDefinition);
 	
-		if(ConversionTab.instance.StateRemoval.isSelected()){
+		if(removeUnreachable){
 			
-			ConsoleWindow.output("Removing states unreachable from top-most state");
+			Log.info("Removing states unreachable from top-most state");
 			removeUnreachableStates(builtSetDefinition);
 		}
 		return builtSetDefinition;
 	}
 	
 	/* Builds up actions of size x, by retrieving A function entires that are x or larger */
-	public static void buildActionsOfSizeX(int x, SetNotationModule builtSetDefinition, NDSequentialMachine sequentialDefinition){
+	public static void buildActionsOfSizeX(int x, SetNotationModule builtSetDefinition, NDSequentialMachine sequentialDefinition)
+			throws InterruptedException{
 		
-		ConsoleWindow.output("Building actions with input set size "+x);
+		Log.info("Building actions with input set size "+x);
 		
 		for(int i=0;i<sequentialDefinition.getNoOfStates();i++){
+			TaskControl.checkpoint(null);
 			
 			/* For every allowable set */
 			for(int j=0; j<sequentialDefinition.getAFunction().getState(i).size();j++){
@@ -91,58 +98,52 @@ public class SeqToSetConversion {
 	}
 
 	/* Builds up actions of size x for a given state, from a given A function entry that is size x or larger */
-	private static void buildActionsOfSizeXFromSet(IntSet set, int state, int x, SetNotationModule builtSetDefinition) {
+	private static void buildActionsOfSizeXFromSet(IntSet set, int state, int x, SetNotationModule builtSetDefinition)
+			throws InterruptedException{
 
-		ConsoleWindow.output("Building actions in state "+builtSetDefinition.getStateName(state)+" of input set size "+x+" from concurrent set "
-			+set.printStringRepresentation(builtSetDefinition.getInputNames()));
+		if(Log.tracing()){
+			Log.trace("Building actions in state "+builtSetDefinition.getStateName(state)+" of input set size "+x+" from concurrent set "
+				+set.printStringRepresentation(builtSetDefinition.getInputNames()));
+		}
 		
 		/* e.g. say we are building action of input size 3 and we are given the A function entry {a,b,c,d,e} as it is bigger than 3
-		* we first retrieve all subsets of size 2 or less, {a}, {b} {c} {d} {e} {a,b} {a,c}... , so that we can
-		* combined already "implemented" actions corresponding to subsets of 2 or less in order to build an action of size 3 */
-
-		SetSet relevantSubsets = subsetsOfSizeXorLess(set,x-1);
+		* we take every subset of size 2 or less, {a}, {b} {c} {d} {e} {a,b} {a,c}... , so that we can
+		* combined already "implemented" actions corresponding to subsets of 2 or less in order to build an action of size 3.
+		* The subsets are streamed (see SubsetIterator) rather than built up front */
 
 		/* Now build actions resulting from all pairs of subsets A, B such that A u B is cardinality 3
-		* and A and B are distinct */
-
-		/* For every possible first subset */
-		for(int i=0;i<relevantSubsets.size();i++){
-
-			/* For every possible second subset */
-			for(int j=0;j<relevantSubsets.size();j++){
-
-				/* If the sets are different */
-				if(i!=j){
-
-					/* If the sum of the two sets cardinality is equal to size x */
-					if(relevantSubsets.get(i).size()+relevantSubsets.get(j).size()==x){
-
-						/* And the sets are distinct */
-						if(relevantSubsets.get(i).setDifference(relevantSubsets.get(j)).equals(relevantSubsets.get(i))){
-							
-							ConsoleWindow.output("Building actions corresponding to processing "+
-									relevantSubsets.get(i).printStringRepresentation(builtSetDefinition.getInputNames())+
-									" and "+relevantSubsets.get(j).printStringRepresentation(builtSetDefinition.getInputNames()) +" in either order");
-							
-							/* Build transitions resulting from applying both input sets in either order */
-							makeAction(relevantSubsets.get(i),relevantSubsets.get(j),state,builtSetDefinition);
-							makeAction(relevantSubsets.get(j),relevantSubsets.get(i),state,builtSetDefinition);
-						}
-					}
+		* and A and B are distinct. For every possible first subset... */
+		SubsetIterator firstSubsets = new SubsetIterator(set,1,x-1);
+		while(firstSubsets.hasNext()){
+			IntSet firstSubset = firstSubsets.next();
+			TaskControl.checkpoint(null);
+
+			/* ...every possible second subset is a subset of the remaining elements, whose size brings the total to x.
+			 * These are produced in the same relative order as the first subsets, so actions are built in the same order
+			 * as pairing every subset of size x-1 or less with every other */
+			SubsetIterator secondSubsets = new SubsetIterator(set.setDifference(firstSubset),x-firstSubset.size(),x-firstSubset.size());
+			while(secondSubsets.hasNext()){
+				IntSet secondSubset = secondSubsets.next();
+
+				if(Log.tracing()){
+					Log.trace("Building actions corresponding to processing "+
+							firstSubset.printStringRepresentation(builtSetDefinition.getInputNames())+
+							" and "+secondSubset.printStringRepresentation(builtSetDefinition.getInputNames()) +" in either order");
 				}
+
+				/* Build transitions resulting from applying both input sets in either order */
+				makeAction(firstSubset,secondSubset,state,builtSetDefinition);
+				makeAction(secondSubset,firstSubset,state,builtSetDefinition);
 			}
 		}
 	}
 	
-	/* Retrieves subsets of the given set, of size x or less. It utilises the powerset method of IntSets and then
-	 * simply strips out sets that are too large */
+	/* Retrieves subsets of the given set, of size x or less */
 	public static SetSet subsetsOfSizeXorLess(IntSet set, int x){
-		SetSet relevantSubsets = set.powerSet();
-
-		for(int i=relevantSubsets.size()-1;i>=0;i--){
-			if(relevantSubsets.get(i).size()>x){
-				relevantSubsets.remove(i);
-			}
+		SetSet relevantSubsets = new SetSet();
+		SubsetIterator subsets = new SubsetIterator(set,1,x);
+		while(subsets.hasNext()){
+			relevantSubsets.add(subsets.next());
 		}
 		return relevantSubsets;
 	}
@@ -178,10 +179,12 @@ public class SeqToSetConversion {
 				 * of the output sets of the "first" and "second" actions, and the target state is the target state of the "second" action */
 				builtSetDefinition.addTransition(new SetTransition(initialState,combinedInput,inputSet2ResultState,concurrentOutput,builtSetDefinition));
 				
-				ConsoleWindow.output("Input "+inputSet1.printStringRepresentation(builtSetDefinition.getInputNames())+" followed by input "+
-						inputSet2.printStringRepresentation(builtSetDefinition.getInputNames())+" can lead to output "+
-						concurrentOutput.printStringRepresentation(builtSetDefinition.getOutputNames())+" and resulting state "+
-						builtSetDefinition.getStateName(inputSet2ResultState));
+				if(Log.tracing()){
+					Log.trace("Input "+inputSet1.printStringRepresentation(builtSetDefinition.getInputNames())+" followed by input "+
+							inputSet2.printStringRepresentation(builtSetDefinition.getInputNames())+" can lead to output "+
+							concurrentOutput.printStringRepresentation(builtSetDefinition.getOutputNames())+" and resulting state "+
+							builtSetDefinition.getStateName(inputSet2ResultState));
+				}
 			}
 		}
 	}
@@ -215,7 +218,7 @@ public class SeqToSetConversion {
 
 			/* If a state is not reachable then delete all its associated data (name, outgoing transitions) */
 			if(!stateReachability[j]){
-				ConsoleWindow.output("State "+builtSetDefinition.getStateName(j)+" is unreachable from the top-most state so removing");
+				Log.trace("State "+builtSetDefinition.getStateName(j)+" is unreachable from the top-most state so removing");
 				builtSetDefinition.removeStateName(j);
 				for(int k=builtSetDefinition.getNoOfTransitions()-1;k>=0;k--){
 					if(builtSetDefinition.getTransition(k).getSourceState()==j){
@@ -242,7 +245,7 @@ public class SeqToSetConversion {
 			int resultState=currentAction.getResultState();
 			if(stateReachability[resultState]==false){
 				
-				ConsoleWindow.output("State "+builtSetDefinition.getStateName(resultState)+" is reachable from the top-most state");
+				Log.trace("State "+builtSetDefinition.getStateName(resultState)+" is reachable from the top-most state");
 				
 				stateReachability[resultState]=true;
 				calculateReachableFromState(resultState,builtSetDefinition);
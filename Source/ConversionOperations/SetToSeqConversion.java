@@ -3,8 +3,9 @@ package ConversionOperations;
 import java.util.Vector;
 
 import CommonStructures.IntSet;
+import CommonStructures.PermutationIterator;
 import CommonStructures.SetSet;
-import GUI.ConsoleWindow;
+import Logging.Log;
 import SequentialMachineStructure.NDSequentialMachine;
 import SequentialMachineStructure.SeqTransition;
 import SetNotationStructure.SetNotationModule;
@@ -22,12 +23,14 @@ public class SetToSeqConversion {
 			SetTransition currentTransition = setDefinition.getTransition(i);
 			if(setDefinition.availablePermutations(currentTransition.getInputSet(),currentTransition.getSourceState())< 
 					setDefinition.occurrences(currentTransition.getInputSet(),currentTransition.getSourceState())){
-				ConsoleWindow.output("The number of available permutations/sequences for the input set "+
-						currentTransition.getInputSet().printStringRepresentation(setDefinition.getInputNames())+" in state "+
-						setDefinition.getStateName(currentTransition.getSourceState())
-						+" is less than the number of occurrences of the set in state "+
-						setDefinition.getStateName(currentTransition.getSourceState()) +
-						", so it cannot be realised as a sequential machine");
+				if(Log.tracing()){
+					Log.trace("The number of available permutations/sequences for the input set "+
+							currentTransition.getInputSet().printStringRepresentation(setDefinition.getInputNames())+" in state "+
+							setDefinition.getStateName(currentTransition.getSourceState())
+							+" is less than the number of occurrences of the set in state "+
+							setDefinition.getStateName(currentTransition.getSourceState()) +
+							", so it cannot be realised as a sequential machine");
+				}
 				return 2;
 			}
 		}	
@@ -35,12 +38,12 @@ public class SetToSeqConversion {
 	}		
 	
 	/* Converts any given Set Notation module to a (ND if required) sequential machine according to the algorithm given in the thesis.
-	 * It follows the algorithm very closely. See ConsoleWindow.output calls below for more information as to what operations are
+	 * It follows the algorithm very closely. See Log calls below for more information as to what operations are
 	 * performed at each stage */
 	public static NDSequentialMachine convertAnyToSeq(SetNotationModule setDefinition) {
 		NDSequentialMachine builtSeqDefinition = new NDSequentialMachine();
 
-		ConsoleWindow.output("Adding list of state names, input names, and output names to sequential definition");
+		Log.info("Adding list of state names, input names, and output names to sequential definition");
 
 		for(int i=0;i<setDefinition.getNoOfInputs();i++){
 			builtSeqDefinition.addInputName(setDefinition.getInputName(i));
@@ -53,48 +56,50 @@ public class SetToSeqConversion {
 		}
 		for(int i=0;i<setDefinition.getNoOfStates();i++){
 
-			ConsoleWindow.output("Building (ND)-sequential machine state "+setDefinition.getStateName(i));
+			Log.trace("Building (ND)-sequential machine state "+setDefinition.getStateName(i));
 
 			int sourceState=i;
 			Vector<IntSet> unavailablePermutations = new Vector<IntSet>();
 			Vector<Vector<SetTransition>> aggregatedByInputSetsInIncreasingSize = setDefinition.aggregateTransitionsByInputSet(sourceState);
 
-			ConsoleWindow.output("Aggregating transitions for set module state "+setDefinition.getStateName(i)+" by their input set, in increasing size");
+			Log.trace("Aggregating transitions for set module state "+setDefinition.getStateName(i)+" by their input set, in increasing size");
 
 			for(int j=0;j<aggregatedByInputSetsInIncreasingSize.size();j++){
 				Vector<SetTransition> transitionsForInputSet=aggregatedByInputSetsInIncreasingSize.get(j);
 
-				ConsoleWindow.output("Building (ND)-sequential machine transitions for input set "+
-						transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames())+" in state "+setDefinition.getStateName(i));
+				if(Log.tracing()){
+					Log.trace("Building (ND)-sequential machine transitions for input set "+
+							transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames())+" in state "+setDefinition.getStateName(i));
+				}
 
 				if(!builtSeqDefinition.getAFunction().contains(sourceState,transitionsForInputSet.get(0).getInputSet())){
 					builtSeqDefinition.getAFunction().addSetToState(transitionsForInputSet.get(0).getInputSet(), sourceState);
-					ConsoleWindow.output("A function for state "+builtSeqDefinition.getStateName(i)+" doesn't contain a set which contains "+
-							transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames())+", so the input set is added");
+					if(Log.tracing()){
+						Log.trace("A function for state "+builtSeqDefinition.getStateName(i)+" doesn't contain a set which contains "+
+								transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames())+", so the input set is added");
+					}
 				}
 
-				Vector<IntSet> availablePermutationsForInputSet = transitionsForInputSet.get(0).getInputSet().permutations();
-
-				ConsoleWindow.output("Calculated list of all permutations for input set "+
-						transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames()));
+				PermutationIterator permutationGenerator = transitionsForInputSet.get(0).getInputSet().permutationIterator();
+				permutationGenerator.excludePrefixes(unavailablePermutations);
 
-				for(int k=availablePermutationsForInputSet.size()-1;k>=0;k--){
-					for(int l=0;l<unavailablePermutations.size();l++){
-						if(unavailablePermutations.get(l).prefix(availablePermutationsForInputSet.get(k))){
-							ConsoleWindow.output("Permutation "+availablePermutationsForInputSet.get(k).printStringRepresentation(setDefinition.getInputNames())
-									+" is unavailable as used permutation "+unavailablePermutations.get(l).printStringRepresentation(setDefinition.getInputNames())
-									+" is a prefix, so it is removed from the list");
-							availablePermutationsForInputSet.remove(k);
-							break;
-						}
-					}
+				if(Log.tracing()){
+					Log.trace("Calculating list of permutations for input set "+
+							transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames())+
+							", skipping any permutation which has an already used permutation as a prefix (as it is unavailable)");
 				}
 
-				ConsoleWindow.output("Finished calculating list of available permutations for processing input set "+
-						transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames())+" in state "+setDefinition.getStateName(i));
+				Vector<IntSet> availablePermutationsForInputSet = permutationGenerator.remaining();
+
+				if(Log.tracing()){
+					Log.trace("Finished calculating list of available permutations for processing input set "+
+							transitionsForInputSet.get(0).getInputSet().printStringRepresentation(setDefinition.getInputNames())+" in state "+setDefinition.getStateName(i));
+				}
 
 				for(int k=0;k<availablePermutationsForInputSet.size();k++){
-					ConsoleWindow.output("Permutation available: "+availablePermutationsForInputSet.get(k).printStringRepresentation(setDefinition.getInputNames()));
+					if(Log.tracing()){
+						Log.trace("Permutation available: "+availablePermutationsForInputSet.get(k).printStringRepresentation(setDefinition.getInputNames()));
+					}
 				}
 
 				unavailablePermutations.addAll(availablePermutationsForInputSet);
@@ -103,15 +108,19 @@ public class SetToSeqConversion {
 
 					SetTransition currentTransition = transitionsForInputSet.remove(k);
 
-					ConsoleWindow.output("Building set of sequential machine transitions for set transition: "+currentTransition.printStringAction());
+					if(Log.tracing()){
+						Log.trace("Building set of sequential machine transitions for set transition: "+currentTransition.printStringAction());
+					}
 
 					Vector<IntSet> permutationsToUse;
 					if(k==0){						
-						ConsoleWindow.output("This is the last transition for this input set in this state, so utilising all remaining available permutations");
+						Log.trace("This is the last transition for this input set in this state, so utilising all remaining available permutations");
 						permutationsToUse=availablePermutationsForInputSet;
 
 						for(int l=0;l<availablePermutationsForInputSet.size();l++){
-							ConsoleWindow.output("Utilising permutation: "+availablePermutationsForInputSet.get(l).printStringRepresentation(setDefinition.getInputNames()));
+							if(Log.tracing()){
+								Log.trace("Utilising permutation: "+availablePermutationsForInputSet.get(l).printStringRepresentation(setDefinition.getInputNames()));
+							}
 						}
 
 					}
@@ -119,15 +128,17 @@ public class SetToSeqConversion {
 						permutationsToUse=new Vector<IntSet>();
 						permutationsToUse.add(availablePermutationsForInputSet.get(0));
 
-						ConsoleWindow.output("Utilising permutation: "+availablePermutationsForInputSet.get(0).printStringRepresentation(setDefinition.getInputNames()));
+						if(Log.tracing()){
+							Log.trace("Utilising permutation: "+availablePermutationsForInputSet.get(0).printStringRepresentation(setDefinition.getInputNames()));
+						}
 
 						if(availablePermutationsForInputSet.size()>1){
 							availablePermutationsForInputSet.remove(0);
-							ConsoleWindow.output("Removing permutation from available list of permutations, so it won't be reused for more transitions");
+							Log.trace("Removing permutation from available list of permutations, so it won't be reused for more transitions");
 
 						}
 						else{
-							ConsoleWindow.output("This is the last remaining permutation available, so it will be left and "
+							Log.trace("This is the last remaining permutation available, so it will be left and "
 									+ "utilised for subsequent transitions for this input set in this state (resulting in a ND-sequential machine)");
 						}
 					}
@@ -135,99 +146,119 @@ public class SetToSeqConversion {
 					for(int l=0;l<permutationsToUse.size();l++){
 						IntSet permutationToBuild = permutationsToUse.get(l);
 
-						ConsoleWindow.output("Building sequential machine transitions for permutation: "+
-								permutationToBuild.printStringRepresentation(setDefinition.getInputNames()));
+						if(Log.tracing()){
+							Log.trace("Building sequential machine transitions for permutation: "+
+									permutationToBuild.printStringRepresentation(setDefinition.getInputNames()));
+						}
 
 						if(permutationToBuild.size()==1){
 
-							ConsoleWindow.output("Permutation is of length 1, so the original transition "+currentTransition.printStringAction()
-							+" is simply converted to sequential machine form");
+							if(Log.tracing()){
+								Log.trace("Permutation is of length 1, so the original transition "+currentTransition.printStringAction()
+								+" is simply converted to sequential machine form");
+							}
 
 							SeqTransition allInOneTransition = new SeqTransition(i,currentTransition.getInputSet().get(0),
 									currentTransition.getResultState(),currentTransition.getOutputSet().deepCopy(),builtSeqDefinition);
 							builtSeqDefinition.addTransition(allInOneTransition);
 						}
 						else{			
-							ConsoleWindow.output("Building first transition which processes first (0th) input of the permutation: "+setDefinition.getInputName(permutationToBuild.get(0)));
+							Log.trace("Building first transition which processes first (0th) input of the permutation: "+setDefinition.getInputName(permutationToBuild.get(0)));
 							String currentResultStateString = setDefinition.getStateName(sourceState)+"-"+permutationToBuild.get(0);
 							int currentResultStateIndex = builtSeqDefinition.getStateIndex(currentResultStateString);
 							if(currentResultStateIndex==-1){
-								ConsoleWindow.output("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(0))+
+								Log.trace("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(0))+
 										" in state "+builtSeqDefinition.getStateName(i)+" doesn't exist, so it is created for use as the resulting state");
 								builtSeqDefinition.addStateName(currentResultStateString);
 								currentResultStateIndex=builtSeqDefinition.getNoOfStates()-1;
 							}
 							else{
-								ConsoleWindow.output("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(0))+
+								Log.trace("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(0))+
 										" in state "+builtSeqDefinition.getStateName(sourceState)+" already exists, so it is used as the resulting state");
 							}
 							SeqTransition startTransition = new SeqTransition(sourceState,permutationToBuild.get(0),currentResultStateIndex,new IntSet(),builtSeqDefinition);
 							if(builtSeqDefinition.addTransition(startTransition)){
-								ConsoleWindow.output("Adding transition: "+startTransition.printStringAction(false)+" to state "+builtSeqDefinition.getStateName(sourceState));
+								if(Log.tracing()){
+									Log.trace("Adding transition: "+startTransition.printStringAction(false)+" to state "+builtSeqDefinition.getStateName(sourceState));
+								}
 							}
 							else{
-								ConsoleWindow.output("Transition: "+startTransition.printStringAction(false)+" in state "+setDefinition.getStateName(sourceState) +
-										" already exists so it doesn't need to be added");
+								if(Log.tracing()){
+									Log.trace("Transition: "+startTransition.printStringAction(false)+" in state "+setDefinition.getStateName(sourceState) +
+											" already exists so it doesn't need to be added");
+								}
 							}
 
 							int currentSourceStateIndex;
 							for(int m=1;m<permutationToBuild.size()-1;m++){
 
-								ConsoleWindow.output("Building transition which processes "+m+"th input of the permutation: "+setDefinition.getInputName(permutationToBuild.get(m)));
+								Log.trace("Building transition which processes "+m+"th input of the permutation: "+setDefinition.getInputName(permutationToBuild.get(m)));
 
 								currentSourceStateIndex = currentResultStateIndex;
 								currentResultStateString = currentResultStateString+","+permutationToBuild.get(m);
 								currentResultStateIndex = builtSeqDefinition.getStateIndex(currentResultStateString);
 								if(currentResultStateIndex==-1){
 
-									ConsoleWindow.output("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(m))+
+									Log.trace("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(m))+
 											" in state "+builtSeqDefinition.getStateName(currentSourceStateIndex)+" doesn't exist, so it is created for use as the resulting state");
 
 									builtSeqDefinition.addStateName(currentResultStateString);
 									currentResultStateIndex=builtSeqDefinition.getNoOfStates()-1;
 								}
 								else{
-									ConsoleWindow.output("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(m))+
+									Log.trace("Sequential machine state corresponding to signalling "+setDefinition.getInputName(permutationToBuild.get(m))+
 											" in state "+builtSeqDefinition.getStateName(currentSourceStateIndex)+" already exists, so it is used as the resulting state");
 								}
 								SeqTransition currentIntermediateTransition = new SeqTransition(currentSourceStateIndex,
 										permutationToBuild.get(m),currentResultStateIndex,new IntSet(),builtSeqDefinition);
 								if(builtSeqDefinition.addTransition(currentIntermediateTransition)){
-									ConsoleWindow.output("Adding transition: "+currentIntermediateTransition.printStringAction(false)+" to state "+
-											builtSeqDefinition.getStateName(currentSourceStateIndex));
+									if(Log.tracing()){
+										Log.trace("Adding transition: "+currentIntermediateTransition.printStringAction(false)+" to state "+
+												builtSeqDefinition.getStateName(currentSourceStateIndex));
+									}
 								}
 								else{
-									ConsoleWindow.output("Transition: "+currentIntermediateTransition.printStringAction(false)+" in state "+
-											builtSeqDefinition.getStateName(currentSourceStateIndex) +
-											" already exists so it doesn't need to be added");
+									if(Log.tracing()){
+										Log.trace("Transition: "+currentIntermediateTransition.printStringAction(false)+" in state "+
+												builtSeqDefinition.getStateName(currentSourceStateIndex) +
+												" already exists so it doesn't need to be added");
+									}
 								}
 								if(!builtSeqDefinition.getAFunction().contains(currentSourceStateIndex,permutationToBuild.getSubSet(m,permutationToBuild.size()-1))){
 									builtSeqDefinition.getAFunction().addSetToState(permutationToBuild.getSubSet(m,permutationToBuild.size()-1), currentSourceStateIndex);
-									ConsoleWindow.output("A function for state "+builtSeqDefinition.getStateName(currentSourceStateIndex)+" doesn't contain a set which contains "+
-											permutationToBuild.getSubSet(m,permutationToBuild.size()-1).printStringRepresentation(setDefinition.getInputNames())+
-											" (the current remaining signals of the permutation), "
-											+ "so the input set is added");
+									if(Log.tracing()){
+										Log.trace("A function for state "+builtSeqDefinition.getStateName(currentSourceStateIndex)+" doesn't contain a set which contains "+
+												permutationToBuild.getSubSet(m,permutationToBuild.size()-1).printStringRepresentation(setDefinition.getInputNames())+
+												" (the current remaining signals of the permutation), "
+												+ "so the input set is added");
+									}
 								}
 							}
 							currentSourceStateIndex=currentResultStateIndex;
 
-							ConsoleWindow.output("Building final transition which processes final ("+(permutationToBuild.size()-1)+"th) input of the permutation: "+
-									setDefinition.getInputName(permutationToBuild.get(permutationToBuild.size()-1))+
-									" and produces the set transition's output ("+currentTransition.getOutputSet().printStringRepresentation(setDefinition.getOutputNames())+")");
+							if(Log.tracing()){
+								Log.trace("Building final transition which processes final ("+(permutationToBuild.size()-1)+"th) input of the permutation: "+
+										setDefinition.getInputName(permutationToBuild.get(permutationToBuild.size()-1))+
+										" and produces the set transition's output ("+currentTransition.getOutputSet().printStringRepresentation(setDefinition.getOutputNames())+")");
+							}
 
 							SeqTransition finalTransition = new SeqTransition(currentSourceStateIndex,permutationToBuild.get(permutationToBuild.size()-1),
 									currentTransition.getResultState(),currentTransition.getOutputSet(),builtSeqDefinition);
 
 							if(builtSeqDefinition.addTransition(finalTransition)){
-								ConsoleWindow.output("Adding transition: "+finalTransition.printStringAction(false)+" to state "+builtSeqDefinition.getStateName(currentSourceStateIndex));
+								if(Log.tracing()){
+									Log.trace("Adding transition: "+finalTransition.printStringAction(false)+" to state "+builtSeqDefinition.getStateName(currentSourceStateIndex));
+								}
 							}
 							else{
-								ConsoleWindow.output("Transition: "+finalTransition.printStringAction(false)+" in state "+builtSeqDefinition.getStateName(currentSourceStateIndex) +
-										" already exists so it doesn't need to be added");
+								if(Log.tracing()){
+									Log.trace("Transition: "+finalTransition.printStringAction(false)+" in state "+builtSeqDefinition.getStateName(currentSourceStateIndex) +
+											" already exists so it doesn't need to be added");
+								}
 							}
 							if(!builtSeqDefinition.getAFunction().contains(currentSourceStateIndex,new IntSet(permutationToBuild.get(permutationToBuild.size()-1)))){
 								builtSeqDefinition.getAFunction().addSetToState(new IntSet(permutationToBuild.get(permutationToBuild.size()-1)), currentSourceStateIndex);
-								ConsoleWindow.output("A function for state "+builtSeqDefinition.getStateName(currentSourceStateIndex)+" doesn't contain a set which contains "+
+								Log.trace("A function for state "+builtSeqDefinition.getStateName(currentSourceStateIndex)+" doesn't contain a set which contains "+
 										setDefinition.getInputName(permutationToBuild.get(permutationToBuild.size()-1))+
 										" (the final signal of the permutation), "
 										+ "so the input is added as a singleton set");
@@ -237,15 +268,15 @@ public class SetToSeqConversion {
 				}
 			}
 		}
-		ConsoleWindow.output("Removing any duplicate state definitions");
+		Log.info("Removing any duplicate state definitions");
 
 		builtSeqDefinition=removeDuplicateStates(builtSeqDefinition);
 
-		ConsoleWindow.output("Tidying state names to prevent conflicts and to remove non-alphanumeric chars (such as dashes, commas etc.)");
+		Log.info("Tidying state names to prevent conflicts and to remove non-alphanumeric chars (such as dashes, commas etc.)");
 
 		builtSeqDefinition=tidyStateNames(builtSeqDefinition);
 
-		ConsoleWindow.output("Removing redundant sets from A function (a set is redundant if a superset exists in the same state) ");
+		Log.info("Removing redundant sets from A function (a set is redundant if a superset exists in the same state) ");
 
 		builtSeqDefinition=tidyAFunction(builtSeqDefinition);		
 		return builtSeqDefinition;
@@ -256,6 +287,10 @@ public class SetToSeqConversion {
 	 * friendly */
 	public static NDSequentialMachine removeDuplicateStates(NDSequentialMachine builtSeqDefinition){
 		
+		/* The transitions starting in each state, which are only recalculated when states have been merged, rather than
+		 * for every pair of states compared */
+		Vector<Vector<SeqTransition>> transitionsBySource = null;
+
 		/* Until we know that all states are unique, do the following */
 		boolean repeatStateRemoval=true;
 		while(repeatStateRemoval){
@@ -266,13 +301,17 @@ public class SetToSeqConversion {
 			/* Iterate through states beginning from the end of the list, in decreasing index */
 			for(int i=builtSeqDefinition.getNoOfStates()-1;i>=0;i--){
 				
+				if(transitionsBySource==null){
+					transitionsBySource = transitionsBySource(builtSeqDefinition);
+				}
+
 				/* Retrieve the set of transitions starting in the current state */
-				Vector<SeqTransition> firstStateTransitions = builtSeqDefinition.getTransitionsWithSource(i);
+				Vector<SeqTransition> firstStateTransitions = transitionsBySource.get(i);
 				int duplicateStateIndex=-1;
 				
 				/* Iterate through all states prior to this one in the list and retrieve their transitions */
 				for(int j=0;j<i;j++){
-					Vector<SeqTransition> secondStateTransitions = builtSeqDefinition.getTransitionsWithSource(j);
+					Vector<SeqTransition> secondStateTransitions = transitionsBySource.get(j);
 					boolean secondStateEquivalent = true;
 					
 					/* Check whether both states are equivalent in terms of actions */
@@ -318,6 +357,7 @@ public class SetToSeqConversion {
 				if(duplicateStateIndex!=-1){
 					
 					/* This means the ith state is equivalent to the prior jth state */
+					transitionsBySource=null;
 
 					/*First remove all transitions starting in the ith state */
 					for(int j=builtSeqDefinition.getNoOfTransitions()-1;j>=0;j--){
@@ -358,6 +398,20 @@ public class SetToSeqConversion {
 		return builtSeqDefinition;
 	}
 
+	/* Returns the transitions starting in each state of the given (ND) sequential machine, in the same order
+	 * as NDSequentialMachine.getTransitionsWithSource, by a single pass over the list of transitions */
+	private static Vector<Vector<SeqTransition>> transitionsBySource(NDSequentialMachine builtSeqDefinition){
+		Vector<Vector<SeqTransition>> transitionsBySource = new Vector<Vector<SeqTransition>>();
+		for(int i=0;i<builtSeqDefinition.getNoOfStates();i++){
+			transitionsBySource.add(new Vector<SeqTransition>());
+		}
+		for(int i=0;i<builtSeqDefinition.getNoOfTransitions();i++){
+			SeqTransition transition = builtSeqDefinition.getTransition(i);
+			transitionsBySource.get(transition.getSourceState()).add(transition);
+		}
+		return transitionsBySource;
+	}
+
 	/* Tidies the A function for the new (ND) sequential machine. It basically strips out any sets which are subsets
 	 * of another set in the same A(q). This is because the definition of the A function necessarily allows any subset
 	 * of any defined set to be signalled concurrently. Hence smaller sets which are subsets of larger sets are redundant. */
@@ -0,0 +1,70 @@
+package DISetAlgebraLTSStructure;
+
+import java.util.Vector;
+
+import DISetAlgebraStructure.PartiallyVisibleNetwork;
+
+/* Represents an entry in the worklist used when generating an LTS. It records a state whose outgoing
+ * transitions are still being built, together with the list of transitions available from it and how far
+ * through that list the generation has got. It takes the place of a stack frame of the old recursive generation */
+public class ExplorationFrame {
+
+	/* The state whose outgoing transitions are being built */
+	private LTSState state;
+
+	/* The full network term of the state, kept only until its transitions have been calculated so that the term does
+	 * not have to be rebuilt from the state's encoded form */
+	private PartiallyVisibleNetwork term;
+
+	/* The transitions available from the state, or null if they have not been calculated yet */
+	private Vector<Transition> transitions = null;
+
+	/* Index of the next transition in the list to be built */
+	private int nextTransition = 0;
+
+	/* Constructs the frame for the given state, whose full network term is given */
+	public ExplorationFrame(LTSState frameState, PartiallyVisibleNetwork frameTerm) {
+		state=frameState;
+		term=frameTerm;
+	}
+
+	/* Gets the full network term of the state. This is only available until the transitions have been set */
+	public PartiallyVisibleNetwork getTerm() {
+		return term;
+	}
+
+	/* Gets the state whose outgoing transitions are being built */
+	public LTSState getState() {
+		return state;
+	}
+
+	/* Returns whether the available transitions have been calculated yet */
+	public boolean transitionsCalculated() {
+		return transitions!=null;
+	}
+
+	/* Sets the list of transitions available from the state, after which the full network term is no longer kept */
+	public void setTransitions(Vector<Transition> available) {
+		transitions=available;
+		term=null;
+	}
+
+	/* Returns whether there are any transitions left to build */
+	public boolean hasNextTransition() {
+		return nextTransition<transitions.size();
+	}
+
+	/* Returns the next transition to build and moves past it */
+	public Transition nextTransition() {
+		Transition next = transitions.get(nextTransition);
+		transitions.set(nextTransition,null);
+		nextTransition++;
+		return next;
+	}
+
+	/* Gets the total number of transitions available from the state */
+	public int getNoOfTransitions() {
+		return transitions.size();
+	}
+
+}
@@ -1,8 +1,11 @@
 package DISetAlgebraLTSStructure;
 
+import java.util.HashMap;
 import java.util.Vector;
 
+import DISetAlgebraStructure.EncodedNetworkState;
 import DISetAlgebraStructure.PartiallyVisibleNetwork;
+import DISetAlgebraStructure.StateEncoding;
 
 /* Encapsulates an entire LTS. It contains a list of LTS states
  * and also makes special note of ones which have no outgoing transitions 
@@ -16,24 +19,78 @@ public class LTSDefinition {
 	/* List of "end" states (no outgoing transitions) */
 	private Vector<LTSState> endStates = new Vector<LTSState>();
 
+	/* Index from the encoded network term of each state to its position in the list of states. This
+	 * allows a visited state to be found in constant time, rather than comparing against every existing state */
+	private HashMap<EncodedNetworkState,Integer> stateIndex = new HashMap<EncodedNetworkState,Integer>();
+
+	/* The encoding used for the network terms of every state in the LTS */
+	private StateEncoding encoding;
+
+	/* Where generation stopped if it ran out of budget before every state was explored, or null if the LTS is complete */
+	private LTSFrontier frontier = null;
+
+	/* The weak transitions of the LTS, worked out when first needed, or null if they have not been (or the LTS has changed since) */
+	private WeakTransitionTable weakTransitions = null;
+
+	/* Constructs an empty LTS whose states' network terms are encoded by the given encoding */
+	public LTSDefinition(StateEncoding stateEncoding) {
+		encoding=stateEncoding;
+	}
+
 	/* Add state to end states */
 	public void addEndState(LTSState state) {
 		endStates.add(state);
 	}
 	
-	/* Add to list of states */
+	/* Add to list of states, and index it by its encoded network term. The network term must therefore
+	 * be set before the state is added. If an equivalent state is already present then the index keeps pointing to the earlier one */
 	public void addState(LTSState state) {
+		weakTransitions=null;
 		allStates.add(state);
+		if(!stateIndex.containsKey(state.getEncodedTerm())){
+			stateIndex.put(state.getEncodedTerm(),allStates.size()-1);
+		}
 	}
 	
-	/* Checks if the given network term has a corresponding state in the LTS */
+	/* Checks if the given network term has a corresponding state in the LTS, and returns its index if so,
+	 * or -1 otherwise */
 	public int getIndexIfExists(PartiallyVisibleNetwork state){
-		for(int i=0;i<allStates.size();i++){
-			if(allStates.get(i).getNetworkTerm().sameAs(state)){
-				return i;
-			}
+		return getIndexIfExists(encoding.encode(state));
+	}
+
+	/* Checks if the given encoded network term has a corresponding state in the LTS, and returns its index if so,
+	 * or -1 otherwise */
+	public int getIndexIfExists(EncodedNetworkState state){
+		Integer index = stateIndex.get(state);
+		if(index==null){
+			return -1;
 		}
-		return -1;
+		return index;
+	}
+
+	/* Gets the encoding used for the network terms of every state */
+	public StateEncoding getEncoding(){
+		return encoding;
+	}
+
+	/* Gets where generation stopped if the LTS is incomplete, or null if it is complete */
+	public LTSFrontier getFrontier(){
+		return frontier;
+	}
+
+	/* Sets where generation stopped, or null once the LTS is complete */
+	public void setFrontier(LTSFrontier stoppedAt){
+		weakTransitions=null;
+		frontier=stoppedAt;
+	}
+
+	/* Gets the weak transitions of the LTS (see WeakTransitionTable), working them out the first time they are needed. This
+	 * is a post-processing stage, so it must only be used once generation has finished */
+	public synchronized WeakTransitionTable getWeakTransitions(){
+		if(weakTransitions==null){
+			weakTransitions = new WeakTransitionTable(this);
+		}
+		return weakTransitions;
 	}
 
 	/* Get the state at the given index in the list */
@@ -41,14 +98,37 @@ public class LTSDefinition {
 		return allStates.get(index);
 	}
 	
+	/* Returns the number of end states currently in the LTS */
+	public int getNoOfEndStates(){
+		return endStates.size();
+	}
+
 	/* Returns the number of states currently in the LTS (which may change
 	 * as the LTS is generated - this is not necessarily the "final" value*/
 	public int getNoOfStates(){
 		return allStates.size();
 	}
 	
-	/* Print the list of states and end states */
+	/* Returns the total number of transitions currently in the LTS */
+	public long getNoOfTransitions(){
+		long total = 0;
+		for(int i=0;i<allStates.size();i++){
+			total+=allStates.get(i).getNoOfOutgoing();
+		}
+		return total;
+	}
+
+	/* Returns whether every state of the LTS has been explored. An incomplete LTS only contains part of the behaviour of the
+	 * network: its unexplored states have no outgoing transitions yet, but are not end states */
+	public boolean isComplete(){
+		return frontier==null;
+	}
+
+	/* Print the list of states and end states, and the unexplored states if the LTS is incomplete */
 	public String printAll(){
+		if(!isComplete()){
+			return printStates()+"\n\n\n"+printEndStates()+"\n\n\n"+frontier.printStates();
+		}
 		return printStates()+"\n\n\n"+printEndStates();
 	}
 
@@ -0,0 +1,92 @@
+package DISetAlgebraLTSStructure;
+
+import java.util.ArrayDeque;
+
+import DISetAlgebraOperations.InfiniteGrowthDetector;
+
+/* Records where the generation of an LTS stopped when it ran out of budget before every state had been explored, so that
+ * generation can be resumed later from exactly the same point. It holds the worklist of states whose outgoing transitions were still
+ * being built (see ExplorationFrame), together with the settings the generation was started with. The infinite growth detector and
+ * the number of transitions built so far are kept too, so that resuming does not have to go over the whole LTS again */
+public class LTSFrontier {
+
+	/* The worklist of states whose outgoing transitions are still being built, in the order they were added */
+	private ArrayDeque<ExplorationFrame> worklist;
+
+	/* Whether infinite growth detection was enabled */
+	private boolean infiniteCheck;
+
+	/* The exploration order (LTSGeneration.DEPTH_FIRST or LTSGeneration.BREADTH_FIRST) */
+	private int explorationOrder;
+
+	/* Whether partial order reduction was enabled */
+	private boolean partialOrderReduction;
+
+	/* The infinite growth detector holding every state so far, or null if infinite growth detection was not enabled */
+	private InfiniteGrowthDetector growthDetector;
+
+	/* The number of transitions in the LTS so far */
+	private long noOfTransitions;
+
+	/* Constructs the frontier from the given worklist and generation settings, and the infinite growth detector (or null) and
+	 * number of transitions so far */
+	public LTSFrontier(ArrayDeque<ExplorationFrame> frontierWorklist, boolean infinite, int order, boolean reduction,
+			InfiniteGrowthDetector detector, long transitions) {
+		worklist=frontierWorklist;
+		infiniteCheck=infinite;
+		explorationOrder=order;
+		partialOrderReduction=reduction;
+		growthDetector=detector;
+		noOfTransitions=transitions;
+	}
+
+	/* Gets the worklist of states whose outgoing transitions are still being built */
+	public ArrayDeque<ExplorationFrame> getWorklist() {
+		return worklist;
+	}
+
+	/* Gets the exploration order */
+	public int getExplorationOrder() {
+		return explorationOrder;
+	}
+
+	/* Gets the infinite growth detector holding every state so far, or null if infinite growth detection was not enabled */
+	public InfiniteGrowthDetector getGrowthDetector() {
+		return growthDetector;
+	}
+
+	/* Gets the number of transitions in the LTS when generation stopped */
+	public long getNoOfTransitions() {
+		return noOfTransitions;
+	}
+
+	/* Gets the number of states whose outgoing transitions are still being built */
+	public int getNoOfStates() {
+		return worklist.size();
+	}
+
+	/* Returns whether infinite growth detection was enabled */
+	public boolean infiniteCheckEnabled() {
+		return infiniteCheck;
+	}
+
+	/* Returns whether partial order reduction was enabled */
+	public boolean partialOrderReductionEnabled() {
+		return partialOrderReduction;
+	}
+
+	/* Print the numbers of the states whose outgoing transitions are still being built */
+	public String printStates() {
+		StringBuffer output = new StringBuffer();
+		output.append("Unexplored States:\n\n");
+		for(ExplorationFrame frame : worklist){
+			output.append(frame.getState().getStateNo());
+			if(frame.transitionsCalculated()){
+				output.append(" (partially explored)");
+			}
+			output.append("\n");
+		}
+		return output.toString();
+	}
+
+}
@@ -2,14 +2,16 @@ package DISetAlgebraLTSStructure;
 
 import java.util.Vector;
 
+import DISetAlgebraStructure.EncodedNetworkState;
 import DISetAlgebraStructure.PartiallyVisibleNetwork;
 
 /* Represents a state in the LTS. This contains a list of outgoing transitions
  * (with resulting states). This makes traversal very quick and easy. */
 public class LTSState {
 
-	/* The network term in this state of the LTS */
-	private PartiallyVisibleNetwork networkTerm;
+	/* The network term in this state of the LTS, in compact encoded form. The full term is only rebuilt
+	 * when it is asked for, so that a large LTS does not hold a full term for every state */
+	private EncodedNetworkState encodedTerm;
 	
 	/* Unique index in the list of states for the overall LTS */
 	private int stateNo;
@@ -21,6 +23,10 @@ public class LTSState {
 	 * with the above list */
 	private Vector<LTSState> outgoingStates = new Vector<LTSState>();
 	
+	/* The state from which this state was first discovered while the LTS was being generated, or null
+	 * for the starting state */
+	private LTSState predecessor = null;
+	
 	/* Add state to the list of outgoing states */
 	public void addOutgoingState(LTSState state) {
 		outgoingStates.add(state);
@@ -31,11 +37,22 @@ public class LTSState {
 		outgoingTransitions.add(transition);
 	}
 	
-	/* Get the network term in this state of the LTS */
+	/* Get the network term in this state of the LTS in encoded form */
+	public EncodedNetworkState getEncodedTerm(){
+		return encodedTerm;
+	}
+
+	/* Get the network term in this state of the LTS. This is rebuilt from the encoded form on every call,
+	 * so the result may be modified freely but should not be requested repeatedly where it can be kept */
 	public PartiallyVisibleNetwork getNetworkTerm(){
-		return networkTerm;
+		return encodedTerm.decode();
 	}
 	
+	/* Get the state from which this state was first discovered, or null for the starting state */
+	public LTSState getPredecessor(){
+		return predecessor;
+	}
+
 	/* Get the unique index of this state in the overall LTS list of states*/
 	public int getStateNo(){
 		return stateNo;
@@ -56,9 +73,14 @@ public class LTSState {
 		return outgoingTransitions.get(index);
 	}
 
-	/* Set the network term in this state of the LTS */
-	public void setNetworkTerm(PartiallyVisibleNetwork term) {
-		networkTerm=term;
+	/* Set the network term in this state of the LTS, in encoded form */
+	public void setEncodedTerm(EncodedNetworkState term) {
+		encodedTerm=term;
+	}
+
+	/* Set the state from which this state was first discovered */
+	public void setPredecessor(LTSState state) {
+		predecessor=state;
 	}
 
 	/* Set the unique index of this state in the overall LTS list of states*/
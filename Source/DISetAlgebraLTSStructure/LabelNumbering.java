@@ -0,0 +1,60 @@
+package DISetAlgebraLTSStructure;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import DISetAlgebraStructure.NamedPortSet;
+
+/* Numbers the labels of LTS transitions, so that transitions which SimulationVerification would treat as matching (the same type,
+ * and named port sets which are the same in whatever order, see NamedPortSet.sameAs) get the same number. Every tau transition is
+ * numbered TAU, and visible labels are numbered from 1 in the order they are first seen. Sharing one numbering between two LTSs
+ * allows their transitions to be compared by number */
+public class LabelNumbering {
+
+	/* The label number of tau transitions */
+	public static final int TAU = 0;
+
+	/* The number of each visible label, keyed by its type and named ports (see labelKey) */
+	private HashMap<String,Integer> labelNumbers = new HashMap<String,Integer>();
+
+	/* Returns the label number of the given transition, numbering its label if it has not been seen before */
+	public int getLabel(Transition transition) {
+		if(transition.getType()>1){
+			return TAU;
+		}
+		String key = labelKey(transition.getType(),transition.getTransitionLabel());
+		Integer number = labelNumbers.get(key);
+		if(number==null){
+			number=labelNumbers.size()+1;
+			labelNumbers.put(key,number);
+		}
+		return number;
+	}
+
+	/* Returns the label number of visible transitions with the given type and named ports, or -1 if no such label
+	 * has been numbered. Unlike getLabel, this never numbers a new label */
+	public int findLabel(int type, NamedPortSet label) {
+		Integer number = labelNumbers.get(labelKey(type,label));
+		if(number==null){
+			return -1;
+		}
+		return number;
+	}
+
+	/* Returns the number of label numbers given out so far, including TAU */
+	public int getNoOfLabels() {
+		return labelNumbers.size()+1;
+	}
+
+	/* Returns a key which is the same for two visible labels exactly when they have the same type and their named ports are the
+	 * same, in whatever order */
+	private static String labelKey(int type, NamedPortSet label) {
+		int[] ids = new int[label.getNoOfPorts()];
+		for(int i=0;i<ids.length;i++){
+			ids[i]=label.getPort(i).getId();
+		}
+		Arrays.sort(ids);
+		return type+":"+Arrays.toString(ids);
+	}
+
+}
@@ -1,5 +1,6 @@
 package DISetAlgebraLTSStructure;
 
+import java.util.HashSet;
 import java.util.Vector;
 
 /* Encapsulates a simulation relation. It contains a bunch of SimulationPair instances, representing
@@ -9,24 +10,24 @@ public class Simulation {
 	/* A list of state pairs which defins the relation */
 	private Vector<SimulationPair> statePairs = new Vector<SimulationPair>();
 
+	/* An index of the state pairs in the list, each packed into a single long (see pairKey), so that
+	 * looking up a pair does not need the list to be searched */
+	private HashSet<Long> pairIndex = new HashSet<Long>();
+
+	/* Whether a pair has been added which was already in the list */
+	private boolean duplicates = false;
+
 	/* Add a state pair to the list of pairs */
 	public void addStatePair(SimulationPair pair) {
 		statePairs.add(pair);
+		if(!pairIndex.add(pairKey(pair.getLeftState().getStateNo(),pair.getRightState().getStateNo()))){
+			duplicates=true;
+		}
 	}
 	
 	/* Checks for duplicates in the list of state pairs */
 	public boolean checkDuplicates() {
-		for(int i=0;i<statePairs.size()-1;i++){
-			SimulationPair firstPair = statePairs.get(i);
-			for(int j=i+1;j<statePairs.size();j++){
-				SimulationPair secondPair=statePairs.get(j);
-				if(firstPair.getLeftState().getStateNo()==secondPair.getLeftState().getStateNo() &&
-						firstPair.getRightState().getStateNo()==secondPair.getRightState().getStateNo() ){
-					return true;
-				}
-			}
-		}
-		return false;
+		return duplicates;
 	}
 
 	/* Return the number of state pairs in the relation */
@@ -43,13 +44,13 @@ public class Simulation {
 	 * in the relation, represented by its two state 
 	 * index values from their respective LTSs */
 	public boolean pairPresent(int leftStateNo, int rightStateNo){
-		for(int i=0;i<statePairs.size();i++){
-			if(statePairs.get(i).getLeftState().getStateNo()==leftStateNo &&
-					statePairs.get(i).getRightState().getStateNo()==rightStateNo){
-				return true;
-			}
-		}
-			return false;
+		return pairIndex.contains(pairKey(leftStateNo,rightStateNo));
+	}
+
+	/* Packs the two state index values of a pair into a single long, with the
+	 * left state in the upper 32 bits and the right state in the lower 32 bits */
+	private static long pairKey(int leftStateNo, int rightStateNo){
+		return ((long)leftStateNo<<32)|(rightStateNo&0xffffffffL);
 	}
 	
 	/* Prints the relation */
@@ -0,0 +1,178 @@
+package DISetAlgebraLTSStructure;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/* The tau-connected components of an LTS: the strongly connected components of its tau transitions. The states of a component can
+ * all reach each other by tau* paths, so they can always match each other's moves and are weakly bisimilar. Checks of weak (bi)simulation
+ * therefore work on components rather than states, and the tau* closure of each component (the components it can reach by a possibly empty
+ * tau* path) is worked out once here rather than searched for every time it is needed.
+ *
+ * Components are numbered in the order Tarjan's algorithm completes them, so a tau transition between different components always leads to
+ * a lower numbered component, and the graph of components has no cycles */
+public class TauComponents {
+
+	/* The LTS */
+	private LTSDefinition definition;
+
+	/* The component containing each state, and the number of components */
+	private int[] componentOf;
+	private int noOfComponents;
+
+	/* The states in each component: those of component c are members[memberStart[c]] up to members[memberStart[c+1]-1],
+	 * in increasing order */
+	private int[] memberStart;
+	private int[] members;
+
+	/* The components reachable from each component by a (possibly empty) tau* path */
+	private BitSet[] closure;
+
+	/* Finds the tau-connected components of the given LTS and their tau* closures */
+	public TauComponents(LTSDefinition lts) {
+		definition=lts;
+		findComponents();
+		buildClosure();
+	}
+
+	/* Finds the components using Tarjan's algorithm, without recursion so that long tau paths cannot overflow the stack */
+	private void findComponents() {
+		int noOfStates = definition.getNoOfStates();
+		componentOf = new int[noOfStates];
+		int[] order = new int[noOfStates];
+		int[] lowest = new int[noOfStates];
+		boolean[] onStack = new boolean[noOfStates];
+		int[] stack = new int[noOfStates];
+		int stackSize = 0;
+		int[] pathState = new int[noOfStates];
+		int[] pathNextTransition = new int[noOfStates];
+		int counter = 0;
+		Arrays.fill(order,-1);
+		noOfComponents=0;
+
+		for(int root=0;root<noOfStates;root++){
+			if(order[root]!=-1){
+				continue;
+			}
+			int depth = 0;
+			pathState[0]=root;
+			pathNextTransition[0]=0;
+			order[root]=counter;
+			lowest[root]=counter;
+			counter++;
+			stack[stackSize++]=root;
+			onStack[root]=true;
+
+			while(depth>=0){
+				int state = pathState[depth];
+				LTSState current = definition.getState(state);
+
+				/* Follow the next tau transition from the state at the end of the path */
+				if(pathNextTransition[depth]<current.getNoOfOutgoing()){
+					int index = pathNextTransition[depth]++;
+					if(current.getOutgoingTransition(index).getType()<=1){
+						continue;
+					}
+					int target = current.getOutgoingState(index).getStateNo();
+					if(order[target]==-1){
+						order[target]=counter;
+						lowest[target]=counter;
+						counter++;
+						stack[stackSize++]=target;
+						onStack[target]=true;
+						depth++;
+						pathState[depth]=target;
+						pathNextTransition[depth]=0;
+					}
+					else if(onStack[target]){
+						lowest[state]=Math.min(lowest[state],order[target]);
+					}
+				}
+
+				/* Every tau transition has been followed, so the state is finished with */
+				else{
+					if(lowest[state]==order[state]){
+						int member;
+						do{
+							member=stack[--stackSize];
+							onStack[member]=false;
+							componentOf[member]=noOfComponents;
+						}while(member!=state);
+						noOfComponents++;
+					}
+					depth--;
+					if(depth>=0){
+						int previous = pathState[depth];
+						lowest[previous]=Math.min(lowest[previous],lowest[state]);
+					}
+				}
+			}
+		}
+
+		/* List the states of each component */
+		memberStart = new int[noOfComponents+1];
+		for(int i=0;i<noOfStates;i++){
+			memberStart[componentOf[i]+1]++;
+		}
+		for(int i=0;i<noOfComponents;i++){
+			memberStart[i+1]+=memberStart[i];
+		}
+		members = new int[noOfStates];
+		int[] filled = Arrays.copyOf(memberStart,noOfComponents);
+		for(int i=0;i<noOfStates;i++){
+			members[filled[componentOf[i]]++]=i;
+		}
+	}
+
+	/* Works out the tau* closure of every component. As tau transitions only lead to lower numbered components, each closure
+	 * can be built from those already worked out */
+	private void buildClosure() {
+		closure = new BitSet[noOfComponents];
+		for(int component=0;component<noOfComponents;component++){
+			BitSet reachable = new BitSet(noOfComponents);
+			reachable.set(component);
+			for(int i=memberStart[component];i<memberStart[component+1];i++){
+				LTSState current = definition.getState(members[i]);
+				for(int j=0;j<current.getNoOfOutgoing();j++){
+					if(current.getOutgoingTransition(j).getType()>1){
+						int target = componentOf[current.getOutgoingState(j).getStateNo()];
+						if(target!=component){
+							reachable.or(closure[target]);
+						}
+					}
+				}
+			}
+			closure[component]=reachable;
+		}
+	}
+
+	/* Returns the LTS */
+	public LTSDefinition getDefinition() {
+		return definition;
+	}
+
+	/* Returns the number of components */
+	public int getNoOfComponents() {
+		return noOfComponents;
+	}
+
+	/* Returns the component containing the given state */
+	public int getComponent(int state) {
+		return componentOf[state];
+	}
+
+	/* Returns the number of states in the given component */
+	public int getNoOfMembers(int component) {
+		return memberStart[component+1]-memberStart[component];
+	}
+
+	/* Returns the state at the given index of the given component, where the states of a component are in increasing order */
+	public int getMember(int component, int index) {
+		return members[memberStart[component]+index];
+	}
+
+	/* Returns the components reachable from the given component by a (possibly empty) tau* path, including itself. This must not be modified */
+	public BitSet getClosure(int component) {
+		return closure[component];
+	}
+
+}
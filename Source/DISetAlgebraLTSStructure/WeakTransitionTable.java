@@ -0,0 +1,183 @@
+package DISetAlgebraLTSStructure;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import DISetAlgebraStructure.NamedPortSet;
+
+/* The weak transitions of a complete LTS, worked out once so that questions about tau* paths become lookups rather
+ * than searches. It holds the tau-connected components of the LTS (see TauComponents) and numbers its visible labels
+ * (see LabelNumbering). The weak transitions of a component with a visible label lead to every component reachable by a
+ * tau* path, then a transition with that label, then a tau* path. Its weak tau transitions lead to its tau* closure.
+ *
+ * The visible transitions leaving each component are listed when the table is built, but the weak transitions of a
+ * component are only worked out the first time that component is asked about, as many queries only ever visit a few
+ * components and the full table can be much larger than the LTS. Each is stored as a sorted array of component numbers.
+ *
+ * The table can be used by several threads at once without locking. The weak transitions of each component are held together
+ * in a WeakMoves object whose fields are final, so a thread sees either none of them or all of them. Two threads asking about the
+ * same new component at the same time may both work out its weak transitions, but they get the same answer */
+public class WeakTransitionTable {
+
+	/* The tau-connected components of the LTS */
+	private TauComponents components;
+
+	/* The numbering of the visible labels of the LTS */
+	private LabelNumbering labels = new LabelNumbering();
+
+	/* The visible transitions leaving the states of each component: those of component c are the transitions numbered
+	 * visibleStart[c] up to visibleStart[c+1]-1, each with its label number and the component of its target */
+	private int[] visibleStart;
+	private int[] visibleLabel;
+	private int[] visibleTarget;
+
+	/* The weak transitions of each component, or null for a component until it is first asked about */
+	private WeakMoves[] weakMoves;
+
+	/* The weak transitions of a single component */
+	private static class WeakMoves {
+
+		/* The components in its tau* closure, in increasing order */
+		private final int[] tauTargets;
+
+		/* The labels of its weak visible transitions, in increasing order, and for each of these the components reached,
+		 * in increasing order */
+		private final int[] labels;
+		private final int[][] targets;
+
+		private WeakMoves(int[] tauTargets, int[] labels, int[][] targets) {
+			this.tauTargets=tauTargets;
+			this.labels=labels;
+			this.targets=targets;
+		}
+	}
+
+	/* Builds the table for the given LTS, which must be complete */
+	public WeakTransitionTable(LTSDefinition lts) {
+		components = new TauComponents(lts);
+		int noOfComponents = components.getNoOfComponents();
+
+		/* List the visible transitions leaving each component */
+		visibleStart = new int[noOfComponents+1];
+		int noOfVisible = 0;
+		for(int component=0;component<noOfComponents;component++){
+			visibleStart[component]=noOfVisible;
+			for(int i=0;i<components.getNoOfMembers(component);i++){
+				LTSState current = lts.getState(components.getMember(component,i));
+				for(int j=0;j<current.getNoOfOutgoing();j++){
+					if(current.getOutgoingTransition(j).getType()<=1){
+						noOfVisible++;
+					}
+				}
+			}
+		}
+		visibleStart[noOfComponents]=noOfVisible;
+		visibleLabel = new int[noOfVisible];
+		visibleTarget = new int[noOfVisible];
+		int filled = 0;
+		for(int component=0;component<noOfComponents;component++){
+			for(int i=0;i<components.getNoOfMembers(component);i++){
+				LTSState current = lts.getState(components.getMember(component,i));
+				for(int j=0;j<current.getNoOfOutgoing();j++){
+					Transition transition = current.getOutgoingTransition(j);
+					if(transition.getType()<=1){
+						visibleLabel[filled]=labels.getLabel(transition);
+						visibleTarget[filled]=components.getComponent(current.getOutgoingState(j).getStateNo());
+						filled++;
+					}
+				}
+			}
+		}
+
+		weakMoves = new WeakMoves[noOfComponents];
+	}
+
+	/* Returns the tau-connected components of the LTS */
+	public TauComponents getTauComponents() {
+		return components;
+	}
+
+	/* Returns the component containing the given state */
+	public int getComponent(int state) {
+		return components.getComponent(state);
+	}
+
+	/* Returns the label number in this table of visible transitions with the given type and named ports, or -1 if the
+	 * LTS has no such transitions. Tau transitions are numbered LabelNumbering.TAU */
+	public int findLabel(int type, NamedPortSet label) {
+		if(type>1){
+			return LabelNumbering.TAU;
+		}
+		return labels.findLabel(type,label);
+	}
+
+	/* Returns the components reached from the given component by a weak transition with the given label number
+	 * (see findLabel), in increasing order. For LabelNumbering.TAU this is its tau* closure, including itself. The
+	 * array is shared and must not be modified */
+	public int[] getWeakTargets(int component, int label) {
+		if(label<0){
+			return new int[0];
+		}
+		WeakMoves moves = weakMoves[component];
+		if(moves==null){
+			moves=buildWeakMoves(component);
+			weakMoves[component]=moves;
+		}
+		if(label==LabelNumbering.TAU){
+			return moves.tauTargets;
+		}
+		int index = Arrays.binarySearch(moves.labels,label);
+		if(index<0){
+			return new int[0];
+		}
+		return moves.targets[index];
+	}
+
+	/* Returns whether the given state has a weak transition with the given label number to the given state */
+	public boolean weakTransition(int source, int label, int target) {
+		return Arrays.binarySearch(getWeakTargets(getComponent(source),label),getComponent(target))>=0;
+	}
+
+	/* Works out the weak transitions of the given component, with its weak visible transitions found from the visible
+	 * transitions leaving every component in its tau* closure */
+	private WeakMoves buildWeakMoves(int component) {
+		HashMap<Integer,BitSet> byLabel = new HashMap<Integer,BitSet>();
+		BitSet closure = components.getClosure(component);
+		for(int reached=closure.nextSetBit(0);reached>=0;reached=closure.nextSetBit(reached+1)){
+			for(int i=visibleStart[reached];i<visibleStart[reached+1];i++){
+				BitSet targets = byLabel.get(visibleLabel[i]);
+				if(targets==null){
+					targets = new BitSet(components.getNoOfComponents());
+					byLabel.put(visibleLabel[i],targets);
+				}
+				targets.or(components.getClosure(visibleTarget[i]));
+			}
+		}
+
+		int[] labelList = new int[byLabel.size()];
+		int filled = 0;
+		Iterator<Integer> keys = byLabel.keySet().iterator();
+		while(keys.hasNext()){
+			labelList[filled++]=keys.next();
+		}
+		Arrays.sort(labelList);
+		int[][] targetLists = new int[labelList.length][];
+		for(int i=0;i<labelList.length;i++){
+			targetLists[i]=toArray(byLabel.get(labelList[i]));
+		}
+		return new WeakMoves(toArray(closure),labelList,targetLists);
+	}
+
+	/* Returns the members of the given set in increasing order */
+	private static int[] toArray(BitSet set) {
+		int[] members = new int[set.cardinality()];
+		int filled = 0;
+		for(int member=set.nextSetBit(0);member>=0;member=set.nextSetBit(member+1)){
+			members[filled++]=member;
+		}
+		return members;
+	}
+
+}
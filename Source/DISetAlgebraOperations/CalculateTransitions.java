@@ -3,13 +3,16 @@ package DISetAlgebraOperations;
 import java.util.Vector;
 
 import DISetAlgebraLTSStructure.Transition;
+import DISetAlgebraStructure.EnabledActionIndex;
 import DISetAlgebraStructure.IOAction;
+import DISetAlgebraStructure.Module;
 import DISetAlgebraStructure.NamedModule;
 import DISetAlgebraStructure.NamedPort;
 import DISetAlgebraStructure.NamedPortSet;
 import DISetAlgebraStructure.PartiallyVisibleNetwork;
 import DISetAlgebraStructure.PortSet;
-import GUI.ConsoleWindow;
+import DISetAlgebraStructure.WireFunction;
+import Logging.Log;
 
 /* Includes operations for inferring available transitions in DI-Set algebra, as required in the DI-Set Algebra tab's various screens */
 public class CalculateTransitions{
@@ -18,209 +21,235 @@ public class CalculateTransitions{
 	public static Vector<Transition> calculateTransitions(PartiallyVisibleNetwork networkDefinition){
 		Vector<Transition> availableTransitions = new Vector<Transition>();
 		
-		ConsoleWindow.output("Calculating available input transitions");
+		Log.trace("Calculating available input transitions");
 		
 		availableTransitions = calculateInputTransitions(networkDefinition,availableTransitions);
 		
-		ConsoleWindow.output("Calculating available output transitions");
+		Log.trace("Calculating available output transitions");
 		
 		availableTransitions = calculateOutputTransitions(networkDefinition,availableTransitions);
 
 		return availableTransitions;
 	}
 	
+	/* Calculates a reduced set of transitions for partial order reduction. If some named module is in an intermediate
+	 * state (it has absorbed its inputs but not yet produced its outputs), then its single output transition is the only
+	 * transition returned. Nothing else can disable this transition, and as it only adds signals to the bus it commutes with
+	 * every other transition and never disables one, so exploring it alone still reaches a deadlock, or a state with a signal
+	 * clash or safety violation, whenever the full LTS would (adding signals to the bus never removes a clash or a
+	 * safety violation). Each such step reduces the number of modules in an intermediate state, so no cycle in the LTS is
+	 * made up only of reduced states. If no module is in an intermediate state then every transition is returned */
+	public static Vector<Transition> calculateReducedTransitions(PartiallyVisibleNetwork networkDefinition){
+		EnabledActionIndex enabled = networkDefinition.getEnabledActions();
+		for(int m=0;m<enabled.getNoOfActiveModules();m++){
+			int i = enabled.getActiveModule(m);
+			IOAction firstAction = networkDefinition.getModuleInstance(i).getModuleState().getAction(0);
+			if(firstAction.getIntermediate()){
+				Log.trace("Module "+networkDefinition.getModuleInstance(i).getModuleLabel()+
+						" is in an intermediate state, so only its output transition is explored");
+				Vector<Transition> availableTransitions = new Vector<Transition>();
+				availableTransitions.addElement(buildOutputTransition(networkDefinition,i,firstAction));
+				return availableTransitions;
+			}
+		}
+		return calculateTransitions(networkDefinition);
+	}
+	
 	/* Calculates all possible "input" transitions available for a network term */
 	private static Vector<Transition> calculateInputTransitions(PartiallyVisibleNetwork networkDefinition, Vector<Transition> availableTransitions) {
 		
-		/* Iterate through every named module in the term */
-		for(int i=0;i<networkDefinition.getNoOfModuleInstances();i++){
+		EnabledActionIndex enabled = networkDefinition.getEnabledActions();
+		
+		/* Iterate through every named module in the term which has an enabled action */
+		for(int m=0;m<enabled.getNoOfActiveModules();m++){
+			int i = enabled.getActiveModule(m);
 			NamedModule currentModule = networkDefinition.getModuleInstance(i);
-			NamedPortSet signalsToModule = networkDefinition.getBus().getPortsWithLabel(currentModule.getModuleLabel());
 			
-			/* Iterate through all actions in the named module */
-			for(int j=0;j<currentModule.getModuleState().getNoOfActions();j++){
+			/* Iterate through the enabled actions in the named module */
+			for(int e=0;e<enabled.getNoOfEnabledActions(i);e++){
+				int j = enabled.getEnabledAction(i,e);
 				IOAction currentAction = currentModule.getModuleState().getAction(j);
-				Vector<IOAction> otherActions = new Vector<IOAction>();
 				
-				/* If the action has a non-empty input set, then clearly it can
-				 * process inputs, therefore this action is of further interest and may lead to an input transition */
+				/* If the action has a non-empty input set, then as it is enabled the correct named input ports
+				 * are present in the bus for it to process, and it leads to an input transition */
 				if(currentAction.getNoOfInputs()>0){
-					for(int k=0;k<currentModule.getModuleState().getNoOfActions();k++){
-						if(j!=k){
-							otherActions.add(currentModule.getModuleState().getAction(k));
-						}
-					}
 					
-					/* This performs a simple check whether the correct named input ports are present
-					 * in the bus in order for this action to process */
-					if(signalsToModule.contains(currentAction.getInputSet())){
-						
-						StringBuffer involvedModuleDetails = new StringBuffer();
-						involvedModuleDetails.append("(");
-						if(!currentModule.getModuleName().equals("")){
-							involvedModuleDetails.append(currentModule.getModuleName());
-						}
-						else{
-							involvedModuleDetails.append(currentModule.printModuleLine());
-						}
-						involvedModuleDetails.append("):"+currentModule.getModuleLabel());
-						
-						ConsoleWindow.output("Input transition available involving module "+involvedModuleDetails.toString()+" via inputs "+
+					if(Log.tracing()){
+						Log.trace("Input transition available involving module "+describeModule(currentModule)+" via inputs "+
 								currentAction.getInputSet().printPorts());
-						
-						/* Creates the actual transition object */
-						Transition inputTransition = new Transition();
-						
-						/* Set the source of the transition as the old network term */
-						inputTransition.setSourceStateTerm(networkDefinition);
-						
-						/* For now, let the target be the same as the source */
-						PartiallyVisibleNetwork resultingNetwork = networkDefinition.copy();
-						
-						/* Work out the set of labels to put on the transition (the same as the input set of the action,
-						 * but with module label affixed */
-						NamedPortSet acceptedInputs = new NamedPortSet();
-						for(int k=0;k<currentAction.getNoOfInputs();k++){
-							acceptedInputs.add(new NamedPort(currentAction.getInputPort(k),currentModule.getModuleLabel()));
-						}				
-						
-						/* Strip out these signals from the bus */
-						resultingNetwork.getBus().removeMultipleSignals(acceptedInputs);
-						
-						/* Add all non-hidden labels to the transition */
-						NamedPortSet sideEffects = new NamedPortSet();
-						for(int k=0;k<acceptedInputs.getNoOfPorts();k++){
-							if(!networkDefinition.getHiddenPorts().contains(acceptedInputs.getPort(k))){
-								sideEffects.add(acceptedInputs.getPort(k).deepCopy());
-							}
-						}
-						if(sideEffects.getNoOfPorts()>0){
-							inputTransition.setTransitionLabel(sideEffects);
-							inputTransition.setType(0);
-						}
-						
-						/* Set the transition type to tau if the transition label is now empty after
-						 * stripping out hidden ports */
-						else{
-							inputTransition.setType(2);
-						}
-
-						/* Modify resulting network for the transition */
-						
-						/* If the output for the action is non-empty, then apply the inputs to the module, 
-						 * discarding all other actions in the summation, and also remove the module 
-						 * constant identifier (it now exists in an intermediate state, and does not match
-						 * up with our defined state constants) */
-						if(currentAction.getNoOfOutputs()>0){
-							NamedModule resultingModule = resultingNetwork.getModuleInstance(i);
-							IOAction resultingAction = resultingModule.getModuleState().getAction(j);
-							resultingAction.clearInputs();
-							resultingAction.setIntermediate();				
-							
-							resultingModule.setModuleName("");
-							resultingModule.getModuleState().clearActions();
-							resultingModule.getModuleState().addAction(resultingAction);
-						}
-
-						/* If the output was empty, immediately perform a rewrite and replace the named module 
-						 * with the target state's constant, while propagating the module label */
-						else{
-							resultingNetwork.replaceModuleInstance(i, new NamedModule(currentAction.getResult(),currentModule.getModuleLabel()));
-						}
-						
-						inputTransition.setTargetStateTerm(resultingNetwork);
-						availableTransitions.addElement(inputTransition);
 					}
-				}
-			}
-		}
-		return availableTransitions;
-	}
-
-	/* Calculates all possible "output" transitions available for a network term. Note that if an action has an empty input set, then
-	 * it necessarily produces a non-empty output set, as all actions which have empty output sets are rewritten as soon as the input set
-	 * is cleared. Therefore an empty input set guarantees a non-empty output set when examining actions using this method */
-	private static Vector<Transition> calculateOutputTransitions(PartiallyVisibleNetwork networkDefinition, Vector<Transition> availableTransitions) {
-		
-		/* Iterate through every named module in the term */
-		for(int i=0;i<networkDefinition.getNoOfModuleInstances();i++){
-			NamedModule currentModule = networkDefinition.getModuleInstance(i);
-			
-			/* Iterate through all actions in the named module */
-			for(int j=0;j<currentModule.getModuleState().getNoOfActions();j++){
-				IOAction currentAction = currentModule.getModuleState().getAction(j);
-				
-				/* If the action has an empty input set, then clearly it can
-				 * produce outputs, therefore this action is of further interest and will lead to an output transition */
-				if(currentAction.getNoOfInputs()==0){
-
-					StringBuffer involvedModuleDetails = new StringBuffer();
-					involvedModuleDetails.append("(");
-					if(!currentModule.getModuleName().equals("")){
-						involvedModuleDetails.append(currentModule.getModuleName());
-					}
-					else{
-						involvedModuleDetails.append(currentModule.printModuleLine());
-					}
-					involvedModuleDetails.append("):"+currentModule.getModuleLabel());
-					
-					ConsoleWindow.output("Output transition available involving module "+involvedModuleDetails.toString()+
-							" via outputs "+currentAction.getOutputSet().printPorts());
 					
 					/* Creates the actual transition object */
-					Transition outputTransition = new Transition();
+					Transition inputTransition = new Transition();
 					
 					/* Set the source of the transition as the old network term */
-					outputTransition.setSourceStateTerm(networkDefinition);
+					inputTransition.setSourceStateTerm(networkDefinition);
 					
-					/* For now, let the target be the same as the source */
+					/* For now, let the target be the same as the source. The copy shares every named module
+					 * and bus bucket with the source until they are replaced below */
 					PartiallyVisibleNetwork resultingNetwork = networkDefinition.copy();
-					PortSet actionOutputs =currentAction.getOutputSet();
 					
-					/* Work out the set of labels to put on the transition (the same as the output set of the action,
+					/* Work out the set of labels to put on the transition (the same as the input set of the action,
 					 * but with module label affixed */
-					NamedPortSet producedOutputs = new NamedPortSet();
-					for(int k=0;k<actionOutputs.getNoOfPorts();k++){
-						producedOutputs.add(new NamedPort(actionOutputs.getPort(k),currentModule.getModuleLabel()));
-					}
+					NamedPortSet acceptedInputs = new NamedPortSet();
+					for(int k=0;k<currentAction.getNoOfInputs();k++){
+						acceptedInputs.add(new NamedPort(currentAction.getInputPortId(k),currentModule.getModuleLabelId()));
+					}				
+					
+					/* Strip out these signals from the bus */
+					resultingNetwork.removeSignals(acceptedInputs);
 					
 					/* Add all non-hidden labels to the transition */
 					NamedPortSet sideEffects = new NamedPortSet();
-					for(int k=0;k<producedOutputs.getNoOfPorts();k++){
-						if(!networkDefinition.getHiddenPorts().contains(producedOutputs.getPort(k))){
-							sideEffects.add(producedOutputs.getPort(k).deepCopy());
+					for(int k=0;k<acceptedInputs.getNoOfPorts();k++){
+						if(!networkDefinition.getHiddenPorts().contains(acceptedInputs.getPort(k))){
+							sideEffects.add(acceptedInputs.getPort(k).deepCopy());
 						}
 					}
 					if(sideEffects.getNoOfPorts()>0){
-						outputTransition.setTransitionLabel(sideEffects);
-						outputTransition.setType(1);
+						inputTransition.setTransitionLabel(sideEffects);
+						inputTransition.setType(0);
 					}
 					
 					/* Set the transition type to tau if the transition label is now empty after
 					 * stripping out hidden ports */
 					else{
-						outputTransition.setType(2);
+						inputTransition.setType(2);
 					}
-					NamedPortSet relabelledOutputs = new NamedPortSet();
+
+					/* Modify resulting network for the transition */
+					
+					/* If the output for the action is non-empty, then apply the inputs to the module, 
+					 * discarding all other actions in the summation, and also remove the module 
+					 * constant identifier (it now exists in an intermediate state, and does not match
+					 * up with our defined state constants) */
+					if(currentAction.getNoOfOutputs()>0){
+						IOAction resultingAction = currentAction.copy();
+						resultingAction.clearInputs();
+						resultingAction.setIntermediate();				
 						
-					/* Relabel each output port to the new port specified by the target of the wire function */
-					for(int k=0;k<actionOutputs.getNoOfPorts();k++){
-						relabelledOutputs.add(networkDefinition.getBus().getWireFunction().getTarget
-						(new NamedPort(actionOutputs.getPort(k),currentModule.getModuleLabel())));
+						/* The named module is shared with the source term, so it is replaced by a fresh one
+						 * rather than modified */
+						Module intermediateState = new Module("");
+						intermediateState.addAction(resultingAction);
+						resultingNetwork.replaceModuleInstance(i, new NamedModule(intermediateState,currentModule.getModuleLabel()));
 					}
-					resultingNetwork.getBus().addMultipleSignals(relabelledOutputs);
-				
-					/* Perform a rewrite and replace the named module 
+
+					/* If the output was empty, immediately perform a rewrite and replace the named module 
 					 * with the target state's constant, while propagating the module label */
-					NamedModule resultingModule = resultingNetwork.getModuleInstance(i);
-					resultingNetwork.replaceModuleInstance(i,new NamedModule
-							(currentAction.getResult(),resultingModule.getModuleLabel()));
-					outputTransition.setTargetStateTerm(resultingNetwork);
-					availableTransitions.addElement(outputTransition);
+					else{
+						resultingNetwork.replaceModuleInstance(i, new NamedModule(currentAction.getResult(),currentModule.getModuleLabel()));
+					}
+					
+					inputTransition.setTargetStateTerm(resultingNetwork);
+					availableTransitions.addElement(inputTransition);
 				}
 			}
 		}
 		return availableTransitions;
 	}
 
+	/* Calculates all possible "output" transitions available for a network term. Note that if an action has an empty input set, then
+	 * it necessarily produces a non-empty output set, as all actions which have empty output sets are rewritten as soon as the input set
+	 * is cleared. Therefore an empty input set guarantees a non-empty output set when examining actions using this method */
+	private static Vector<Transition> calculateOutputTransitions(PartiallyVisibleNetwork networkDefinition, Vector<Transition> availableTransitions) {
+		
+		EnabledActionIndex enabled = networkDefinition.getEnabledActions();
+		
+		/* Iterate through every named module in the term which has an enabled action */
+		for(int m=0;m<enabled.getNoOfActiveModules();m++){
+			int i = enabled.getActiveModule(m);
+			NamedModule currentModule = networkDefinition.getModuleInstance(i);
+			
+			/* Iterate through the enabled actions in the named module */
+			for(int e=0;e<enabled.getNoOfEnabledActions(i);e++){
+				IOAction currentAction = currentModule.getModuleState().getAction(enabled.getEnabledAction(i,e));
+				
+				/* If the action has an empty input set, then clearly it can
+				 * produce outputs, therefore this action is of further interest and will lead to an output transition */
+				if(currentAction.getNoOfInputs()==0){
+					availableTransitions.addElement(buildOutputTransition(networkDefinition,i,currentAction));
+				}
+			}
+		}
+		return availableTransitions;
+	}
+
+	/* Builds the "output" transition of the named module at the given index in the network term, via the given action
+	 * which must have an empty input set */
+	private static Transition buildOutputTransition(PartiallyVisibleNetwork networkDefinition, int moduleIndex, IOAction currentAction) {
+		NamedModule currentModule = networkDefinition.getModuleInstance(moduleIndex);
+		
+		if(Log.tracing()){
+			Log.trace("Output transition available involving module "+describeModule(currentModule)+
+					" via outputs "+currentAction.getOutputSet().printPorts());
+		}
+		
+		/* Creates the actual transition object */
+		Transition outputTransition = new Transition();
+		
+		/* Set the source of the transition as the old network term */
+		outputTransition.setSourceStateTerm(networkDefinition);
+		
+		/* For now, let the target be the same as the source */
+		PartiallyVisibleNetwork resultingNetwork = networkDefinition.copy();
+		PortSet actionOutputs =currentAction.getOutputSet();
+		
+		/* Work out the set of labels to put on the transition (the same as the output set of the action,
+		 * but with module label affixed */
+		NamedPortSet producedOutputs = new NamedPortSet();
+		for(int k=0;k<actionOutputs.getNoOfPorts();k++){
+			producedOutputs.add(new NamedPort(actionOutputs.getPortId(k),currentModule.getModuleLabelId()));
+		}
+		
+		/* Add all non-hidden labels to the transition */
+		NamedPortSet sideEffects = new NamedPortSet();
+		for(int k=0;k<producedOutputs.getNoOfPorts();k++){
+			if(!networkDefinition.getHiddenPorts().contains(producedOutputs.getPort(k))){
+				sideEffects.add(producedOutputs.getPort(k).deepCopy());
+			}
+		}
+		if(sideEffects.getNoOfPorts()>0){
+			outputTransition.setTransitionLabel(sideEffects);
+			outputTransition.setType(1);
+		}
+		
+		/* Set the transition type to tau if the transition label is now empty after
+		 * stripping out hidden ports */
+		else{
+			outputTransition.setType(2);
+		}
+		NamedPortSet relabelledOutputs = new NamedPortSet();
+			
+		/* Relabel each output port to the new port specified by the target of the wire function */
+		WireFunction wireFunction = networkDefinition.getBus().getWireFunction();
+		for(int k=0;k<producedOutputs.getNoOfPorts();k++){
+			relabelledOutputs.add(wireFunction.getTarget(producedOutputs.getPort(k)));
+		}
+		resultingNetwork.addSignals(relabelledOutputs);
+	
+		/* Perform a rewrite and replace the named module 
+		 * with the target state's constant, while propagating the module label */
+		NamedModule resultingModule = resultingNetwork.getModuleInstance(moduleIndex);
+		resultingNetwork.replaceModuleInstance(moduleIndex,new NamedModule
+				(currentAction.getResult(),resultingModule.getModuleLabel()));
+		outputTransition.setTargetStateTerm(resultingNetwork);
+		return outputTransition;
+	}
+
+	/* Describes the given named module for tracing, by its state name (or its list of actions, if it is in an
+	 * intermediate state) and its label */
+	private static String describeModule(NamedModule currentModule) {
+		StringBuffer involvedModuleDetails = new StringBuffer();
+		involvedModuleDetails.append("(");
+		if(!currentModule.getModuleName().equals("")){
+			involvedModuleDetails.append(currentModule.getModuleName());
+		}
+		else{
+			involvedModuleDetails.append(currentModule.printModuleLine());
+		}
+		involvedModuleDetails.append("):"+currentModule.getModuleLabel());
+		return involvedModuleDetails.toString();
+	}
+
 }
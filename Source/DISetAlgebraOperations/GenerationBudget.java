@@ -0,0 +1,65 @@
+package DISetAlgebraOperations;
+
+/* Limits on how far a single call to LTSGeneration may go before it stops and returns a partial LTS (which may be resumed
+ * later, see LTSGeneration.resumeLTS). The state and transition limits apply to the total size of the LTS, including anything
+ * generated by earlier calls, while the time limit applies to each call on its own. A limit of zero or less means no limit */
+public class GenerationBudget {
+
+	/* A budget with no limits, under which generation always runs to completion */
+	public static final GenerationBudget UNLIMITED = new GenerationBudget(0,0,0);
+
+	/* The maximum number of states in the LTS */
+	private int maxStates;
+
+	/* The maximum number of transitions in the LTS */
+	private long maxTransitions;
+
+	/* The maximum time each call may run for, in milliseconds */
+	private long maxMillis;
+
+	/* Constructs the budget with the given limits */
+	public GenerationBudget(int states, long transitions, long millis) {
+		maxStates=states;
+		maxTransitions=transitions;
+		maxMillis=millis;
+	}
+
+	/* Gets the maximum number of states in the LTS, or zero or less if there is no limit */
+	public int getMaxStates() {
+		return maxStates;
+	}
+
+	/* Gets the maximum number of transitions in the LTS, or zero or less if there is no limit */
+	public long getMaxTransitions() {
+		return maxTransitions;
+	}
+
+	/* Gets the maximum time each call may run for in milliseconds, or zero or less if there is no limit */
+	public long getMaxMillis() {
+		return maxMillis;
+	}
+
+	/* Gets the time (as given by System.currentTimeMillis) by which a call started at the given time must stop, or
+	 * Long.MAX_VALUE if there is no time limit */
+	long getDeadline(long startTime) {
+		if(maxMillis<=0){
+			return Long.MAX_VALUE;
+		}
+		return startTime+maxMillis;
+	}
+
+	/* Returns the reason the given LTS size or time is outside the budget, or null if it is within it */
+	String exhausted(int noOfStates, long noOfTransitions, long currentTime, long deadline) {
+		if(maxStates>0 && noOfStates>=maxStates){
+			return "state limit of "+maxStates+" reached";
+		}
+		if(maxTransitions>0 && noOfTransitions>=maxTransitions){
+			return "transition limit of "+maxTransitions+" reached";
+		}
+		if(currentTime>=deadline){
+			return "time limit of "+maxMillis+"ms reached";
+		}
+		return null;
+	}
+
+}
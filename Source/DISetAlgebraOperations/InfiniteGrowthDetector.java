@@ -0,0 +1,101 @@
+package DISetAlgebraOperations;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Vector;
+
+import DISetAlgebraLTSStructure.LTSDefinition;
+import DISetAlgebraLTSStructure.LTSState;
+import Logging.Log;
+
+/* Detects infinite growth of an LTS while it is being generated. The LTS grows infinitely if a newly added state is a
+ * "super state" of an existing state (identical module states, strictly more signals on the bus) from which there is a path of
+ * transitions to the new state. Rather than comparing each new state against every existing state, states are grouped by their
+ * named module states, so only states in the same group are ever compared. As a new state has only been reached from the state it
+ * was discovered from, a path to it exists exactly when there is a path to that state: this is answered straight away for the chain of
+ * states it was discovered along, and otherwise by a search of the LTS built so far which marks visited states in a bitset */
+public class InfiniteGrowthDetector {
+
+	/* The states added so far, grouped by the hash of their named module states */
+	private HashMap<Integer,Vector<LTSState>> statesByModules = new HashMap<Integer,Vector<LTSState>>();
+
+	/* Constructs the detector, adding every state already in the given LTS */
+	public InfiniteGrowthDetector(LTSDefinition definition) {
+		for(int i=0;i<definition.getNoOfStates();i++){
+			addState(definition.getState(i));
+		}
+	}
+
+	/* Adds the given state, so that later states are compared against it */
+	public void addState(LTSState state) {
+		int key = state.getEncodedTerm().getModuleStatesHash();
+		Vector<LTSState> group = statesByModules.get(key);
+		if(group==null){
+			group = new Vector<LTSState>();
+			statesByModules.put(key,group);
+		}
+		group.add(state);
+	}
+
+	/* Finds an existing state which the given fresh state is a "super state" of, and from which there is a path to the state the
+	 * fresh state was discovered from (and so to the fresh state itself). Returns null if there is none, meaning that the fresh state
+	 * does not represent infinite growth. The fresh state should be added to the detector afterwards */
+	public LTSState findGrowth(LTSState freshState, LTSState discoveredFrom) {
+		Vector<LTSState> group = statesByModules.get(freshState.getEncodedTerm().getModuleStatesHash());
+		if(group==null){
+			return null;
+		}
+		BitSet ancestors = null;
+		for(int i=0;i<group.size();i++){
+			LTSState existing = group.get(i);
+			if(!LTSGeneration.isSuperState(freshState,existing)){
+				continue;
+			}
+			if(Log.tracing()){
+				Log.trace("New state is a \"super state\" of the existing state "+
+						existing.getStateNo()+": "+existing.getNetworkTerm().printNetworkWithoutName()+
+						" (i.e. the new state contains identical states for all modules, and the new state's bus contents is a strict superset)");
+			}
+
+			/* Every state along the chain the fresh state was discovered along has a path to it by construction */
+			if(ancestors==null){
+				ancestors = new BitSet();
+				LTSState ancestor = discoveredFrom;
+				while(ancestor!=null){
+					ancestors.set(ancestor.getStateNo());
+					ancestor=ancestor.getPredecessor();
+				}
+			}
+			if(ancestors.get(existing.getStateNo()) || reaches(existing,discoveredFrom)){
+				return existing;
+			}
+			Log.trace("A path does not exist from the existing state to the new state however, so this does not represent infinite growth");
+		}
+		return null;
+	}
+
+	/* Checks if there is a path of transitions in the LTS built so far from startState to endState, by searching depth-first with
+	 * an explicit stack and marking visited states in a bitset indexed by state number */
+	private static boolean reaches(LTSState startState, LTSState endState) {
+		BitSet visited = new BitSet();
+		ArrayDeque<LTSState> toSearch = new ArrayDeque<LTSState>();
+		toSearch.push(startState);
+		visited.set(startState.getStateNo());
+		while(!toSearch.isEmpty()){
+			LTSState current = toSearch.pop();
+			if(current==endState){
+				return true;
+			}
+			for(int i=current.getNoOfOutgoing()-1;i>=0;i--){
+				LTSState target = current.getOutgoingState(i);
+				if(!visited.get(target.getStateNo())){
+					visited.set(target.getStateNo());
+					toSearch.push(target);
+				}
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,23 @@
+package DISetAlgebraOperations;
+
+/* Thrown to halt LTS generation when infinite growth of the LTS is detected, i.e. a newly discovered state is a "super state"
+ * of an existing state which has a path of transitions to it. The details are given in the console output, and it is left to the
+ * caller to tell the user */
+@SuppressWarnings("serial")
+public class InfiniteGrowthException extends Exception {
+
+	/* The number of the state at which infinite growth was detected (provisional if the LTS was generated in parallel) */
+	private int stateNo;
+
+	/* Constructs the exception for infinite growth detected at the state with the given number */
+	public InfiniteGrowthException(int state) {
+		super("Infinite number of states detected at state "+state+". LTS generation halted");
+		stateNo=state;
+	}
+
+	/* Gets the number of the state at which infinite growth was detected */
+	public int getStateNo() {
+		return stateNo;
+	}
+
+}
@@ -5,7 +5,8 @@ import DISetAlgebraLTSStructure.LTSState;
 import DISetAlgebraStructure.NamedModule;
 import DISetAlgebraStructure.NamedPort;
 import DISetAlgebraStructure.NamedPortSet;
-import GUI.ConsoleWindow;
+import DISetAlgebraStructure.PartiallyVisibleNetwork;
+import Logging.Log;
 
 /* Contains operations for analysing clash and safety properties of an LTS shown in the DI-Set Algebra tab's LTS screen */
 public class LTSAnalysis {
@@ -32,24 +33,18 @@ public class LTSAnalysis {
 	 * and then checks that the bus does not contain more than one instance of each
 	 * named output port */
 	private static boolean clashAnalysis(LTSDefinition definition) {
-		ConsoleWindow.output("Checking LTS for signal clashes");
+		Log.info("Checking LTS for signal clashes");
 		for(int i=0; i<definition.getNoOfStates();i++){
 			LTSState stateToCheck = definition.getState(i);
-			ConsoleWindow.output("Checking state number "+stateToCheck.getStateNo());
-			NamedPortSet currentStateBus=((stateToCheck.getNetworkTerm().getBus())).getContents();
-			
-			for(int j=0;j<currentStateBus.getNoOfPorts()-1;j++){
-				NamedPort signalToCheck = currentStateBus.getPort(j);
-				for(int k=j+1;k<currentStateBus.getNoOfPorts();k++){
-					if(signalToCheck.sameAs(currentStateBus.getPort(k))){
-						ConsoleWindow.output("Signal clash in state "+i +" via "+signalToCheck.print());
-						return true;
-					}
-				}
+			Log.trace("Checking state number "+stateToCheck.getStateNo());
+			NamedPort repeatedSignal=stateToCheck.getNetworkTerm().getBus().getRepeatedSignal();
+			if(repeatedSignal!=null){
+				Log.info("Signal clash in state "+i +" via "+repeatedSignal.print());
+				return true;
 			}
-			ConsoleWindow.output("State number "+stateToCheck.getStateNo()+" is clear of signal clashes");
+			Log.trace("State number "+stateToCheck.getStateNo()+" is clear of signal clashes");
 		}
-		ConsoleWindow.output("LTS clear of signal clashes");
+		Log.info("LTS clear of signal clashes");
 		return false;
 	}
 
@@ -58,22 +53,23 @@ public class LTSAnalysis {
 	 * safety holds in the usual way (i.e. an action is defined with an input set which is a superset
 	 * of those which are pending, provided that the module is not in an intermediate "bullet" state) */
 	private static boolean safetyAnalysis(LTSDefinition definition) {
-		ConsoleWindow.output("Checking LTS for safety");
+		Log.info("Checking LTS for safety");
 		for(int i=0; i<definition.getNoOfStates();i++){
 			LTSState stateToCheck = definition.getState(i);
-			ConsoleWindow.output("Checking state number "+stateToCheck.getStateNo());
-			for(int j=0;j<stateToCheck.getNetworkTerm().getNoOfModuleInstances();j++){
-				NamedModule currentModuleToCheckSafety = stateToCheck.getNetworkTerm().getModuleInstance(j);
-				NamedPortSet inputSignalsForThisModule = stateToCheck.getNetworkTerm().getBus().getPortsWithLabel(currentModuleToCheckSafety.getModuleLabel());
+			Log.trace("Checking state number "+stateToCheck.getStateNo());
+			PartiallyVisibleNetwork termToCheck = stateToCheck.getNetworkTerm();
+			for(int j=0;j<termToCheck.getNoOfModuleInstances();j++){
+				NamedModule currentModuleToCheckSafety = termToCheck.getModuleInstance(j);
+				NamedPortSet inputSignalsForThisModule = termToCheck.getBus().getPortsWithLabel(currentModuleToCheckSafety.getModuleLabelId());
 				if(!currentModuleToCheckSafety.checkSafety(inputSignalsForThisModule)){
-					ConsoleWindow.output("Safety violated in state "+i+" of module "
+					Log.info("Safety violated in state "+i+" of module "
 							+currentModuleToCheckSafety.getModuleLabel() +" with set of inputs "+inputSignalsForThisModule.printSet());
 					return false;
 				}
 			}
-			ConsoleWindow.output("State number "+stateToCheck.getStateNo()+" does not contain non-safety for any module");
+			Log.trace("State number "+stateToCheck.getStateNo()+" does not contain non-safety for any module");
 		}
-		ConsoleWindow.output("LTS/Network is always safe");
+		Log.info("LTS/Network is always safe");
 		return true;
 	}
 
@@ -1,189 +1,267 @@
 package DISetAlgebraOperations;
 
-import java.util.Vector;
-
-import javax.swing.JOptionPane;
+import java.util.ArrayDeque;
 
+import DISetAlgebraLTSStructure.ExplorationFrame;
 import DISetAlgebraLTSStructure.LTSDefinition;
+import DISetAlgebraLTSStructure.LTSFrontier;
 import DISetAlgebraLTSStructure.LTSState;
 import DISetAlgebraLTSStructure.Transition;
+import DISetAlgebraStructure.EncodedNetworkState;
 import DISetAlgebraStructure.PartiallyVisibleNetwork;
-import GUI.ConsoleWindow;
+import DISetAlgebraStructure.StateEncoding;
+import Logging.Log;
 
 /* This generates an LTS starting from a given network term, as shown in the DI-Set Algebra tab's LTS screen.*/
 public class LTSGeneration {
 
-	/* Computes the LTS of the given network term, with infinite growth detection */
+	/* Exploration order in which new states are expanded: depth-first gives the same state numbering as the
+	 * original recursive generation, breadth-first numbers states in order of their distance from the starting state */
+	public static final int DEPTH_FIRST = 0;
+	public static final int BREADTH_FIRST = 1;
+
+	/* Computes the LTS of the given network term depth-first, with infinite growth detection */
 	public static LTSDefinition computeLTS(PartiallyVisibleNetwork networkDefinition, boolean infiniteDetection) throws Exception{
-		LTSDefinition definition = new LTSDefinition();
+		return computeLTS(networkDefinition,infiniteDetection,DEPTH_FIRST);
+	}
+
+	/* Computes the LTS of the given network term in the given exploration order, with infinite growth detection */
+	public static LTSDefinition computeLTS(PartiallyVisibleNetwork networkDefinition, boolean infiniteDetection, int explorationOrder) throws Exception{
+		return computeLTS(networkDefinition,infiniteDetection,explorationOrder,false);
+	}
+
+	/* Computes the LTS of the given network term in the given exploration order, with infinite growth detection, and optionally
+	 * with partial order reduction (see CalculateTransitions.calculateReducedTransitions). A reduced LTS only contains some of the
+	 * interleavings of independent transitions, but it has a deadlock (end state), signal clash or safety violation exactly when the full
+	 * LTS does, so it may be used for LTSAnalysis. It is not suitable for simulation verification, as some traces are left out */
+	public static LTSDefinition computeLTS(PartiallyVisibleNetwork networkDefinition, boolean infiniteDetection, int explorationOrder, 
+			boolean partialOrderReduction) throws Exception{
+		return computeLTS(networkDefinition,infiniteDetection,explorationOrder,partialOrderReduction,GenerationBudget.UNLIMITED);
+	}
+
+	/* Computes the LTS of the given network term as above, but stops once the given budget is used up. If generation stops before
+	 * every state has been explored then the returned LTS is incomplete (see LTSDefinition.isComplete), and records the states still
+	 * to be explored so that generation can be carried on later by resumeLTS */
+	public static LTSDefinition computeLTS(PartiallyVisibleNetwork networkDefinition, boolean infiniteDetection, int explorationOrder, 
+			boolean partialOrderReduction, GenerationBudget budget) throws Exception{
+		LTSDefinition definition = new LTSDefinition(new StateEncoding(networkDefinition));
 		LTSState startingState= new LTSState();
-		startingState.setNetworkTerm(networkDefinition);
+		startingState.setEncodedTerm(definition.getEncoding().encode(networkDefinition));
 		startingState.setStateNo(0);
 		definition.addState(startingState);
 		if(infiniteDetection){
-			ConsoleWindow.output("Infinite growth detection enabled. Each state will be checked against existing states before being added");	
+			Log.info("Infinite growth detection enabled. Each state will be checked against existing states before being added");	
 		}
 		else{
-			ConsoleWindow.output("Infinite growth detection NOT enabled. System will become unresponsive if infinite growth is present");
+			Log.info("Infinite growth detection NOT enabled. System will become unresponsive if infinite growth is present");
+		}
+
+		if(partialOrderReduction){
+			Log.info("Partial order reduction enabled. Only one ordering of independent transitions will be explored");
 		}
 
-		ConsoleWindow.output("Added starting state 0: "+startingState.getNetworkTerm().printNetworkWithoutName());
-		ConsoleWindow.output("Beginning recursion from state 0");
+		Log.info("Added starting state 0: "+networkDefinition.printNetworkWithoutName());
+		Log.info("Beginning exploration from state 0");
 
-		recurseLTS(definition,startingState,infiniteDetection);
+		ArrayDeque<ExplorationFrame> worklist = new ArrayDeque<ExplorationFrame>();
+		worklist.addLast(new ExplorationFrame(startingState,networkDefinition));
+		InfiniteGrowthDetector growthDetector = null;
+		if(infiniteDetection){
+			growthDetector = new InfiniteGrowthDetector(definition);
+		}
+		explore(definition,worklist,infiniteDetection,explorationOrder,partialOrderReduction,budget,growthDetector,0);
 		return definition;
 	}
 
-	/* The recursive function for generating the LTS from a given state. It is called from each state which is created and only called if the state 
-	 * has just been created/is new, preventing infinite recursion */
-	public static void recurseLTS(LTSDefinition definition, LTSState currentState, boolean infiniteCheck) throws Exception{
-
-		ConsoleWindow.output("Calculating outgoing transitions from state "+currentState.getStateNo());
-
-		/* Counts no. of transitions from currentState and adds currentState to end state if none are available. */
-		Vector<Transition> transitionsFromThisNetworkState = CalculateTransitions.calculateTransitions(currentState.getNetworkTerm());
-		if(transitionsFromThisNetworkState.size()==0){
-			ConsoleWindow.output("No outgoing transitions from this state. State "+currentState.getStateNo()+" added to list of end states");
-			definition.addEndState(currentState);
+	/* Carries on generating an incomplete LTS from where it stopped, with the settings it was started with, until it is complete
+	 * or the given budget is used up again. The LTS is extended in place, and numbered exactly as if generation had never stopped.
+	 * The infinite growth detector and count of transitions are taken over from the frontier rather than worked out again */
+	public static void resumeLTS(LTSDefinition definition, GenerationBudget budget) throws Exception{
+		LTSFrontier frontier = definition.getFrontier();
+		if(frontier==null){
+			Log.info("LTS is already complete, so there is nothing to resume");
+			return;
 		}
-		else{
-			ConsoleWindow.output(transitionsFromThisNetworkState.size()+" transitions in total exist from this state: "+currentState.getStateNo());
-
-			/* Iterates through any transitions from currentState */
-			for(int i=0;i<transitionsFromThisNetworkState.size();i++){
+		if(Log.tracing()){
+			Log.trace("Resuming exploration with "+frontier.getNoOfStates()+" states still to be explored");
+		}
+		definition.setFrontier(null);
+		explore(definition,frontier.getWorklist(),frontier.infiniteCheckEnabled(),frontier.getExplorationOrder(),
+				frontier.partialOrderReductionEnabled(),budget,frontier.getGrowthDetector(),frontier.getNoOfTransitions());
+	}
 
-				/* Checks to see if the target state of the transition exists in the LTS already */
-				Transition currentTransition=transitionsFromThisNetworkState.get(i);
+	/* Generates the LTS from the given state until every reachable state has been explored (see explore) */
+	public static void exploreLTS(LTSDefinition definition, LTSState startState, PartiallyVisibleNetwork startTerm, 
+			boolean infiniteCheck, int explorationOrder, boolean partialOrderReduction) throws Exception{
+		ArrayDeque<ExplorationFrame> worklist = new ArrayDeque<ExplorationFrame>();
+		worklist.addLast(new ExplorationFrame(startState,startTerm));
+		InfiniteGrowthDetector growthDetector = null;
+		if(infiniteCheck){
+			growthDetector = new InfiniteGrowthDetector(definition);
+		}
+		explore(definition,worklist,infiniteCheck,explorationOrder,partialOrderReduction,GenerationBudget.UNLIMITED,growthDetector,
+				definition.getNoOfTransitions());
+	}
 
-				ConsoleWindow.output("Building outgoing transition "+currentTransition.printArrow()+" from state "+currentState.getStateNo());
-				
-				int index = definition.getIndexIfExists(currentTransition.getTargetStateTerm());
-				currentState.addOutgoingTransition(currentTransition);
-
-				/* If the target state of the transition does not exist in the LTS */
-				if(index==-1){
-
-					/* Create a fresh LTS state and add it to the master list of states */
-					LTSState freshState = new LTSState();
-					freshState.setNetworkTerm(currentTransition.getTargetStateTerm());
-					freshState.setStateNo(definition.getNoOfStates());
-					definition.addState(freshState);
-
-					/* Link the currentState to it */
-					currentState.addOutgoingState(freshState);
-					
-					ConsoleWindow.output("Target state for this transition does not exist in LTS. Creating new node "+
-							freshState.getStateNo()+": "+freshState.getNetworkTerm().printNetworkWithoutName());
-
-					/* If infinite growth detection is enabled */
-					if(infiniteCheck){	
-
-						ConsoleWindow.output("Performing infinite growth check on new state");
-
-						/* Iterate through all existing states */
-						for(int k=0;k<definition.getNoOfStates()-1;k++){
-
-							/* If the new state is a "super state" of the current existing state */
-							LTSState stateToCompare = definition.getState(k);
-
-							/* If the new state is a "super state" of said existing state */
-							if(isSuperState(freshState,stateToCompare)){
-								ConsoleWindow.output("New state is a \"super state\" of the existing state "+
-										stateToCompare.getStateNo()+": "+stateToCompare.getNetworkTerm().printNetworkWithoutName()+
-										" (i.e. the new state contains identical states for all modules, and the new state's bus contents is a strict superset)");
-
-								/* Check if there is also a path of transitions from the existing state to the new state */
-								boolean infiniteBehaviour =pathFromStateToState(stateToCompare, freshState, new Vector<Integer>());
-								
-								/* If so then the LTS can grow infinitely and we stop! */
-								if(infiniteBehaviour){
-									ConsoleWindow.output("A path also exists from the existing state to the new state, so this definitely represents infinite growth");
-									JOptionPane.showMessageDialog(null, "Infinite number of states detected. LTS generation halted. Check console for more details");
-									throw new Exception();
-								}
-								else{
-									ConsoleWindow.output("A path does not exist from the existing state to the new state however, so this does not represent infinite growth");
-								}
-							}
-						}
-
-						ConsoleWindow.output("No infinite growth behaviour so far");
+	/* Generates the LTS using an explicit worklist of states whose outgoing transitions are still
+	 * being built, rather than recursing once per state, so the depth of the LTS is not limited by the size of the thread stack.
+	 * New states are always added to the end of the worklist. Depth-first exploration always works on the most recently added
+	 * state, exactly as the original recursion did (so states are numbered identically), while breadth-first exploration always
+	 * works on the oldest state. The outgoing transitions of a state are only calculated when it is first worked on.
+	 * Only states in the worklist hold a full network term: once its transitions are calculated, a state is only kept in encoded
+	 * form, and the terms held by each transition are dropped once it has been added to the LTS. With partial order reduction
+	 * only the reduced set of transitions of each state is built. The budget is checked before each step, and if it has been used
+	 * up then the remaining worklist is recorded as the frontier of the LTS and generation stops. The given infinite growth detector
+	 * (null if infinite growth detection is not enabled) must already hold every state in the LTS, and noOfTransitions must be the
+	 * number of transitions in it. Both are kept up to date, and recorded in the frontier if generation stops */
+	private static void explore(LTSDefinition definition, ArrayDeque<ExplorationFrame> worklist, boolean infiniteCheck, int explorationOrder,
+			boolean partialOrderReduction, GenerationBudget budget, InfiniteGrowthDetector growthDetector, long noOfTransitions) throws Exception{
+		long deadline = budget.getDeadline(System.currentTimeMillis());
+		
+		while(!worklist.isEmpty()){
+			ExplorationFrame currentFrame;
+			if(explorationOrder==BREADTH_FIRST){
+				currentFrame=worklist.peekFirst();
+			}
+			else{
+				currentFrame=worklist.peekLast();
+			}
+			LTSState currentState = currentFrame.getState();
+
+			/* Stop if the budget has been used up and there is still work to do on this state */
+			if(!currentFrame.transitionsCalculated() || currentFrame.hasNextTransition()){
+				String exhausted = budget.exhausted(definition.getNoOfStates(),noOfTransitions,System.currentTimeMillis(),deadline);
+				if(exhausted!=null){
+					if(Log.tracing()){
+						Log.trace("Generation stopped ("+exhausted+") with "+definition.getNoOfStates()+" states and "+noOfTransitions+
+								" transitions. "+worklist.size()+" states are still to be explored, and generation may be resumed later");
 					}
-
-					ConsoleWindow.output("Recursing to state "+freshState.getStateNo()+": "+freshState.getNetworkTerm().printNetworkWithoutName());
-
-					/* Recurse through the new state and continue generating the LTS */
-					recurseLTS(definition,freshState,infiniteCheck);
-
-					ConsoleWindow.output("Leaving recursion and returning to examining of state "+currentState.getStateNo());
+					definition.setFrontier(new LTSFrontier(worklist,infiniteCheck,explorationOrder,partialOrderReduction,growthDetector,
+							noOfTransitions));
+					return;
 				}
+			}
 
-				/* If the target state does exist already, simply link the currentState to it via its target state list */
+			/* Calculate the outgoing transitions the first time the state is worked on, adding it to the end states if there are none */
+			if(!currentFrame.transitionsCalculated()){
+				if(Log.tracing()){
+					Log.trace("Calculating outgoing transitions from state "+currentState.getStateNo());
+				}
+				if(partialOrderReduction){
+					currentFrame.setTransitions(CalculateTransitions.calculateReducedTransitions(currentFrame.getTerm()));
+				}
 				else{
-					ConsoleWindow.output("Resulting state for this transition already exists in LTS. State is "+
-							definition.getState(index).getStateNo()+": "+definition.getState(index).getNetworkTerm().printNetworkWithoutName());
+					currentFrame.setTransitions(CalculateTransitions.calculateTransitions(currentFrame.getTerm()));
+				}
+				if(currentFrame.getNoOfTransitions()==0){
+					if(Log.tracing()){
+						Log.trace("No outgoing transitions from this state. State "+currentState.getStateNo()+" added to list of end states");
+					}
+					definition.addEndState(currentState);
+				}
+				else if(Log.tracing()){
+					Log.trace(currentFrame.getNoOfTransitions()+" transitions in total exist from this state: "+currentState.getStateNo());
+				}
+			}
 
-					currentState.addOutgoingState(definition.getState(index));
+			/* If every transition from the state has been built then it is finished with */
+			if(!currentFrame.hasNextTransition()){
+				if(currentFrame.getNoOfTransitions()>0 && Log.tracing()){
+					Log.trace("No more outgoing transitions to process from state "+currentState.getStateNo());
+				}
+				if(explorationOrder==BREADTH_FIRST){
+					worklist.removeFirst();
 				}
+				else{
+					worklist.removeLast();
+				}
+				continue;
 			}
 
-			ConsoleWindow.output("No more outgoing transitions to process from state "+currentState.getStateNo());
-		}
-	}
-	
-	/* Checks if a given state2 in the LTS has an identical network state
-	 * to a given state1, except that state1's bus is a strict superset of state2's bus */
-	public static boolean isSuperState(LTSState state1, LTSState state2){
-		if(state1.getNetworkTerm().isSuperNetwork(state2.getNetworkTerm())){
-			return true;
-		}
-		return false;
-	}
+			/* Checks to see if the target state of the next transition exists in the LTS already */
+			Transition currentTransition=currentFrame.nextTransition();
 
-	/* Checks if there is a path of transitions in the LTS from startState to endState, 
-	 * by utilising recursion and using visitedStates to make sure that the same state is not checked twice. */
-	public static boolean pathFromStateToState(LTSState startState, LTSState endState, Vector<Integer> visitedStates){
+			if(Log.tracing()){
+				Log.trace("Building outgoing transition "+currentTransition.printArrow()+" from state "+currentState.getStateNo());
+			}
+			
+			PartiallyVisibleNetwork targetTerm = currentTransition.getTargetStateTerm();
+			EncodedNetworkState encodedTarget = definition.getEncoding().encode(targetTerm);
+			int index = definition.getIndexIfExists(encodedTarget);
+			currentTransition.setSourceStateTerm(null);
+			currentTransition.setTargetStateTerm(null);
+			currentState.addOutgoingTransition(currentTransition);
+			noOfTransitions++;
+
+			/* If the target state of the transition does not exist in the LTS */
+			if(index==-1){
+
+				/* Create a fresh LTS state and add it to the master list of states */
+				LTSState freshState = new LTSState();
+				freshState.setEncodedTerm(encodedTarget);
+				freshState.setStateNo(definition.getNoOfStates());
+				freshState.setPredecessor(currentState);
+				definition.addState(freshState);
+
+				/* Link the currentState to it */
+				currentState.addOutgoingState(freshState);
+				
+				if(Log.tracing()){
+					Log.trace("Target state for this transition does not exist in LTS. Creating new node "+
+							freshState.getStateNo()+": "+targetTerm.printNetworkWithoutName());
+				}
 
-		/* If the state identifiers are the same, then we have
-		 * reached the target state and there is definitely a path */
-		if(startState.getStateNo()==endState.getStateNo()){
-			return true;
-		}
+				/* If infinite growth detection is enabled */
+				if(infiniteCheck){
+					checkInfiniteGrowth(growthDetector,freshState,currentState);
+				}
 
-		/* Otherwise */
+				if(Log.tracing()){
+					Log.trace("Adding state "+freshState.getStateNo()+" to the worklist: "+targetTerm.printNetworkWithoutName());
+				}
 
-		/* startState has now been visited */
-		visitedStates.addElement(startState.getStateNo());
+				/* Add the new state to the worklist so that the LTS continues to be generated from it */
+				worklist.addLast(new ExplorationFrame(freshState,targetTerm));
+			}
 
-		/* For every state immediately reachable by startState */
-		for(int i=0;i<startState.getNoOfOutgoing();i++){
+			/* If the target state does exist already, simply link the currentState to it via its target state list */
+			else{
+				if(Log.tracing()){
+					Log.trace("Resulting state for this transition already exists in LTS. State is "+
+							definition.getState(index).getStateNo()+": "+targetTerm.printNetworkWithoutName());
+				}
 
-			/* Retrieve the state */
-			LTSState target = startState.getOutgoingState(i);
+				currentState.addOutgoingState(definition.getState(index));
+			}
+		}
+	}
 
-			/* If it hasn't been visited yet */
-			if(!visited(target.getStateNo(), visitedStates)){
+	/* Checks whether the newly added freshState, discovered from currentState, represents infinite growth of the LTS. Only the
+	 * existing states with identical module states are compared (see InfiniteGrowthDetector). If it does then an InfiniteGrowthException
+	 * is thrown to halt generation, otherwise the new state is added to the detector */
+	private static void checkInfiniteGrowth(InfiniteGrowthDetector growthDetector, LTSState freshState, LTSState currentState) throws Exception{
 
-				/* If there is a path from there to endState, then there
-				 * is a path from here to the endState, and we can return true */
-				if(pathFromStateToState(target,endState,visitedStates)){
-					return true;
-				}
-			}
+		Log.trace("Performing infinite growth check on new state");
 
-		}
+		LTSState grownFrom = growthDetector.findGrowth(freshState,currentState);
 
-		/* If we reach this point then there is not a path from startState to endState */
-		return false;
+		/* If there is such a state then the LTS can grow infinitely and we stop! */
+		if(grownFrom!=null){
+			Log.info("New state "+freshState.getStateNo()+" is a \"super state\" of existing state "+grownFrom.getStateNo()+
+					", and a path also exists from the existing state to the new state, so this definitely represents infinite growth");
+			throw new InfiniteGrowthException(freshState.getStateNo());
+		}
+		growthDetector.addState(freshState);
 
+		Log.trace("No infinite growth behaviour so far");
 	}
-
-	/* Checks whether a given state has been visited by checking the overall list of visited states */
-	public static boolean visited(int stateToCheck, Vector<Integer> visitedStates){
-		for(int i=0;i<visitedStates.size();i++){
-			if(visitedStates.get(i).intValue()==stateToCheck){
-				return true;
-			}
+	
+	/* Checks if a given state2 in the LTS has an identical network state
+	 * to a given state1, except that state1's bus is a strict superset of state2's bus. This compares the
+	 * encoded terms, so neither full term needs to be rebuilt */
+	public static boolean isSuperState(LTSState state1, LTSState state2){
+		if(state1.getEncodedTerm().isSuperStateOf(state2.getEncodedTerm())){
+			return true;
 		}
 		return false;
 	}
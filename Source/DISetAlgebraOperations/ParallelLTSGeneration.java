@@ -0,0 +1,236 @@
+package DISetAlgebraOperations;
+
+import java.util.ArrayDeque;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import DISetAlgebraLTSStructure.LTSDefinition;
+import DISetAlgebraLTSStructure.LTSState;
+import DISetAlgebraLTSStructure.Transition;
+import DISetAlgebraStructure.EncodedNetworkState;
+import DISetAlgebraStructure.PartiallyVisibleNetwork;
+import DISetAlgebraStructure.StateEncoding;
+import Logging.Log;
+
+/* This generates an LTS starting from a given network term using several threads at once. Each state is expanded
+ * (its outgoing transitions calculated) by a separate task in a work-stealing pool, and visited states are shared between
+ * the tasks through a concurrent index keyed by the canonical state key. As the order in which the tasks run is not fixed,
+ * states are renumbered once generation is complete by replaying the depth-first order of LTSGeneration over the finished
+ * graph, so the resulting LTSDefinition is identical to the one generated by a single thread. */
+public class ParallelLTSGeneration {
+
+	/* Index from the encoded network term of each discovered state to the state itself */
+	private ConcurrentHashMap<EncodedNetworkState,LTSState> visitedStates = new ConcurrentHashMap<EncodedNetworkState,LTSState>();
+
+	/* The encoding shared by every state, which is thread-safe */
+	private StateEncoding encoding;
+
+	/* Whether infinite growth detection is enabled */
+	private boolean infiniteCheck;
+
+	/* Whether partial order reduction is enabled */
+	private boolean reduction;
+
+	/* The pool in which states are expanded */
+	private ForkJoinPool pool;
+
+	/* The number of expansion tasks which have been submitted but not yet finished */
+	private AtomicLong pendingTasks = new AtomicLong();
+
+	/* Released once every expansion task has finished */
+	private CountDownLatch finished = new CountDownLatch(1);
+
+	/* The first failure raised by any task. Once set, no further states are expanded */
+	private AtomicReference<Exception> failure = new AtomicReference<Exception>();
+
+	/* Provisional numbers given to states as they are discovered, only used in console output before renumbering */
+	private AtomicInteger provisionalNumbers = new AtomicInteger();
+
+	/* Constructs the generator with a pool of the given number of threads */
+	private ParallelLTSGeneration(StateEncoding stateEncoding, boolean infiniteDetection, boolean partialOrderReduction, int threads) {
+		encoding=stateEncoding;
+		infiniteCheck=infiniteDetection;
+		reduction=partialOrderReduction;
+		pool = new ForkJoinPool(threads);
+	}
+
+	/* Computes the LTS of the given network term using the given number of threads (or one per available processor if threads
+	 * is zero or less), with infinite growth detection. The states are numbered identically to LTSGeneration.computeLTS */
+	public static LTSDefinition computeLTS(PartiallyVisibleNetwork networkDefinition, boolean infiniteDetection, int threads) throws Exception{
+		return computeLTS(networkDefinition,infiniteDetection,false,threads);
+	}
+
+	/* Computes the LTS of the given network term as above, optionally with partial order reduction. The states are numbered
+	 * identically to LTSGeneration.computeLTS with the same reduction setting */
+	public static LTSDefinition computeLTS(PartiallyVisibleNetwork networkDefinition, boolean infiniteDetection, boolean partialOrderReduction,
+			int threads) throws Exception{
+		if(threads<=0){
+			threads=Runtime.getRuntime().availableProcessors();
+		}
+		Log.info("Generating LTS in parallel using "+threads+" threads. State numbers shown during generation are provisional");
+		if(infiniteDetection){
+			Log.info("Infinite growth detection enabled. Each state will be checked against the states it was discovered from");
+		}
+		else{
+			Log.info("Infinite growth detection NOT enabled. System will become unresponsive if infinite growth is present");
+		}
+
+		ParallelLTSGeneration generation = new ParallelLTSGeneration(new StateEncoding(networkDefinition),infiniteDetection,partialOrderReduction,threads);
+		LTSState startingState = new LTSState();
+		startingState.setEncodedTerm(generation.encoding.encode(networkDefinition));
+		startingState.setStateNo(generation.provisionalNumbers.getAndIncrement());
+		generation.visitedStates.put(startingState.getEncodedTerm(),startingState);
+
+		try{
+			generation.submit(startingState,networkDefinition);
+			generation.finished.await();
+		}
+		finally{
+			generation.pool.shutdownNow();
+		}
+
+		Exception failure = generation.failure.get();
+		if(failure!=null){
+			throw failure;
+		}
+
+		Log.info("Parallel exploration complete with "+generation.visitedStates.size()+" states. Renumbering states");
+		return generation.renumber(startingState);
+	}
+
+	/* Submits a task to expand the given state, whose full network term is given */
+	private void submit(final LTSState state, final PartiallyVisibleNetwork term) {
+		pendingTasks.incrementAndGet();
+		ForkJoinTask<?> task = ForkJoinTask.adapt(new Runnable(){
+			public void run(){
+				try{
+					if(failure.get()==null){
+						expand(state,term);
+					}
+				}
+				catch(Exception e){
+					failure.compareAndSet(null,e);
+				}
+				finally{
+					if(pendingTasks.decrementAndGet()==0){
+						finished.countDown();
+					}
+				}
+			}
+		});
+		if(ForkJoinTask.inForkJoinPool()){
+			task.fork();
+		}
+		else{
+			pool.execute(task);
+		}
+	}
+
+	/* Calculates the outgoing transitions of the given state and links it to their target states. Any target state which
+	 * has not been seen before is claimed through the concurrent index, and a task is submitted to expand it in turn. Only the
+	 * task which discovers a state expands it, so the state's own lists of outgoing transitions are never modified concurrently.
+	 * As with sequential generation, the terms held by each transition are dropped once it has been added to the LTS */
+	private void expand(LTSState currentState, PartiallyVisibleNetwork currentTerm) throws Exception{
+		Vector<Transition> transitionsFromThisNetworkState;
+		if(reduction){
+			transitionsFromThisNetworkState = CalculateTransitions.calculateReducedTransitions(currentTerm);
+		}
+		else{
+			transitionsFromThisNetworkState = CalculateTransitions.calculateTransitions(currentTerm);
+		}
+		for(int i=0;i<transitionsFromThisNetworkState.size();i++){
+			Transition currentTransition=transitionsFromThisNetworkState.get(i);
+			PartiallyVisibleNetwork targetTerm = currentTransition.getTargetStateTerm();
+			LTSState freshState = new LTSState();
+			freshState.setEncodedTerm(encoding.encode(targetTerm));
+			freshState.setPredecessor(currentState);
+
+			LTSState existing = visitedStates.putIfAbsent(freshState.getEncodedTerm(),freshState);
+			currentTransition.setSourceStateTerm(null);
+			currentTransition.setTargetStateTerm(null);
+			currentState.addOutgoingTransition(currentTransition);
+			if(existing!=null){
+				currentState.addOutgoingState(existing);
+			}
+			else{
+				currentState.addOutgoingState(freshState);
+				freshState.setStateNo(provisionalNumbers.getAndIncrement());
+				if(Log.tracing()){
+					Log.trace("Discovered provisional state "+freshState.getStateNo()+" from provisional state "+currentState.getStateNo());
+				}
+				if(infiniteCheck){
+					checkInfiniteGrowth(freshState);
+				}
+				submit(freshState,targetTerm);
+			}
+		}
+	}
+
+	/* Checks whether the newly discovered freshState is a "super state" of any of the states it was discovered from. As each
+	 * of these has a path of transitions to freshState by construction, any such state means the LTS grows infinitely. Every
+	 * infinite LTS has an infinite chain of discoveries, along which such a pair must eventually occur (as the module states are
+	 * finite and bus contents are compared as multisets), so this always halts generation of an infinite LTS */
+	private void checkInfiniteGrowth(LTSState freshState) throws Exception{
+		LTSState ancestor = freshState.getPredecessor();
+		while(ancestor!=null){
+			if(LTSGeneration.isSuperState(freshState,ancestor)){
+				Log.info("New provisional state "+freshState.getStateNo()+" is a \"super state\" of the state it was discovered from: "+
+						ancestor.getNetworkTerm().printNetworkWithoutName()+", so this definitely represents infinite growth");
+				throw new InfiniteGrowthException(freshState.getStateNo());
+			}
+			ancestor=ancestor.getPredecessor();
+		}
+	}
+
+	/* Builds the final LTSDefinition from the finished graph. States are numbered by replaying the depth-first order
+	 * of LTSGeneration over the outgoing transitions of each state, so that the numbering and end states match sequential generation */
+	private LTSDefinition renumber(LTSState startingState) {
+		for(LTSState state : visitedStates.values()){
+			state.setStateNo(-1);
+		}
+		LTSDefinition definition = new LTSDefinition(encoding);
+		startingState.setStateNo(0);
+		startingState.setPredecessor(null);
+		definition.addState(startingState);
+
+		ArrayDeque<LTSState> stack = new ArrayDeque<LTSState>();
+		ArrayDeque<Integer> nextTransition = new ArrayDeque<Integer>();
+		stack.push(startingState);
+		nextTransition.push(0);
+		if(startingState.getNoOfOutgoing()==0){
+			definition.addEndState(startingState);
+		}
+
+		while(!stack.isEmpty()){
+			LTSState current = stack.peek();
+			int next = nextTransition.pop();
+			if(next==current.getNoOfOutgoing()){
+				stack.pop();
+				continue;
+			}
+			nextTransition.push(next+1);
+
+			LTSState target = current.getOutgoingState(next);
+			if(target.getStateNo()==-1){
+
+				/* First reached here in depth-first order, so this is where sequential generation would have created it */
+				target.setStateNo(definition.getNoOfStates());
+				target.setPredecessor(current);
+				definition.addState(target);
+				if(target.getNoOfOutgoing()==0){
+					definition.addEndState(target);
+				}
+				stack.push(target);
+				nextTransition.push(0);
+			}
+		}
+		return definition;
+	}
+
+}
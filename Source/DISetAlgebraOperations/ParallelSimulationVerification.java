@@ -0,0 +1,84 @@
+package DISetAlgebraOperations;
+
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import DISetAlgebraLTSStructure.LTSDefinition;
+import DISetAlgebraLTSStructure.Simulation;
+import DISetAlgebraLTSStructure.WeakTransitionTable;
+import Logging.Log;
+
+/* This verifies a (bi)simulation as SimulationVerification does, but using several threads at once, and finds every move of every
+ * pair which is not matched rather than stopping at the first. Each pair is checked on its own against the relation and the weak
+ * transitions of the two LTSs, none of which are modified by the check, so the pairs are split into ranges which are checked
+ * by separate tasks in a work-stealing pool. There are several ranges for each thread, so that a thread which finishes early
+ * can take over ranges from a thread with more work. The failures found in each range are joined in the order of the pairs, so the
+ * report is the same whatever the number of threads */
+public class ParallelSimulationVerification {
+
+	/* The number of ranges the pairs are split into for each thread */
+	private static final int RANGES_PER_THREAD = 8;
+
+	/* Verifies the given simulation between the two given LTSs using the given number of threads (or one per available processor
+	 * if threads is zero or less). The type of simulation is as described in SimulationVerification. Returns a description of
+	 * every move which is not matched (see SimulationVerification.describeFailure) in the order of the pairs in the relation,
+	 * so the simulation is valid exactly when there are none. These are also logged, in the same order, once every pair has
+	 * been checked. Throws an InterruptedException if the thread is interrupted while waiting for the checks */
+	public static Vector<String> findFailures(final Simulation simulationDefinition, LTSDefinition leftLTS, LTSDefinition rightLTS,
+			final int simulationType, int threads) throws InterruptedException{
+		if(threads<=0){
+			threads=Runtime.getRuntime().availableProcessors();
+		}
+		final WeakTransitionTable leftWeak = leftLTS.getWeakTransitions();
+		final WeakTransitionTable rightWeak = rightLTS.getWeakTransitions();
+		int noOfPairs = simulationDefinition.getNoOfPairs();
+		Log.info("Verifying "+noOfPairs+" pairs in parallel using "+threads+" threads");
+
+		/* Split the pairs into ranges of (nearly) equal size */
+		int noOfRanges = Math.max(1,Math.min(noOfPairs,threads*RANGES_PER_THREAD));
+		Vector<Callable<Vector<String>>> tasks = new Vector<Callable<Vector<String>>>();
+		for(int i=0;i<noOfRanges;i++){
+			final int first = (int)((long)noOfPairs*i/noOfRanges);
+			final int past = (int)((long)noOfPairs*(i+1)/noOfRanges);
+			tasks.add(new Callable<Vector<String>>(){
+				public Vector<String> call(){
+					Vector<String> failures = new Vector<String>();
+					for(int j=first;j<past;j++){
+						SimulationVerification.checkPair(simulationDefinition.getPair(j),leftWeak,rightWeak,simulationDefinition,
+								simulationType,failures);
+					}
+					return failures;
+				}
+			});
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		Vector<String> allFailures = new Vector<String>();
+		try{
+			Vector<Future<Vector<String>>> results = new Vector<Future<Vector<String>>>(pool.invokeAll(tasks));
+			for(int i=0;i<results.size();i++){
+				allFailures.addAll(results.get(i).get());
+			}
+		}
+		catch(ExecutionException e){
+
+			/* The checks throw no checked exceptions, so whatever stopped one is passed on as it is */
+			if(e.getCause() instanceof Error){
+				throw (Error)e.getCause();
+			}
+			throw (RuntimeException)e.getCause();
+		}
+		finally{
+			pool.shutdownNow();
+		}
+		Log.info("Parallel verification complete with "+allFailures.size()+" moves not matched");
+		for(int i=0;i<allFailures.size();i++){
+			Log.info(allFailures.get(i));
+		}
+		return allFailures;
+	}
+
+}
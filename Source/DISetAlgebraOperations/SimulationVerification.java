@@ -2,12 +2,14 @@ package DISetAlgebraOperations;
 
 import java.util.Vector;
 
+import DISetAlgebraLTSStructure.LTSDefinition;
 import DISetAlgebraLTSStructure.LTSState;
 import DISetAlgebraLTSStructure.Simulation;
 import DISetAlgebraLTSStructure.SimulationPair;
+import DISetAlgebraLTSStructure.TauComponents;
 import DISetAlgebraLTSStructure.Transition;
-import DISetAlgebraStructure.NamedPortSet;
-import GUI.ConsoleWindow;
+import DISetAlgebraLTSStructure.WeakTransitionTable;
+import Logging.Log;
 
 /* This verifies a (bi)simulation defined by the user in the DI-Set Algebra tab's LTS screen. Unlike the theoretical basis of the relation
  * defined in the thesis, when defining state pairs, the software requires that the left network (also known as Network 1) is always on the left side
@@ -19,192 +21,144 @@ public class SimulationVerification {
 	
 	/* Checks whether the given simulation is valid. If simulationType is 1 then we are checking bisimilarity. If simulationType is 2
 	 * then we are checking whether network 1 simulates network 2, and if simulationType is 3 then we are checking whether network 2 
-	 * simulates network 1. It iterates through each state pair in the relation and checks that the conditions are met, by utilising
-	 * recursive methods below which check for the existence of paths of tau transitions (known as tau* paths). See the ConsoleWindow.output calls
-	 * below for more information as to what operations are performed at each point */
-	public static boolean validSimulation(Simulation simulationDefinition, int simulationType){
+	 * simulates network 1. It iterates through each state pair in the relation and checks that the conditions are met, by looking up
+	 * the states reachable by paths of tau transitions (known as tau* paths) in the weak transitions of the two LTSs (see
+	 * WeakTransitionTable), rather than searching for such paths for every pair. See the Log calls below for more information as to
+	 * what operations are performed at each point */
+	public static boolean validSimulation(Simulation simulationDefinition, LTSDefinition leftLTS, LTSDefinition rightLTS, int simulationType){
+		WeakTransitionTable leftWeak = leftLTS.getWeakTransitions();
+		WeakTransitionTable rightWeak = rightLTS.getWeakTransitions();
 		if(simulationType==1){
-			ConsoleWindow.output("Verifying bisimulation");
+			Log.info("Verifying bisimulation");
 		}
 		else if(simulationType==2){
-			ConsoleWindow.output("Verifying network 1 simulates network 2");
+			Log.info("Verifying network 1 simulates network 2");
 		}
 		else if(simulationType==3){
-			ConsoleWindow.output("Verifying network 2 simulates network 1");
+			Log.info("Verifying network 2 simulates network 1");
 		}
 		for(int i=0;i<simulationDefinition.getNoOfPairs();i++){
-			SimulationPair currentPair = simulationDefinition.getPair(i);
-			ConsoleWindow.output("Checking that pair "+currentPair.printPair()+" satisfies conditions");
-			
-			LTSState leftLTSState = currentPair.getLeftState();
-			LTSState rightLTSState = currentPair.getRightState();
+			if(!checkPair(simulationDefinition.getPair(i),leftWeak,rightWeak,simulationDefinition,simulationType,null)){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Checks whether the given state pair satisfies the conditions for the given type of simulation, using the weak transitions of
+	 * the two LTSs. If failures is null then this stops at the first move which is not matched. Otherwise every move of the pair
+	 * which is not matched is described in failures (see describeFailure), without being logged, and the whole pair is checked.
+	 * Nothing other than failures is modified, so several pairs can be checked at once on different threads (see
+	 * ParallelSimulationVerification) */
+	static boolean checkPair(SimulationPair currentPair, WeakTransitionTable leftWeak, WeakTransitionTable rightWeak,
+			Simulation simulationDefinition, int simulationType, Vector<String> failures){
+		boolean valid = true;
+		if(Log.tracing()){
+			Log.trace("Checking that pair "+currentPair.printPair()+" satisfies conditions");
+		}
+		
+		LTSState leftLTSState = currentPair.getLeftState();
+		LTSState rightLTSState = currentPair.getRightState();
+		
+		if(simulationType==1 || simulationType==3){
 			
-			if(simulationType==1 || simulationType==3){
+			/* Check all of left side moves are matched by the right */
+			for(int j=0;j<leftLTSState.getNoOfOutgoing();j++){
+				Transition leftTransition=leftLTSState.getOutgoingTransition(j);
 				
-				/* Check all of left side moves are matched by the right */
-				for(int j=0;j<leftLTSState.getNoOfOutgoing();j++){
-					Transition leftTransition=leftLTSState.getOutgoingTransition(j);
-					
-					ConsoleWindow.output("Checking that left side transition "+leftTransition.printArrow()+" "+leftLTSState.getOutgoingState(j).getStateNo() + " is matched "+
+				if(Log.tracing()){
+					Log.trace("Checking that left side transition "+leftTransition.printArrow()+" "+leftLTSState.getOutgoingState(j).getStateNo() + " is matched "+
 							"by the right side");
 					
-					/* If the transition on the left is a tau */
+					/* If the transition on the left is a tau then a (possibly empty) series of taus on the right must lead to a
+					 * state in the relation */
 					if(leftTransition.getType()>1){
-						
-						ConsoleWindow.output("Left side transition is a tau so checking for a tau* path on the right side");
-						
-						/* See if the tau on the left and a (possibly empty) 
-						 * series of taus on the right leads to a state in the relation */
-						if(!checkTauPath(leftLTSState.getOutgoingState(j).getStateNo(),rightLTSState,simulationDefinition,new Vector<Integer>(),true)){
-							ConsoleWindow.output("Right side can not match with a resulting state in the simulation");
-							return false;
-						}
+						Log.trace("Left side transition is a tau so checking for a tau* path on the right side");
 					}
-					
-					/* If the transition on the left is not a tau */
 					else{
-							ConsoleWindow.output("Left side transition is visible so checking for a tau* path followed by a visible transition, "
-									+ "followed by a tau* path on the right side");
-						if(!checkTauPathThenVisibleThenTauPath(leftLTSState.getOutgoingState(j).getStateNo(),rightLTSState,
-								leftTransition.getType(),leftTransition.getTransitionLabel(),simulationDefinition,new Vector<Integer>(),true)){
-							ConsoleWindow.output("Right side can not match with a resulting state in the simulation");
-							return false;
-						}						
+						Log.trace("Left side transition is visible so checking for a tau* path followed by a visible transition, "
+								+ "followed by a tau* path on the right side");
+					}
+				}
+				if(!checkWeakMove(leftLTSState.getOutgoingState(j).getStateNo(),rightLTSState,leftTransition,rightWeak,simulationDefinition,true)){
+					if(failures==null){
+						Log.info("Right side can not match with a resulting state in the simulation");
+						return false;
 					}
+					failures.add(describeFailure(currentPair,leftTransition,leftLTSState.getOutgoingState(j),"left","right"));
+					valid=false;
 				}
-				ConsoleWindow.output("All moves on the left here are matched by the right side");
 			}
-			if(simulationType==1 || simulationType==2){
+			Log.trace("All moves on the left here have been checked");
+		}
+		if(simulationType==1 || simulationType==2){
+			
+			/* Check all of right side moves are matched by the left */
+			for(int j=0;j<rightLTSState.getNoOfOutgoing();j++){
+				Transition rightTransition=rightLTSState.getOutgoingTransition(j);
 				
-				/* Check all of right side moves are matched by the left */
-				for(int j=0;j<rightLTSState.getNoOfOutgoing();j++){
-					Transition rightTransition=rightLTSState.getOutgoingTransition(j);
-					
-					ConsoleWindow.output("Checking that right side transition "+rightTransition.printArrow()+" "+rightLTSState.getOutgoingState(j).getStateNo() + " is matched "+
+				if(Log.tracing()){
+					Log.trace("Checking that right side transition "+rightTransition.printArrow()+" "+rightLTSState.getOutgoingState(j).getStateNo() + " is matched "+
 							"by the left side");
 					
-					/* If the transition on the right is a tau */
+					/* If the transition on the right is a tau then a (possibly empty) series of taus on the left must lead to a
+					 * state in the relation */
 					if(rightTransition.getType()>1){
-						
-						ConsoleWindow.output("Right side transition is a tau so checking for a tau* path on the left side");
-						
-						/* See if the tau on the right and a (possibly empty) 
-						 * series of taus on the left leads to a state in the relation */
-						if(!checkTauPath(rightLTSState.getOutgoingState(j).getStateNo(),leftLTSState,simulationDefinition,new Vector<Integer>(),false)){
-							ConsoleWindow.output("Left side can not match with a resulting state in the simulation");
-							return false;
-						}
+						Log.trace("Right side transition is a tau so checking for a tau* path on the left side");
 					}
-					
-					/* If the transition on the right is not a tau */
 					else{
-							ConsoleWindow.output("Right side transition is visible so checking for a tau* path followed by a visible transition, "
-									+ "followed by a tau* path on the left side");
-						if(!checkTauPathThenVisibleThenTauPath(rightLTSState.getOutgoingState(j).getStateNo(),leftLTSState,
-								rightTransition.getType(),rightTransition.getTransitionLabel(),simulationDefinition,new Vector<Integer>(),false)){
-
-							ConsoleWindow.output("Left side can not match with a resulting state in the simulation");
-							return false;
-						}
+						Log.trace("Right side transition is visible so checking for a tau* path followed by a visible transition, "
+								+ "followed by a tau* path on the left side");
 					}
 				}
-				ConsoleWindow.output("All moves on the right here are matched by the left side");
-			}
-		}
-		return true;
-	}
-
-	/* Checks whether there is a *tau path from stateToEvolve to some numbered randomState such that
-	 * (fixedState,randomState) is in the (formal) relation if rightMatching=true, or (randomState,fixedState) if rightMatching=false 
-	 * Note as described above, it is always represented as (fixedState, randomState) in the GUI */
-	private static boolean checkTauPath(int fixedState, LTSState stateToEvolve, Simulation simulationDefinition, 
-			Vector<Integer> statesVisited, boolean rightMatchingLeft) {
-		
-		/* First check if this state is actually in the relation, before bothering to recurse */
-		if(rightMatchingLeft){
-			if(simulationDefinition.pairPresent(fixedState,stateToEvolve.getStateNo())){
-				return true;
-			}
-		}
-		else{
-			if(simulationDefinition.pairPresent(stateToEvolve.getStateNo(),fixedState)){
-				return true;
-			}
-		}
-		
-		/* Record current stateToEvolve as visited */
-		statesVisited.addElement(new Integer(stateToEvolve.getStateNo()));
-		
-		/* For every transition from stateToEvolve */
-		for(int i=0;i<stateToEvolve.getNoOfOutgoing();i++){
-			Transition currentTransition = stateToEvolve.getOutgoingTransition(i);
-			
-			/* We only care if it is a tau */
-			if(currentTransition.getType()>1){
-				
-				/* We only care about the target state if we have not 
-				 * already visited it (prevents infinite recursion)*/
-				if(!LTSGeneration.visited(stateToEvolve.getOutgoingState(i).getStateNo(),statesVisited)){
-					
-					/* Recursively check to see if there is a path from this target state, otherwise abandon
-					 * and try a new transition from stateToEvolve */
-					if (checkTauPath(fixedState,stateToEvolve.getOutgoingState(i),simulationDefinition,statesVisited,rightMatchingLeft)){
-						return true;
+				if(!checkWeakMove(rightLTSState.getOutgoingState(j).getStateNo(),leftLTSState,rightTransition,leftWeak,simulationDefinition,false)){
+					if(failures==null){
+						Log.info("Left side can not match with a resulting state in the simulation");
+						return false;
 					}
+					failures.add(describeFailure(currentPair,rightTransition,rightLTSState.getOutgoingState(j),"right","left"));
+					valid=false;
 				}
 			}
+			Log.trace("All moves on the right here have been checked");
 		}
-		
-		/* If we haven't found a path from here yet then there is not one from this state, so go back up the stack and try a different "route" */
-		return false;
+		return valid;
 	}
-	
-	/* Utilises the above recursive method, and recursively checks whether there is a tau* path, then a visible transition (which matches visibleLabel), then a tau* path
-	 * from stateToEvolve to some numbered randomState such that (fixedState,randomState) is in the (formal) relation if rightMatching=true, 
-	 * or (randomState,fixedState) if rightMatching=false. Note as described above, it is always represented as (fixedState, randomState) in the GUI */
-	private static boolean checkTauPathThenVisibleThenTauPath(int fixedState, LTSState stateToEvolve, int transitionType,
-			NamedPortSet visibleLabel, Simulation simulationDefinition, Vector<Integer> statesVisited, boolean rightMatchingLeft) {
-		
-		/* Record current stateToEvolve as visited */
-		statesVisited.addElement(new Integer(stateToEvolve.getStateNo()));
+
+	/* Describes the given move of the given pair which is not matched, where side is the side of the relation making the
+	 * move ("left" or "right") and otherSide is the side which fails to match it */
+	static String describeFailure(SimulationPair pair, Transition transition, LTSState target, String side, String otherSide){
+		return "Pair "+pair.printPair()+": "+side+" side transition "+transition.printArrow()+" "+target.getStateNo()
+				+" is not matched by the "+otherSide+" side";
+	}
+
+	/* Checks whether there is a path from stateToEvolve to some numbered randomState matching the given transition, such that
+	 * (fixedState,randomState) is in the (formal) relation if rightMatching=true, or (randomState,fixedState) if rightMatching=false.
+	 * If the transition is a tau then the path is a (possibly empty) tau* path, and otherwise it is a tau* path, then a visible
+	 * transition with the same type and label, then a tau* path. The states at the end of such paths are looked up in the weak
+	 * transitions of the LTS of stateToEvolve. Note as described above, it is always represented as (fixedState, randomState) in the GUI */
+	private static boolean checkWeakMove(int fixedState, LTSState stateToEvolve, Transition transition, WeakTransitionTable weakTransitions,
+			Simulation simulationDefinition, boolean rightMatchingLeft) {
+		int label = weakTransitions.findLabel(transition.getType(),transition.getTransitionLabel());
+		int[] reached = weakTransitions.getWeakTargets(weakTransitions.getComponent(stateToEvolve.getStateNo()),label);
+		TauComponents components = weakTransitions.getTauComponents();
 		
-		/* For every transition from stateToEvolve */
-		for(int i=0;i<stateToEvolve.getNoOfOutgoing();i++){
-			Transition currentTransition = stateToEvolve.getOutgoingTransition(i);
-			
-			/* Try not doing any more tau movements, but checking for visible transition, then
-			 * checking for a tau* path following afterwards */
-				
-				/* If visible transition type matches then try to match visible label */
-				if(currentTransition.getType()==transitionType){
-					
-					/* If visible label matches in a transition starting from stateToEvolve! */
-					if(currentTransition.getTransitionLabel().sameAs(visibleLabel)){				
-							
-							/* See if there is a (possibly empty) tau* path from the target state (after visible transition)
-							 * to a state newState such that (fixedState,newState) is in the relation (or vice versa if rightMatchingLeft=false) */
-							if(checkTauPath(fixedState,stateToEvolve.getOutgoingState(i),simulationDefinition,new Vector<Integer>(),rightMatchingLeft)){
-								return true;
-							}
+		/* Every state of every tau-connected component reached is at the end of such a path */
+		for(int i=0;i<reached.length;i++){
+			for(int j=0;j<components.getNoOfMembers(reached[i]);j++){
+				int randomState = components.getMember(reached[i],j);
+				if(rightMatchingLeft){
+					if(simulationDefinition.pairPresent(fixedState,randomState)){
+						return true;
 					}
 				}
-				
-			/* Otherwise search some more possible states to perform the visible action from by following a single tau movement and recursing this method */
-			else if(currentTransition.getType()>1){
-				
-				/* We only care about the target state of this tau transition if we have not already visited it (prevents infinite recursion)*/
-				if(!LTSGeneration.visited(stateToEvolve.getOutgoingState(i).getStateNo(),statesVisited)){
-					
-					/* Return true if there is a path from this target state, otherwise abandon and try a new transition (visible or tau) from stateToEvolve */
-					if (checkTauPathThenVisibleThenTauPath(fixedState,stateToEvolve.getOutgoingState(i),transitionType,visibleLabel,
-							simulationDefinition,statesVisited,rightMatchingLeft)){
+				else{
+					if(simulationDefinition.pairPresent(randomState,fixedState)){
 						return true;
 					}
 				}
 			}
 		}
-		
-		/* If we haven't found a path from here yet then there is not one from this state, so go back up the stack and try a different "route" */
 		return false;
 	}
 	
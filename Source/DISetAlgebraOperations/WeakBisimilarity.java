@@ -0,0 +1,506 @@
+package DISetAlgebraOperations;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Vector;
+
+import CommonStructures.RefinablePartition;
+import DISetAlgebraLTSStructure.LTSDefinition;
+import DISetAlgebraLTSStructure.LTSState;
+import DISetAlgebraLTSStructure.LabelNumbering;
+import DISetAlgebraLTSStructure.Simulation;
+import DISetAlgebraLTSStructure.SimulationPair;
+import DISetAlgebraLTSStructure.TauComponents;
+import Logging.Log;
+
+/* Computes the coarsest weak bisimulation between the LTSs of the left and right networks (Network 1 and Network 2 in the GUI),
+ * rather than checking a relation given by the user as SimulationVerification does. Two states are weakly bisimilar if every move
+ * of one can be matched by the other in the same way that SimulationVerification checks a bisimulation: a tau by a (possibly empty)
+ * tau* path, and a visible transition by a tau* path, then the same visible transition, then a tau* path. The networks are weakly
+ * bisimilar if their starting states (state 0 of each LTS) are.
+ *
+ * Both LTSs are treated as one, with the left states numbered first. The states on each cycle of tau transitions are always weakly
+ * bisimilar, so each of these tau-connected components (see TauComponents) is collapsed to a single node, with its tau* closure worked
+ * out once over the (acyclic) graph of components. The weak transitions between nodes (a tau* path, optionally followed by a visible transition
+ * and another tau* path) are then built, and weak bisimilarity of the LTSs is strong bisimilarity of these weak transitions. This is
+ * found by the partition refinement algorithm of Paige and Tarjan (see refine), in O(m log n) time for m weak transitions between
+ * n nodes.
+ *
+ * The LTSs should be complete (see LTSDefinition.isComplete), as the unexplored states of an incomplete LTS have no transitions yet */
+public class WeakBisimilarity {
+
+	/* The LTSs of the left and right networks */
+	private LTSDefinition left;
+	private LTSDefinition right;
+
+	/* The number of states of the left LTS, which is also the number given to the first state of the right LTS */
+	private int noOfLeftStates;
+
+	/* The total number of states of both LTSs */
+	private int noOfStates;
+
+	/* The numbering of the labels of both LTSs */
+	private LabelNumbering labels = new LabelNumbering();
+
+	/* The tau-connected component containing each state, and the number of components */
+	private int[] componentOf;
+	private int noOfComponents;
+
+	/* The states in each component: those of component c are members[memberStart[c]] up to members[memberStart[c+1]-1] */
+	private int[] memberStart;
+	private int[] members;
+
+	/* The components reachable from each component by a (possibly empty) tau* path */
+	private BitSet[] tauClosure;
+
+	/* The weak transitions between components, and how many there are */
+	private int[] weakSource = new int[16];
+	private int[] weakLabel = new int[16];
+	private int[] weakTarget = new int[16];
+	private int noOfWeakTransitions = 0;
+
+	/* The blocks of components being refined (see refine) */
+	private RefinablePartition blocks;
+
+	/* The compound block of each block, and for each compound block its number of blocks and the first of them, with each block
+	 * leading to the next block of its compound block (or -1 for the last) */
+	private int[] compoundOf;
+	private int[] compoundSize;
+	private int[] firstInCompound;
+	private int[] nextInCompound;
+	private int noOfCompounds;
+
+	/* The compound blocks made of more than one block, which are still to be split */
+	private int[] pendingCompounds;
+	private int noOfPendingCompounds;
+
+	/* The weak bisimilarity class of each state, and the number of classes */
+	private int[] classOf;
+	private int noOfClasses;
+
+	/* Computes weak bisimilarity between the given LTSs. See the Log calls below for more information as to what operations are
+	 * performed at each point */
+	public WeakBisimilarity(LTSDefinition leftLTS, LTSDefinition rightLTS) {
+		left=leftLTS;
+		right=rightLTS;
+		noOfLeftStates=left.getNoOfStates();
+		noOfStates=noOfLeftStates+right.getNoOfStates();
+
+		Log.info("Computing weak bisimilarity between network 1 and network 2");
+
+		combineTauComponents();
+		if(Log.tracing()){
+			Log.trace("Collapsed "+noOfStates+" states into "+noOfComponents+" tau-connected components");
+		}
+
+		buildWeakTransitions();
+		if(Log.tracing()){
+			Log.trace("Built "+noOfWeakTransitions+" weak transitions between components");
+		}
+
+		refine();
+		Log.info("Found "+noOfClasses+" weak bisimilarity classes");
+	}
+
+	/* Returns the state with the given number (left states first, then right states) */
+	private LTSState getState(int state) {
+		if(state<noOfLeftStates){
+			return left.getState(state);
+		}
+		return right.getState(state-noOfLeftStates);
+	}
+
+	/* Returns the number of the target of the given outgoing transition of the given state */
+	private int getOutgoingState(int state, int index) {
+		int target = getState(state).getOutgoingState(index).getStateNo();
+		if(state<noOfLeftStates){
+			return target;
+		}
+		return noOfLeftStates+target;
+	}
+
+	/* Numbers the tau-connected components of both LTSs (see TauComponents) as one, with the left components numbered first, and
+	 * lists their states and tau* closures in this numbering. Tau transitions never lead from one LTS to the other, so a tau transition
+	 * between different components still always leads to a lower numbered component */
+	private void combineTauComponents() {
+		TauComponents leftComponents = left.getWeakTransitions().getTauComponents();
+		TauComponents rightComponents = right.getWeakTransitions().getTauComponents();
+		int noOfLeftComponents = leftComponents.getNoOfComponents();
+		noOfComponents=noOfLeftComponents+rightComponents.getNoOfComponents();
+
+		componentOf = new int[noOfStates];
+		for(int i=0;i<noOfLeftStates;i++){
+			componentOf[i]=leftComponents.getComponent(i);
+		}
+		for(int i=noOfLeftStates;i<noOfStates;i++){
+			componentOf[i]=noOfLeftComponents+rightComponents.getComponent(i-noOfLeftStates);
+		}
+
+		memberStart = new int[noOfComponents+1];
+		members = new int[noOfStates];
+		tauClosure = new BitSet[noOfComponents];
+		int filled = 0;
+		for(int component=0;component<noOfComponents;component++){
+			memberStart[component]=filled;
+			if(component<noOfLeftComponents){
+				for(int i=0;i<leftComponents.getNoOfMembers(component);i++){
+					members[filled++]=leftComponents.getMember(component,i);
+				}
+				tauClosure[component]=leftComponents.getClosure(component);
+			}
+			else{
+				int rightComponent = component-noOfLeftComponents;
+				for(int i=0;i<rightComponents.getNoOfMembers(rightComponent);i++){
+					members[filled++]=noOfLeftStates+rightComponents.getMember(rightComponent,i);
+				}
+				BitSet rightClosure = rightComponents.getClosure(rightComponent);
+				BitSet closure = new BitSet(noOfComponents);
+				for(int reached=rightClosure.nextSetBit(0);reached>=0;reached=rightClosure.nextSetBit(reached+1)){
+					closure.set(noOfLeftComponents+reached);
+				}
+				tauClosure[component]=closure;
+			}
+		}
+		memberStart[noOfComponents]=filled;
+	}
+
+	/* Builds the weak transitions of every component: a tau to every component in its tau* closure (including itself), and for
+	 * each visible label, a transition with that label to every component reachable by a tau* path, then a visible transition
+	 * with that label, then a tau* path */
+	private void buildWeakTransitions() {
+
+		/* For each component, the components reachable by a visible transition from it followed by a tau* path, by label */
+		Vector<HashMap<Integer,BitSet>> visibleThenTau = new Vector<HashMap<Integer,BitSet>>();
+		for(int component=0;component<noOfComponents;component++){
+			HashMap<Integer,BitSet> byLabel = new HashMap<Integer,BitSet>();
+			for(int i=memberStart[component];i<memberStart[component+1];i++){
+				int state = members[i];
+				LTSState current = getState(state);
+				for(int j=0;j<current.getNoOfOutgoing();j++){
+					int label = labels.getLabel(current.getOutgoingTransition(j));
+					if(label!=LabelNumbering.TAU){
+						BitSet targets = byLabel.get(label);
+						if(targets==null){
+							targets = new BitSet(noOfComponents);
+							byLabel.put(label,targets);
+						}
+						targets.or(tauClosure[componentOf[getOutgoingState(state,j)]]);
+					}
+				}
+			}
+			visibleThenTau.add(byLabel);
+		}
+
+		for(int component=0;component<noOfComponents;component++){
+			BitSet closure = tauClosure[component];
+			addWeakTransitions(component,LabelNumbering.TAU,closure);
+
+			/* Gather the visible moves available after each tau* path from here */
+			HashMap<Integer,BitSet> weakByLabel = new HashMap<Integer,BitSet>();
+			for(int reached=closure.nextSetBit(0);reached>=0;reached=closure.nextSetBit(reached+1)){
+				Iterator<Map.Entry<Integer,BitSet>> moves = visibleThenTau.get(reached).entrySet().iterator();
+				while(moves.hasNext()){
+					Map.Entry<Integer,BitSet> move = moves.next();
+					BitSet targets = weakByLabel.get(move.getKey());
+					if(targets==null){
+						targets = new BitSet(noOfComponents);
+						weakByLabel.put(move.getKey(),targets);
+					}
+					targets.or(move.getValue());
+				}
+			}
+			Iterator<Map.Entry<Integer,BitSet>> moves = weakByLabel.entrySet().iterator();
+			while(moves.hasNext()){
+				Map.Entry<Integer,BitSet> move = moves.next();
+				addWeakTransitions(component,move.getKey(),move.getValue());
+			}
+		}
+	}
+
+	/* Adds a weak transition with the given label from the given component to each of the given components */
+	private void addWeakTransitions(int source, int label, BitSet targets) {
+		for(int target=targets.nextSetBit(0);target>=0;target=targets.nextSetBit(target+1)){
+			if(noOfWeakTransitions==weakSource.length){
+				int capacity = weakSource.length*2;
+				weakSource=Arrays.copyOf(weakSource,capacity);
+				weakLabel=Arrays.copyOf(weakLabel,capacity);
+				weakTarget=Arrays.copyOf(weakTarget,capacity);
+			}
+			weakSource[noOfWeakTransitions]=source;
+			weakLabel[noOfWeakTransitions]=label;
+			weakTarget[noOfWeakTransitions]=target;
+			noOfWeakTransitions++;
+		}
+	}
+
+	/* Finds the coarsest partition of the components into blocks such that, for every label and block, either every component
+	 * of a block has a weak transition with that label into the block or none do. This is the algorithm of Paige and Tarjan: as well
+	 * as the blocks there are compound blocks, each a union of blocks, and the blocks are always stable with respect to every compound
+	 * block (every component of a block has the same labels of weak transitions into it). Starting from a single compound block of
+	 * every component, a compound block made of several blocks has its smaller block (of the first two) taken out as a compound
+	 * block of its own. The blocks are then split, for each label, into the components with a transition with that label into the
+	 * block taken out, and then into those whose every transition with that label into the old compound block leads into it. Which
+	 * components these are is found by keeping a count of the transitions of each component with each label into its compound
+	 * block, shared by those transitions. As the block taken out is at most half of its compound block, each
+	 * component is in a block which is taken out at most log n times */
+	private void refine() {
+		blocks = new RefinablePartition(noOfComponents);
+		int noOfLabels = labels.getNoOfLabels();
+
+		/* List the weak transitions leading into and out of each component */
+		int[] incomingStart = new int[noOfComponents+1];
+		int[] incoming = new int[noOfWeakTransitions];
+		listByComponent(weakTarget,incomingStart,incoming);
+		int[] outgoingStart = new int[noOfComponents+1];
+		int[] outgoing = new int[noOfWeakTransitions];
+		listByComponent(weakSource,outgoingStart,outgoing);
+
+		/* Every component starts in a single block, which is the only block of a single compound block */
+		compoundOf = new int[noOfComponents+1];
+		compoundSize = new int[noOfComponents+1];
+		firstInCompound = new int[noOfComponents+1];
+		nextInCompound = new int[noOfComponents+1];
+		pendingCompounds = new int[noOfComponents+1];
+		noOfPendingCompounds = 0;
+		compoundSize[0]=1;
+		nextInCompound[0]=-1;
+		noOfCompounds=1;
+
+		/* Count the transitions of each component with each label, all of which lead into the single compound block, and make the
+		 * blocks stable with respect to it by splitting them by each label in turn */
+		int[] countOf = new int[noOfWeakTransitions];
+		int[] counts = new int[Math.max(16,noOfWeakTransitions)];
+		int noOfCounts = 0;
+		int[] countOfLabel = new int[noOfLabels];
+		Arrays.fill(countOfLabel,-1);
+		for(int component=0;component<noOfComponents;component++){
+			for(int i=outgoingStart[component];i<outgoingStart[component+1];i++){
+				int transition = outgoing[i];
+				int label = weakLabel[transition];
+				if(countOfLabel[label]==-1){
+					countOfLabel[label]=noOfCounts++;
+				}
+				countOf[transition]=countOfLabel[label];
+				counts[countOfLabel[label]]++;
+			}
+			for(int i=outgoingStart[component];i<outgoingStart[component+1];i++){
+				countOfLabel[weakLabel[outgoing[i]]]=-1;
+			}
+		}
+		int[] byLabel = new int[noOfWeakTransitions];
+		int[] labelStart = new int[noOfLabels+1];
+		for(int i=0;i<noOfWeakTransitions;i++){
+			labelStart[weakLabel[i]+1]++;
+		}
+		for(int i=0;i<noOfLabels;i++){
+			labelStart[i+1]+=labelStart[i];
+		}
+		int[] filled = Arrays.copyOf(labelStart,noOfLabels);
+		for(int i=0;i<noOfWeakTransitions;i++){
+			byLabel[filled[weakLabel[i]]++]=i;
+		}
+		for(int label=0;label<noOfLabels;label++){
+			for(int i=labelStart[label];i<labelStart[label+1];i++){
+				blocks.mark(weakSource[byLabel[i]]);
+			}
+			splitBlocks();
+		}
+
+		/* For each label with transitions into the block taken out, the transitions, and the number of them from each component */
+		int[] splitterTransitions = new int[noOfWeakTransitions];
+		int[] splitterLabels = new int[noOfLabels];
+		int[] splitterLabelCount = new int[noOfLabels];
+		int[] splitterLabelStart = new int[noOfLabels];
+		int[] intoSplitter = new int[noOfComponents];
+		int[] newCountOf = new int[noOfComponents];
+		Arrays.fill(newCountOf,-1);
+
+		while(noOfPendingCompounds>0){
+			int compound = pendingCompounds[--noOfPendingCompounds];
+
+			/* Take the smaller of the first two blocks of the compound block out as a compound block of its own */
+			int firstBlock = firstInCompound[compound];
+			int secondBlock = nextInCompound[firstBlock];
+			int splitter;
+			if(blocks.getSetSize(firstBlock)<=blocks.getSetSize(secondBlock)){
+				splitter=firstBlock;
+				firstInCompound[compound]=secondBlock;
+			}
+			else{
+				splitter=secondBlock;
+				nextInCompound[firstBlock]=nextInCompound[secondBlock];
+			}
+			compoundSize[compound]--;
+			if(compoundSize[compound]>=2){
+				pendingCompounds[noOfPendingCompounds++]=compound;
+			}
+			compoundOf[splitter]=noOfCompounds;
+			compoundSize[noOfCompounds]=1;
+			firstInCompound[noOfCompounds]=splitter;
+			nextInCompound[splitter]=-1;
+			noOfCompounds++;
+
+			/* Group the transitions into the block taken out by label. The block may itself be split below, so its
+			 * components are all gathered first */
+			int noOfSplitterLabels = 0;
+			int noOfSplitterTransitions = 0;
+			for(int i=0;i<blocks.getSetSize(splitter);i++){
+				int component = blocks.getElement(splitter,i);
+				for(int j=incomingStart[component];j<incomingStart[component+1];j++){
+					int label = weakLabel[incoming[j]];
+					if(splitterLabelCount[label]==0){
+						splitterLabels[noOfSplitterLabels++]=label;
+					}
+					splitterLabelCount[label]++;
+					noOfSplitterTransitions++;
+				}
+			}
+			int position = 0;
+			for(int i=0;i<noOfSplitterLabels;i++){
+				splitterLabelStart[splitterLabels[i]]=position;
+				position+=splitterLabelCount[splitterLabels[i]];
+			}
+			for(int i=0;i<blocks.getSetSize(splitter);i++){
+				int component = blocks.getElement(splitter,i);
+				for(int j=incomingStart[component];j<incomingStart[component+1];j++){
+					splitterTransitions[splitterLabelStart[weakLabel[incoming[j]]]++]=incoming[j];
+				}
+			}
+
+			int end = 0;
+			for(int i=0;i<noOfSplitterLabels;i++){
+				int label = splitterLabels[i];
+				int start = end;
+				end+=splitterLabelCount[label];
+				splitterLabelCount[label]=0;
+
+				/* Split off the components with a transition with this label into the block taken out */
+				for(int j=start;j<end;j++){
+					int source = weakSource[splitterTransitions[j]];
+					intoSplitter[source]++;
+					blocks.mark(source);
+				}
+				splitBlocks();
+
+				/* Split off those whose every transition with this label into the old compound block leads into it */
+				for(int j=start;j<end;j++){
+					int transition = splitterTransitions[j];
+					if(intoSplitter[weakSource[transition]]==counts[countOf[transition]]){
+						blocks.mark(weakSource[transition]);
+					}
+				}
+				splitBlocks();
+
+				/* Move the transitions into the block taken out onto counts of their own */
+				for(int j=start;j<end;j++){
+					int transition = splitterTransitions[j];
+					int source = weakSource[transition];
+					counts[countOf[transition]]--;
+					if(newCountOf[source]==-1){
+						if(noOfCounts==counts.length){
+							counts=Arrays.copyOf(counts,counts.length*2);
+						}
+						newCountOf[source]=noOfCounts;
+						counts[noOfCounts]=intoSplitter[source];
+						noOfCounts++;
+					}
+					countOf[transition]=newCountOf[source];
+				}
+				for(int j=start;j<end;j++){
+					int source = weakSource[splitterTransitions[j]];
+					intoSplitter[source]=0;
+					newCountOf[source]=-1;
+				}
+			}
+		}
+
+		classOf = new int[noOfStates];
+		for(int i=0;i<noOfStates;i++){
+			classOf[i]=blocks.getSet(componentOf[i]);
+		}
+		noOfClasses=blocks.getNoOfSets();
+	}
+
+	/* Lists the weak transitions by the component given for each in the given array (their source or target), so that those of
+	 * component c are list[start[c]] up to list[start[c+1]-1] */
+	private void listByComponent(int[] componentOfTransition, int[] start, int[] list) {
+		for(int i=0;i<noOfWeakTransitions;i++){
+			start[componentOfTransition[i]+1]++;
+		}
+		for(int i=0;i<noOfComponents;i++){
+			start[i+1]+=start[i];
+		}
+		int[] filled = Arrays.copyOf(start,noOfComponents);
+		for(int i=0;i<noOfWeakTransitions;i++){
+			list[filled[componentOfTransition[i]]++]=i;
+		}
+	}
+
+	/* Splits the blocks by the marked components, and adds each new block to the compound block of the block it was split from.
+	 * A compound block which has just gained its second block is added to those waiting to be split */
+	private void splitBlocks() {
+		int before = blocks.getNoOfSets();
+		blocks.split();
+		for(int block=before;block<blocks.getNoOfSets();block++){
+			int compound = compoundOf[blocks.getSplitFrom(block)];
+			compoundOf[block]=compound;
+			nextInCompound[block]=firstInCompound[compound];
+			firstInCompound[compound]=block;
+			compoundSize[compound]++;
+			if(compoundSize[compound]==2){
+				pendingCompounds[noOfPendingCompounds++]=compound;
+			}
+		}
+	}
+
+	/* Returns whether the networks are weakly bisimilar, which is when their starting states are */
+	public boolean bisimilar() {
+		if(noOfLeftStates==0 || noOfStates==noOfLeftStates){
+			return false;
+		}
+		return related(0,0);
+	}
+
+	/* Returns whether the given state of the left LTS is weakly bisimilar to the given state of the right LTS */
+	public boolean related(int leftStateNo, int rightStateNo) {
+		return classOf[leftStateNo]==classOf[noOfLeftStates+rightStateNo];
+	}
+
+	/* Returns the number of weak bisimilarity classes, counting the states of both LTSs */
+	public int getNoOfClasses() {
+		return noOfClasses;
+	}
+
+	/* Returns the coarsest weak bisimulation as a relation which can be checked by SimulationVerification (as a bisimulation), or
+	 * printed as a Simulation definition. It contains every pair of a left and right state which are weakly bisimilar, ordered
+	 * by left state and then right state */
+	public Simulation getWitness() {
+
+		/* List the right states of each class */
+		int[] rightStart = new int[noOfClasses+1];
+		for(int i=noOfLeftStates;i<noOfStates;i++){
+			rightStart[classOf[i]+1]++;
+		}
+		for(int i=0;i<noOfClasses;i++){
+			rightStart[i+1]+=rightStart[i];
+		}
+		int[] rightStates = new int[noOfStates-noOfLeftStates];
+		int[] filled = Arrays.copyOf(rightStart,noOfClasses);
+		for(int i=noOfLeftStates;i<noOfStates;i++){
+			rightStates[filled[classOf[i]]++]=i-noOfLeftStates;
+		}
+
+		Simulation witness = new Simulation();
+		for(int i=0;i<noOfLeftStates;i++){
+			int leftClass = classOf[i];
+			for(int j=rightStart[leftClass];j<rightStart[leftClass+1];j++){
+				witness.addStatePair(new SimulationPair(left.getState(i),right.getState(rightStates[j])));
+			}
+		}
+		return witness;
+	}
+
+}
@@ -0,0 +1,593 @@
+package DISetAlgebraOperations;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Vector;
+
+import DISetAlgebraLTSStructure.LTSDefinition;
+import DISetAlgebraLTSStructure.LTSState;
+import DISetAlgebraLTSStructure.LabelNumbering;
+import DISetAlgebraLTSStructure.Simulation;
+import DISetAlgebraLTSStructure.SimulationPair;
+import DISetAlgebraLTSStructure.TauComponents;
+import DISetAlgebraLTSStructure.Transition;
+import Logging.Log;
+
+/* Computes the greatest weak simulation between the LTSs of the left and right networks (Network 1 and Network 2 in the GUI), rather than
+ * checking a relation given by the user as SimulationVerification does. The simulation type is numbered as in SimulationVerification: 2 if
+ * network 1 simulates network 2, or 3 if network 2 simulates network 1. Below, the network doing the simulating is the "simulator" and the
+ * other is the "simulated" network. A simulator state simulates a simulated state if every move of the simulated state can be matched in the
+ * way SimulationVerification checks it: a tau by a (possibly empty) tau* path, and a visible transition by a tau* path, then the same visible
+ * transition, then a tau* path, each leading to a simulator state which simulates the state the simulated network moved to. The simulator
+ * network simulates the other if its starting state (state 0) simulates theirs.
+ *
+ * The states of each tau-connected component (see TauComponents) simulate and are simulated by exactly the same states, so the relation is
+ * held between components. For each simulated component, the simulator components which may still simulate it are held as a BitSet. These
+ * start full, and are refined using a worklist: when the set of a simulated component shrinks, every move into it is checked again, and the
+ * set of the component it comes from is cut down to the simulator components which can still match the move (those with a weak move with the
+ * same label into the shrunken set). This is found for all moves with the same label at once, by a pass over the simulator's transitions.
+ *
+ * If the starting states are not related, a counterexample is found: a sequence of moves of the simulated network which the simulator
+ * network cannot keep up with, however it chooses to respond. The LTSs should be complete (see LTSDefinition.isComplete) */
+public class WeakSimulation {
+
+	/* The LTSs of the left and right networks */
+	private LTSDefinition left;
+	private LTSDefinition right;
+
+	/* Whether the left network is the simulator (simulation type 2) rather than the right (simulation type 3) */
+	private boolean leftSimulates;
+
+	/* The tau-connected components of the simulator and simulated networks' LTSs */
+	private TauComponents simulator;
+	private TauComponents simulated;
+
+	/* The numbering of the labels of both LTSs */
+	private LabelNumbering labels = new LabelNumbering();
+
+	/* The simulator's tau transitions between different components: those from component c lead to
+	 * tauSuccessors[tauSuccessorStart[c]] up to tauSuccessors[tauSuccessorStart[c+1]-1] */
+	private int[] tauSuccessorStart;
+	private int[] tauSuccessors;
+
+	/* The simulator's visible transitions between components, grouped by label: those with label l are at indexes
+	 * visibleByLabelStart[l] up to visibleByLabelStart[l+1]-1 */
+	private int[] visibleByLabelStart;
+	private int[] visibleSource;
+	private int[] visibleTarget;
+
+	/* The indexes of the simulator's visible transitions above, grouped by source component */
+	private int[] visibleBySourceStart;
+	private int[] visibleBySource;
+
+	/* The label of each of the simulator's visible transitions above */
+	private int[] visibleLabel;
+
+	/* The moves of the simulated network between components, leaving out taus within a component (which are always matched by staying put).
+	 * Each is given by its label, source and target components, and the state and index of the transition in the LTS */
+	private int[] moveLabel;
+	private int[] moveSource;
+	private int[] moveTarget;
+	private int[] moveState;
+	private int[] moveIndex;
+	private int noOfMoves;
+
+	/* The moves leading into each simulated component, ordered by label: those into component c are
+	 * incomingMoves[incomingStart[c]] up to incomingMoves[incomingStart[c+1]-1] */
+	private int[] incomingStart;
+	private int[] incomingMoves;
+
+	/* The moves leaving each simulated component: those from component c are
+	 * outgoingMoves[outgoingStart[c]] up to outgoingMoves[outgoingStart[c+1]-1] */
+	private int[] outgoingStart;
+	private int[] outgoingMoves;
+
+	/* For each simulated component, the simulator components which simulate it */
+	private BitSet[] simulatedBy;
+
+	/* Computes the greatest weak simulation of the given type between the given LTSs. See the Log calls below for more information
+	 * as to what operations are performed at each point */
+	public WeakSimulation(LTSDefinition leftLTS, LTSDefinition rightLTS, int simulationType) {
+		left=leftLTS;
+		right=rightLTS;
+		leftSimulates = simulationType==2;
+		if(leftSimulates){
+			Log.info("Computing the greatest weak simulation of network 2 by network 1");
+		}
+		else{
+			Log.info("Computing the greatest weak simulation of network 1 by network 2");
+		}
+
+		simulator = (leftSimulates ? left : right).getWeakTransitions().getTauComponents();
+		simulated = (leftSimulates ? right : left).getWeakTransitions().getTauComponents();
+		if(Log.tracing()){
+			Log.trace("Simulator has "+simulator.getNoOfComponents()+" tau-connected components, simulated network has "
+					+simulated.getNoOfComponents());
+		}
+
+		buildMoves();
+		buildSimulatorTransitions();
+		refine();
+		Log.info("Found "+getNoOfPairs()+" related state pairs");
+	}
+
+	/* Lists the moves of the simulated network between components, numbering their labels, and groups them by target and source component */
+	private void buildMoves() {
+		LTSDefinition definition = simulated.getDefinition();
+		int capacity = 16;
+		moveLabel = new int[capacity];
+		moveSource = new int[capacity];
+		moveTarget = new int[capacity];
+		moveState = new int[capacity];
+		moveIndex = new int[capacity];
+		noOfMoves=0;
+		for(int state=0;state<definition.getNoOfStates();state++){
+			LTSState current = definition.getState(state);
+			int source = simulated.getComponent(state);
+			for(int i=0;i<current.getNoOfOutgoing();i++){
+				int label = labels.getLabel(current.getOutgoingTransition(i));
+				int target = simulated.getComponent(current.getOutgoingState(i).getStateNo());
+				if(label==LabelNumbering.TAU && target==source){
+					continue;
+				}
+				if(noOfMoves==capacity){
+					capacity*=2;
+					moveLabel=Arrays.copyOf(moveLabel,capacity);
+					moveSource=Arrays.copyOf(moveSource,capacity);
+					moveTarget=Arrays.copyOf(moveTarget,capacity);
+					moveState=Arrays.copyOf(moveState,capacity);
+					moveIndex=Arrays.copyOf(moveIndex,capacity);
+				}
+				moveLabel[noOfMoves]=label;
+				moveSource[noOfMoves]=source;
+				moveTarget[noOfMoves]=target;
+				moveState[noOfMoves]=state;
+				moveIndex[noOfMoves]=i;
+				noOfMoves++;
+			}
+		}
+
+		/* Order the moves by label, then group them by target, keeping them in label order within each target */
+		int noOfComponents = simulated.getNoOfComponents();
+		int[] byLabel = groupBy(moveLabel,noOfMoves,labels.getNoOfLabels(),null,null);
+		incomingStart = new int[noOfComponents+1];
+		incomingMoves = groupBy(moveTarget,noOfMoves,noOfComponents,incomingStart,byLabel);
+		outgoingStart = new int[noOfComponents+1];
+		outgoingMoves = groupBy(moveSource,noOfMoves,noOfComponents,outgoingStart,null);
+	}
+
+	/* Lists the simulator's transitions between components, grouping the visible ones by label and by source component. This is done
+	 * after the simulated network's labels have been numbered, so any label the simulator has which the simulated network does not
+	 * is numbered here, and is simply never asked for */
+	private void buildSimulatorTransitions() {
+		LTSDefinition definition = simulator.getDefinition();
+		int noOfComponents = simulator.getNoOfComponents();
+		Vector<int[]> tau = new Vector<int[]>();
+		Vector<int[]> visible = new Vector<int[]>();
+		for(int state=0;state<definition.getNoOfStates();state++){
+			LTSState current = definition.getState(state);
+			int source = simulator.getComponent(state);
+			for(int i=0;i<current.getNoOfOutgoing();i++){
+				int label = labels.getLabel(current.getOutgoingTransition(i));
+				int target = simulator.getComponent(current.getOutgoingState(i).getStateNo());
+				if(label!=LabelNumbering.TAU){
+					visible.add(new int[]{label,source,target});
+				}
+				else if(target!=source){
+					tau.add(new int[]{source,target});
+				}
+			}
+		}
+
+		int[] tauSource = new int[tau.size()];
+		for(int i=0;i<tau.size();i++){
+			tauSource[i]=tau.get(i)[0];
+		}
+		tauSuccessorStart = new int[noOfComponents+1];
+		int[] tauOrder = groupBy(tauSource,tau.size(),noOfComponents,tauSuccessorStart,null);
+		tauSuccessors = new int[tau.size()];
+		for(int i=0;i<tau.size();i++){
+			tauSuccessors[i]=tau.get(tauOrder[i])[1];
+		}
+
+		int noOfVisible = visible.size();
+		int[] label = new int[noOfVisible];
+		int[] source = new int[noOfVisible];
+		for(int i=0;i<noOfVisible;i++){
+			label[i]=visible.get(i)[0];
+			source[i]=visible.get(i)[1];
+		}
+		visibleByLabelStart = new int[labels.getNoOfLabels()+1];
+		int[] labelOrder = groupBy(label,noOfVisible,labels.getNoOfLabels(),visibleByLabelStart,null);
+		visibleLabel = new int[noOfVisible];
+		visibleSource = new int[noOfVisible];
+		visibleTarget = new int[noOfVisible];
+		for(int i=0;i<noOfVisible;i++){
+			int[] transition = visible.get(labelOrder[i]);
+			visibleLabel[i]=transition[0];
+			visibleSource[i]=transition[1];
+			visibleTarget[i]=transition[2];
+		}
+		visibleBySourceStart = new int[noOfComponents+1];
+		visibleBySource = groupBy(visibleSource,noOfVisible,noOfComponents,visibleBySourceStart,null);
+	}
+
+	/* Groups the indexes 0 to count-1 by the given keys (each between 0 and noOfKeys-1), returning the indexes grouped in increasing order
+	 * of key, with the start of each group recorded in the given array (which has one more entry than there are keys) if it is not null.
+	 * Within each group the indexes are in the order given, or increasing order if no order is given */
+	private static int[] groupBy(int[] keys, int count, int noOfKeys, int[] start, int[] order) {
+		if(start==null){
+			start = new int[noOfKeys+1];
+		}
+		for(int i=0;i<count;i++){
+			start[keys[i]+1]++;
+		}
+		for(int i=0;i<noOfKeys;i++){
+			start[i+1]+=start[i];
+		}
+		int[] grouped = new int[count];
+		int[] filled = Arrays.copyOf(start,noOfKeys);
+		for(int i=0;i<count;i++){
+			int index = order==null ? i : order[i];
+			grouped[filled[keys[index]]++]=index;
+		}
+		return grouped;
+	}
+
+	/* Returns the simulator components which can reach one of the given components by a (possibly empty) tau* path. As tau transitions
+	 * only lead to lower numbered components, this takes a single pass in increasing order */
+	private BitSet tauPredecessors(BitSet targets) {
+		BitSet reaching = (BitSet)targets.clone();
+		for(int component=0;component<simulator.getNoOfComponents();component++){
+			if(reaching.get(component)){
+				continue;
+			}
+			for(int i=tauSuccessorStart[component];i<tauSuccessorStart[component+1];i++){
+				if(reaching.get(tauSuccessors[i])){
+					reaching.set(component);
+					break;
+				}
+			}
+		}
+		return reaching;
+	}
+
+	/* Returns the simulator components which can match a move with the given label into one of the given components: by a tau* path
+	 * for a tau, or by a tau* path, then a visible transition with the label, then a tau* path */
+	private BitSet weakPredecessors(int label, BitSet targets) {
+		BitSet afterVisible = tauPredecessors(targets);
+		if(label==LabelNumbering.TAU){
+			return afterVisible;
+		}
+		BitSet beforeVisible = new BitSet(simulator.getNoOfComponents());
+		for(int i=visibleByLabelStart[label];i<visibleByLabelStart[label+1];i++){
+			if(afterVisible.get(visibleTarget[i])){
+				beforeVisible.set(visibleSource[i]);
+			}
+		}
+		return tauPredecessors(beforeVisible);
+	}
+
+	/* Returns the simulator components which can be reached from the given component by a move with the given label, in the same way */
+	private BitSet weakSuccessors(int component, int label) {
+		BitSet reachable = simulator.getClosure(component);
+		if(label==LabelNumbering.TAU){
+			return reachable;
+		}
+		BitSet afterVisible = new BitSet(simulator.getNoOfComponents());
+		for(int reached=reachable.nextSetBit(0);reached>=0;reached=reachable.nextSetBit(reached+1)){
+			for(int i=visibleBySourceStart[reached];i<visibleBySourceStart[reached+1];i++){
+				int transition = visibleBySource[i];
+				if(visibleLabel[transition]==label){
+					afterVisible.or(simulator.getClosure(visibleTarget[transition]));
+				}
+			}
+		}
+		return afterVisible;
+	}
+
+	/* Refines the relation until every simulator component left in the set of each simulated component can match all of its moves */
+	private void refine() {
+		int noOfComponents = simulated.getNoOfComponents();
+		simulatedBy = new BitSet[noOfComponents];
+		ArrayDeque<Integer> worklist = new ArrayDeque<Integer>();
+		boolean[] queued = new boolean[noOfComponents];
+		for(int component=0;component<noOfComponents;component++){
+			simulatedBy[component] = new BitSet(simulator.getNoOfComponents());
+			simulatedBy[component].set(0,simulator.getNoOfComponents());
+			worklist.add(component);
+			queued[component]=true;
+		}
+
+		/* The simulator components with any weak move with each label, found when first needed. While the set of a component is
+		 * still full, these are the components which can match a move into it. They are always found from a set of every simulator
+		 * component rather than from the set of the component being looked at, as a move from a component to itself can cut that
+		 * set down part of the way through its moves */
+		BitSet[] matchingAny = new BitSet[labels.getNoOfLabels()];
+		BitSet everySimulator = new BitSet(simulator.getNoOfComponents());
+		everySimulator.set(0,simulator.getNoOfComponents());
+
+		while(!worklist.isEmpty()){
+			int target = worklist.poll();
+			queued[target]=false;
+			boolean full = simulatedBy[target].cardinality()==simulator.getNoOfComponents();
+
+			/* Cut down the sets of the components with a move into this one. The moves are in label order, so the simulator
+			 * components able to match each label only need to be found once */
+			BitSet matching = null;
+			int matchingLabel = -1;
+			for(int i=incomingStart[target];i<incomingStart[target+1];i++){
+				int move = incomingMoves[i];
+				if(moveLabel[move]!=matchingLabel){
+					matchingLabel=moveLabel[move];
+					if(!full){
+						matching=weakPredecessors(matchingLabel,simulatedBy[target]);
+					}
+					else{
+						if(matchingAny[matchingLabel]==null){
+							matchingAny[matchingLabel]=weakPredecessors(matchingLabel,everySimulator);
+						}
+						matching=matchingAny[matchingLabel];
+					}
+				}
+				BitSet sourceSet = simulatedBy[moveSource[move]];
+				int before = sourceSet.cardinality();
+				sourceSet.and(matching);
+				if(sourceSet.cardinality()!=before && !queued[moveSource[move]]){
+					worklist.add(moveSource[move]);
+					queued[moveSource[move]]=true;
+				}
+			}
+		}
+	}
+
+	/* Returns the number of the given left or right state among the simulator network's states */
+	private int simulatorState(int leftStateNo, int rightStateNo) {
+		return leftSimulates ? leftStateNo : rightStateNo;
+	}
+
+	/* Returns the number of the given left or right state among the simulated network's states */
+	private int simulatedState(int leftStateNo, int rightStateNo) {
+		return leftSimulates ? rightStateNo : leftStateNo;
+	}
+
+	/* Returns whether the given simulator state simulates the given simulated state */
+	private boolean simulates(int simulatorStateNo, int simulatedStateNo) {
+		return simulatedBy[simulated.getComponent(simulatedStateNo)].get(simulator.getComponent(simulatorStateNo));
+	}
+
+	/* Returns whether the simulator network simulates the other, which is when their starting states are related */
+	public boolean simulates() {
+		if(left.getNoOfStates()==0 || right.getNoOfStates()==0){
+			return false;
+		}
+		return simulates(0,0);
+	}
+
+	/* Returns whether the given pair of a left and right state is in the greatest weak simulation */
+	public boolean related(int leftStateNo, int rightStateNo) {
+		return simulates(simulatorState(leftStateNo,rightStateNo),simulatedState(leftStateNo,rightStateNo));
+	}
+
+	/* Returns the number of pairs of states in the greatest weak simulation */
+	public long getNoOfPairs() {
+		long pairs = 0;
+		for(int component=0;component<simulated.getNoOfComponents();component++){
+			long simulatorStates = 0;
+			BitSet set = simulatedBy[component];
+			for(int related=set.nextSetBit(0);related>=0;related=set.nextSetBit(related+1)){
+				simulatorStates+=simulator.getNoOfMembers(related);
+			}
+			pairs+=simulatorStates*simulated.getNoOfMembers(component);
+		}
+		return pairs;
+	}
+
+	/* Returns a relation which can be checked by SimulationVerification (with this simulation type) or printed as a Simulation definition,
+	 * showing that the simulator network simulates the other, or an empty relation if it does not. Rather than every related pair, it
+	 * contains the starting pair and then, for every move of the simulated state in each pair, one matching pair which the simulator can
+	 * reach, so that it only covers the part of the greatest weak simulation needed to show the starting states are related */
+	public Simulation getWitness() {
+		Simulation witness = new Simulation();
+		if(!simulates()){
+			return witness;
+		}
+		LTSDefinition simulatorDefinition = simulator.getDefinition();
+		LTSDefinition simulatedDefinition = simulated.getDefinition();
+		long noOfSimulatedStates = simulatedDefinition.getNoOfStates();
+		HashSet<Long> added = new HashSet<Long>();
+		ArrayDeque<int[]> toExpand = new ArrayDeque<int[]>();
+		added.add(0L);
+		toExpand.add(new int[]{0,0});
+		while(!toExpand.isEmpty()){
+			int[] pair = toExpand.poll();
+			int simulatorStateNo = pair[0];
+			int simulatedStateNo = pair[1];
+			if(leftSimulates){
+				witness.addStatePair(new SimulationPair(left.getState(simulatorStateNo),right.getState(simulatedStateNo)));
+			}
+			else{
+				witness.addStatePair(new SimulationPair(left.getState(simulatedStateNo),right.getState(simulatorStateNo)));
+			}
+
+			LTSState current = simulatedDefinition.getState(simulatedStateNo);
+			int simulatorComponent = simulator.getComponent(simulatorStateNo);
+			for(int i=0;i<current.getNoOfOutgoing();i++){
+				int nextSimulatedState = current.getOutgoingState(i).getStateNo();
+				BitSet matches = weakSuccessors(simulatorComponent,labels.getLabel(current.getOutgoingTransition(i)));
+				int matchingComponent = firstCommon(matches,simulatedBy[simulated.getComponent(nextSimulatedState)]);
+				int nextSimulatorState = simulator.getMember(matchingComponent,0);
+				if(added.add(nextSimulatorState*noOfSimulatedStates+nextSimulatedState)){
+					toExpand.add(new int[]{nextSimulatorState,nextSimulatedState});
+				}
+			}
+		}
+		if(Log.tracing()){
+			Log.trace("Witness relation has "+witness.getNoOfPairs()+" pairs out of "+getNoOfPairs()+" related pairs"
+					+" ("+simulatorDefinition.getNoOfStates()+" simulator states)");
+		}
+		return witness;
+	}
+
+	/* Returns the first member of both sets. There must be one */
+	private static int firstCommon(BitSet first, BitSet second) {
+		BitSet common = (BitSet)first.clone();
+		common.and(second);
+		return common.nextSetBit(0);
+	}
+
+	/* Returns a counterexample showing that the simulator network does not simulate the other, or null if it does. This is a sequence of
+	 * moves of the simulated network, each with the simulator's responses, ending with a move the simulator cannot match at all.
+	 *
+	 * It is found by treating simulation as a game, in which the simulated network makes a move and the simulator must respond with a
+	 * matching move. A pair of components is unrelated exactly when the simulated network can force the simulator into a position where it
+	 * cannot respond. The positions reachable from the starting pair (only through moves where every response is also unrelated) are explored,
+	 * and each is given the least number of moves the simulated network needs to win from it: 1 if it has a move with no response, or
+	 * otherwise one more than the largest number needed after any response to its best move. The counterexample follows the best move at each
+	 * point, with the simulator responding in the way that holds out longest */
+	public Vector<String> getCounterexample() {
+		if(simulates()){
+			return null;
+		}
+		Vector<String> counterexample = new Vector<String>();
+		String simulatorName = leftSimulates ? "Network 1" : "Network 2";
+		String simulatedName = leftSimulates ? "Network 2" : "Network 1";
+		if(left.getNoOfStates()==0 || right.getNoOfStates()==0){
+			counterexample.add("One of the LTSs has no states");
+			return counterexample;
+		}
+
+		/* Explore the positions (pairs of a simulator and simulated component) reachable from the starting pair. For each position,
+		 * the moves of the simulated network which the simulator cannot answer with a related pair are recorded, with the positions
+		 * each can lead to */
+		long noOfSimulatedComponents = simulated.getNoOfComponents();
+		HashMap<Long,Integer> positionNumbers = new HashMap<Long,Integer>();
+		Vector<int[]> positions = new Vector<int[]>();
+		Vector<int[]> winningMoves = new Vector<int[]>();
+		Vector<int[]> responses = new Vector<int[]>();
+		Vector<Vector<Integer>> respondedBy = new Vector<Vector<Integer>>();
+		int start = addPosition(simulator.getComponent(0),simulated.getComponent(0),positionNumbers,positions,respondedBy,noOfSimulatedComponents);
+		for(int position=0;position<positions.size();position++){
+			int simulatorComponent = positions.get(position)[0];
+			int simulatedComponent = positions.get(position)[1];
+			for(int i=outgoingStart[simulatedComponent];i<outgoingStart[simulatedComponent+1];i++){
+				int move = outgoingMoves[i];
+				BitSet matches = weakSuccessors(simulatorComponent,moveLabel[move]);
+				if(matches.intersects(simulatedBy[moveTarget[move]])){
+					continue;
+				}
+				int[] moveResponses = new int[matches.cardinality()];
+				int count = 0;
+				for(int match=matches.nextSetBit(0);match>=0;match=matches.nextSetBit(match+1)){
+					moveResponses[count]=addPosition(match,moveTarget[move],positionNumbers,positions,respondedBy,noOfSimulatedComponents);
+					respondedBy.get(moveResponses[count]).add(winningMoves.size());
+					count++;
+				}
+				winningMoves.add(new int[]{position,move});
+				responses.add(moveResponses);
+			}
+		}
+
+		/* Work out the number of moves needed to win from each position, from the positions with a move that has no response outwards */
+		int[] movesNeeded = new int[positions.size()];
+		int[] bestMove = new int[positions.size()];
+		int[] unsettled = new int[winningMoves.size()];
+		ArrayDeque<Integer> settled = new ArrayDeque<Integer>();
+		for(int i=0;i<winningMoves.size();i++){
+			unsettled[i]=responses.get(i).length;
+			int position = winningMoves.get(i)[0];
+			if(unsettled[i]==0 && movesNeeded[position]==0){
+				movesNeeded[position]=1;
+				bestMove[position]=i;
+				settled.add(position);
+			}
+		}
+		while(!settled.isEmpty()){
+			int position = settled.poll();
+			Vector<Integer> moves = respondedBy.get(position);
+			for(int i=0;i<moves.size();i++){
+				int winningMove = moves.get(i);
+				unsettled[winningMove]--;
+				int from = winningMoves.get(winningMove)[0];
+				if(unsettled[winningMove]==0 && movesNeeded[from]==0){
+					movesNeeded[from]=movesNeeded[position]+1;
+					bestMove[from]=winningMove;
+					settled.add(from);
+				}
+			}
+		}
+		if(movesNeeded[start]==0){
+			counterexample.add("No counterexample could be found");
+			return counterexample;
+		}
+
+		/* Follow the best move from the starting position, with the simulator's longest lasting response each time */
+		LTSDefinition simulatedDefinition = simulated.getDefinition();
+		int simulatedStateNo = 0;
+		int simulatorStateNo = 0;
+		int position = start;
+		while(true){
+			int move = winningMoves.get(bestMove[position])[1];
+			Transition transition = simulatedDefinition.getState(moveState[move]).getOutgoingTransition(moveIndex[move]);
+			int nextSimulatedState = simulatedDefinition.getState(moveState[move]).getOutgoingState(moveIndex[move]).getStateNo();
+			StringBuffer step = new StringBuffer();
+			step.append(simulatedName+" moves from state "+simulatedStateNo);
+			if(moveState[move]!=simulatedStateNo){
+				step.append(" (by tau transitions to state "+moveState[move]+")");
+			}
+			step.append(" by "+printLabel(transition)+" to state "+nextSimulatedState+". ");
+
+			int[] moveResponses = responses.get(bestMove[position]);
+			if(moveResponses.length==0){
+				step.append(simulatorName+" cannot match this from state "+simulatorStateNo);
+				counterexample.add(step.toString());
+				break;
+			}
+			int longestLasting = moveResponses[0];
+			int noOfStates = 0;
+			for(int i=0;i<moveResponses.length;i++){
+				if(movesNeeded[moveResponses[i]]>movesNeeded[longestLasting]){
+					longestLasting=moveResponses[i];
+				}
+				noOfStates+=simulator.getNoOfMembers(positions.get(moveResponses[i])[0]);
+			}
+			int nextSimulatorState = simulator.getMember(positions.get(longestLasting)[0],0);
+			step.append(simulatorName+" can match this from state "+simulatorStateNo+" by moving to "+noOfStates+" state(s), none of which"
+					+ " simulate state "+nextSimulatedState+", such as state "+nextSimulatorState);
+			counterexample.add(step.toString());
+			simulatedStateNo=nextSimulatedState;
+			simulatorStateNo=nextSimulatorState;
+			position=longestLasting;
+		}
+		return counterexample;
+	}
+
+	/* Prints the label of the given transition, with its input or output operator (? or !), or "tau" */
+	private static String printLabel(Transition transition) {
+		if(transition.getType()>1){
+			return "tau";
+		}
+		else if(transition.getType()==0){
+			return "?"+transition.getTransitionLabel().printSet();
+		}
+		return "!"+transition.getTransitionLabel().printSet();
+	}
+
+	/* Returns the number of the position for the given pair of a simulator and simulated component, adding it if it is new */
+	private static int addPosition(int simulatorComponent, int simulatedComponent, HashMap<Long,Integer> positionNumbers,
+			Vector<int[]> positions, Vector<Vector<Integer>> respondedBy, long noOfSimulatedComponents) {
+		long key = simulatorComponent*noOfSimulatedComponents+simulatedComponent;
+		Integer number = positionNumbers.get(key);
+		if(number==null){
+			number=positions.size();
+			positionNumbers.put(key,number);
+			positions.add(new int[]{simulatorComponent,simulatedComponent});
+			respondedBy.add(new Vector<Integer>());
+		}
+		return number;
+	}
+
+}
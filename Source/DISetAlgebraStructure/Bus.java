@@ -1,14 +1,30 @@
 package DISetAlgebraStructure;
 
-/* A communication bus in DI-Set algebra. It corresponds to type G in the BNF in the thesis */
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/* A communication bus in DI-Set algebra. It corresponds to type G in the BNF in the thesis. The contents
+ * are a multiset of named ports, held as one bucket per module label (keyed by the label's identifier in the
+ * symbol table) which counts the occurrences of each named port. Operations on the signals for one module
+ * therefore only touch that module's bucket, rather than the whole bus. Buckets are never modified once built,
+ * and a copied bus shares the map of buckets with the original until either of them is changed, so the bus of a
+ * transition's target shares every bucket the transition does not touch with the bus of its source */
 public class Bus {
-	
+
 	/* The wire function which is part of the bus */
 	private WireFunction w = new WireFunction();
-	
-	/* The actual bus contents */
-	private NamedPortSet contents = new NamedPortSet();
-	
+
+	/* The actual bus contents, as a bucket of signals for each module label with any signals pending */
+	private TreeMap<Integer,BusBucket> buckets = new TreeMap<Integer,BusBucket>();
+
+	/* Whether the map of buckets may be shared with another bus, in which case it is copied before being changed */
+	private boolean bucketsShared = false;
+
+	/* The total number of signals on the bus, counting repeats */
+	private int noOfSignals = 0;
+
 	/* Adds the given set of named ports to the bus */
 	public void addMultipleSignals(NamedPortSet signals) {
 		for(int i=0;i<signals.getNoOfPorts();i++){
@@ -18,60 +34,135 @@ public class Bus {
 
 	/* Adds the given named port to the bus */
 	public void addSignal(NamedPort signal){
-		contents.add(signal);
+		unshareBuckets();
+		BusBucket bucket = buckets.get(signal.getLabelId());
+		if(bucket==null){
+			bucket = new BusBucket();
+		}
+		buckets.put(signal.getLabelId(),bucket.add(signal));
+		noOfSignals++;
 	}
 
 	/* Retrieves the wire function */
 	public WireFunction getWireFunction(){
 		return w;
 	}
-	
+
 	/* Sets the wire function */
 	public void setWireFunction(WireFunction set){
 		w=set;
 	}
-	
-	/* Returns a copy of the bus. The signal contents are
-	 * deep copied, but the wire function is shallow copied, as it
-	 * is never modified during "execution" of a term */
+
+	/* Returns a copy of the bus. The signal contents are copied on
+	 * write: both buses share the map of buckets until one of them is changed. The
+	 * wire function is shallow copied, as it is never modified during "execution" of a term */
 	Bus copy() {
 		Bus copy = new Bus();
-		copy.contents=contents.deepCopy();
+		copy.buckets=buckets;
+		copy.bucketsShared=true;
+		bucketsShared=true;
+		copy.noOfSignals=noOfSignals;
 		copy.setWireFunction(getWireFunction());
 		return copy;
 	}
 
-	/* Retrieve the contents of the bus */
+	/* Takes a private copy of the map of buckets if it may be shared with another bus. Only the map is copied,
+	 * as the buckets themselves are never modified */
+	private void unshareBuckets() {
+		if(bucketsShared){
+			buckets = new TreeMap<Integer,BusBucket>(buckets);
+			bucketsShared=false;
+		}
+	}
+
+	/* Retrieve the contents of the bus as a set of named ports, in which each signal appears once per
+	 * occurrence. This is built afresh on each call, so modifying it does not modify the bus */
 	public NamedPortSet getContents() {
+		NamedPortSet contents = new NamedPortSet();
+		for(BusBucket bucket : buckets.values()){
+			bucket.addTo(contents);
+		}
 		return contents;
 	}
 
+	/* Gets the total number of signals on the bus, counting repeats */
+	public int getNoOfSignals() {
+		return noOfSignals;
+	}
+
 	/* Retrieves contents which match the specified module label */
 	public NamedPortSet getPortsWithLabel(String label) {
+		return getPortsWithLabel(SymbolTable.instance.getLabelId(label));
+	}
+
+	/* Retrieves contents which match the module label with the specified identifier in the symbol table */
+	public NamedPortSet getPortsWithLabel(int labelId) {
 		NamedPortSet filtered = new NamedPortSet();
-		for(int i=0;i<contents.getNoOfPorts();i++){
-			if(contents.getPort(i).getLabel().equals(label)){
-				filtered.add(contents.getPort(i).deepCopy());
-			}
+		BusBucket bucket = buckets.get(labelId);
+		if(bucket!=null){
+			bucket.addTo(filtered);
 		}
 		return filtered;
 	}
 
-	/* Print the contents of the bus */
+	/* Checks whether the signals for the module label with the specified identifier include a signal for every
+	 * port in the given set of ports (i.e. whether an action with that input set can be performed) */
+	public boolean containsInputs(int labelId, PortSet inputs) {
+		BusBucket bucket = buckets.get(labelId);
+		if(bucket==null){
+			return inputs.getNoOfPorts()==0;
+		}
+		return bucket.containsPorts(inputs);
+	}
+
+	/* Finds a named port which occurs more than once on the bus (a signal clash), or returns null if there is none */
+	public NamedPort getRepeatedSignal() {
+		for(BusBucket bucket : buckets.values()){
+			for(int i=0;i<bucket.getNoOfDistinct();i++){
+				if(bucket.getCount(i)>1){
+					return bucket.getPort(i);
+				}
+			}
+		}
+		return null;
+	}
+
+	/* Print the contents of the bus. Signals are printed in alphabetical order, so that the printed
+	 * bus does not depend on the order in which they were added */
 	String printContents() {
-		return contents.printSet()+"w";
+		NamedPortSet contents = getContents();
+		NamedPort[] sorted = new NamedPort[contents.getNoOfPorts()];
+		for(int i=0;i<sorted.length;i++){
+			sorted[i]=contents.getPort(i);
+		}
+		Arrays.sort(sorted,new Comparator<NamedPort>(){
+			public int compare(NamedPort first, NamedPort second){
+				return first.print().compareTo(second.print());
+			}
+		});
+		NamedPortSet printed = new NamedPortSet();
+		for(int i=0;i<sorted.length;i++){
+			printed.add(sorted[i]);
+		}
+		return printed.printSet()+"w";
 	}
 
-	/* Removes the specified set of signals from the bus */
+	/* Removes the specified set of signals from the bus. Only the buckets for the labels of the given signals are touched */
 	public void removeMultipleSignals(NamedPortSet signals) {
 		for(int i=0;i<signals.getNoOfPorts();i++){
 			NamedPort passedPort = signals.getPort(i);
-			for(int j=contents.getNoOfPorts()-1;j>=0;j--){
-				NamedPort busPort = contents.getPort(j);
-				if(busPort.getLabel().equals(passedPort.getLabel()) &&
-						passedPort.getPort().equals(busPort.getPort())){
-					contents.removePort(j);
-					break;
+			BusBucket bucket = buckets.get(passedPort.getLabelId());
+			if(bucket!=null){
+				BusBucket remaining = bucket.remove(passedPort);
+				if(remaining!=bucket){
+					unshareBuckets();
+					noOfSignals--;
+					if(remaining.getNoOfSignals()==0){
+						buckets.remove(passedPort.getLabelId());
+					}
+					else{
+						buckets.put(passedPort.getLabelId(),remaining);
+					}
 				}
 			}
 		}
@@ -79,13 +170,33 @@ public class Bus {
 
 	/* Checks whether the given bus has the same contents as this bus */
 	boolean sameAs(Bus otherBus) {
-		Bus secondBus = otherBus;
-		return contents.sameAs(secondBus.contents);
+		if(buckets==otherBus.buckets){
+			return true;
+		}
+		if(noOfSignals!=otherBus.noOfSignals || buckets.size()!=otherBus.buckets.size()){
+			return false;
+		}
+		for(Map.Entry<Integer,BusBucket> entry : buckets.entrySet()){
+			BusBucket otherBucket = otherBus.buckets.get(entry.getKey());
+			if(otherBucket==null || !entry.getValue().sameAs(otherBucket)){
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/* Checks whether the contents of this bus are a superset of the contents of the
 	 * given bus */
 	boolean superBus(Bus otherBus) {
-		return contents.superSet(otherBus.contents);
+		if(otherBus.noOfSignals>noOfSignals){
+			return false;
+		}
+		for(Map.Entry<Integer,BusBucket> entry : otherBus.buckets.entrySet()){
+			BusBucket bucket = buckets.get(entry.getKey());
+			if(bucket==null || !bucket.superBucket(entry.getValue())){
+				return false;
+			}
+		}
+		return true;
 	}
 }
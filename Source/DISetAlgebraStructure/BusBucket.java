@@ -0,0 +1,172 @@
+package DISetAlgebraStructure;
+
+/* The signals on a bus which are addressed to a single module label. Each distinct named port is
+ * held once, together with the number of times it occurs, so the bucket is a multiset. Buckets
+ * only hold a handful of distinct ports (at most the ports of one module), so they are searched linearly.
+ * A bucket is never modified once built: adding or removing a signal returns a new bucket, so a bucket
+ * may be shared by the buses of any number of terms */
+class BusBucket {
+
+	/* The distinct named ports in the bucket, in the order they were first added */
+	private NamedPort[] ports;
+
+	/* The number of occurrences of the named port at the same index in ports */
+	private int[] counts;
+
+	/* The number of signals in the bucket, counting repeats */
+	private int noOfSignals;
+
+	/* Constructs an empty bucket */
+	BusBucket() {
+		ports = new NamedPort[0];
+		counts = new int[0];
+		noOfSignals=0;
+	}
+
+	/* Constructs a bucket with the given contents */
+	private BusBucket(NamedPort[] bucketPorts, int[] bucketCounts, int signals) {
+		ports=bucketPorts;
+		counts=bucketCounts;
+		noOfSignals=signals;
+	}
+
+	/* Returns a bucket holding the signals of this bucket plus one more occurrence of the given named port */
+	BusBucket add(NamedPort port) {
+		int index = indexOf(port.getId());
+		if(index==-1){
+			NamedPort[] grownPorts = new NamedPort[ports.length+1];
+			int[] grownCounts = new int[counts.length+1];
+			System.arraycopy(ports,0,grownPorts,0,ports.length);
+			System.arraycopy(counts,0,grownCounts,0,counts.length);
+			grownPorts[ports.length]=port;
+			grownCounts[counts.length]=1;
+			return new BusBucket(grownPorts,grownCounts,noOfSignals+1);
+		}
+		int[] newCounts = counts.clone();
+		newCounts[index]++;
+		return new BusBucket(ports,newCounts,noOfSignals+1);
+	}
+
+	/* Returns a bucket holding the signals of this bucket less one occurrence of the given named port, or this
+	 * bucket itself if the named port is not present */
+	BusBucket remove(NamedPort port) {
+		int index = indexOf(port.getId());
+		if(index==-1){
+			return this;
+		}
+		if(counts[index]>1){
+			int[] newCounts = counts.clone();
+			newCounts[index]--;
+			return new BusBucket(ports,newCounts,noOfSignals-1);
+		}
+		NamedPort[] shrunkPorts = new NamedPort[ports.length-1];
+		int[] shrunkCounts = new int[counts.length-1];
+		System.arraycopy(ports,0,shrunkPorts,0,index);
+		System.arraycopy(counts,0,shrunkCounts,0,index);
+		System.arraycopy(ports,index+1,shrunkPorts,index,ports.length-index-1);
+		System.arraycopy(counts,index+1,shrunkCounts,index,counts.length-index-1);
+		return new BusBucket(shrunkPorts,shrunkCounts,noOfSignals-1);
+	}
+
+	/* Gets the number of occurrences of the named port with the given identifier */
+	int count(int namedPortId) {
+		int index = indexOf(namedPortId);
+		return index==-1 ? 0 : counts[index];
+	}
+
+	/* Gets the number of distinct named ports in the bucket */
+	int getNoOfDistinct() {
+		return ports.length;
+	}
+
+	/* Gets the total number of signals in the bucket, counting repeats */
+	int getNoOfSignals() {
+		return noOfSignals;
+	}
+
+	/* Gets the distinct named port at the specified index */
+	NamedPort getPort(int index) {
+		return ports[index];
+	}
+
+	/* Gets the number of occurrences of the distinct named port at the specified index */
+	int getCount(int index) {
+		return counts[index];
+	}
+
+	/* Adds every signal in the bucket to the given named port set, once per occurrence */
+	void addTo(NamedPortSet set) {
+		for(int i=0;i<ports.length;i++){
+			for(int j=0;j<counts[i];j++){
+				set.add(ports[i]);
+			}
+		}
+	}
+
+	/* Checks whether the bucket holds a signal for every port in the given set of ports, with a separate
+	 * occurrence for each repeated port. The set is compared by port name only, as every signal in the
+	 * bucket has the same label */
+	boolean containsPorts(PortSet required) {
+		if(required.getNoOfPorts()>noOfSignals){
+			return false;
+		}
+		int[] used = null;
+		for(int i=0;i<required.getNoOfPorts();i++){
+			int portId = required.getPortId(i);
+			boolean found = false;
+			for(int j=0;j<ports.length;j++){
+				if(ports[j].getPortId()==portId){
+					if(used==null){
+						used = new int[ports.length];
+					}
+					if(used[j]<counts[j]){
+						used[j]++;
+						found=true;
+					}
+					break;
+				}
+			}
+			if(!found){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Checks whether this bucket holds exactly the same signals as the given bucket */
+	boolean sameAs(BusBucket compare) {
+		if(noOfSignals!=compare.noOfSignals || ports.length!=compare.ports.length){
+			return false;
+		}
+		for(int i=0;i<ports.length;i++){
+			if(compare.count(ports[i].getId())!=counts[i]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Checks whether this bucket holds at least as many occurrences of every signal as the given bucket */
+	boolean superBucket(BusBucket smaller) {
+		if(smaller.noOfSignals>noOfSignals){
+			return false;
+		}
+		for(int i=0;i<smaller.ports.length;i++){
+			if(count(smaller.ports[i].getId())<smaller.counts[i]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Finds the index of the named port with the given identifier, or -1 if it is not present */
+	private int indexOf(int namedPortId) {
+		for(int i=0;i<ports.length;i++){
+			if(ports[i].getId()==namedPortId){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,143 @@
+package DISetAlgebraStructure;
+
+import java.util.Arrays;
+import java.util.Vector;
+
+/* Records which actions of the named modules in a network term are enabled, i.e. can be performed by an input
+ * transition (all of the action's inputs are pending on the bus for the module's label) or by an output
+ * transition (the action's input set is empty). Whether an action is enabled only depends on the state of its
+ * module and the bus signals for the module's label, so after a transition only the modules whose state was
+ * replaced, or whose label gained or lost signals, need to be evaluated again. An index is never modified once built:
+ * updating it returns a new index which shares the entries of every module which was not re-evaluated */
+public class EnabledActionIndex {
+
+	/* The indices of the enabled actions of the named module at each index (in P), in ascending order. Modules with
+	 * no enabled actions share the empty array */
+	private int[][] enabledActions;
+
+	/* The indices of the named modules with at least one enabled action, in ascending order */
+	private int[] activeModules;
+
+	/* Shared entry for modules with no enabled actions */
+	private static final int[] NONE = new int[0];
+
+	/* Constructs the index with the given contents */
+	private EnabledActionIndex(int[][] enabled, int[] active) {
+		enabledActions=enabled;
+		activeModules=active;
+	}
+
+	/* Builds the index for the given network term by evaluating every named module */
+	static EnabledActionIndex build(PartiallyVisibleNetwork term) {
+		int[][] enabled = new int[term.getNoOfModuleInstances()][];
+		int noOfActive = 0;
+		for(int i=0;i<enabled.length;i++){
+			enabled[i]=evaluate(term,i);
+			if(enabled[i].length>0){
+				noOfActive++;
+			}
+		}
+		int[] active = new int[noOfActive];
+		int next = 0;
+		for(int i=0;i<enabled.length;i++){
+			if(enabled[i].length>0){
+				active[next]=i;
+				next++;
+			}
+		}
+		return new EnabledActionIndex(enabled,active);
+	}
+
+	/* Returns the index for the given network term, which differs from the term this index was built for only in
+	 * the named modules at the given (possibly repeated) indices. Only those modules are evaluated again */
+	EnabledActionIndex update(PartiallyVisibleNetwork term, Vector<Integer> changedModules) {
+
+		/* Put the changed modules into ascending order without repeats */
+		int[] changed = new int[changedModules.size()];
+		for(int i=0;i<changed.length;i++){
+			changed[i]=changedModules.get(i);
+		}
+		Arrays.sort(changed);
+		int noOfChanged = 0;
+		for(int i=0;i<changed.length;i++){
+			if(i==0 || changed[i]!=changed[i-1]){
+				changed[noOfChanged]=changed[i];
+				noOfChanged++;
+			}
+		}
+
+		int[][] enabled = enabledActions.clone();
+		for(int i=0;i<noOfChanged;i++){
+			enabled[changed[i]]=evaluate(term,changed[i]);
+		}
+
+		/* Merge the modules which were active and have not changed with the changed modules which are now
+		 * active, both of which are in ascending order */
+		int[] active = new int[activeModules.length+noOfChanged];
+		int noOfActive = 0;
+		int i = 0;
+		int j = 0;
+		while(i<activeModules.length || j<noOfChanged){
+			if(j==noOfChanged || (i<activeModules.length && activeModules[i]<changed[j])){
+				active[noOfActive]=activeModules[i];
+				noOfActive++;
+				i++;
+			}
+			else{
+				if(i<activeModules.length && activeModules[i]==changed[j]){
+					i++;
+				}
+				if(enabled[changed[j]].length>0){
+					active[noOfActive]=changed[j];
+					noOfActive++;
+				}
+				j++;
+			}
+		}
+		return new EnabledActionIndex(enabled,Arrays.copyOf(active,noOfActive));
+	}
+
+	/* Works out the enabled actions of the named module at the given index */
+	private static int[] evaluate(PartiallyVisibleNetwork term, int moduleIndex) {
+		NamedModule module = term.getModuleInstance(moduleIndex);
+		Module state = module.getModuleState();
+		int[] enabled = null;
+		int noOfEnabled = 0;
+		for(int j=0;j<state.getNoOfActions();j++){
+			IOAction action = state.getAction(j);
+			if(action.getNoOfInputs()==0 || term.getBus().containsInputs(module.getModuleLabelId(),action.getInputSet())){
+				if(enabled==null){
+					enabled = new int[state.getNoOfActions()];
+				}
+				enabled[noOfEnabled]=j;
+				noOfEnabled++;
+			}
+		}
+		if(enabled==null){
+			return NONE;
+		}
+		return Arrays.copyOf(enabled,noOfEnabled);
+	}
+
+	/* Gets the number of named modules with at least one enabled action */
+	public int getNoOfActiveModules() {
+		return activeModules.length;
+	}
+
+	/* Gets the index (in P) of the active named module at the given position, where active modules are in ascending order */
+	public int getActiveModule(int position) {
+		return activeModules[position];
+	}
+
+	/* Gets the number of enabled actions of the named module at the given index (in P) */
+	public int getNoOfEnabledActions(int moduleIndex) {
+		return enabledActions[moduleIndex].length;
+	}
+
+	/* Gets the index of the enabled action at the given position for the named module at the given index (in P), where
+	 * enabled actions are in ascending order */
+	public int getEnabledAction(int moduleIndex, int position) {
+		return enabledActions[moduleIndex][position];
+	}
+
+}
@@ -0,0 +1,100 @@
+package DISetAlgebraStructure;
+
+import java.util.Arrays;
+
+/* A compact encoding of the parts of a network term which evolve between states of the LTS. The state of the named
+ * module at each index (in P) is represented by an int identifier, and the bus contents (G) by a sorted array of named port
+ * identifiers in which a signal appears once per occurrence. The identifiers are interned by the StateEncoding that built the
+ * state, and all remaining parts of the term are shared by every state and held there. Two encoded states are equal exactly when
+ * PartiallyVisibleNetwork.sameAs holds between the terms they encode, so they also act as the hash key of an LTS state. */
+public class EncodedNetworkState {
+
+	/* The encoding which interned the identifiers, and which can rebuild the full network term */
+	private StateEncoding encoding;
+
+	/* The interned state identifier of each named module, in the same order as the named modules in P */
+	private int[] moduleStates;
+
+	/* The interned identifier of each signal on the bus, sorted into ascending order */
+	private int[] busSignals;
+
+	/* The hash code of the module states alone, and of the whole encoded state, calculated once as the encoded state is never modified */
+	private int moduleHash;
+	private int hash;
+
+	/* Constructs the encoded state. The bus signals are sorted into canonical order */
+	EncodedNetworkState(StateEncoding owner, int[] modules, int[] signals) {
+		encoding=owner;
+		moduleStates=modules;
+		busSignals=signals;
+		Arrays.sort(busSignals);
+		moduleHash=Arrays.hashCode(moduleStates);
+		hash=31*moduleHash+Arrays.hashCode(busSignals);
+	}
+
+	/* Rebuilds the full network term. A fresh term is built on every call, so it may be modified freely */
+	public PartiallyVisibleNetwork decode() {
+		return encoding.decode(this);
+	}
+
+	/* Gets the interned identifiers of the signals on the bus, in ascending order */
+	int[] getBusSignals() {
+		return busSignals;
+	}
+
+	/* Gets the interned state identifiers of the named modules */
+	int[] getModuleStates() {
+		return moduleStates;
+	}
+
+	/* Gets a hash code of the named module states only, ignoring the bus. States whose named modules are in identical
+	 * states always have the same value, so it can be used to group together the states which may be "super states" of each other */
+	public int getModuleStatesHash() {
+		return moduleHash;
+	}
+
+	/* Checks whether this state is a "super state" of the given state, i.e. the named modules are in identical states
+	 * and the bus contents of this state are a superset of the bus contents of the given state (counting repeated signals). This
+	 * is the encoded equivalent of PartiallyVisibleNetwork.isSuperNetwork */
+	public boolean isSuperStateOf(EncodedNetworkState smaller) {
+		if(!Arrays.equals(moduleStates,smaller.moduleStates)){
+			return false;
+		}
+		int[] smallerSignals = smaller.busSignals;
+		if(smallerSignals.length>busSignals.length){
+			return false;
+		}
+
+		/* Both sets of signals are sorted, so walk through them together */
+		int j=0;
+		for(int i=0;i<busSignals.length && j<smallerSignals.length;i++){
+			if(busSignals[i]==smallerSignals[j]){
+				j++;
+			}
+			else if(busSignals[i]>smallerSignals[j]){
+				return false;
+			}
+		}
+		return j==smallerSignals.length;
+	}
+
+	/* Checks whether the given object is an encoded state with identical module states and bus contents */
+	@Override
+	public boolean equals(Object other) {
+		if(this==other){
+			return true;
+		}
+		if(!(other instanceof EncodedNetworkState)){
+			return false;
+		}
+		EncodedNetworkState compare = (EncodedNetworkState) other;
+		return hash==compare.hash && Arrays.equals(moduleStates,compare.moduleStates) && Arrays.equals(busSignals,compare.busSignals);
+	}
+
+	/* Returns the pre-calculated hash code */
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+}
@@ -34,9 +34,12 @@ public class IOAction {
 	/* Returns a copy of the action. Input and output sets are deep copied (as they
 	 * may be modified), the resulting module state is not deep copied as recall that it
 	 * points to a global instance (which will in turn be deep copied only when it needs to
-	 * be modified) */
+	 * be modified). Whether the action is intermediate is copied too, so a copied term is
+	 * displayed and checked for safety in the same way as the original */
 	public IOAction copy(){
-		return new IOAction(inputSet.deepCopy(),outputSet.deepCopy(),resultModule);
+		IOAction copy = new IOAction(inputSet.deepCopy(),outputSet.deepCopy(),resultModule);
+		copy.intermediate=intermediate;
+		return copy;
 	}
 
 	/* Returns the input port at the specified index in the set */
@@ -44,6 +47,11 @@ public class IOAction {
 		return inputSet.getPort(k);
 	}
 	
+	/* Returns the identifier in the symbol table of the input port at the specified index in the set */
+	public int getInputPortId(int k) {
+		return inputSet.getPortId(k);
+	}
+	
 	/* Returns the input set of the action */
 	public PortSet getInputSet() {
 		return inputSet;
@@ -81,6 +89,12 @@ public class IOAction {
 		}
 	}
 
+	/* Prints the action in a canonical form, such that two actions which are the same according to sameAs
+	 * always give the same String. The intermediate bullet is deliberately left out, as sameAs does not consider it */
+	public String printCanonicalAction() {
+		return "("+inputSet.printSortedPorts()+","+outputSet.printSortedPorts()+")."+resultModule.getName();
+	}
+
 	/* Checks if two actions are the same. As resultModule is always a unique global constant, 
 	 * it suffices to check that the "names" of the constant are equivalent (not to be compared with a label,
 	 * in the case of instantiating a constant). Input and output sets must be compared in full */
@@ -76,6 +76,20 @@ public class Module {
 		return output.toString();
 	}
 	
+	/* Prints the list of actions in a canonical form, such that two modules which are the same according to
+	 * sameAs always give the same String. Note that the state constant name is not included, as a named module always
+	 * holds the actions of its constant, so name equivalence implies equivalence of the actions anyway */
+	public String printCanonicalModuleLine() {
+		StringBuffer output = new StringBuffer();
+		for(int i=0;i<actions.size();i++){
+			output.append(actions.get(i).printCanonicalAction());
+			if(i<actions.size()-1){
+				output.append("+");
+			}
+		}
+		return output.toString();
+	}
+
 	/* Assumes name equivalence is sufficient to positively verify, as constant names
 	 * are unique. If the names are non-equal or empty, then actions are compared
 	 * absolutely */
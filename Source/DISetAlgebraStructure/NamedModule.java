@@ -11,10 +11,14 @@ public class NamedModule {
 	/* The label of this named module */
 	private String label;
 	
-	/* Constructs the named module */
+	/* The identifier of the label in the symbol table */
+	private int labelId;
+	
+	/* Constructs the named module, interning its label in the symbol table */
 	public NamedModule(Module mod, String lab){
 		module =mod.deepCopy();
 		label=lab;
+		labelId=SymbolTable.instance.getLabelId(lab);
 	}
 	
 	/* Checks safety of the named module in the expected way, by filtering the entries in the bus that share
@@ -41,15 +45,15 @@ public class NamedModule {
 					/* For each input signal, check if the current action contains the input */
 					for(int j=0;j<inputSetCopy.getNoOfPorts();j++){
 						
-						/* Get the current input signal */
-						String currentPort = inputSetCopy.getPort(j).getPort();
+						/* Get the identifier of the current input signal's port */
+						int currentPort = inputSetCopy.getPort(j).getPortId();
 						
 						/* Assume it's not in this action */
 						boolean inThisAction = false;
 						
 						/* Check every input of the action and record if it is found */
 						for(int k=0;k<current.getNoOfInputs();k++){
-							if(current.getInputPort(k).equals(currentPort)){
+							if(current.getInputPortId(k)==currentPort){
 								inThisAction=true;
 								break;
 							}	
@@ -87,6 +91,11 @@ public class NamedModule {
 	public String getModuleLabel(){
 		return label;
 	}
+
+	/* Retrieves the identifier of the label in the symbol table */
+	public int getModuleLabelId(){
+		return labelId;
+	}
 	
 	/* Retrieves the state "name" of the module, a.k.a. name of the constant it
 	 * is defined by. This will be empty if the module is in an intermediate state (absorbed inputs
@@ -108,7 +117,7 @@ public class NamedModule {
 
 	/* Checks whether the named module is equivalent to a given named module */
 	public boolean sameAs(NamedModule namedModule) {
-		boolean labelSame = label.equals(namedModule.label);
+		boolean labelSame = labelId==namedModule.labelId;
 		boolean defSame =module.sameAs(namedModule.module);
 		return labelSame && defSame;
 	}
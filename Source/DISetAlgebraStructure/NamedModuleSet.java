@@ -13,6 +13,15 @@ public class NamedModuleSet {
 		moduleSet.add(namedModule);
 	}
 
+	/* Performs a shallow copy of the named module set, in which the copy holds the same named module
+	 * objects. This is only safe where named modules are replaced rather than modified, as when
+	 * calculating transitions */
+	public NamedModuleSet copy() {
+		NamedModuleSet copy = new NamedModuleSet();
+		copy.moduleSet.addAll(moduleSet);
+		return copy;
+	}
+
 	/* Performs a deep copy of the named module set */
 	public NamedModuleSet deepCopy() {
 		NamedModuleSet copy = new NamedModuleSet();
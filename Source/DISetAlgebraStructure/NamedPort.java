@@ -9,16 +9,57 @@ public class NamedPort {
 	/* The port label */
 	private String label;
 	
-	/* Constructs the named port */
+	/* The identifiers of the port name, the port label and the named port as a whole in the symbol table */
+	private int portId;
+	private int labelId;
+	private int id;
+	
+	/* Constructs the named port, interning its port name and label in the symbol table */
 	public NamedPort(String p, String l){
 		port=p;
 		label=l;
+		portId=SymbolTable.instance.getPortId(p);
+		labelId=SymbolTable.instance.getLabelId(l);
+		id=SymbolTable.instance.getNamedPortId(portId,labelId);
+	}
+
+	/* Constructs the named port from the identifiers of an already interned port name and label */
+	public NamedPort(int p, int l){
+		port=SymbolTable.instance.getPort(p);
+		label=SymbolTable.instance.getLabel(l);
+		portId=p;
+		labelId=l;
+		id=SymbolTable.instance.getNamedPortId(portId,labelId);
+	}
+
+	/* Private constructor used when copying, where every identifier is already known */
+	private NamedPort(NamedPort original){
+		port=original.port;
+		label=original.label;
+		portId=original.portId;
+		labelId=original.labelId;
+		id=original.id;
 	}
 
 	/* Performs a deep copy of the port (String objects themselves
 	 * do not need to be "deep copied") */
 	public NamedPort deepCopy() {
-		return new NamedPort(port,label);
+		return new NamedPort(this);
+	}
+
+	/* Retrieves the identifier of the named port in the symbol table */
+	public int getId(){
+		return id;
+	}
+
+	/* Retrieves the identifier of the port label in the symbol table */
+	public int getLabelId(){
+		return labelId;
+	}
+
+	/* Retrieves the identifier of the port name in the symbol table */
+	public int getPortId(){
+		return portId;
 	}
 
 	/* Retrieves the port label */
@@ -36,13 +77,10 @@ public class NamedPort {
 		return port+":"+label;
 	}
 	
-	/* Checks if a named port is equivalent to a given named port, by comparing
-	 * port name and port label */
+	/* Checks if a named port is equivalent to a given named port. As every pair of port name and
+	 * port label has a single identifier in the symbol table, it suffices to compare these */
 	public boolean sameAs(NamedPort namedPort) {
-		if(port.equals(namedPort.port) && label.equals(namedPort.label)){
-			return true;
-		}
-		return false;
+		return id==namedPort.id;
 	}
 	
 }
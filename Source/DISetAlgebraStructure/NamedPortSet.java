@@ -13,12 +13,14 @@ public class NamedPortSet {
 		portSet.add(s);
 	}
 
-	/* Checks if the give named port is in this set */
+	/* Checks if the give named port is in this set. A port of this set with the wildcard
+	 * port name "*" matches any port with the same label */
 	public boolean contains(NamedPort port){
 		for(int i=0; i<portSet.size();i++){
-			if((portSet.get(i).getPort().equals(port.getPort()) 
-					|| portSet.get(i).getPort().equals("*")) &&
-					portSet.get(i).getLabel().equals(port.getLabel())){
+			NamedPort current = portSet.get(i);
+			if((current.getPortId()==port.getPortId() 
+					|| current.getPortId()==SymbolTable.WILDCARD) &&
+					current.getLabelId()==port.getLabelId()){
 				return true;
 			}
 		}
@@ -26,20 +28,17 @@ public class NamedPortSet {
 	}
 
 	/* Checks if the set contains a given set of ports. Labels are ignored
-	 * as this function is only run on a given port set which has identical labels */
+	 * as this function is only run on a given port set which has identical labels.
+	 * Each named port in this set may only be matched by one port of the given set */
 	public boolean contains(PortSet child) {
-		NamedPortSet copyParent = deepCopy();
-		PortSet copyChild = child.deepCopy();
-		
-		for(int i=copyChild.getNoOfPorts()-1;i>=0;i--){
-			String find = copyChild.getPort(i);
+		boolean[] matched = new boolean[portSet.size()];
+		for(int i=child.getNoOfPorts()-1;i>=0;i--){
+			int find = child.getPortId(i);
 			boolean found=false;
-			for(int j=copyParent.getNoOfPorts()-1;j>=0;j--){
-				NamedPort toCheck = copyParent.getPort(j);
-				if(toCheck.getPort().equals(find)){
+			for(int j=portSet.size()-1;j>=0;j--){
+				if(!matched[j] && portSet.get(j).getPortId()==find){
 					found=true;
-					copyParent.portSet.remove(j);
-					copyChild.removePort(i);
+					matched[j]=true;
 					break;
 				}
 			}
@@ -61,17 +60,18 @@ public class NamedPortSet {
 
 	/* Returns a copy filters out any duplicate entries in the named port set */
 	public NamedPortSet filterDuplicates() {
-		NamedPortSet copy = deepCopy();
+		NamedPortSet copy = new NamedPortSet();
 		for(int j=0;j<getNoOfPorts();j++){
 			NamedPort port = getPort(j);
-			Vector<Integer> locationsOfCurrent = new Vector<Integer>();
+			boolean seen = false;
 			for(int k=0;k<copy.getNoOfPorts();k++){
 				if(copy.getPort(k).sameAs(port)){
-					locationsOfCurrent.add(k);
+					seen=true;
+					break;
 				}
 			}
-			for(int k=locationsOfCurrent.size()-1;k>0;k--){
-				copy.removePort(locationsOfCurrent.get(k));
+			if(!seen){
+				copy.add(port.deepCopy());
 			}
 		}
 		return copy;
@@ -106,49 +106,35 @@ public class NamedPortSet {
 		return portSet.remove(i);
 	}
 
-	/* Checks if the named port set is equal to the given named port set */
+	/* Checks if the named port set is equal to the given named port set, counting repeated
+	 * named ports. Each named port of the given set may only be matched once */
 	public boolean sameAs(NamedPortSet compare) {
-		NamedPortSet firstSet = deepCopy();
-		NamedPortSet secondSet = compare.deepCopy();
-		
-		if(firstSet.getNoOfPorts()!=secondSet.getNoOfPorts()){
+		if(portSet.size()!=compare.portSet.size()){
 			return false;
 		}
-		for(int i=0;i<firstSet.getNoOfPorts();i++){
-			NamedPort firstPort = firstSet.getPort(i);
-			boolean found = false;
-			for(int j=0;j<secondSet.getNoOfPorts();j++){
-				NamedPort secondPort = secondSet.getPort(j);
-				if(firstPort.sameAs
-						(secondPort)){
-					found=true;
-					secondSet.portSet.remove(j);
-					break;
-				}
-			}
-			if(!found){
-				return false;
-			}
-		}
-		return true;
+		return compare.containsAll(this);
 	}
 
-	/* Checks if this named port set is a super set of the given named port set.*/
+	/* Checks if this named port set is a super set of the given named port set, counting
+	 * repeated named ports.*/
 	public boolean superSet(NamedPortSet child) {
-		NamedPortSet firstSet = deepCopy();
-		NamedPortSet secondSet = child.deepCopy();
+		if(child.portSet.size()>portSet.size()){
+			return false;
+		}
+		return containsAll(child);
+	}
 
-		/* First strip out all instances of the second set
-		 * from a copy of this set. If a component is not present
-		 * in the copy of this set then return false */
-		for(int i=0;i<secondSet.getNoOfPorts();i++){
-			NamedPort secondPort = secondSet.getPort(i);
+	/* Checks whether every named port of the given set can be matched against a distinct
+	 * named port of this set. Named ports are compared by their identifiers in the symbol table */
+	private boolean containsAll(NamedPortSet child) {
+		boolean[] matched = new boolean[portSet.size()];
+		for(int i=0;i<child.portSet.size();i++){
+			int find = child.portSet.get(i).getId();
 			boolean found = false;
-			for(int j=0;j<firstSet.getNoOfPorts();j++){
-				NamedPort firstPort = firstSet.getPort(j);
-				if(firstPort.sameAs(secondPort)){
+			for(int j=0;j<matched.length;j++){
+				if(!matched[j] && portSet.get(j).getId()==find){
 					found=true;
-					firstSet.portSet.remove(j);
+					matched[j]=true;
 					break;
 				}
 			}
@@ -156,10 +142,6 @@ public class NamedPortSet {
 				return false;
 			}
 		}
-		
-		/*If we reach here then the second set is definitely
-		 * a subset of the first set */
-		
 		return true;
 	}
 	
@@ -1,5 +1,6 @@
 package DISetAlgebraStructure;
 
+import java.util.HashMap;
 import java.util.Vector;
 
 /* A partially-visible network in DI-Set algebra. It corresponds to type S=L-C in the BNF in the thesis. It is
@@ -28,13 +29,98 @@ public class PartiallyVisibleNetwork {
 	 * until any modifications are needed, and then they are deep copied into the action before they are modified*/
 	private Vector<Module> constantDefinitions = new Vector<Module>();
 	
+	/* The indices (in P) of the named modules with each label, keyed by the label's identifier in the symbol table. This
+	 * does not change between states of the LTS, so it is built once and shared by every copy of the network */
+	private HashMap<Integer,int[]> modulesByLabel = null;
+	
+	/* The index of enabled actions, which may be out of date for the named modules listed in changedModules. This is null
+	 * until first needed, and is shared with copies of the network (it is never modified, only replaced) */
+	private EnabledActionIndex enabledActions = null;
+	
+	/* The indices (in P) of the named modules which may have changed since enabledActions was built */
+	private Vector<Integer> changedModules = new Vector<Integer>();
+	
 	/* Adds the named module to the network (i.e. to the set P) */
 	public void addModuleInstance(NamedModule namedModule) {
 		moduleInstances.addModule(namedModule);
+		modulesByLabel=null;
+		enabledActions=null;
+	}
+	
+	/* Adds the given set of named ports to the bus, recording the named modules they are addressed to as
+	 * changed so that their enabled actions are evaluated again */
+	public void addSignals(NamedPortSet signals) {
+		bus.addMultipleSignals(signals);
+		signalsChanged(signals);
+	}
+	
+	/* Removes the given set of named ports from the bus, recording the named modules they were addressed to as
+	 * changed so that their enabled actions are evaluated again */
+	public void removeSignals(NamedPortSet signals) {
+		bus.removeMultipleSignals(signals);
+		signalsChanged(signals);
+	}
+	
+	/* Records every named module with the label of one of the given named ports as changed */
+	private void signalsChanged(NamedPortSet signals) {
+		if(enabledActions==null){
+			return;
+		}
+		if(modulesByLabel==null){
+			buildModulesByLabel();
+		}
+		for(int i=0;i<signals.getNoOfPorts();i++){
+			int[] addressed = modulesByLabel.get(signals.getPort(i).getLabelId());
+			if(addressed!=null){
+				for(int j=0;j<addressed.length;j++){
+					changedModules.add(addressed[j]);
+				}
+			}
+		}
+	}
+	
+	/* Builds the map from each label to the indices of the named modules with that label */
+	private void buildModulesByLabel() {
+		HashMap<Integer,Vector<Integer>> grouped = new HashMap<Integer,Vector<Integer>>();
+		for(int i=0;i<moduleInstances.getNoOfModules();i++){
+			int labelId = moduleInstances.getModule(i).getModuleLabelId();
+			if(!grouped.containsKey(labelId)){
+				grouped.put(labelId,new Vector<Integer>());
+			}
+			grouped.get(labelId).add(i);
+		}
+		HashMap<Integer,int[]> built = new HashMap<Integer,int[]>();
+		for(Integer labelId : grouped.keySet()){
+			Vector<Integer> indices = grouped.get(labelId);
+			int[] array = new int[indices.size()];
+			for(int i=0;i<array.length;i++){
+				array[i]=indices.get(i);
+			}
+			built.put(labelId,array);
+		}
+		modulesByLabel=built;
+	}
+	
+	/* Gets the index of enabled actions for this network. The index is carried over from the network this one was
+	 * copied from, so only the named modules which have been replaced, or whose label has gained or lost signals (through
+	 * addSignals or removeSignals) since the copy, are evaluated again. Changing the bus by any other means after the index
+	 * has been built is not recorded */
+	public EnabledActionIndex getEnabledActions() {
+		if(enabledActions==null){
+			enabledActions=EnabledActionIndex.build(this);
+			changedModules.clear();
+		}
+		else if(changedModules.size()>0){
+			enabledActions=enabledActions.update(this,changedModules);
+			changedModules.clear();
+		}
+		return enabledActions;
 	}
 	
-	/* Deep copies everything except for module definitions, wire function and hidden ports,
-	 * as these do not evolve between states of the LTS, and so can refer to the same thing */
+	/* Copies the network on write. Module definitions, wire function and hidden ports do not evolve
+	 * between states of the LTS, and so can refer to the same thing. The named modules themselves are
+	 * shared too, so a named module of either network must be replaced (see replaceModuleInstance) rather
+	 * than modified. The bus shares its unchanged signals with the original (see Bus.copy) */
 	public PartiallyVisibleNetwork copy(){
 		PartiallyVisibleNetwork copy = new PartiallyVisibleNetwork();
 		
@@ -43,7 +129,10 @@ public class PartiallyVisibleNetwork {
 		copy.hiddenPorts=hiddenPorts;
 		copy.networkName=networkName;
 		copy.bus=bus.copy();
-		copy.moduleInstances=moduleInstances.deepCopy();
+		copy.moduleInstances=moduleInstances.copy();
+		copy.modulesByLabel=modulesByLabel;
+		copy.enabledActions=enabledActions;
+		copy.changedModules.addAll(changedModules);
 		
 		return copy;
 	}
@@ -53,6 +142,18 @@ public class PartiallyVisibleNetwork {
 		return bus;
 	}
 	
+	/* Returns a copy of this network which shares the module definitions, wire function and hidden ports (as
+	 * with copy), but has no named modules and an empty bus. This is used when rebuilding a term from its encoded form */
+	PartiallyVisibleNetwork copyUnchangingParts(){
+		PartiallyVisibleNetwork copy = new PartiallyVisibleNetwork();
+		copy.constantDefinitions=constantDefinitions;
+		copy.hiddenPorts=hiddenPorts;
+		copy.networkName=networkName;
+		copy.bus=new Bus();
+		copy.bus.setWireFunction(bus.getWireFunction());
+		return copy;
+	}
+	
 	/* Gets the set of hidden ports (C) */
 	public NamedPortSet getHiddenPorts() {
 		return hiddenPorts;
@@ -127,6 +228,9 @@ public class PartiallyVisibleNetwork {
 	/* Replaces the named module at the given index (in P) with the given named module */
 	public void replaceModuleInstance(int index, NamedModule replacementModule) {
 		moduleInstances.replaceModule(index,replacementModule);
+		if(enabledActions!=null){
+			changedModules.add(index);
+		}
 	}
 
 	/* Checks that this network is the same as the given network. This simply checks that all
@@ -149,6 +253,7 @@ public class PartiallyVisibleNetwork {
 	/* Sets the bus (G) to the given bus */
 	public void setBus(Bus newBus) {
 		bus=newBus;
+		enabledActions=null;
 	}
 
 	/* Sets the hidden port set (C) to the given set of named ports */
@@ -1,5 +1,6 @@
 package DISetAlgebraStructure;
 
+import java.util.Arrays;
 import java.util.Vector;
 
 /* A set of ports in DI-Set algebra. It corresponds to type A in the BNF in the thesis */
@@ -8,8 +9,17 @@ public class PortSet {
 	/* The set of ports */
 	private Vector<String> contents = new Vector<String>();
 
-	/* Adds the given port to the set */
+	/* The identifier of each port in the symbol table, at the same index as the port in contents. Only the first
+	 * contents.size() entries are used, and the array grows as needed */
+	private int[] portIds = new int[4];
+
+	/* Adds the given port to the set, interning it in the symbol table */
 	public void addPort(String port) {
+		int size = contents.size();
+		if(size==portIds.length){
+			portIds = Arrays.copyOf(portIds,size*2);
+		}
+		portIds[size]=SymbolTable.instance.getPortId(port);
 		contents.add(port);
 	}
 
@@ -20,8 +30,9 @@ public class PortSet {
 
 	/* Checks whether the given port is present in the set */
 	public boolean contains(String port) {
+		int portId = SymbolTable.instance.getPortId(port);
 		for(int i=0;i<contents.size();i++){
-			if(port.equals(contents.get(i))){
+			if(portIds[i]==portId){
 				return true;
 			}
 		}
@@ -30,12 +41,12 @@ public class PortSet {
 
 	/* Deep copies the port set. It provides a fresh object
 	 * with a fresh Vector, but identical Strings in Java all point to the same
-	 * memory location, so these don't need to be copied */
+	 * memory location, so these don't need to be copied. The identifiers are copied
+	 * directly rather than looked up again */
 	public PortSet deepCopy() {
 		PortSet copy = new PortSet();
-		for(int i=0;i<contents.size();i++){
-			copy.addPort(contents.get(i));
-		}
+		copy.contents.addAll(contents);
+		copy.portIds = Arrays.copyOf(portIds,Math.max(contents.size(),4));
 		return copy;
 	}
 
@@ -49,6 +60,14 @@ public class PortSet {
 		return contents.get(index);
 	}
 
+	/* Gets the identifier in the symbol table of the port at the specified index */
+	public int getPortId(int index) {
+		if(index>=contents.size()){
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		return portIds[index];
+	}
+
 	/* Prints the set of ports */
 	public String printPorts() {
 		StringBuffer output = new StringBuffer();
@@ -63,24 +82,44 @@ public class PortSet {
 		return output.toString();
 	}
 
+	/* Prints the set of ports in sorted order, giving the same String for any two sets which are the same
+	 * according to sameAs */
+	public String printSortedPorts() {
+		String[] sorted = contents.toArray(new String[contents.size()]);
+		Arrays.sort(sorted);
+		StringBuffer output = new StringBuffer();
+		output.append("{");
+		for(int i=0;i<sorted.length;i++){
+			output.append(sorted[i]);
+			if(i<sorted.length-1){
+				output.append(",");
+			}
+		}
+		output.append("}");
+		return output.toString();
+	}
+
 	/* Removes the port at the specified index */
 	public void removePort(int index) {
 		contents.remove(index);
+		System.arraycopy(portIds,index+1,portIds,index,contents.size()-index);
 	}
 
-	/* Checks whether this port set is the same as the given port set. */
+	/* Checks whether this port set is the same as the given port set, counting repeated ports.
+	 * Ports are compared by their identifiers, and each port of the given set may only be matched once */
 	public boolean sameAs(PortSet compare) {
-		PortSet firstSet = deepCopy();
-		PortSet secondSet = compare.deepCopy();
-		if(firstSet.getNoOfPorts()!=secondSet.getNoOfPorts()){
+		int size = contents.size();
+		if(size!=compare.contents.size()){
 			return false;
 		}
-		for(int i=0;i<firstSet.getNoOfPorts();i++){
+		boolean[] matched = new boolean[size];
+		for(int i=0;i<size;i++){
+			int portId = portIds[i];
 			boolean found = false;
-			for(int j=0;j<secondSet.getNoOfPorts();j++){
-				if(firstSet.contents.get(i).equals(secondSet.contents.get(j))){
+			for(int j=0;j<size;j++){
+				if(!matched[j] && compare.portIds[j]==portId){
 					found=true;
-					secondSet.contents.remove(j);
+					matched[j]=true;
 					break;
 				}
 			}
@@ -0,0 +1,115 @@
+package DISetAlgebraStructure;
+
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Builds compact encodings (EncodedNetworkState) of the terms reached while generating the LTS of a network, and rebuilds
+ * full terms from them when needed. It interns every distinct named module state and every distinct named port seen on the bus
+ * as a dense int identifier, keeping a single representative object for each. Named ports use their identifiers in the
+ * shared SymbolTable. The parts of a term which do not change between
+ * states (module constants, wire function, hidden ports, network name and module labels) are taken from the starting term and
+ * held once here. Interning is thread-safe, so one encoding may be shared by parallel LTS generation */
+public class StateEncoding {
+
+	/* The starting term, from which every unchanging part of a rebuilt term is taken */
+	private PartiallyVisibleNetwork template;
+
+	/* Identifiers of module states, keyed by the canonical form of the module's actions (see Module.printCanonicalModuleLine) */
+	private ConcurrentHashMap<String,Integer> moduleStateIds = new ConcurrentHashMap<String,Integer>();
+
+	/* Identifiers of module states which are named state constants, keyed by the constant name. A named module always holds the
+	 * actions of its constant, so this avoids building the canonical form of the actions each time */
+	private ConcurrentHashMap<String,Integer> namedModuleStateIds = new ConcurrentHashMap<String,Integer>();
+
+	/* The representative module for each module state identifier */
+	private Vector<Module> moduleStates = new Vector<Module>();
+
+	/* The representative named port for each named port identifier seen on the bus */
+	private ConcurrentHashMap<Integer,NamedPort> namedPorts = new ConcurrentHashMap<Integer,NamedPort>();
+
+	/* Constructs the encoding for terms reached from the given starting term */
+	public StateEncoding(PartiallyVisibleNetwork startingTerm) {
+		template=startingTerm;
+	}
+
+	/* Encodes the evolving parts of the given term, interning any module states and named ports not seen before */
+	public EncodedNetworkState encode(PartiallyVisibleNetwork term) {
+		int[] modules = new int[term.getNoOfModuleInstances()];
+		for(int i=0;i<modules.length;i++){
+			modules[i]=getModuleStateId(term.getModuleInstance(i).getModuleState());
+		}
+		NamedPortSet contents = term.getBus().getContents();
+		int[] signals = new int[contents.getNoOfPorts()];
+		for(int i=0;i<signals.length;i++){
+			signals[i]=getNamedPortId(contents.getPort(i));
+		}
+		return new EncodedNetworkState(this,modules,signals);
+	}
+
+	/* Rebuilds the full term for the given encoded state. The module at each index is a fresh copy of the representative for its state,
+	 * given the label of the module at the same index in the starting term. Named ports are never modified, so the bus holds the
+	 * representatives themselves */
+	PartiallyVisibleNetwork decode(EncodedNetworkState state) {
+		PartiallyVisibleNetwork term = template.copyUnchangingParts();
+		int[] modules = state.getModuleStates();
+		for(int i=0;i<modules.length;i++){
+			term.addModuleInstance(new NamedModule(moduleStates.get(modules[i]),template.getModuleInstance(i).getModuleLabel()));
+		}
+		int[] signals = state.getBusSignals();
+		for(int i=0;i<signals.length;i++){
+			term.getBus().addSignal(namedPorts.get(signals[i]));
+		}
+		return term;
+	}
+
+	/* Gets the number of distinct module states interned so far */
+	public int getNoOfModuleStates() {
+		return moduleStates.size();
+	}
+
+	/* Gets the number of distinct named ports seen on the bus so far */
+	public int getNoOfNamedPorts() {
+		return namedPorts.size();
+	}
+
+	/* Gets the identifier of the given module state, interning it if it has not been seen before */
+	private int getModuleStateId(Module module) {
+		if(!module.getName().equals("")){
+			Integer id = namedModuleStateIds.get(module.getName());
+			if(id==null){
+				id=internModuleState(module);
+				namedModuleStateIds.put(module.getName(),id);
+			}
+			return id;
+		}
+		return internModuleState(module);
+	}
+
+	/* Interns the canonical form of the given module state, storing a copy of it as the representative if it is new */
+	private int internModuleState(Module module) {
+		String canonical = module.printCanonicalModuleLine();
+		Integer id = moduleStateIds.get(canonical);
+		if(id!=null){
+			return id;
+		}
+		synchronized(this){
+			id = moduleStateIds.get(canonical);
+			if(id==null){
+				moduleStates.add(module.deepCopy());
+				id=moduleStates.size()-1;
+				moduleStateIds.put(canonical,id);
+			}
+			return id;
+		}
+	}
+
+	/* Gets the identifier of the given named port, storing a copy of it as the representative if it has not been seen before */
+	private int getNamedPortId(NamedPort port) {
+		int id = port.getId();
+		if(!namedPorts.containsKey(id)){
+			namedPorts.putIfAbsent(id,port.deepCopy());
+		}
+		return id;
+	}
+
+}
@@ -0,0 +1,106 @@
+package DISetAlgebraStructure;
+
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* The table of symbols used in DI-Set algebra definitions. Every port name, every module label and every named port
+ * (pair of port name and label) is given a dense int identifier the first time it is seen, so that the structure classes can
+ * compare identifiers rather than Strings. Symbols are interned while a definition is parsed, as each NamedPort and PortSet
+ * is built. A single table is shared by every definition, so that the labels of transitions in two different networks
+ * can still be compared directly (as required by simulation verification). Identifiers are never reused or removed, and
+ * interning is thread-safe */
+public class SymbolTable {
+
+	/* The static singleton instance of the table */
+	public static SymbolTable instance = new SymbolTable();
+
+	/* The identifier of the wildcard port name "*", which may appear in the set of hidden ports */
+	public static final int WILDCARD = 0;
+
+	/* Identifiers of port names, and the port name for each identifier */
+	private ConcurrentHashMap<String,Integer> portIds = new ConcurrentHashMap<String,Integer>();
+	private Vector<String> ports = new Vector<String>();
+
+	/* Identifiers of module labels, and the label for each identifier */
+	private ConcurrentHashMap<String,Integer> labelIds = new ConcurrentHashMap<String,Integer>();
+	private Vector<String> labels = new Vector<String>();
+
+	/* Identifiers of named ports, keyed by the label identifier in the upper half and the port identifier in the lower half */
+	private ConcurrentHashMap<Long,Integer> namedPortIds = new ConcurrentHashMap<Long,Integer>();
+
+	/* The number of named port identifiers given out so far */
+	private int noOfNamedPorts = 0;
+
+	/* Constructs the table, with the wildcard as the first port name */
+	private SymbolTable() {
+		getPortId("*");
+	}
+
+	/* Gets the identifier of the given port name, interning it if it has not been seen before */
+	public int getPortId(String port) {
+		Integer id = portIds.get(port);
+		if(id!=null){
+			return id;
+		}
+		synchronized(this){
+			id = portIds.get(port);
+			if(id==null){
+				ports.add(port);
+				id=ports.size()-1;
+				portIds.put(port,id);
+			}
+			return id;
+		}
+	}
+
+	/* Gets the identifier of the given module label, interning it if it has not been seen before */
+	public int getLabelId(String label) {
+		Integer id = labelIds.get(label);
+		if(id!=null){
+			return id;
+		}
+		synchronized(this){
+			id = labelIds.get(label);
+			if(id==null){
+				labels.add(label);
+				id=labels.size()-1;
+				labelIds.put(label,id);
+			}
+			return id;
+		}
+	}
+
+	/* Gets the identifier of the named port with the given port name and label identifiers, interning it if it has not been seen before */
+	public int getNamedPortId(int portId, int labelId) {
+		Long key = (((long)labelId)<<32) | portId;
+		Integer id = namedPortIds.get(key);
+		if(id!=null){
+			return id;
+		}
+		synchronized(this){
+			id = namedPortIds.get(key);
+			if(id==null){
+				id=noOfNamedPorts;
+				noOfNamedPorts++;
+				namedPortIds.put(key,id);
+			}
+			return id;
+		}
+	}
+
+	/* Gets the port name with the given identifier */
+	public String getPort(int portId) {
+		return ports.get(portId);
+	}
+
+	/* Gets the module label with the given identifier */
+	public String getLabel(int labelId) {
+		return labels.get(labelId);
+	}
+
+	/* Gets the number of named port identifiers given out so far */
+	public synchronized int getNoOfNamedPorts() {
+		return noOfNamedPorts;
+	}
+
+}
@@ -8,21 +8,52 @@ public class WireFunction {
 	/* The set of connection pairs which make up the function */
 	private Vector<WireConnection> connections = new Vector<WireConnection>();
 	
+	/* The function compiled into a lookup table, holding the target named port at the index of the
+	 * symbol table identifier of each source named port, or null where the identity mapping applies. It is
+	 * built on first use and discarded whenever a connection is added */
+	private volatile NamedPort[] lookup = null;
+	
 	/* Adds the specified connection to the function */
 	public void addConnection(WireConnection connect){
 		connections.add(connect);
+		lookup=null;
 	}
 
 	/* Returns the target named port of the functino given a source named port. If undefined,
-	 * identity mapping is assumed */
+	 * identity mapping is assumed. This is a single array lookup, and as named ports are never
+	 * modified the stored target (or the source itself) is returned rather than a copy */
 	public NamedPort getTarget(NamedPort sourcePort){
+		NamedPort[] table = lookup;
+		if(table==null){
+			table=compile();
+		}
+		int id = sourcePort.getId();
+		if(id<table.length && table[id]!=null){
+			return table[id];
+		}
+		return sourcePort;
+	}
+
+	/* Builds the lookup table from the list of connections. Where a source appears in more than one
+	 * connection the first is used, as with a scan of the list. Named ports interned after the table is
+	 * built have identifiers beyond its end, and can never be the source of a connection */
+	private synchronized NamedPort[] compile() {
+		if(lookup!=null){
+			return lookup;
+		}
+		int size = 0;
+		for(int i=0;i<connections.size();i++){
+			size=Math.max(size,connections.get(i).getSource().getId()+1);
+		}
+		NamedPort[] table = new NamedPort[size];
 		for(int i=0;i<connections.size();i++){
-			if(connections.get(i).getSource().getLabel().equals(sourcePort.getLabel()) &&
-					connections.get(i).getSource().getPort().equals(sourcePort.getPort())){
-				return connections.get(i).getTarget().deepCopy();
+			int id = connections.get(i).getSource().getId();
+			if(table[id]==null){
+				table[id]=connections.get(i).getTarget();
 			}
 		}
-		return sourcePort.deepCopy();
+		lookup=table;
+		return table;
 	}
 	
 	/* Prints out the wire function as a list of connection pairs */
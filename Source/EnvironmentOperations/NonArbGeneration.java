@@ -2,8 +2,8 @@ package EnvironmentOperations;
 
 import java.util.Vector;
 import CommonStructures.IntSet;
-import GUI.ConsoleWindow;
-import GUI.EnvironmentTab;
+import CommonStructures.TaskControl;
+import Logging.Log;
 import SetNotationStructure.SetNotationModule;
 import SetNotationStructure.SetTransition;
 
@@ -11,50 +11,58 @@ import SetNotationStructure.SetTransition;
 public class NonArbGeneration {
 
 	/* The algorithm for generating the environment for non-arb module. It closely follows the
-	 * algorithm given in the thesis. See the ConsoleWindow.output calls below for more information as to
-	 * what operations are performed at each step */
-	public static SetNotationModule nonArb(SetNotationModule moduleDefinition){
+	 * algorithm given in the thesis. See the Log calls below for more information as to
+	 * what operations are performed at each step. Duplicate environment states are optionally removed at the end. Throws an
+	 * InterruptedException if the thread is interrupted part of the way through (see TaskControl) */
+	public static SetNotationModule nonArb(SetNotationModule moduleDefinition, boolean removeDuplicates) throws InterruptedException{
 		SetNotationModule environmentDefinition = new SetNotationModule();
 		
 		for(int i=0;i<moduleDefinition.getNoOfStates();i++){
 			
-			ConsoleWindow.output("Creating environment state E:"+moduleDefinition.getStateName(i) 
+			Log.info("Creating environment state E:"+moduleDefinition.getStateName(i) 
 				+" corresponding to module state "+moduleDefinition.getStateName(i));
 			
 			environmentDefinition.addStateName("E:"+moduleDefinition.getStateName(i));
 		}
 		for(int i=0;i<moduleDefinition.getNoOfInputs();i++){
 			
-			ConsoleWindow.output("Creating environment output "+moduleDefinition.getInputName(i)
+			Log.info("Creating environment output "+moduleDefinition.getInputName(i)
 			+" corresponding to module input");
 			
 			environmentDefinition.addOutputName(moduleDefinition.getInputName(i));
 		}
 		for(int i=0;i<moduleDefinition.getNoOfOutputs();i++){
 			
-			ConsoleWindow.output("Creating environment input "+moduleDefinition.getOutputName(i)
+			Log.info("Creating environment input "+moduleDefinition.getOutputName(i)
 			+" corresponding to module output");
 			
 			environmentDefinition.addInputName(moduleDefinition.getOutputName(i));
 		}
 		for(int i=0;i<moduleDefinition.getNoOfStates();i++){
+			TaskControl.checkpoint("Creating environment transitions for module state "+(i+1)+" of "+moduleDefinition.getNoOfStates());
 			
-			ConsoleWindow.output("Retrieving module transitions for module state "+moduleDefinition.getStateName(i));
+			Log.trace("Retrieving module transitions for module state "+moduleDefinition.getStateName(i));
 			
 			Vector<SetTransition> transitionsForState=moduleDefinition.getTransitionsWithSource(i);
 			
 			for(int j=0;j<transitionsForState.size();j++){
 				SetTransition moduleTransition = transitionsForState.get(j);
 				
-				ConsoleWindow.output("Creating environment transitions which correspond to module transition "+moduleTransition.printStringAction());
+				if(Log.tracing()){
+					Log.trace("Creating environment transitions which correspond to module transition "+moduleTransition.printStringAction());
+				}
 				
 				IntSet environmentTransitionOutput = moduleTransition.getInputSet().deepCopy();
 				
-				ConsoleWindow.output("Environment output set is:" +environmentTransitionOutput.printStringRepresentation(moduleDefinition.getInputNames()));
+				if(Log.tracing()){
+					Log.trace("Environment output set is:" +environmentTransitionOutput.printStringRepresentation(moduleDefinition.getInputNames()));
+				}
 				
 				IntSet environmentTransitionInput = moduleTransition.getOutputSet().deepCopy();
 				
-				ConsoleWindow.output("Environment input set is:" +environmentTransitionInput.printStringRepresentation(moduleDefinition.getOutputNames()));
+				if(Log.tracing()){
+					Log.trace("Environment input set is:" +environmentTransitionInput.printStringRepresentation(moduleDefinition.getOutputNames()));
+				}
 				
 				StringBuffer intermediateStateName = new StringBuffer(environmentDefinition.getStateName(i)+":");
 				for(int k=0;k<environmentTransitionOutput.size();k++){
@@ -63,33 +71,37 @@ public class NonArbGeneration {
 				}
 				environmentDefinition.addStateName(intermediateStateName.toString());
 				
-				ConsoleWindow.output("Intermediate environment state name (after sending output but before receiving input) is "+intermediateStateName.toString());
+				Log.trace("Intermediate environment state name (after sending output but before receiving input) is "+intermediateStateName.toString());
 				
 				SetTransition environmentTransition = new SetTransition(i,new IntSet(),
 						environmentDefinition.getNoOfStates()-1,environmentTransitionOutput,environmentDefinition);
 				
-				ConsoleWindow.output("Created environment output transition "+environmentTransition.printStringAction()+" for environment state "+environmentDefinition.getStateName(i));
+				if(Log.tracing()){
+					Log.trace("Created environment output transition "+environmentTransition.printStringAction()+" for environment state "+environmentDefinition.getStateName(i));
+				}
 				
 				SetTransition environmentSubTransition = new SetTransition(
 						environmentDefinition.getNoOfStates()-1,environmentTransitionInput,moduleTransition.getResultState(),new IntSet(),
 						environmentDefinition);
 				
-				ConsoleWindow.output("Created environment input transition "+environmentSubTransition.printStringAction()+" for environment state "
-						+environmentDefinition.getStateName(environmentDefinition.getNoOfStates()-1));
+				if(Log.tracing()){
+					Log.trace("Created environment input transition "+environmentSubTransition.printStringAction()+" for environment state "
+							+environmentDefinition.getStateName(environmentDefinition.getNoOfStates()-1));
+				}
 				
 				environmentDefinition.addTransition(environmentTransition);
 				environmentDefinition.addTransition(environmentSubTransition);
 			}
 		}
 		
-		if(EnvironmentTab.instance.StateRemoval.isSelected()){
+		if(removeDuplicates){
 			
-			ConsoleWindow.output("Removing any duplicate state definitions");
+			Log.info("Removing any duplicate state definitions");
 			
 			environmentDefinition=removeDuplicateStates(environmentDefinition);
 		}
 		
-		ConsoleWindow.output("Tidying state names to prevent conflicts (within the environment state names, and between environment and module) "
+		Log.info("Tidying state names to prevent conflicts (within the environment state names, and between environment and module) "
 				+ "and to remove non-alphanumeric chars (such as dashes, commas etc.)");
 		
 		environmentDefinition=tidyStateNames(moduleDefinition,environmentDefinition);
@@ -133,8 +145,8 @@ public class NonArbGeneration {
 	}
 
 	/* Removes duplicate state definitions from the environment definition. This closely follows the state-merge
-	 * algorithm given in the thesis */
-	public static SetNotationModule removeDuplicateStates(SetNotationModule environmentDefinition){
+	 * algorithm given in the thesis. Throws an InterruptedException if the thread is interrupted part of the way through */
+	public static SetNotationModule removeDuplicateStates(SetNotationModule environmentDefinition) throws InterruptedException{
 		
 		/* Until we know that all states are unique, do the following */
 		boolean repeatStateRemoval=true;
@@ -142,9 +154,11 @@ public class NonArbGeneration {
 			
 			/* Assume that we don't need to modify states any more */
 			repeatStateRemoval=false;
+			TaskControl.checkpoint("Removing duplicate states from "+environmentDefinition.getNoOfStates()+" states");
 			
 			/* Iterate through states beginning from the end of the list, in decreasing index */
 			for(int i=environmentDefinition.getNoOfStates()-1;i>=0;i--){
+				TaskControl.checkpoint(null);
 				
 				/* Retrieve the set of transitions starting in the current state */
 				Vector<SetTransition> firstStateTransitions = environmentDefinition.getTransitionsWithSource(i);
@@ -4,37 +4,41 @@ import java.util.Vector;
 
 import CommonStructures.IntSet;
 import CommonStructures.SetSet;
-import GUI.ConsoleWindow;
-import GUI.EnvironmentTab;
+import CommonStructures.TaskControl;
+import Logging.Log;
 import SetNotationStructure.SetNotationModule;
 import SetNotationStructure.SetTransition;
 
 /* Contains the algorithm for generating the environment for any module, by utilising "uncertainties" */
 public class UncertaintyGeneration{
 
+	/* The number of uncertainties visited between reports of progress */
+	private static final int PROGRESS_INTERVAL = 100;
+
 	/* The parent part of the algorithm for generating the environment for any module. It closely follows the
-	 * algorithm given in the thesis. See the ConsoleWindow.output calls below for more information as to
-	 * what operations are performed at each step */
-	public static SetNotationModule generate(SetNotationModule moduleDefinition) {
+	 * algorithm given in the thesis. See the Log calls below for more information as to
+	 * what operations are performed at each step. Duplicate environment states are optionally removed at the end. Throws an
+	 * InterruptedException if the thread is interrupted part of the way through (see TaskControl) */
+	public static SetNotationModule generate(SetNotationModule moduleDefinition, boolean removeDuplicates) throws InterruptedException{
 		SetNotationModule environmentDefinition = new SetNotationModule();
 
 		for(int i=0;i<moduleDefinition.getNoOfStates();i++){
 			
-			ConsoleWindow.output("Creating environment state E:{"+moduleDefinition.getStateName(i)+";{};{}}" 
+			Log.info("Creating environment state E:{"+moduleDefinition.getStateName(i)+";{};{}}" 
 				+" corresponding to module state "+moduleDefinition.getStateName(i) +" with no uncertainty");
 			
 			environmentDefinition.addStateName("E:{"+moduleDefinition.getStateName(i)+";{};{}}");
 		}
 		for(int i=0;i<moduleDefinition.getNoOfInputs();i++){
 			
-			ConsoleWindow.output("Creating environment output "+moduleDefinition.getInputName(i)
+			Log.info("Creating environment output "+moduleDefinition.getInputName(i)
 			+" corresponding to module input");
 			
 			environmentDefinition.addOutputName(moduleDefinition.getInputName(i));
 		}
 		for(int i=0;i<moduleDefinition.getNoOfOutputs();i++){
 			
-			ConsoleWindow.output("Creating environment input "+moduleDefinition.getOutputName(i)
+			Log.info("Creating environment input "+moduleDefinition.getOutputName(i)
 			+" corresponding to module output");
 			
 			environmentDefinition.addInputName(moduleDefinition.getOutputName(i));
@@ -49,26 +53,26 @@ public class UncertaintyGeneration{
 			startConfiguration.setTravellingOutputs(new IntSet());
 			startingUncertainty.addConfiguration(startConfiguration);
 			
-			ConsoleWindow.output("Beginning recursive calculation of environment actions in environment state "+environmentDefinition.getStateName(i)
+			Log.info("Beginning recursive calculation of environment actions in environment state "+environmentDefinition.getStateName(i)
 				+" corresponding to module state "+moduleDefinition.getStateName(i) +" with no uncertainty");
 			
 			environmentDefinition=recurse(moduleDefinition,environmentDefinition,startingUncertainty,visitedUncertaintys);
 			
-			ConsoleWindow.output("Finished calculating all sequences of available environment actions starting from module state "+moduleDefinition.getStateName(i));
+			Log.info("Finished calculating all sequences of available environment actions starting from module state "+moduleDefinition.getStateName(i));
 		}
-		if(EnvironmentTab.instance.StateRemoval.isSelected()){
+		if(removeDuplicates){
 			
-			ConsoleWindow.output("Removing any duplicate state definitions");
+			Log.info("Removing any duplicate state definitions");
 			
 			environmentDefinition=NonArbGeneration.removeDuplicateStates(environmentDefinition);
 		}
 		
-		ConsoleWindow.output("Tidying state names to prevent conflicts (within the environment state names, and between environment and module) "
+		Log.info("Tidying state names to prevent conflicts (within the environment state names, and between environment and module) "
 				+ "and to remove non-alphanumeric chars (such as dashes, commas etc.)");
 		
 		environmentDefinition=NonArbGeneration.tidyStateNames(moduleDefinition,environmentDefinition);
 		if(!environmentDefinition.allStatesHaveTransitions()){
-			ConsoleWindow.output("Environment deadlock guaranteed due to unavailability of actions to signal safely in some states (see empty state definitions).");
+			Log.info("Environment deadlock guaranteed due to unavailability of actions to signal safely in some states (see empty state definitions).");
 		}
 		return environmentDefinition;
 	}
@@ -76,80 +80,104 @@ public class UncertaintyGeneration{
 	/* The recursive part of the algorithm for generating the environment for any module. It closely follows the
 	 * algorithm given in the thesis. The set of uncertainties which have been "recursed to" is remembered using the variable
 	 * visitedUncertainties. The corresponding environment state for a particular uncertainty is found using the findEnvrionmentStateIndex
-	 * method.  See the ConsoleWindow.output calls below for more information as to what operations are performed at each step */
+	 * method.  See the Log calls below for more information as to what operations are performed at each step */
 	private static SetNotationModule recurse(SetNotationModule moduleDefinition, SetNotationModule environmentDefinition,
-			Uncertainty currentUncertainty, Vector<Uncertainty> visitedUncertainties) {
+			Uncertainty currentUncertainty, Vector<Uncertainty> visitedUncertainties) throws InterruptedException{
 
 		/* If we have not visited this currentUncertainty yet */
 		if(!UncertaintyVisited(currentUncertainty,visitedUncertainties)){
 
 			/* Add that we have visited it */
 			visitedUncertainties.add(currentUncertainty);
+			if(visitedUncertainties.size()%PROGRESS_INTERVAL==0){
+				TaskControl.checkpoint(visitedUncertainties.size()+" uncertainties so far");
+			}
+			else{
+				TaskControl.checkpoint(null);
+			}
 
 			/*Retrieve the index of the corresponding environment state (guaranteed to already exist) */
 			int environmentStateIndex= findEnvironmentStateIndex(currentUncertainty,moduleDefinition,environmentDefinition);	
 
 			SetSet signallableSets = new SetSet();
 			
-			ConsoleWindow.output("Calculating signals which are safe to send when the environment is in the uncertainty: "+
-					currentUncertainty.printConfigurationSet(moduleDefinition));
+			if(Log.tracing()){
+				Log.trace("Calculating signals which are safe to send when the environment is in the uncertainty: "+
+						currentUncertainty.printConfigurationSet(moduleDefinition));
+			}
 			
 			for(int j=0;j<currentUncertainty.getNoOfConfiguration();j++){
-				ConsoleWindow.output("Retrieving the set of transitions available to the module in the "+j+"ths configuration's state ("
-						+moduleDefinition.getStateName(currentUncertainty.getConfiguration(j).getState())+")");
+				if(Log.tracing()){
+					Log.trace("Retrieving the set of transitions available to the module in the "+j+"ths configuration's state ("
+							+moduleDefinition.getStateName(currentUncertainty.getConfiguration(j).getState())+")");
+				}
 				
 				Vector<SetTransition> transitions = moduleDefinition.getTransitionsWithSource(currentUncertainty.getConfiguration(j).getState());
 				
-				ConsoleWindow.output("Now checking that each transition for this state contains the corresponding set of pending signals ("+
-						currentUncertainty.getConfiguration(j).getPendingSignals().printStringRepresentation(moduleDefinition.getInputNames()) +" from the current configuration, and if it does"
-								+ ", then we subtract the pending signals from the set and the resulting set is a candidate for signalling");
+				if(Log.tracing()){
+					Log.trace("Now checking that each transition for this state contains the corresponding set of pending signals ("+
+							currentUncertainty.getConfiguration(j).getPendingSignals().printStringRepresentation(moduleDefinition.getInputNames()) +" from the current configuration, and if it does"
+									+ ", then we subtract the pending signals from the set and the resulting set is a candidate for signalling");
+				}
 				for(int i=0;i<transitions.size();i++){
 					
-					ConsoleWindow.output("Checking input set "+transitions.get(i).getInputSet().printStringRepresentation(moduleDefinition.getInputNames()));
+					if(Log.tracing()){
+						Log.trace("Checking input set "+transitions.get(i).getInputSet().printStringRepresentation(moduleDefinition.getInputNames()));
+					}
 					
 					if(currentUncertainty.getConfiguration(j).getPendingSignals().subset(transitions.get(i).getInputSet())){
 						signallableSets.add(transitions.get(i).getInputSet().setDifference(currentUncertainty.getConfiguration(j).getPendingSignals()));
-						ConsoleWindow.output("Input set contains the set of pending signals ("+
-						currentUncertainty.getConfiguration(j).getPendingSignals().printStringRepresentation(moduleDefinition.getInputNames())+
-							") so we subtract from this the set of pending signals and make the resulting set a candidate for signalling");
-						ConsoleWindow.output("Set: "+signallableSets.get(signallableSets.size()-1).printStringRepresentation(moduleDefinition.getInputNames())+" is a candidate");
+						if(Log.tracing()){
+							Log.trace("Input set contains the set of pending signals ("+
+							currentUncertainty.getConfiguration(j).getPendingSignals().printStringRepresentation(moduleDefinition.getInputNames())+
+								") so we subtract from this the set of pending signals and make the resulting set a candidate for signalling");
+						}
+						if(Log.tracing()){
+							Log.trace("Set: "+signallableSets.get(signallableSets.size()-1).printStringRepresentation(moduleDefinition.getInputNames())+" is a candidate");
+						}
 					}
 					else{
-						ConsoleWindow.output("Input set does not contain the set of pending signals ("+
-						currentUncertainty.getConfiguration(j).getPendingSignals().printStringRepresentation(moduleDefinition.getInputNames())+
-							") so the resulting set (input set SetMinus pending signals) is not a candidate for signalling "
-								+ "(it could violate safety in the current configuration)");
+						if(Log.tracing()){
+							Log.trace("Input set does not contain the set of pending signals ("+
+							currentUncertainty.getConfiguration(j).getPendingSignals().printStringRepresentation(moduleDefinition.getInputNames())+
+								") so the resulting set (input set SetMinus pending signals) is not a candidate for signalling "
+									+ "(it could violate safety in the current configuration)");
+						}
 					}
 				}
 			}
 			
-			ConsoleWindow.output("Initial list of candidate sets generated. Now we check that signalling each of these does not cause a problem (safety violation, or input/output clash) "
+			Log.trace("Initial list of candidate sets generated. Now we check that signalling each of these does not cause a problem (safety violation, or input/output clash) "
 					+ "in any of the configuration in the uncertainty.");
 
 			for(int i=signallableSets.size()-1;i>=0;i--){
 				IntSet signalledSet = signallableSets.get(i);
 				
-				ConsoleWindow.output("Checking if signalling candidate "+signalledSet.printStringRepresentation(moduleDefinition.getInputNames())
-					+" causes any problems for any configuration in the uncertainty");
+				if(Log.tracing()){
+					Log.trace("Checking if signalling candidate "+signalledSet.printStringRepresentation(moduleDefinition.getInputNames())
+						+" causes any problems for any configuration in the uncertainty");
+				}
 				
 				if(signalledSet.size()==0){
 					signallableSets.remove(i);
 					
-					ConsoleWindow.output("This candidate is empty, so is simply removed (obviously not a valid set to signal)");
+					Log.trace("This candidate is empty, so is simply removed (obviously not a valid set to signal)");
 					
 					continue;
 				}
 				
 				for(int j=0;j<currentUncertainty.getNoOfConfiguration();j++){
 					
-					ConsoleWindow.output("Checking candidate against configuration: "+currentUncertainty.getConfiguration(j).print(moduleDefinition));
+					if(Log.tracing()){
+						Log.trace("Checking candidate against configuration: "+currentUncertainty.getConfiguration(j).print(moduleDefinition));
+					}
 					
 					int currentConfigurationState = currentUncertainty.getConfiguration(j).getState();
 					IntSet ConfigurationPendingSignals = currentUncertainty.getConfiguration(j).getPendingSignals();
 					IntSet ConfigurationTravellingOutputs = currentUncertainty.getConfiguration(j).getTravellingOutputs();
 
 					if(!signalledSet.setDifference(ConfigurationPendingSignals).equals(signalledSet)){
-						ConsoleWindow.output("There is an overlap between the candidate and the set of pending signals for this configuration, "
+						Log.trace("There is an overlap between the candidate and the set of pending signals for this configuration, "
 								+ " so the current candidate is invalid (signalling could cause input clash for this configuration) and must be removed");
 						signallableSets.remove(i);
 						break;
@@ -157,49 +185,54 @@ public class UncertaintyGeneration{
 
 					IntSet totalSignalled = ConfigurationPendingSignals.setUnion(signalledSet);
 					
-					ConsoleWindow.output("Combining candidate with pending set for this configuration, to see if resulting combination of inputs causes any problems for this configuration");		
-					ConsoleWindow.output("Resulting combination of inputs for current configuration is therefore: "+totalSignalled.printStringRepresentation(moduleDefinition.getInputNames()));
+					Log.trace("Combining candidate with pending set for this configuration, to see if resulting combination of inputs causes any problems for this configuration");		
+					if(Log.tracing()){
+						Log.trace("Resulting combination of inputs for current configuration is therefore: "+totalSignalled.printStringRepresentation(moduleDefinition.getInputNames()));
+					}
 					
 					int safetyOrClash=moduleDefinition.violateSafetyOrClash(currentConfigurationState,totalSignalled,ConfigurationTravellingOutputs);
 					
 					if(safetyOrClash==1){
 						
-						ConsoleWindow.output("Resulting combination of inputs can violate safety for this configuration, so the current candidate is invalid and must be removed");
+						Log.trace("Resulting combination of inputs can violate safety for this configuration, so the current candidate is invalid and must be removed");
 						
 						signallableSets.remove(i);
 						break;
 					}
 					else if(safetyOrClash==2){
 						
-						ConsoleWindow.output("Resulting combination of inputs can cause an output clash for this configuration, so the current candidate is invalid and must be removed");
+						Log.trace("Resulting combination of inputs can cause an output clash for this configuration, so the current candidate is invalid and must be removed");
 						
 						signallableSets.remove(i);
 						break;
 					}
 					
-					ConsoleWindow.output("Candidate set doesn't cause any problems for this configuration");
+					Log.trace("Candidate set doesn't cause any problems for this configuration");
 					
 				}
 			}
 			
 			if(signallableSets.size()>0){
-				StringBuffer listOfSignalSets = new StringBuffer();
-				for(int i=0;i<signallableSets.size();i++){
-					listOfSignalSets.append(signallableSets.get(i).printStringRepresentation(moduleDefinition.getInputNames()));
-					if(i<signallableSets.size()-1){
-						listOfSignalSets.append(",");
+				if(Log.tracing()){
+					StringBuffer listOfSignalSets = new StringBuffer();
+					for(int i=0;i<signallableSets.size();i++){
+						listOfSignalSets.append(signallableSets.get(i).printStringRepresentation(moduleDefinition.getInputNames()));
+						if(i<signallableSets.size()-1){
+							listOfSignalSets.append(",");
+						}
 					}
+					Log.trace("Final list of signals that are safe for the environment to send generated, environment can signal safely signal: "+listOfSignalSets);
 				}
 				
-				ConsoleWindow.output("Final list of signals that are safe for the environment to send generated, environment can signal safely signal: "+listOfSignalSets);
-				
 				for(int i=0;i<signallableSets.size();i++){
 					IntSet outputSignals=signallableSets.get(i).deepCopy();
 					
-					ConsoleWindow.output("Building environment transition corresponding to signalling "+
-						outputSignals.printStringRepresentation(moduleDefinition.getInputNames())+" in the uncertainty: "+
-						currentUncertainty.printConfigurationSet(moduleDefinition));
-					ConsoleWindow.output("Adding signalled set to all configuration in the uncertainty to build the resulting uncertainty");
+					if(Log.tracing()){
+						Log.trace("Building environment transition corresponding to signalling "+
+							outputSignals.printStringRepresentation(moduleDefinition.getInputNames())+" in the uncertainty: "+
+							currentUncertainty.printConfigurationSet(moduleDefinition));
+					}
+					Log.trace("Adding signalled set to all configuration in the uncertainty to build the resulting uncertainty");
 					
 					Uncertainty resultingUncertainty = new Uncertainty();
 					for(int j=0;j<currentUncertainty.getNoOfConfiguration();j++){
@@ -210,7 +243,9 @@ public class UncertaintyGeneration{
 						resultingUncertainty.addConfiguration(resultingConfiguration);
 					}
 					
-					ConsoleWindow.output("Resulting uncertainty after signalling this set is: "+resultingUncertainty.printConfigurationSet(moduleDefinition));
+					if(Log.tracing()){
+						Log.trace("Resulting uncertainty after signalling this set is: "+resultingUncertainty.printConfigurationSet(moduleDefinition));
+					}
 
 					int resultingUncertaintyIndex=findEnvironmentStateIndex(resultingUncertainty,moduleDefinition, environmentDefinition);
 					if(resultingUncertaintyIndex==-1){
@@ -220,7 +255,9 @@ public class UncertaintyGeneration{
 						}
 						environmentDefinition.addStateName(resultingConfigurationName.toString());
 						
-						ConsoleWindow.output("Environment state corresponding to resulting state uncertainty doesn't exist. Adding new state "+resultingConfigurationName.toString());
+						if(Log.tracing()){
+							Log.trace("Environment state corresponding to resulting state uncertainty doesn't exist. Adding new state "+resultingConfigurationName.toString());
+						}
 						
 						resultingUncertaintyIndex=environmentDefinition.getNoOfStates()-1;
 					}
@@ -228,40 +265,48 @@ public class UncertaintyGeneration{
 					SetTransition outputTransition = new SetTransition(environmentStateIndex,
 						new IntSet(),resultingUncertaintyIndex,outputSignals,environmentDefinition);
 
-					ConsoleWindow.output("Built environment output transition "+outputTransition.printStringAction()
-						+" for environment state "+environmentDefinition.getStateName(environmentStateIndex));
+					if(Log.tracing()){
+						Log.trace("Built environment output transition "+outputTransition.printStringAction()
+							+" for environment state "+environmentDefinition.getStateName(environmentStateIndex));
+					}
 					
 					if(environmentDefinition.addTransition(outputTransition)){
 						
-						ConsoleWindow.output("Environment output transition added, recursing to resulting uncertainty to continue calculating available environment actions");
+						Log.trace("Environment output transition added, recursing to resulting uncertainty to continue calculating available environment actions");
 						
 						environmentDefinition=recurse(moduleDefinition, environmentDefinition,
 								resultingUncertainty, visitedUncertainties);
 						
-						ConsoleWindow.output("Leaving recursion and returning to calculation of available environment output actions in state uncertainty "
-							+currentUncertainty.printConfigurationSet(moduleDefinition));
+						if(Log.tracing()){
+							Log.trace("Leaving recursion and returning to calculation of available environment output actions in state uncertainty "
+								+currentUncertainty.printConfigurationSet(moduleDefinition));
+						}
 						
 					}
 					else{
-						ConsoleWindow.output("Environment output transition already exists, so no need to add. No need to recurse to resulting state uncertainty either");
+						Log.trace("Environment output transition already exists, so no need to add. No need to recurse to resulting state uncertainty either");
 					}
 				}
 				
 			}
 			else{
 				
-				ConsoleWindow.output("Environment cannot safely signal any input sets in this uncertainty! "
+				Log.trace("Environment cannot safely signal any input sets in this uncertainty! "
 						+ "(individual inputs may be safe to signal but no combinations that can actually affect a module");
 				
 			}
 			
-			ConsoleWindow.output("Finished building output transitions (signals to send by environment) for state uncertainty "
-				+currentUncertainty.printConfigurationSet(moduleDefinition));
+			if(Log.tracing()){
+				Log.trace("Finished building output transitions (signals to send by environment) for state uncertainty "
+					+currentUncertainty.printConfigurationSet(moduleDefinition));
+			}
 
-			ConsoleWindow.output("Beginning building input transitions (signals received by environment) for state uncertainty "
-				+currentUncertainty.printConfigurationSet(moduleDefinition)+" which correspond to the arrival of outputs from each Configuration");
+			if(Log.tracing()){
+				Log.trace("Beginning building input transitions (signals received by environment) for state uncertainty "
+					+currentUncertainty.printConfigurationSet(moduleDefinition)+" which correspond to the arrival of outputs from each Configuration");
+			}
 			
-			ConsoleWindow.output("Retrieiving set of auto-fire paths which can result from each configuration in the uncertainty");
+			Log.trace("Retrieiving set of auto-fire paths which can result from each configuration in the uncertainty");
 
 			Vector<Vector<Vector<SetTransition>>> pathsFromEachConfiguration = new Vector<Vector<Vector<SetTransition>>>();
 
@@ -270,9 +315,9 @@ public class UncertaintyGeneration{
 						currentUncertainty.getConfiguration(i).getPendingSignals(), new Vector<SetTransition>()));
 			}
 			
-			ConsoleWindow.output("Set of paths retrieved");
+			Log.trace("Set of paths retrieved");
 			
-			ConsoleWindow.output("Building a set of transitions for each configuration in the uncertainty, where each transition factors in the environment's receipt of"
+			Log.trace("Building a set of transitions for each configuration in the uncertainty, where each transition factors in the environment's receipt of"
 					+ " the travelling outputs from the Configuration, together with the outputs from all possible (including empty) prefixes of the auto-fire paths possible"
 					+ " for the Configuration");
 			
@@ -281,7 +326,9 @@ public class UncertaintyGeneration{
 				
 				Configuration currentConfiguration = currentUncertainty.getConfiguration(i);
 				
-				ConsoleWindow.output("Building transitions for the receipt of outputs from configuration: "+currentConfiguration.print(moduleDefinition));
+				if(Log.tracing()){
+					Log.trace("Building transitions for the receipt of outputs from configuration: "+currentConfiguration.print(moduleDefinition));
+				}
 				
 				/* Retrieve the set of auto-fire paths for the Configuration */
 				Vector<Vector<SetTransition>> pathsFromThisConfiguration=pathsFromEachConfiguration.get(i);
@@ -296,12 +343,14 @@ public class UncertaintyGeneration{
 					/*If currently processing the empty path then set length of path to 0 (current path remains unused)*/
 					if(j==-1){
 						if(currentConfiguration.getTravellingOutputs().size()==0){
-							ConsoleWindow.output("There are no travelling outputs in this configuration, so skipping"
+							Log.trace("There are no travelling outputs in this configuration, so skipping"
 									+ " building a transition where no auto-fires have occurred (as there are no outputs to receive)");
 							continue;
 						}
-						ConsoleWindow.output("Building transition corresponding to no auto-fires in this configuration, and the environment simply receives the set of travelling outputs "
-								+currentConfiguration.getTravellingOutputs().printStringRepresentation(moduleDefinition.getOutputNames()));
+						if(Log.tracing()){
+							Log.trace("Building transition corresponding to no auto-fires in this configuration, and the environment simply receives the set of travelling outputs "
+									+currentConfiguration.getTravellingOutputs().printStringRepresentation(moduleDefinition.getOutputNames()));
+						}
 						loopTimes=1;
 					}
 					
@@ -310,7 +359,9 @@ public class UncertaintyGeneration{
 						currentPath=pathsFromThisConfiguration.get(j);
 						pathLength=currentPath.size();
 						loopTimes=pathLength;
-						ConsoleWindow.output("Building transitions corresponding to the auto-fire in this configuration, i.e. the path: "+printAutoFirePath(currentPath,currentPath.size()-1));
+						if(Log.tracing()){
+							Log.trace("Building transitions corresponding to the auto-fire in this configuration, i.e. the path: "+printAutoFirePath(currentPath,currentPath.size()-1));
+						}
 					}
 					
 					IntSet currentEnvironmentInputsFromAccumulatedOutputs = currentConfiguration.getTravellingOutputs();
@@ -326,18 +377,26 @@ public class UncertaintyGeneration{
 						if(pathLength==0){
 							resultingStateForThisSubPathConfiguration=currentConfiguration.getState();
 							
-							ConsoleWindow.output("Resulting state for the current configuration is simply the same as before (as no auto-fire transitions). i.e: "
-									+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration));
-							ConsoleWindow.output("Pending signals for the current configuration is simply the same as before (as no auto-fire transitions). i.e: "
-									+currentPendingInputsForModule.printStringRepresentation(moduleDefinition.getInputNames()));
-							ConsoleWindow.output("Environment inputs is simply the travelling outputs from the configuration (as no auto-fire transitions). i.e: "
-									+currentEnvironmentInputsFromAccumulatedOutputs.printStringRepresentation(moduleDefinition.getOutputNames()));
+							if(Log.tracing()){
+								Log.trace("Resulting state for the current configuration is simply the same as before (as no auto-fire transitions). i.e: "
+										+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration));
+							}
+							if(Log.tracing()){
+								Log.trace("Pending signals for the current configuration is simply the same as before (as no auto-fire transitions). i.e: "
+										+currentPendingInputsForModule.printStringRepresentation(moduleDefinition.getInputNames()));
+							}
+							if(Log.tracing()){
+								Log.trace("Environment inputs is simply the travelling outputs from the configuration (as no auto-fire transitions). i.e: "
+										+currentEnvironmentInputsFromAccumulatedOutputs.printStringRepresentation(moduleDefinition.getOutputNames()));
+							}
 							
 						}
 						else{
 
-							ConsoleWindow.output("Building transition for the prefix of length "+(k+1)+" for the current auto-fire path: i.e. the prefix: "
-									+printAutoFirePath(currentPath,k));
+							if(Log.tracing()){
+								Log.trace("Building transition for the prefix of length "+(k+1)+" for the current auto-fire path: i.e. the prefix: "
+										+printAutoFirePath(currentPath,k));
+							}
 							
 							/* Work out the resulting state, pending signals, and travelling outputs if this path is reached by the Configuration */
 							resultingStateForThisSubPathConfiguration = currentPath.get(k).getResultState();							
@@ -346,19 +405,25 @@ public class UncertaintyGeneration{
 							currentEnvironmentInputsFromAccumulatedOutputs = 
 									currentEnvironmentInputsFromAccumulatedOutputs.setUnion(currentPath.get(k).getOutputSet());
 							
-							ConsoleWindow.output("Resulting state for configuration is "+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration));
-							ConsoleWindow.output("Pending signals for configuration is: "
-									+currentPendingInputsForModule.printStringRepresentation(moduleDefinition.getInputNames()));
-							ConsoleWindow.output("Environment inputs is the travelling outputs from the configuration combined with the accumulated outputs from this prefix path. i.e: "
-									+currentEnvironmentInputsFromAccumulatedOutputs.printStringRepresentation(moduleDefinition.getOutputNames()));
+							if(Log.tracing()){
+								Log.trace("Resulting state for configuration is "+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration));
+							}
+							if(Log.tracing()){
+								Log.trace("Pending signals for configuration is: "
+										+currentPendingInputsForModule.printStringRepresentation(moduleDefinition.getInputNames()));
+							}
+							if(Log.tracing()){
+								Log.trace("Environment inputs is the travelling outputs from the configuration combined with the accumulated outputs from this prefix path. i.e: "
+										+currentEnvironmentInputsFromAccumulatedOutputs.printStringRepresentation(moduleDefinition.getOutputNames()));
+							}
 							if(environmentDefinition.getTransitionsWithSourceAndInput(currentEnvironmentInputsFromAccumulatedOutputs, environmentStateIndex).size()>0){
-								ConsoleWindow.output("Action already exists in this environment state, for this set of environment inputs, so skipping to next"
+								Log.trace("Action already exists in this environment state, for this set of environment inputs, so skipping to next"
 										+ "prefix of this autopath");
 								continue;
 							}
 						}
 						
-						ConsoleWindow.output("Resulting travelling outputs are empty");
+						Log.trace("Resulting travelling outputs are empty");
 						
 						/* The resulting unclear Configuration set if this is processed contains the above Configuration obviously */
 						Uncertainty resultingUncertaintyForThisSubPath= new Uncertainty();
@@ -368,8 +433,10 @@ public class UncertaintyGeneration{
 						resultingConfigurationForThisSubPath.setTravellingOutputs(new IntSet());
 						resultingUncertaintyForThisSubPath.addConfiguration(resultingConfigurationForThisSubPath);
 						
-						ConsoleWindow.output("Hence modified configuration is: "+resultingConfigurationForThisSubPath.print(moduleDefinition));
-						ConsoleWindow.output("Modified configuration is added to the resulting uncertainty for this transition. "
+						if(Log.tracing()){
+							Log.trace("Hence modified configuration is: "+resultingConfigurationForThisSubPath.print(moduleDefinition));
+						}
+						Log.trace("Modified configuration is added to the resulting uncertainty for this transition. "
 								+ "Now we calculate any additional configuration in the uncertainty (which can't be ruled out based on outputs the environment has received)");
 					
 						/* For every Configuration in the unclear Configuration set */
@@ -378,10 +445,12 @@ public class UncertaintyGeneration{
 							Configuration currentConfiguration2 = currentUncertainty.getConfiguration(l);
 							
 							if(l!=i){
-								ConsoleWindow.output("Checking if other configuration: "+currentConfiguration2.print(moduleDefinition)+" can contribute to the resulting uncertainty");
+								if(Log.tracing()){
+									Log.trace("Checking if other configuration: "+currentConfiguration2.print(moduleDefinition)+" can contribute to the resulting uncertainty");
+								}
 							}
 							else{
-								ConsoleWindow.output("Checking if any other possible auto-fire path from the same configuration can contribute to the resulting uncertainty");								
+								Log.trace("Checking if any other possible auto-fire path from the same configuration can contribute to the resulting uncertainty");								
 							}
 							/* Retrieve the set of auto-fire paths for the Configuration */
 							Vector<Vector<SetTransition>> pathsFromThisConfiguration2=pathsFromEachConfiguration.get(l);
@@ -396,7 +465,7 @@ public class UncertaintyGeneration{
 								/*If currently processing the empty path then set length of path to 0 (current path remains unused)*/
 								if(m==-1){
 									loopTimes2=1;
-									ConsoleWindow.output("Checking if other configuration with no auto-fires can contribute to uncertainty");
+									Log.trace("Checking if other configuration with no auto-fires can contribute to uncertainty");
 								}
 								
 								/*If processing a non empty path then retrieve the current path and its length*/
@@ -404,7 +473,9 @@ public class UncertaintyGeneration{
 									currentPath2=pathsFromThisConfiguration2.get(m);
 									pathLength2=currentPath2.size();
 									loopTimes2=pathLength2;
-									ConsoleWindow.output("Checking if other configuration's auto-fire path: "+printAutoFirePath(currentPath2,currentPath2.size()-1)+" can contribute to uncertainty");
+									if(Log.tracing()){
+										Log.trace("Checking if other configuration's auto-fire path: "+printAutoFirePath(currentPath2,currentPath2.size()-1)+" can contribute to uncertainty");
+									}
 								}
 								
 								IntSet currentEnvironmentInputsFromAccumulatedOutputs2 = currentConfiguration2.getTravellingOutputs();
@@ -415,7 +486,7 @@ public class UncertaintyGeneration{
 									
 									/* Do not compare a subpath of a Configuration with itself absolutely */
 									if(i==l && j==m && n<=k){
-										ConsoleWindow.output("Comparing subpath of current configuration with prefix of itself, "
+										Log.trace("Comparing subpath of current configuration with prefix of itself, "
 												+ "so skipping this particular part of the analysis (it definitely cannot contribute to uncertainty)");
 										continue;
 									}
@@ -427,18 +498,26 @@ public class UncertaintyGeneration{
 									if(pathLength2==0){
 										resultingStateForThisSubPathConfiguration2=currentConfiguration2.getState();
 	
-										ConsoleWindow.output("Resulting state for the other configuration would simply be the same as before (as no auto-fire transitions). i.e: "
-												+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration2));
-										ConsoleWindow.output("Pending signals for the other configuration would simply be the same as before (as no auto-fire transitions). i.e: "
-												+currentPendingInputsForModule2.printStringRepresentation(moduleDefinition.getInputNames()));
-										ConsoleWindow.output("Environment inputs would simply be the travelling outputs from the other configuration (as no auto-fire transitions). i.e: "
-												+currentEnvironmentInputsFromAccumulatedOutputs2.printStringRepresentation(moduleDefinition.getOutputNames()));
+										if(Log.tracing()){
+											Log.trace("Resulting state for the other configuration would simply be the same as before (as no auto-fire transitions). i.e: "
+													+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration2));
+										}
+										if(Log.tracing()){
+											Log.trace("Pending signals for the other configuration would simply be the same as before (as no auto-fire transitions). i.e: "
+													+currentPendingInputsForModule2.printStringRepresentation(moduleDefinition.getInputNames()));
+										}
+										if(Log.tracing()){
+											Log.trace("Environment inputs would simply be the travelling outputs from the other configuration (as no auto-fire transitions). i.e: "
+													+currentEnvironmentInputsFromAccumulatedOutputs2.printStringRepresentation(moduleDefinition.getOutputNames()));
+										}
 										
 									}
 									else{		
 										
-										ConsoleWindow.output("Checking other configuration auto-fire prefix of length "+(n+1)+" for the current other configuration auto-fire path: i.e. the prefix: "
-												+printAutoFirePath(currentPath2,n));
+										if(Log.tracing()){
+											Log.trace("Checking other configuration auto-fire prefix of length "+(n+1)+" for the current other configuration auto-fire path: i.e. the prefix: "
+													+printAutoFirePath(currentPath2,n));
+										}
 										
 										/* Work out the resulting state, pending signals, and travelling outputs if this path is reached by the Configuration */
 										resultingStateForThisSubPathConfiguration2 = currentPath2.get(n).getResultState();
@@ -448,17 +527,23 @@ public class UncertaintyGeneration{
 										currentEnvironmentInputsFromAccumulatedOutputs2 = 
 												currentEnvironmentInputsFromAccumulatedOutputs2.setUnion(currentPath2.get(n).getOutputSet());
 										
-										ConsoleWindow.output("Resulting state for other configuration would be "+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration2));
-										ConsoleWindow.output("Pending signals for other configuration would be: "
-												+currentPendingInputsForModule2.printStringRepresentation(moduleDefinition.getInputNames()));
-										ConsoleWindow.output("Environment inputs would be travelling outputs from the other configuration combined with the accumulated outputs from the other configuration's current prefix path. i.e: "
-												+currentEnvironmentInputsFromAccumulatedOutputs2.printStringRepresentation(moduleDefinition.getOutputNames()));
+										if(Log.tracing()){
+											Log.trace("Resulting state for other configuration would be "+moduleDefinition.getStateName(resultingStateForThisSubPathConfiguration2));
+										}
+										if(Log.tracing()){
+											Log.trace("Pending signals for other configuration would be: "
+													+currentPendingInputsForModule2.printStringRepresentation(moduleDefinition.getInputNames()));
+										}
+										if(Log.tracing()){
+											Log.trace("Environment inputs would be travelling outputs from the other configuration combined with the accumulated outputs from the other configuration's current prefix path. i.e: "
+													+currentEnvironmentInputsFromAccumulatedOutputs2.printStringRepresentation(moduleDefinition.getOutputNames()));
+										}
 										
 									}
 									
 									if(currentEnvironmentInputsFromAccumulatedOutputs.subset(currentEnvironmentInputsFromAccumulatedOutputs2)){
 									
-										ConsoleWindow.output("Environment inputs for other Configuration's current subpath IS a superset of the current configuration's current subpath's environment inputs, "
+										Log.trace("Environment inputs for other Configuration's current subpath IS a superset of the current configuration's current subpath's environment inputs, "
 												+ "and so there is additional uncertainty from this other configuration's current subpath and it must be added to the current transition's resulting uncertainty");
 										
 										Configuration resultingConfigurationForThisSubPath2 = new Configuration();
@@ -466,13 +551,15 @@ public class UncertaintyGeneration{
 										resultingConfigurationForThisSubPath2.setPendingSignals(currentPendingInputsForModule2.deepCopy());
 										resultingConfigurationForThisSubPath2.setTravellingOutputs(currentEnvironmentInputsFromAccumulatedOutputs2.setDifference(currentEnvironmentInputsFromAccumulatedOutputs));
 									
-										ConsoleWindow.output("Resulting configuration from this other configuration's current subpath is: "+resultingConfigurationForThisSubPath2.print(moduleDefinition));
-										ConsoleWindow.output("This other modified configuration is added to the resulting uncertainty for this transition.");
+										if(Log.tracing()){
+											Log.trace("Resulting configuration from this other configuration's current subpath is: "+resultingConfigurationForThisSubPath2.print(moduleDefinition));
+										}
+										Log.trace("This other modified configuration is added to the resulting uncertainty for this transition.");
 										
 										resultingUncertaintyForThisSubPath.addConfiguration(resultingConfigurationForThisSubPath2);
 									}
 									else{
-										ConsoleWindow.output("Environment inputs for other configuration's current subpath are not a superset of the current configuration's current subpath's environment inputs, "
+										Log.trace("Environment inputs for other configuration's current subpath are not a superset of the current configuration's current subpath's environment inputs, "
 												+ "and so there is no uncertainty resulting from this other configuration's current subpath");
 									}
 								}
@@ -480,9 +567,11 @@ public class UncertaintyGeneration{
 							
 						}
 						
-						ConsoleWindow.output("Resulting uncertainty after receiving inputs "+
-								currentEnvironmentInputsFromAccumulatedOutputs.printStringRepresentation(moduleDefinition.getOutputNames())
-							+" is: "+resultingUncertaintyForThisSubPath.printConfigurationSet(moduleDefinition));
+						if(Log.tracing()){
+							Log.trace("Resulting uncertainty after receiving inputs "+
+									currentEnvironmentInputsFromAccumulatedOutputs.printStringRepresentation(moduleDefinition.getOutputNames())
+								+" is: "+resultingUncertaintyForThisSubPath.printConfigurationSet(moduleDefinition));
+						}
 						
 						/* Create a transition for the resulting unclear Configuration set */
 						int resultingUncertaintyForThisSubPathIndex=findEnvironmentStateIndex(resultingUncertaintyForThisSubPath,moduleDefinition,environmentDefinition);
@@ -493,29 +582,35 @@ public class UncertaintyGeneration{
 							}
 							environmentDefinition.addStateName(resultingConfigurationName.toString());
 							
-							ConsoleWindow.output("Environment state corresponding to resulting state uncertainty doesn't exist. Adding new state "+resultingConfigurationName.toString());
+							if(Log.tracing()){
+								Log.trace("Environment state corresponding to resulting state uncertainty doesn't exist. Adding new state "+resultingConfigurationName.toString());
+							}
 							
 							resultingUncertaintyForThisSubPathIndex=environmentDefinition.getNoOfStates()-1;
 						}
 						SetTransition inputTransition = new SetTransition(environmentStateIndex,
 								currentEnvironmentInputsFromAccumulatedOutputs,resultingUncertaintyForThisSubPathIndex,new IntSet(),environmentDefinition);
 						
-						ConsoleWindow.output("Built environment input transition "+inputTransition.printStringAction()
-						+" for environment state "+environmentDefinition.getStateName(environmentStateIndex));
+						if(Log.tracing()){
+							Log.trace("Built environment input transition "+inputTransition.printStringAction()
+							+" for environment state "+environmentDefinition.getStateName(environmentStateIndex));
+						}
 						
 						if(environmentDefinition.addTransition(inputTransition)){	
 							
-							ConsoleWindow.output("Environment input transition added, recursing to resulting uncertainty to continue calculating available environment actions");
+							Log.trace("Environment input transition added, recursing to resulting uncertainty to continue calculating available environment actions");
 							
 							environmentDefinition=recurse(moduleDefinition,environmentDefinition,
 									resultingUncertaintyForThisSubPath,visitedUncertainties);
 							
-							ConsoleWindow.output("Leaving recursion and returning to calculation of available environment input actions in state uncertainty "
-									+currentUncertainty.printConfigurationSet(moduleDefinition));
+							if(Log.tracing()){
+								Log.trace("Leaving recursion and returning to calculation of available environment input actions in state uncertainty "
+										+currentUncertainty.printConfigurationSet(moduleDefinition));
+							}
 							
 						}			
 						else{
-							ConsoleWindow.output("Environment input transition already exists, so no need to add. No need to recurse to resulting state uncertainty either");
+							Log.trace("Environment input transition already exists, so no need to add. No need to recurse to resulting state uncertainty either");
 						}					
 						
 					}
@@ -524,7 +619,7 @@ public class UncertaintyGeneration{
 			}
 		}
 		else{
-			ConsoleWindow.output("This uncertainty has already been visited and won't be recalculated");
+			Log.trace("This uncertainty has already been visited and won't be recalculated");
 		}
 		return environmentDefinition;
 	}
@@ -541,7 +636,7 @@ public class UncertaintyGeneration{
 	}
 	
 	/* Simply prints out an auto-path up to a particular number of transitions. Very specific to this
-	 * algorithm's ConsoleWindow.output calls, and so is in this class rather than SetNotationModule */
+	 * algorithm's Log calls, and so is in this class rather than SetNotationModule */
 	private static String printAutoFirePath(Vector<SetTransition> path,int endIndex){
 		StringBuffer output = new StringBuffer();
 		for(int i=0;i<=endIndex;i++){
@@ -0,0 +1,154 @@
+package GUI;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.SwingUtilities;
+
+import CommonStructures.TaskControl;
+import Logging.Log;
+
+/* A long operation started from the GUI, which runs on a background thread so that the GUI stays responsive. The operation
+ * itself is given by run(), which is called on the background thread and must not touch any GUI elements. Its result is handed
+ * back on the event dispatch thread to succeeded() (or failed() if it threw an exception), after which finished() is always called.
+ * While it runs, the task is shown in the task list of the Console Output window (see TaskStatusPanel) with its latest progress and a
+ * button to cancel it. A cancelled task's result is discarded and cancelled() is called instead. Cancelling interrupts the background
+ * thread, and operations which can stop early check isCancelled() between steps, or call TaskControl.checkpoint, which also shows
+ * the progress they pass it in the task list. Any number of tasks may run at once */
+public abstract class BackgroundTask<T> {
+
+	/* The threads on which tasks are run. These do not stop the program from exiting */
+	private static final ExecutorService threads = Executors.newCachedThreadPool(new ThreadFactory(){
+		public Thread newThread(Runnable task){
+			Thread thread = new Thread(task,"Background task");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/* The description of the task shown in the task list */
+	private String description;
+
+	/* Whether the task has been cancelled */
+	private volatile boolean cancelled = false;
+
+	/* The thread running the task, while it is running. This is only set, cleared or interrupted under the task's lock */
+	private Thread runningThread = null;
+
+	/* Constructs the task with the given description */
+	public BackgroundTask(String taskDescription) {
+		description=taskDescription;
+	}
+
+	/* Performs the operation on the background thread and returns its result */
+	protected abstract T run() throws Exception;
+
+	/* Called on the event dispatch thread with the result once the operation has completed, unless it was cancelled */
+	protected abstract void succeeded(T result);
+
+	/* Called on the event dispatch thread if the operation threw an exception, unless it was cancelled. By default the
+	 * failure is recorded in the console */
+	protected void failed(Exception failure) {
+		Log.error(description+" failed");
+	}
+
+	/* Called on the event dispatch thread if the task was cancelled, instead of succeeded or failed */
+	protected void cancelled() {
+		Log.info(description+" cancelled");
+	}
+
+	/* Called on the event dispatch thread once the task is over, however it ended */
+	protected void finished() {
+	}
+
+	/* Starts the task on a background thread. This must be called on the event dispatch thread */
+	public void start() {
+		TaskStatusPanel.instance.addTask(this);
+		threads.execute(new Runnable(){
+			public void run(){
+				synchronized(BackgroundTask.this){
+					runningThread=Thread.currentThread();
+				}
+				TaskControl.setProgressListener(new TaskControl.ProgressListener(){
+					public void progress(String progress){
+						reportProgress(progress);
+					}
+				});
+				T result = null;
+				Exception failure = null;
+				try{
+					if(!cancelled){
+						result=BackgroundTask.this.run();
+					}
+				}
+				catch(Exception e){
+					failure=e;
+				}
+				catch(StackOverflowError e){
+					failure = new Exception("Stack overflow");
+				}
+				catch(OutOfMemoryError e){
+					failure = new Exception("Out of memory");
+				}
+				finally{
+					/* Done under the task's lock, so that cancel() cannot interrupt the thread once it has gone back to the pool,
+					 * where it may be running the next task */
+					synchronized(BackgroundTask.this){
+						runningThread=null;
+						Thread.interrupted();
+					}
+					TaskControl.setProgressListener(null);
+				}
+				complete(result,failure);
+			}
+		});
+	}
+
+	/* Hands the outcome of the operation back to the event dispatch thread */
+	private void complete(final T result, final Exception failure) {
+		SwingUtilities.invokeLater(new Runnable(){
+			public void run(){
+				TaskStatusPanel.instance.removeTask(BackgroundTask.this);
+				try{
+					if(cancelled){
+						cancelled();
+					}
+					else if(failure!=null){
+						failed(failure);
+					}
+					else{
+						succeeded(result);
+					}
+				}
+				finally{
+					finished();
+				}
+			}
+		});
+	}
+
+	/* Cancels the task, interrupting the background thread if it is running. This may be called from any thread */
+	public synchronized void cancel() {
+		cancelled=true;
+		if(runningThread!=null){
+			runningThread.interrupt();
+		}
+	}
+
+	/* Returns whether the task has been cancelled. Operations which can stop early should check this between steps */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/* Gets the description of the task */
+	public String getDescription() {
+		return description;
+	}
+
+	/* Shows the given progress of the task in the task list. This may be called from the background thread */
+	protected void reportProgress(String progress) {
+		TaskStatusPanel.instance.updateProgress(this,progress);
+	}
+
+}
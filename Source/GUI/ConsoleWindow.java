@@ -1,19 +1,31 @@
 package GUI;
 
 import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultCaret;
 
+import Logging.Log;
+import Logging.LogSink;
+
 /* Class for generating the Console Output window. A static instance is created and then all
- * useful debug or algorithm info is passed to this window during run-time. */
+ * useful debug or algorithm info recorded by Log is passed to this window during run-time. Messages
+ * are collected from Log in batches on the event dispatch thread, and only the most recent lines are kept.
+ * Any background tasks which are running are listed below the output (see TaskStatusPanel) */
 @SuppressWarnings("serial")
-public class ConsoleWindow extends JFrame {
+public class ConsoleWindow extends JFrame implements LogSink {
 
 	public static ConsoleWindow instance = new ConsoleWindow();
 	
+	/* The maximum number of lines kept in the window, after which the oldest lines are removed */
+	private static final int MAX_LINES = 20000;
+	
 	private JTextArea TextArea = new JTextArea();
 	private JScrollPane TextAreaPane = new JScrollPane(TextArea);
-	private long currentOutputLine =0;
+	private JCheckBox TracingCheck = new JCheckBox("Detailed tracing (slows down large operations)");
 	
     public ConsoleWindow(){
     	super("Console Output");
@@ -22,25 +34,69 @@ public class ConsoleWindow extends JFrame {
     	DefaultCaret caret = (DefaultCaret)TextArea.getCaret();
     	caret.setUpdatePolicy(DefaultCaret.ALWAYS_UPDATE);
     	
+    	TracingCheck.setSelected(Log.tracing());
+    	TracingCheck.addActionListener(new ActionListener(){
+			public void actionPerformed(ActionEvent e) {
+				if(TracingCheck.isSelected()){
+					Log.setLevel(Log.TRACE);
+				}
+				else{
+					Log.setLevel(Log.INFO);
+				}
+			}
+    	});
+    	
         GroupLayout layout = new GroupLayout(getContentPane());
         this.getContentPane().setLayout(layout);
         layout.setHorizontalGroup(layout.createParallelGroup()
             .addComponent(TextAreaPane, GroupLayout.DEFAULT_SIZE, MainWindow.instance.getWidth()-16, Short.MAX_VALUE)
+            .addComponent(TracingCheck)
+            .addComponent(TaskStatusPanel.instance)
         );
-        layout.setVerticalGroup(layout.createParallelGroup()
+        layout.setVerticalGroup(layout.createSequentialGroup()
             .addComponent(TextAreaPane, GroupLayout.DEFAULT_SIZE, MainWindow.instance.getHeight()/4, Short.MAX_VALUE)
+            .addComponent(TracingCheck)
+            .addComponent(TaskStatusPanel.instance, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE)
         );
         
         this.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         this.pack();
         this.setMinimumSize(new Dimension(MainWindow.instance.minimumWidth,MainWindow.instance.minimumHeight/4));
         this.setVisible(true);
+        Log.setSink(this);
     }
 
-    /* Adds the specified string to the console output, and creates a new line */
+    /* Records the specified string as an INFO message, to be added to the console output as a new line. This is
+     * kept for the GUI listeners: the algorithms record their messages through Log directly */
 	public static void output(String out){
-    	instance.TextArea.append(instance.currentOutputLine+": "+out+"\n");
-    	instance.currentOutputLine++;
+		Log.info(out);
     }
 
+	/* Called by Log when messages are waiting. They are collected and appended on the event dispatch thread, in one
+	 * batch holding everything recorded by the time it runs */
+	public void messagesWaiting() {
+		SwingUtilities.invokeLater(new Runnable(){
+			public void run(){
+				String waiting = Log.drain();
+				if(waiting.length()>0){
+					TextArea.append(waiting);
+					trimLines();
+				}
+			}
+		});
+	}
+
+	/* Removes the oldest lines from the window once there are more than MAX_LINES */
+	private void trimLines() {
+		int excess = TextArea.getLineCount()-MAX_LINES;
+		if(excess>0){
+			try{
+				TextArea.replaceRange("",0,TextArea.getLineEndOffset(excess-1));
+			}
+			catch(BadLocationException e){
+				TextArea.setText("");
+			}
+		}
+	}
+
 }
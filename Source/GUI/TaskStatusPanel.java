@@ -0,0 +1,92 @@
+package GUI;
+
+import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.IdentityHashMap;
+
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+
+/* Panel in the Console Output window which lists the background tasks currently running (see BackgroundTask), each with
+ * its description, latest progress and a button to cancel it. The panel is empty when no tasks are running */
+@SuppressWarnings("serial")
+public class TaskStatusPanel extends JPanel {
+
+	public static TaskStatusPanel instance = new TaskStatusPanel();
+
+	/* The row of the panel showing each running task */
+	private IdentityHashMap<BackgroundTask<?>,TaskRow> rows = new IdentityHashMap<BackgroundTask<?>,TaskRow>();
+
+	/* A row of the panel, showing a single task */
+	private static class TaskRow extends JPanel {
+		private JLabel DescriptionLabel = new JLabel();
+		private JProgressBar ProgressBar = new JProgressBar();
+		private JButton CancelButton = new JButton("Cancel");
+		private String description;
+
+		TaskRow(final BackgroundTask<?> task) {
+			description=task.getDescription();
+			DescriptionLabel.setText("Running: "+description);
+			ProgressBar.setIndeterminate(true);
+			ProgressBar.setMaximumSize(new Dimension(120,ProgressBar.getPreferredSize().height));
+			CancelButton.addActionListener(new ActionListener(){
+				public void actionPerformed(ActionEvent e) {
+					CancelButton.setEnabled(false);
+					DescriptionLabel.setText("Cancelling: "+description);
+					task.cancel();
+				}
+			});
+			setLayout(new BoxLayout(this,BoxLayout.X_AXIS));
+			add(ProgressBar);
+			add(CancelButton);
+			add(DescriptionLabel);
+		}
+
+		void setProgress(String progress) {
+			if(CancelButton.isEnabled()){
+				DescriptionLabel.setText("Running: "+description+" ("+progress+")");
+			}
+		}
+	}
+
+	public TaskStatusPanel() {
+		setLayout(new BoxLayout(this,BoxLayout.Y_AXIS));
+	}
+
+	/* Adds a row for the given task. This is called on the event dispatch thread */
+	void addTask(BackgroundTask<?> task) {
+		TaskRow row = new TaskRow(task);
+		rows.put(task,row);
+		add(row);
+		revalidate();
+		repaint();
+	}
+
+	/* Removes the row of the given task. This is called on the event dispatch thread */
+	void removeTask(BackgroundTask<?> task) {
+		TaskRow row = rows.remove(task);
+		if(row!=null){
+			remove(row);
+			revalidate();
+			repaint();
+		}
+	}
+
+	/* Shows the given progress in the row of the given task. This may be called from any thread */
+	void updateProgress(final BackgroundTask<?> task, final String progress) {
+		SwingUtilities.invokeLater(new Runnable(){
+			public void run(){
+				TaskRow row = rows.get(task);
+				if(row!=null){
+					row.setProgress(progress);
+				}
+			}
+		});
+	}
+
+}
@@ -6,6 +6,7 @@ import javax.swing.JOptionPane;
 
 import ConstructionOperations.ConstructionCircuit;
 import ConstructionOperations.GenerateDecomposition;
+import GUI.BackgroundTask;
 import GUI.ConsoleWindow;
 import GUI.ConstructionTab;
 import InputOutputOperations.GeneralOperations;
@@ -125,10 +126,36 @@ public class ConstructionTabListener implements ActionListener {
 			ConsoleWindow.output("Module is arb, so cannot be constructed");
 			if(!storedSetModule.checkArb() || storedSetModule.checkEqArb()){
 				ConsoleWindow.output("Constructing Set Notation Module definition using Set Notation modules");
-				storedConstruction=GenerateDecomposition.generateDecomposition(storedSetModule);
-				ConstructionTab.instance.NetworkListTextArea.setText(storedConstruction.printCircuit());
-				ConstructionTab.instance.DISetTextArea.setText(storedConstruction.getDIAlgebraRepresentation());
-				ConsoleWindow.output("Construction complete");
+				final SetNotationModule module = storedSetModule;
+				ConstructionTab.instance.ConstructSetButton.setEnabled(false);
+				new BackgroundTask<ConstructionCircuit>("Constructing module"){
+					protected ConstructionCircuit run() throws Exception{
+						/* The construction changes the module's input sets as it goes, so it is given a copy */
+						return GenerateDecomposition.generateDecomposition(module.deepCopy());
+					}
+
+					protected void succeeded(ConstructionCircuit construction){
+						if(!stillCurrent()){
+							ConsoleWindow.output("Set Notation Module definition changed during construction, so the result has been discarded");
+							return;
+						}
+						storedConstruction=construction;
+						ConstructionTab.instance.NetworkListTextArea.setText(storedConstruction.printCircuit());
+						ConstructionTab.instance.DISetTextArea.setText(storedConstruction.getDIAlgebraRepresentation());
+						ConsoleWindow.output("Construction complete");
+					}
+
+					protected void finished(){
+						if(stillCurrent()){
+							ConstructionTab.instance.ConstructSetButton.setEnabled(true);
+						}
+					}
+
+					/* Whether the module constructed is still the stored one, and is not being edited */
+					private boolean stillCurrent(){
+						return storedSetModule==module && !editingSetModule;
+					}
+				}.start();
 			}
 		}
 	}
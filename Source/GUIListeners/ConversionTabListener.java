@@ -5,6 +5,7 @@ import java.awt.event.ActionListener;
 import javax.swing.JOptionPane;
 import ConversionOperations.SeqToSetConversion;
 import ConversionOperations.SetToSeqConversion;
+import GUI.BackgroundTask;
 import GUI.ConsoleWindow;
 import GUI.ConversionTab;
 //import InputOutputOperations.ConversionPresets;
@@ -221,24 +222,73 @@ public class ConversionTabListener implements ActionListener{
 		/* Converts the stored (ND) sequential machine definition to a Set Notation module definition */
 		else if(command.equals("Convert to Set Notation")){
 			ConsoleWindow.output("Converting Sequential Machine definition to Set Notation Module definition");
-			SetNotationModule conversionResult =SeqToSetConversion.convertToSet(storedSeqModule);
-			ConversionTab.instance.SetTextArea.setText(conversionResult.printModule());
-			ConversionTab.instance.ConvertToSeqButton.setEnabled(true);
-			storedSetModule=conversionResult;
-			validSetModule=true;
-			ConsoleWindow.output("Successfully converted to Set Notation Module");
+			final NDSequentialMachine module = storedSeqModule;
+			final boolean removeUnreachable = ConversionTab.instance.StateRemoval.isSelected();
+			ConversionTab.instance.ConvertToSetButton.setEnabled(false);
+			new BackgroundTask<SetNotationModule>("Converting to Set Notation Module"){
+				protected SetNotationModule run() throws Exception{
+					return SeqToSetConversion.convertToSet(module,removeUnreachable);
+				}
+
+				protected void succeeded(SetNotationModule conversionResult){
+					if(!stillCurrent()){
+						ConsoleWindow.output("Sequential Machine definition changed during conversion, so the result has been discarded");
+						return;
+					}
+					ConversionTab.instance.SetTextArea.setText(conversionResult.printModule());
+					ConversionTab.instance.ConvertToSeqButton.setEnabled(true);
+					storedSetModule=conversionResult;
+					validSetModule=true;
+					ConsoleWindow.output("Successfully converted to Set Notation Module");
+				}
+
+				protected void finished(){
+					if(stillCurrent()){
+						ConversionTab.instance.ConvertToSetButton.setEnabled(true);
+					}
+				}
+
+				/* Whether the definition converted is still the stored one, and neither definition is being edited */
+				private boolean stillCurrent(){
+					return storedSeqModule==module && !editingSeqModule && !editingSetModule;
+				}
+			}.start();
 		}
 		
 		/* Converts the stored Set Notation module definition to a (ND) sequential machine definition */
 		else if(command.equals("Convert to (ND) Sequential Machine")){
 			ConsoleWindow.output("Converting Set Notation Module definition to Sequential Machine definition");
-			NDSequentialMachine conversionResult =SetToSeqConversion.convertAnyToSeq(storedSetModule);
-			ConversionTab.instance.SeqTextArea.setText(conversionResult.printMainOnly(false));
-			ConversionTab.instance.AFuncTextArea.setText(conversionResult.printAFunction());
-			ConversionTab.instance.ConvertToSetButton.setEnabled(true);
-			storedSeqModule=conversionResult;
-			validSeqModule=true;
-			ConsoleWindow.output("Successfully converted to sequential machine");
+			final SetNotationModule module = storedSetModule;
+			ConversionTab.instance.ConvertToSeqButton.setEnabled(false);
+			new BackgroundTask<NDSequentialMachine>("Converting to Sequential Machine"){
+				protected NDSequentialMachine run(){
+					return SetToSeqConversion.convertAnyToSeq(module);
+				}
+
+				protected void succeeded(NDSequentialMachine conversionResult){
+					if(!stillCurrent()){
+						ConsoleWindow.output("Set Notation Module definition changed during conversion, so the result has been discarded");
+						return;
+					}
+					ConversionTab.instance.SeqTextArea.setText(conversionResult.printMainOnly(false));
+					ConversionTab.instance.AFuncTextArea.setText(conversionResult.printAFunction());
+					ConversionTab.instance.ConvertToSetButton.setEnabled(true);
+					storedSeqModule=conversionResult;
+					validSeqModule=true;
+					ConsoleWindow.output("Successfully converted to sequential machine");
+				}
+
+				protected void finished(){
+					if(stillCurrent()){
+						ConversionTab.instance.ConvertToSeqButton.setEnabled(true);
+					}
+				}
+
+				/* Whether the definition converted is still the stored one, and neither definition is being edited */
+				private boolean stillCurrent(){
+					return storedSetModule==module && !editingSeqModule && !editingSetModule;
+				}
+			}.start();
 		}
 	}
 
@@ -8,9 +8,13 @@ import javax.swing.JOptionPane;
 
 import DISetAlgebraLTSStructure.LTSDefinition;
 import DISetAlgebraLTSStructure.Simulation;
+import DISetAlgebraOperations.GenerationBudget;
+import DISetAlgebraOperations.InfiniteGrowthException;
 import DISetAlgebraOperations.LTSAnalysis;
 import DISetAlgebraOperations.LTSGeneration;
 import DISetAlgebraOperations.SimulationVerification;
+import DISetAlgebraStructure.PartiallyVisibleNetwork;
+import GUI.BackgroundTask;
 import GUI.ConsoleWindow;
 import GUI.DISetAlgebraLTSScreen;
 import GUI.DISetAlgebraTab;
@@ -37,6 +41,14 @@ public class DISetAlgebraLTSListener implements ActionListener {
 	/* Stores the simulation relation definition */
 	private Simulation storedSimulation= null;
 
+	/* The background tasks generating the LTS of the left and right networks, and verifying the simulation, while they are running */
+	private BackgroundTask<LTSDefinition> network1Task=null;
+	private BackgroundTask<LTSDefinition> network2Task=null;
+	private BackgroundTask<Boolean> verificationTask=null;
+
+	/* How long LTS generation runs between updates of the number of states shown, in milliseconds */
+	private static final long PROGRESS_INTERVAL = 250;
+
 	/* Records whether a valid LTS definition has been generated for the left network */
 	private boolean validNetwork1LTS=false;
 	
@@ -53,23 +65,7 @@ public class DISetAlgebraLTSListener implements ActionListener {
 
 		/* Generates the LTS for the left stored DI-Set algebra definition */
 		if(command.equals("GenerateLTS1Button")){
-			try {
-				ConsoleWindow.output("Generating LTS for network 1");
-				storedNetwork1LTS=LTSGeneration.computeLTS(DISetAlgebraMainListener.instance.getStoredNetwork(1),DISetAlgebraLTSScreen.instance.InfiniteDetectionCheck1.isSelected());
-				ConsoleWindow.output("LTS generation complete");
-			} catch (Exception e1) {
-			}
-			if(storedNetwork1LTS!=null){
-				validNetwork1LTS=true;
-				DISetAlgebraLTSScreen.instance.Network1TextArea.setText(storedNetwork1LTS.printAll());
-				DISetAlgebraLTSScreen.instance.AnalyseLTS1Button.setEnabled(true);
-				DISetAlgebraLTSScreen.instance.GenerateLTS1Button.setEnabled(false);
-				if(validNetwork2LTS){
-					DISetAlgebraLTSScreen.instance.ManualInputButton.setEnabled(true);
-					DISetAlgebraLTSScreen.instance.PresetLoadButton.setEnabled(true);
-					DISetAlgebraLTSScreen.instance.PresetSaveButton.setEnabled(true);
-				}
-			}
+			startLTSGeneration(1);
 		}	
 		
 		/* Analyses properties of the left network's LTS (clashing and safety) */
@@ -79,25 +75,9 @@ public class DISetAlgebraLTSListener implements ActionListener {
 			JOptionPane.showMessageDialog(null, "Clashes: "+LTSProperties[0]+"\nAlways safe: "+LTSProperties[1]);
 		}
 		
-		/* Generates the LTS for the left stored DI-Set algebra definition */
+		/* Generates the LTS for the right stored DI-Set algebra definition */
 		else if(command.equals("GenerateLTS2Button")){
-			try {
-				ConsoleWindow.output("Generating LTS for network 2");
-				storedNetwork2LTS=LTSGeneration.computeLTS(DISetAlgebraMainListener.instance.getStoredNetwork(2),DISetAlgebraLTSScreen.instance.InfiniteDetectionCheck2.isSelected());
-				ConsoleWindow.output("LTS generation complete");
-			} catch (Exception e1) {
-			}
-			if(storedNetwork2LTS!=null){
-				validNetwork2LTS=true;
-				DISetAlgebraLTSScreen.instance.Network2TextArea.setText(storedNetwork2LTS.printAll());
-				DISetAlgebraLTSScreen.instance.AnalyseLTS2Button.setEnabled(true);
-				DISetAlgebraLTSScreen.instance.GenerateLTS2Button.setEnabled(false);
-				if(validNetwork1LTS){
-					DISetAlgebraLTSScreen.instance.ManualInputButton.setEnabled(true);
-					DISetAlgebraLTSScreen.instance.PresetLoadButton.setEnabled(true);
-					DISetAlgebraLTSScreen.instance.PresetSaveButton.setEnabled(true);
-				}
-			}
+			startLTSGeneration(2);
 		}
 		
 		/* Analyses properties of the left network's LTS (clashing and safety) */
@@ -158,35 +138,7 @@ public class DISetAlgebraLTSListener implements ActionListener {
 			else{
 				simulationType=3;
 			}
-			boolean storedSimulations = SimulationVerification.validSimulation(storedSimulation,simulationType);
-			String initialPresence="";
-			if(!storedSimulation.pairPresent(0, 0)){
-				initialPresence=", but the initial state is not present for some reason";
-			}
-			if(simulationType==1){
-				if(storedSimulations){
-					JOptionPane.showMessageDialog(null, "Simulation is a valid bisimulation"+initialPresence);
-				}
-				else{
-					JOptionPane.showMessageDialog(null, "Simulation not a valid bisimulation"+initialPresence);
-				}
-			}
-			else if(simulationType==2){
-				if(storedSimulations){
-					JOptionPane.showMessageDialog(null, "Simulation is a valid simulation for network 1 simulating network 2"+initialPresence);
-				}
-				else{
-					JOptionPane.showMessageDialog(null, "Simulation not a valid simulation for network 1 simulating network 2"+initialPresence);
-				}
-			}
-			else if(simulationType==3){
-				if(storedSimulations){
-					JOptionPane.showMessageDialog(null, "Simulation is a valid simulation for network 2 simulating network 1"+initialPresence);
-				}
-				else{
-					JOptionPane.showMessageDialog(null, "Simulation not a valid simulation for network 2 simulating network 1"+initialPresence);
-				}
-			}
+			startVerification(storedSimulation,storedNetwork1LTS,storedNetwork2LTS,simulationType);
 		}
 		
 		/* Closes the LTS screen and returns the DI-Set Algebra tab to the Main screen */
@@ -241,6 +193,135 @@ public class DISetAlgebraLTSListener implements ActionListener {
 		}
 	}
 
+	/* Generates the LTS for the left (1) or right (2) stored DI-Set algebra definition on a background thread (see BackgroundTask).
+	 * Generation is carried out a fraction of a second at a time (see LTSGeneration.resumeLTS), so that the number of states found so far
+	 * can be shown and the task can be cancelled between steps */
+	private void startLTSGeneration(final int networkNumber){
+		final PartiallyVisibleNetwork network = DISetAlgebraMainListener.instance.getStoredNetwork(networkNumber);
+		final boolean infiniteDetection;
+		if(networkNumber==1){
+			infiniteDetection=DISetAlgebraLTSScreen.instance.InfiniteDetectionCheck1.isSelected();
+			DISetAlgebraLTSScreen.instance.GenerateLTS1Button.setEnabled(false);
+		}
+		else{
+			infiniteDetection=DISetAlgebraLTSScreen.instance.InfiniteDetectionCheck2.isSelected();
+			DISetAlgebraLTSScreen.instance.GenerateLTS2Button.setEnabled(false);
+		}
+		ConsoleWindow.output("Generating LTS for network "+networkNumber);
+
+		BackgroundTask<LTSDefinition> task = new BackgroundTask<LTSDefinition>("Generating LTS for network "+networkNumber){
+			protected LTSDefinition run() throws Exception{
+				GenerationBudget step = new GenerationBudget(0,0,PROGRESS_INTERVAL);
+				LTSDefinition definition = LTSGeneration.computeLTS(network,infiniteDetection,LTSGeneration.DEPTH_FIRST,false,step);
+				while(!definition.isComplete() && !isCancelled()){
+					reportProgress(definition.getNoOfStates()+" states so far");
+					LTSGeneration.resumeLTS(definition,step);
+				}
+				return definition;
+			}
+
+			protected void succeeded(LTSDefinition result){
+				ConsoleWindow.output("LTS generation complete");
+				if(networkNumber==1){
+					storedNetwork1LTS=result;
+					validNetwork1LTS=true;
+					DISetAlgebraLTSScreen.instance.Network1TextArea.setText(storedNetwork1LTS.printAll());
+					DISetAlgebraLTSScreen.instance.AnalyseLTS1Button.setEnabled(true);
+				}
+				else{
+					storedNetwork2LTS=result;
+					validNetwork2LTS=true;
+					DISetAlgebraLTSScreen.instance.Network2TextArea.setText(storedNetwork2LTS.printAll());
+					DISetAlgebraLTSScreen.instance.AnalyseLTS2Button.setEnabled(true);
+				}
+				if(validNetwork1LTS && validNetwork2LTS){
+					DISetAlgebraLTSScreen.instance.ManualInputButton.setEnabled(true);
+					DISetAlgebraLTSScreen.instance.PresetLoadButton.setEnabled(true);
+					DISetAlgebraLTSScreen.instance.PresetSaveButton.setEnabled(true);
+				}
+			}
+
+			protected void failed(Exception failure){
+				if(failure instanceof InfiniteGrowthException){
+					JOptionPane.showMessageDialog(null, "Infinite number of states detected. LTS generation halted. Check console for more details");
+				}
+				else{
+					super.failed(failure);
+				}
+			}
+
+			/* The screen may have been reset (cancelling this task) and a new task started since, in which case that task now owns the button */
+			protected void finished(){
+				if(networkNumber==1 && network1Task==this){
+					network1Task=null;
+					DISetAlgebraLTSScreen.instance.GenerateLTS1Button.setEnabled(!validNetwork1LTS && DISetAlgebraMainListener.instance.getNetworkValid(1));
+				}
+				else if(networkNumber==2 && network2Task==this){
+					network2Task=null;
+					DISetAlgebraLTSScreen.instance.GenerateLTS2Button.setEnabled(!validNetwork2LTS && DISetAlgebraMainListener.instance.getNetworkValid(2));
+				}
+			}
+		};
+		if(networkNumber==1){
+			network1Task=task;
+		}
+		else{
+			network2Task=task;
+		}
+		task.start();
+	}
+
+	/* Verifies the given simulation relation definition between the two given LTSs on a background thread (see BackgroundTask), and
+	 * tells the user whether it is valid once finished. The type of simulation is as described in SimulationVerification */
+	private void startVerification(final Simulation simulation, final LTSDefinition network1LTS, final LTSDefinition network2LTS, final int simulationType){
+		DISetAlgebraLTSScreen.instance.VerifyButton.setEnabled(false);
+		verificationTask = new BackgroundTask<Boolean>("Verifying simulation"){
+			protected Boolean run(){
+				return SimulationVerification.validSimulation(simulation,network1LTS,network2LTS,simulationType);
+			}
+
+			protected void succeeded(Boolean result){
+				boolean storedSimulations=result;
+				String initialPresence="";
+				if(!simulation.pairPresent(0, 0)){
+					initialPresence=", but the initial state is not present for some reason";
+				}
+				if(simulationType==1){
+					if(storedSimulations){
+						JOptionPane.showMessageDialog(null, "Simulation is a valid bisimulation"+initialPresence);
+					}
+					else{
+						JOptionPane.showMessageDialog(null, "Simulation not a valid bisimulation"+initialPresence);
+					}
+				}
+				else if(simulationType==2){
+					if(storedSimulations){
+						JOptionPane.showMessageDialog(null, "Simulation is a valid simulation for network 1 simulating network 2"+initialPresence);
+					}
+					else{
+						JOptionPane.showMessageDialog(null, "Simulation not a valid simulation for network 1 simulating network 2"+initialPresence);
+					}
+				}
+				else if(simulationType==3){
+					if(storedSimulations){
+						JOptionPane.showMessageDialog(null, "Simulation is a valid simulation for network 2 simulating network 1"+initialPresence);
+					}
+					else{
+						JOptionPane.showMessageDialog(null, "Simulation not a valid simulation for network 2 simulating network 1"+initialPresence);
+					}
+				}
+			}
+
+			protected void finished(){
+				if(verificationTask==this){
+					verificationTask=null;
+					DISetAlgebraLTSScreen.instance.VerifyButton.setEnabled(validSimulation);
+				}
+			}
+		};
+		verificationTask.start();
+	}
+
 	/* Attempts to build the simulation relation definition object for the entered (or loaded from preset) definition.
 	 * It utilises parsing functionality from ParseDISetAlgebraSimulation. */
 	public void loadSimulation(String input) {
@@ -295,6 +376,15 @@ public class DISetAlgebraLTSListener implements ActionListener {
 
 	/* Clears all LTS objects and the simulation definition and resets the DI-Set algebra tab's LTS screen */
 	public void resetLTSScreen(){
+		if(network1Task!=null){
+			network1Task.cancel();
+		}
+		if(network2Task!=null){
+			network2Task.cancel();
+		}
+		if(verificationTask!=null){
+			verificationTask.cancel();
+		}
 		DISetAlgebraLTSScreen.instance.AnalyseLTS1Button.setEnabled(false);
 		DISetAlgebraLTSScreen.instance.AnalyseLTS2Button.setEnabled(false);
 		DISetAlgebraLTSScreen.instance.PresetLoadButton.setEnabled(false);
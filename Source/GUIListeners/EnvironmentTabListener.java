@@ -5,6 +5,7 @@ import java.awt.event.ActionListener;
 import javax.swing.JOptionPane;
 import EnvironmentOperations.NonArbGeneration;
 import EnvironmentOperations.UncertaintyGeneration;
+import GUI.BackgroundTask;
 import GUI.ConsoleWindow;
 import GUI.EnvironmentTab;
 import InputOutputOperations.GeneralOperations;
@@ -134,9 +135,6 @@ public class EnvironmentTabListener implements ActionListener {
 		else if(command.equals("Generate Environment")){
 			if(algorithmType==1){
 				ConsoleWindow.output("Beginning environment generation (non-arb algorithm)");
-				storedEnvironment=NonArbGeneration.nonArb(storedSetModule);
-				EnvironmentTab.instance.EnvironmentTextArea.setText(storedEnvironment.printModule());
-				ConsoleWindow.output("Environment generation complete");
 			}
 			else if(algorithmType==2){
 				ConsoleWindow.output("Beginning environment generation (uncertainty algorithm)");
@@ -144,10 +142,43 @@ public class EnvironmentTabListener implements ActionListener {
 						+ "the first set refers to a set of pending input signals of the module, and the second set refers to a set of currently "
 						+ "travelling output signals from the module.");
 				ConsoleWindow.output("An \"uncertainty\" refers to a finite set of configurations of the form config1:config2:config3 etc.");
-				storedEnvironment=UncertaintyGeneration.generate(storedSetModule);
-				EnvironmentTab.instance.EnvironmentTextArea.setText(storedEnvironment.printModule());
-				ConsoleWindow.output("Environment generation complete");
 			}
+			else{
+				return;
+			}
+			final SetNotationModule module = storedSetModule;
+			final int algorithm = algorithmType;
+			final boolean removeDuplicates = EnvironmentTab.instance.StateRemoval.isSelected();
+			EnvironmentTab.instance.GenerateButton.setEnabled(false);
+			new BackgroundTask<SetNotationModule>("Generating environment"){
+				protected SetNotationModule run() throws Exception{
+					if(algorithm==1){
+						return NonArbGeneration.nonArb(module,removeDuplicates);
+					}
+					return UncertaintyGeneration.generate(module,removeDuplicates);
+				}
+
+				protected void succeeded(SetNotationModule environment){
+					if(!stillCurrent()){
+						ConsoleWindow.output("Set Notation Module definition changed during environment generation, so the result has been discarded");
+						return;
+					}
+					storedEnvironment=environment;
+					EnvironmentTab.instance.EnvironmentTextArea.setText(storedEnvironment.printModule());
+					ConsoleWindow.output("Environment generation complete");
+				}
+
+				protected void finished(){
+					if(stillCurrent()){
+						EnvironmentTab.instance.GenerateButton.setEnabled(true);
+					}
+				}
+
+				/* Whether the module the environment is for is still the stored one, and is not being edited */
+				private boolean stillCurrent(){
+					return storedSetModule==module && !editingSetModule;
+				}
+			}.start();
 		}
 	}
 
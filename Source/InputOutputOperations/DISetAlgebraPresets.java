@@ -5,7 +5,7 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
-import GUI.ConsoleWindow;
+import Logging.Log;
 import GUI.DISetAlgebraMainScreen;
 import GUIListeners.DISetAlgebraMainListener;
 
@@ -18,7 +18,7 @@ public class DISetAlgebraPresets {
 	 * in the DI-Set Algebra tab's Main screen */
 	public static void loadFileList(){
 		String extension=".dsa";
-		ConsoleWindow.output("Loading presets for DI-Set algebra");
+		Log.info("Loading presets for DI-Set algebra");
 		DISetAlgebraMainScreen.instance.Preset1Box.removeAllItems();
 		DISetAlgebraMainScreen.instance.Preset1Box.addItem("");
 		DISetAlgebraMainScreen.instance.Preset2Box.removeAllItems();
@@ -4,7 +4,7 @@ import java.util.Vector;
 
 import CommonStructures.IntSet;
 import CommonStructures.SetSet;
-import GUI.ConsoleWindow;
+import Logging.Log;
 import SequentialMachineStructure.NDSequentialMachine;
 import SequentialMachineStructure.SeqTransition;
 
@@ -18,7 +18,7 @@ public class ParseSequentialMachine{
 	public static NDSequentialMachine parse(String definitionString, String AFunctionString) throws Exception{	
 		NDSequentialMachine builtModule = parseMain(definitionString);
 		if(AFunctionString.equals("")){
-			ConsoleWindow.output("A function is empty. Auto-filling entirely with singleton inputs.");
+			Log.info("A function is empty. Auto-filling entirely with singleton inputs.");
 			completeAllowables(builtModule);
 		}
 		else{
@@ -29,7 +29,7 @@ public class ParseSequentialMachine{
 
 	/* Parses the sequential machine module definition given as a giant string (stripping out appropriate
 	 * white spaces, newline characters etc.), and checks syntactic correctness.
-	 * See ConsoleWindow.output calls below for more information as to what operations are performed at each point */
+	 * See Log calls below for more information as to what operations are performed at each point */
 	public static NDSequentialMachine parseMain(String definitionString) throws Exception{
 
 		/* Create empty module to store parsed data */
@@ -47,14 +47,14 @@ public class ParseSequentialMachine{
 		/* Variable to store state name once detected */
 		String stateName;
 
-		ConsoleWindow.output("Building list of state names");
+		Log.info("Building list of state names");
 		
 		/* For each line */
 		for(int i=0;i<linesOfDefinition.length;i++){
 
 			/* Check the current line is not empty */
 			if(linesOfDefinition[i].length()==0){
-				ConsoleWindow.output("Empty line defined. Please tidy");
+				Log.error("Empty line defined. Please tidy");
 				throw new Exception();
 			}
 
@@ -64,23 +64,23 @@ public class ParseSequentialMachine{
 			stateName = splitAtEquals[0];
 			
 			if(splitAtEquals.length!=2){
-				ConsoleWindow.output("Problem detecting equals sign on "+i+"th line");
+				Log.error("Problem detecting equals sign on "+i+"th line");
 				throw new Exception();
 			}
 			
 			/* Check the current char is alphanumeric */
 			if(!GeneralOperations.alphaNumeric(stateName,false)){
-				ConsoleWindow.output("Non alpha-numeric char detected in state name. Parsing cancelled");
+				Log.error("Non alpha-numeric char detected in state name. Parsing cancelled");
 				throw new Exception();
 			}
 			
 			if(!builtModule.addStateName(stateName)){
-				ConsoleWindow.output("Duplicate state defined. Please check and try again");
+				Log.error("Duplicate state defined. Please check and try again");
 				throw new Exception();
 			}
 			
 		}
-		ConsoleWindow.output("List of state names built successfully");
+		Log.info("List of state names built successfully");
 
 		/* For every line */
 		for(int i=0; i<linesOfDefinition.length;i++){
@@ -91,8 +91,8 @@ public class ParseSequentialMachine{
 			
 			String stateBody = linesOfDefinition[i].substring(stateName.length()+1, linesOfDefinition[i].length());
 
-			ConsoleWindow.output("Reading data for "+i+"th state:" + stateName);
-			ConsoleWindow.output("Parsing list of actions for module definition line");
+			Log.info("Reading data for "+i+"th state:" + stateName);
+			Log.info("Parsing list of actions for module definition line");
 			
 			String[] listOfActions = stateBody.split("\\Q+\\E");
 			for(int j=0;j<listOfActions.length;j++){
@@ -100,23 +100,23 @@ public class ParseSequentialMachine{
 				int currentInput;
 				IntSet currentOutputSet = new IntSet();
 				
-				ConsoleWindow.output("Parsing new action for module definition line. String is \""+listOfActions[j]+"\"");
+				Log.info("Parsing new action for module definition line. String is \""+listOfActions[j]+"\"");
 				
 				String[] splitAtStateDot = listOfActions[j].split("\\Q.\\E");
 				if(splitAtStateDot.length!=2){
-					ConsoleWindow.output("Error parsing action. Problem detecting dot separating IO set and resulting state");
+					Log.error("Error parsing action. Problem detecting dot separating IO set and resulting state");
 					throw new Exception();
 				}
 				String IOsetWithBrackets = splitAtStateDot[0];
 				String currentResultState = splitAtStateDot[1];
 				
 				if(!GeneralOperations.alphaNumeric(currentResultState,false)){
-					ConsoleWindow.output("Non alpha-numeric char detected in resulting module name. Parsing cancelled");
+					Log.error("Non alpha-numeric char detected in resulting module name. Parsing cancelled");
 					throw new Exception();
 				}
 				
 				if(IOsetWithBrackets.charAt(0)!='(' || IOsetWithBrackets.charAt(IOsetWithBrackets.length()-1)!=')'){
-					ConsoleWindow.output("Error parsing action. Problem detecting brackets which surround IO set");
+					Log.error("Error parsing action. Problem detecting brackets which surround IO set");
 					throw new Exception();
 				}
 				String IOset = IOsetWithBrackets.substring(1,IOsetWithBrackets.length()-1);
@@ -124,35 +124,35 @@ public class ParseSequentialMachine{
 				String[] IOsplitAtComma = IOset.split("\\Q,{\\E");
 				
 				if(IOsplitAtComma.length!=2){
-					ConsoleWindow.output("Error parsing action. Problem detecting division between input name and output set");
+					Log.error("Error parsing action. Problem detecting division between input name and output set");
 					throw new Exception();
 				}
 				
 				if(IOsplitAtComma[1].charAt(IOsplitAtComma[1].length()-1)!='}'){
-					ConsoleWindow.output("Error parsing action. Problem detecting closing bracket of output set");
+					Log.error("Error parsing action. Problem detecting closing bracket of output set");
 					throw new Exception();
 				}
 				
 				if(!GeneralOperations.alphaNumeric(IOsplitAtComma[0],false)){
-							ConsoleWindow.output("Non alpha-numeric char detected in input name. Parsing cancelled");
+							Log.error("Non alpha-numeric char detected in input name. Parsing cancelled");
 							throw new Exception();
 				}
 				builtModule.addInputName(IOsplitAtComma[0]);
 				currentInput=builtModule.getInputIndex(IOsplitAtComma[0]);
 				
 				if(IOsplitAtComma[1].length()==1){
-					ConsoleWindow.output("Empty output set detected");
+					Log.info("Empty output set detected");
 				}
 				else{
 					String[] outputItems = IOsplitAtComma[1].substring(0,IOsplitAtComma[1].length()-1).split(",");
 					for(int k=0;k<outputItems.length;k++){
 						if(!GeneralOperations.alphaNumeric(outputItems[k],false)){
-							ConsoleWindow.output("Non alpha-numeric char detected in output name. Parsing cancelled");
+							Log.error("Non alpha-numeric char detected in output name. Parsing cancelled");
 							throw new Exception();
 						}
 						for(int l=0;l<k;l++){
 							if(outputItems[l].equals(outputItems[k])){
-								ConsoleWindow.output("Multiset output detected with output name "+ outputItems[k]+". Parsing cancelled");
+								Log.error("Multiset output detected with output name "+ outputItems[k]+". Parsing cancelled");
 								throw new Exception();
 							}
 						}
@@ -163,7 +163,7 @@ public class ParseSequentialMachine{
 				}
 				
 				if(builtModule.getStateIndex(currentResultState)==-1){
-					ConsoleWindow.output("Resulting state \""+currentResultState+"\" is undefined! Parsing cancelled");
+					Log.info("Resulting state \""+currentResultState+"\" is undefined! Parsing cancelled");
 				}
 
 				/* Build actual transition */
@@ -171,26 +171,26 @@ public class ParseSequentialMachine{
 						currentInput,builtModule.getStateIndex(currentResultState),currentOutputSet,builtModule);
 				builtModule.addTransition(transition);
 
-				ConsoleWindow.output("Successfully parsed action: "+transition.printStringAction(false));
+				Log.info("Successfully parsed action: "+transition.printStringAction(false));
 			}
 			
 		}
 		if(builtModule.duplicateTransitions()){
-			ConsoleWindow.output("Duplicate transitions detected - please fix. Parsing cancelled");
+			Log.error("Duplicate transitions detected - please fix. Parsing cancelled");
 			throw new Exception();
 		}
 		if(builtModule.duplicateStates()){
-			ConsoleWindow.output("Duplicate state bodies detected - please fix. Parsing cancelled");
+			Log.error("Duplicate state bodies detected - please fix. Parsing cancelled");
 			throw new Exception();
 		}		
-		ConsoleWindow.output("Parsing of module completed successfully, module is: "+builtModule.printMainOnly(false));
+		Log.info("Parsing of module completed successfully, module is: "+builtModule.printMainOnly(false));
 		
 		return builtModule;
 	}	
 	
 	/* Parses the Set Notation module's A function definition given as a giant string (stripping out appropriate
 	 * white spaces, newline characters etc.), and checks syntactic correctness.
-	 * See ConsoleWindow.output calls below for more information as to what operations are performed at each point */
+	 * See Log calls below for more information as to what operations are performed at each point */
 	public static NDSequentialMachine parseAllowables(NDSequentialMachine builtModule, String AFunctionString) throws Exception{
 
 		AFunctionString=AFunctionString.replaceAll("\\s+","");
@@ -199,7 +199,7 @@ public class ParseSequentialMachine{
 		/* Split input into lines via semi-colons */
 		String[] linesOfAFunction = AFunctionString.split(";");
 
-		ConsoleWindow.output("Parsing allowable set data");
+		Log.info("Parsing allowable set data");
 
 		/*for every line */
 		for(int i=0; i<linesOfAFunction.length;i++){
@@ -211,14 +211,14 @@ public class ParseSequentialMachine{
 
 			
 			if(splitAtEquals.length!=2){
-				ConsoleWindow.output("Problem detecting equals sign on "+i+"th line");
+				Log.error("Problem detecting equals sign on "+i+"th line");
 				throw new Exception();
 			}
 			
 			stateName=splitAtEquals[0];
 
 			if(!GeneralOperations.alphaNumeric(stateName,false)){
-				ConsoleWindow.output("Non alpha-numeric char detected in state name. Parsing cancelled");
+				Log.error("Non alpha-numeric char detected in state name. Parsing cancelled");
 				throw new Exception();
 			}
 			
@@ -230,34 +230,34 @@ public class ParseSequentialMachine{
 			}
 			
 			if(!defined){
-				ConsoleWindow.output("State name in A function not in main definition. Parsing cancelled");
+				Log.error("State name in A function not in main definition. Parsing cancelled");
 				throw new Exception();
 			}
 			
 			if(builtModule.getAFunction().getState(builtModule.getStateIndex(stateName)).size()>0){
-				ConsoleWindow.output("Duplicate state definition detected");
+				Log.error("Duplicate state definition detected");
 				throw new Exception();
 			}
 
-			ConsoleWindow.output("Reading allowable inputs for state: "+stateName);
+			Log.info("Reading allowable inputs for state: "+stateName);
 			
 			String stateBody = splitAtEquals[1];
 			
 			if(stateBody.charAt(0)!='{' || stateBody.charAt(stateBody.length()-1)!='}'){
-				ConsoleWindow.output("Problem with brackets surrounding set of sets. Parsing cancelled");
+				Log.error("Problem with brackets surrounding set of sets. Parsing cancelled");
 				throw new Exception();
 			}
 			
 			String[] listOfSets = stateBody.substring(1,stateBody.length()-1).split("\\Q},{\\E");
 			
 			if(listOfSets[0].charAt(0)!='{'){
-				ConsoleWindow.output("Missing opening bracket of first set");
+				Log.error("Missing opening bracket of first set");
 				throw new Exception();
 			}
 			listOfSets[0]=listOfSets[0].substring(1, listOfSets[0].length());
 			
 			if(listOfSets[listOfSets.length-1].charAt(listOfSets[listOfSets.length-1].length()-1)!='}'){
-				ConsoleWindow.output("Missing closing bracket of last set");
+				Log.error("Missing closing bracket of last set");
 				throw new Exception();
 			}
 			listOfSets[listOfSets.length-1]=listOfSets[listOfSets.length-1].substring(0,listOfSets[listOfSets.length-1].length()-1);
@@ -267,41 +267,41 @@ public class ParseSequentialMachine{
 				String[] listOfInputs = listOfSets[j].split(",");
 				for(int k=0;k<listOfInputs.length;k++){
 					if(!GeneralOperations.alphaNumeric(listOfInputs[k],false)){
-						ConsoleWindow.output("Non alpha-numeric char detected in A set input. Parsing cancelled");
+						Log.error("Non alpha-numeric char detected in A set input. Parsing cancelled");
 						throw new Exception();
 					}
 					int index = builtModule.getInputIndex(listOfInputs[k]);
 					if(index==-1){
-						ConsoleWindow.output("Unrecognised input name in A function. Parsing cancelled");
+						Log.error("Unrecognised input name in A function. Parsing cancelled");
 						throw new Exception();
 					}
 					builtSet.add(index);
 				}
 				builtModule.getAFunction().addSetToState(builtSet, builtModule.getStateIndex(stateName));
-				ConsoleWindow.output("Added allowable set "+builtSet.printStringRepresentation(builtModule.getInputNames())+" to state "+stateName);
+				Log.info("Added allowable set "+builtSet.printStringRepresentation(builtModule.getInputNames())+" to state "+stateName);
 			}
 			
 		}
 		
-		ConsoleWindow.output("Checking for undefined inputs in sets of A function.");
+		Log.info("Checking for undefined inputs in sets of A function.");
 		
 		if(!checkInputsDefined(builtModule)){
-			ConsoleWindow.output("Undefined inputs in A function. Please correct");
+			Log.error("Undefined inputs in A function. Please correct");
 			throw new Exception();
 		}
-		ConsoleWindow.output("No undefined inputs in sets of A function.");
-		ConsoleWindow.output("Checking for duplicate sets in A function.");
+		Log.info("No undefined inputs in sets of A function.");
+		Log.info("Checking for duplicate sets in A function.");
 		
 		if(checkDuplicateSets(builtModule)){
-			ConsoleWindow.output("Duplicate sets in A function. Please correct");
+			Log.error("Duplicate sets in A function. Please correct");
 			throw new Exception();
 		}
-		ConsoleWindow.output("No duplicate sets in A function.");
-		ConsoleWindow.output("Auto-completing any singleton inputs which aren't defined in A function.");
+		Log.info("No duplicate sets in A function.");
+		Log.info("Auto-completing any singleton inputs which aren't defined in A function.");
 		
 		completeAllowables(builtModule);
 		
-		ConsoleWindow.output("A function seems fine.");
+		Log.info("A function seems fine.");
 		return builtModule;
 	} 
 	
@@ -361,7 +361,7 @@ public class ParseSequentialMachine{
 					}
 				}
 				if(!found){
-					ConsoleWindow.output("Auto-filling singleton allowable set for input "+
+					Log.info("Auto-filling singleton allowable set for input "+
 							builtModule.getInputName(currentInput) +" in state "+builtModule.getStateName(i));
 					IntSet freshSingletonSet = new IntSet();
 					freshSingletonSet.add(currentInput);
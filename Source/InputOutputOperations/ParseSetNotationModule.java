@@ -1,7 +1,7 @@
 package InputOutputOperations;
 
 import CommonStructures.IntSet;
-import GUI.ConsoleWindow;
+import Logging.Log;
 import SetNotationStructure.SetNotationModule;
 import SetNotationStructure.SetTransition;
 
@@ -11,7 +11,7 @@ public class ParseSetNotationModule{
 
 	/* Parses the Set Notation module definition given as a giant string (stripping out appropriate
 	 * white spaces, newline characters etc.), and checks syntactic correctness.
-	 * See ConsoleWindow.output calls below for more information as to what operations are performed at each point */
+	 * See Log calls below for more information as to what operations are performed at each point */
 	public static SetNotationModule parse(String definitionString) throws Exception{
 
 		/* Create empty module to store parsed data */
@@ -29,14 +29,14 @@ public class ParseSetNotationModule{
 		/* Variable to store state name once detected */
 		String stateName;
 
-		ConsoleWindow.output("Building list of state names");
+		Log.info("Building list of state names");
 		
 		/* For each line */
 		for(int i=0;i<linesOfDefinition.length;i++){
 
 			/* Check the currentline is not empty */
 			if(linesOfDefinition[i].length()==0){
-				ConsoleWindow.output("Empty line defined. Please tidy");
+				Log.error("Empty line defined. Please tidy");
 				throw new Exception();
 			}
 
@@ -46,23 +46,23 @@ public class ParseSetNotationModule{
 			stateName = splitAtEquals[0];
 			
 			if(splitAtEquals.length!=2){
-				ConsoleWindow.output("Problem detecting equals sign on "+i+"th line");
+				Log.error("Problem detecting equals sign on "+i+"th line");
 				throw new Exception();
 			}
 			
 			/* Check the current char is alphanumeric */
 			if(!GeneralOperations.alphaNumeric(stateName,false)){
-				ConsoleWindow.output("Non alpha-numeric char detected in state name. Parsing cancelled");
+				Log.error("Non alpha-numeric char detected in state name. Parsing cancelled");
 				throw new Exception();
 			}
 			
 			if(!builtModule.addStateName(stateName)){
-				ConsoleWindow.output("Duplicate state defined. Please check and try again");
+				Log.error("Duplicate state defined. Please check and try again");
 				throw new Exception();
 			}
 			
 		}
-		ConsoleWindow.output("List of state names built successfully");
+		Log.info("List of state names built successfully");
 
 		/* For every line */
 		for(int i=0; i<linesOfDefinition.length;i++){
@@ -73,8 +73,8 @@ public class ParseSetNotationModule{
 			
 			String stateBody = linesOfDefinition[i].substring(stateName.length()+1, linesOfDefinition[i].length());
 
-			ConsoleWindow.output("Reading data for "+i+"th state:" + stateName);
-			ConsoleWindow.output("Parsing list of actions for module definition line");
+			Log.info("Reading data for "+i+"th state:" + stateName);
+			Log.info("Parsing list of actions for module definition line");
 
 			
 			String[] listOfActions = stateBody.split("\\Q+\\E");
@@ -83,23 +83,23 @@ public class ParseSetNotationModule{
 				IntSet currentInputSet = new IntSet();
 				IntSet currentOutputSet = new IntSet();
 				
-				ConsoleWindow.output("Parsing new action for module definition line. String is \""+listOfActions[j]+"\"");
+				Log.info("Parsing new action for module definition line. String is \""+listOfActions[j]+"\"");
 				
 				String[] splitAtStateDot = listOfActions[j].split("\\Q.\\E");
 				if(splitAtStateDot.length!=2){
-					ConsoleWindow.output("Error parsing action. Problem detecting dot separating IO set and builtModuleing state");
+					Log.error("Error parsing action. Problem detecting dot separating IO set and builtModuleing state");
 					throw new Exception();
 				}
 				String IOsetWithBrackets = splitAtStateDot[0];
 				String currentResultState = splitAtStateDot[1];
 				
 				if(!GeneralOperations.alphaNumeric(currentResultState ,false)){
-					ConsoleWindow.output("Non alpha-numeric char detected in builtModuleing module name. Parsing cancelled");
+					Log.error("Non alpha-numeric char detected in builtModuleing module name. Parsing cancelled");
 					throw new Exception();
 				}
 				
 				if(IOsetWithBrackets.charAt(0)!='(' || IOsetWithBrackets.charAt(IOsetWithBrackets.length()-1)!=')'){
-					ConsoleWindow.output("Error parsing action. Problem detecting brackets which surround IO set");
+					Log.error("Error parsing action. Problem detecting brackets which surround IO set");
 					throw new Exception();
 				}
 				
@@ -107,34 +107,34 @@ public class ParseSetNotationModule{
 				String[] IOsplitAtComma = IOset.split("\\Q},{\\E");
 				
 				if(IOsplitAtComma.length!=2){
-					ConsoleWindow.output("Error parsing action. Problem detecting division between I and O sets");
+					Log.error("Error parsing action. Problem detecting division between I and O sets");
 					throw new Exception();
 				}
 				
 				if(IOsplitAtComma[0].charAt(0)!='{'){
-					ConsoleWindow.output("Error parsing action. Problem detecting opening bracket of input set");
+					Log.error("Error parsing action. Problem detecting opening bracket of input set");
 					throw new Exception();
 				}
 				
 				if(IOsplitAtComma[1].charAt(IOsplitAtComma[1].length()-1)!='}'){
-					ConsoleWindow.output("Error parsing action. Problem detecting closing bracket of output set");
+					Log.error("Error parsing action. Problem detecting closing bracket of output set");
 					throw new Exception();
 				}
 				
 				if(IOsplitAtComma[0].length()==1){
-					ConsoleWindow.output("Empty input set detected. Not allowed for set notation. Parsing cancelled!");
+					Log.error("Empty input set detected. Not allowed for set notation. Parsing cancelled!");
 					throw new Exception();
 				}
 				else{
 					String[] inputItems = IOsplitAtComma[0].substring(1,IOsplitAtComma[0].length()).split(",");
 					for(int k=0;k<inputItems.length;k++){
 						if(!GeneralOperations.alphaNumeric(inputItems[k],false)){
-							ConsoleWindow.output("Non alpha-numeric char detected in input name. Parsing cancelled");
+							Log.error("Non alpha-numeric char detected in input name. Parsing cancelled");
 							throw new Exception();
 						}
 						for(int l=0;l<k;l++){
 							if(inputItems[l].equals(inputItems[k])){
-								ConsoleWindow.output("Multiset input detected with input name "+ inputItems[k]+". Parsing cancelled");
+								Log.error("Multiset input detected with input name "+ inputItems[k]+". Parsing cancelled");
 								throw new Exception();
 							}
 						}
@@ -144,19 +144,19 @@ public class ParseSetNotationModule{
 				}	
 	
 				if(IOsplitAtComma[1].length()==1){
-					ConsoleWindow.output("Empty output set detected. Not allowed for set notation. Parsing cancelled!");
+					Log.error("Empty output set detected. Not allowed for set notation. Parsing cancelled!");
 					throw new Exception();
 				}
 				else{
 					String[] outputItems = IOsplitAtComma[1].substring(0,IOsplitAtComma[1].length()-1).split(",");
 					for(int k=0;k<outputItems.length;k++){
 						if(!GeneralOperations.alphaNumeric(outputItems[k],false)){
-							ConsoleWindow.output("Non alpha-numeric char detected in output name. Parsing cancelled");
+							Log.error("Non alpha-numeric char detected in output name. Parsing cancelled");
 							throw new Exception();
 						}
 						for(int l=0;l<k;l++){
 							if(outputItems[l].equals(outputItems[k])){
-								ConsoleWindow.output("Multiset output detected with output name "+ outputItems[k]+". Parsing cancelled");
+								Log.error("Multiset output detected with output name "+ outputItems[k]+". Parsing cancelled");
 								throw new Exception();
 							}
 						}
@@ -166,7 +166,7 @@ public class ParseSetNotationModule{
 				}
 				
 				if(builtModule.getStateIndex(currentResultState)==-1){
-					ConsoleWindow.output("Resulting state \""+currentResultState +"\" is undefined! Parsing cancelled");
+					Log.info("Resulting state \""+currentResultState +"\" is undefined! Parsing cancelled");
 				}
 
 				/* Build transition */
@@ -174,21 +174,21 @@ public class ParseSetNotationModule{
 						builtModule.getStateIndex(currentResultState),currentOutputSet,builtModule);
 				builtModule.addTransition(transition);
 
-				ConsoleWindow.output("Successfully parsed action: "+transition.printStringAction());
+				Log.info("Successfully parsed action: "+transition.printStringAction());
 			}
 			
 		}
 		
 		if(builtModule.duplicateTransitions()){
-			ConsoleWindow.output("Duplicate transitions detected - please fix. Parsing cancelled");
+			Log.error("Duplicate transitions detected - please fix. Parsing cancelled");
 			throw new Exception();
 		}
 		if(builtModule.duplicateStates()){
-			ConsoleWindow.output("Duplicate state bodies detected - please fix. Parsing cancelled");
+			Log.error("Duplicate state bodies detected - please fix. Parsing cancelled");
 			throw new Exception();
 		}
 
-		ConsoleWindow.output("Parsing of module completed successfully, module is: "+builtModule.printModule());
+		Log.info("Parsing of module completed successfully, module is: "+builtModule.printModule());
 		
 		return builtModule;
 	}
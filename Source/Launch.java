@@ -1,3 +1,4 @@
+import CommandLine.BatchRunner;
 import GUI.MainWindow;
 
 /* Class used simply to launch the program*/
@@ -7,8 +8,13 @@ public class Launch {
 	@SuppressWarnings("unused")
 	public static void main(String[] args){
 		
+		/* If an operation is given on the command line then it is run without the GUI (see BatchRunner) */
+		if(args.length>0){
+			System.exit(BatchRunner.run(args));
+		}
+
 		/*Simply spawns the main GUI*/
 		MainWindow main = new MainWindow();		
 	}
 	
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package Logging;
+
+/* Records the debug and algorithm information produced while the software runs, for display in the Console Output window
+ * (or any other LogSink). Each message has a level, and messages above the current verbosity level are discarded straight away,
+ * so detailed tracing costs almost nothing while it is turned off (callers building costly messages should check tracing() first,
+ * or pass a LogMessage). Recorded messages are numbered and held in a bounded ring buffer until the sink collects them in a
+ * batch, so the algorithms never wait on the sink. If the buffer fills up before the sink collects it, the oldest messages are
+ * dropped and a note of how many were lost is given to the sink instead. All methods are thread-safe */
+public class Log {
+
+	/* Message levels, in increasing order of verbosity. ERROR is used for problems reported to the user (e.g. a definition
+	 * which cannot be parsed), INFO for the main steps and results of an operation, and TRACE for the detail of each step
+	 * (e.g. every state and transition of an LTS) */
+	public static final int ERROR = 0;
+	public static final int INFO = 1;
+	public static final int TRACE = 2;
+
+	/* The number of messages which may be waiting for the sink before the oldest are dropped */
+	public static final int CAPACITY = 8192;
+
+	/* The current verbosity level: messages with a higher level are discarded */
+	private static volatile int level = INFO;
+
+	/* The ring buffer of messages waiting for the sink, starting at index head */
+	private static String[] buffer = new String[CAPACITY];
+	private static int head = 0;
+	private static int size = 0;
+
+	/* The number of messages dropped from the buffer since the sink last collected it */
+	private static long dropped = 0;
+
+	/* The number given to the next message recorded */
+	private static long nextMessageNo = 0;
+
+	/* The sink which collects the messages, if any, and whether it has been told that messages are waiting */
+	private static LogSink sink = null;
+	private static boolean sinkNotified = false;
+
+	/* Sets the verbosity level */
+	public static void setLevel(int newLevel) {
+		level=newLevel;
+	}
+
+	/* Gets the verbosity level */
+	public static int getLevel() {
+		return level;
+	}
+
+	/* Checks whether messages of the given level are currently recorded */
+	public static boolean isEnabled(int messageLevel) {
+		return messageLevel<=level;
+	}
+
+	/* Checks whether TRACE messages are currently recorded */
+	public static boolean tracing() {
+		return TRACE<=level;
+	}
+
+	/* Records the given ERROR message */
+	public static void error(String message) {
+		output(ERROR,message);
+	}
+
+	/* Records the given INFO message */
+	public static void info(String message) {
+		output(INFO,message);
+	}
+
+	/* Records the given TRACE message */
+	public static void trace(String message) {
+		output(TRACE,message);
+	}
+
+	/* Records the given TRACE message, only building it if tracing is enabled */
+	public static void trace(LogMessage message) {
+		if(tracing()){
+			output(TRACE,message.build());
+		}
+	}
+
+	/* Records the given message at the given level, if that level is enabled, and tells the sink that messages are waiting */
+	public static void output(int messageLevel, String message) {
+		if(messageLevel>level){
+			return;
+		}
+		LogSink toNotify = null;
+		synchronized(Log.class){
+			String numbered = nextMessageNo+": "+message;
+			nextMessageNo++;
+			if(size==CAPACITY){
+				buffer[head]=numbered;
+				head=(head+1)%CAPACITY;
+				dropped++;
+			}
+			else{
+				buffer[(head+size)%CAPACITY]=numbered;
+				size++;
+			}
+			if(sink!=null && !sinkNotified){
+				sinkNotified=true;
+				toNotify=sink;
+			}
+		}
+		if(toNotify!=null){
+			toNotify.messagesWaiting();
+		}
+	}
+
+	/* Collects every waiting message, one per line, and empties the buffer. This is called by the sink once it has been
+	 * told that messages are waiting, after which it will be told again when the next message is recorded */
+	public static synchronized String drain() {
+		StringBuffer output = new StringBuffer();
+		if(dropped>0){
+			output.append("("+dropped+" earlier messages were recorded faster than they could be displayed, and have been dropped)\n");
+		}
+		for(int i=0;i<size;i++){
+			int index = (head+i)%CAPACITY;
+			output.append(buffer[index]);
+			output.append("\n");
+			buffer[index]=null;
+		}
+		head=0;
+		size=0;
+		dropped=0;
+		sinkNotified=false;
+		return output.toString();
+	}
+
+	/* Sets the sink which collects the messages. If messages are already waiting then it is told straight away */
+	public static void setSink(LogSink newSink) {
+		boolean notify;
+		synchronized(Log.class){
+			sink=newSink;
+			sinkNotified = sink!=null && size>0;
+			notify=sinkNotified;
+		}
+		if(notify){
+			newSink.messagesWaiting();
+		}
+	}
+
+}
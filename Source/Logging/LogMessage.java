@@ -0,0 +1,10 @@
+package Logging;
+
+/* A message which is only built if it is going to be recorded, for messages which are costly to build
+ * (for example those printing a whole network term) */
+public interface LogMessage {
+
+	/* Builds the text of the message */
+	public String build();
+
+}
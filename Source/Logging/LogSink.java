@@ -0,0 +1,11 @@
+package Logging;
+
+/* A destination for the messages recorded by Log, such as the Console Output window. Rather than being handed each
+ * message as it is recorded, a sink is told when messages are waiting, and then collects everything recorded so far in one
+ * batch with Log.drain, on whichever thread suits it. It is not told again until it has drained the messages */
+public interface LogSink {
+
+	/* Called (on the thread recording a message) when messages are waiting to be drained */
+	public void messagesWaiting();
+
+}
@@ -0,0 +1,95 @@
+package SetNotationStructure;
+
+import java.util.Vector;
+
+import CommonStructures.IntSet;
+
+/* A node in the graph of auto-fire paths of a Set Notation module (see SetNotationModule.getAutoFireNode). A node
+ * stands for a state of the module together with the set of input signals still pending there, and holds the
+ * transitions which are enabled from it, each paired with the node reached by firing it. The node for a given
+ * state and set of pending inputs is only built once per module, so paths which reach the same state with the same
+ * inputs pending share the rest of their paths, rather than each path being stored as a separate list. As every
+ * transition absorbs at least one pending input, the graph has no cycles.
+ *
+ * A node with no enabled transitions is the end of an autopath. Each autopath from a node is therefore a sequence
+ * of enabled transitions leading to such a node, in the same order that SetNotationModule.getAutoFiredPaths lists them */
+public class AutoFireNode {
+
+	/* The state of the module at this node */
+	private int state;
+
+	/* The input signals still pending at this node */
+	private IntSet pendingInputs;
+
+	/* The transitions enabled at this node, in the order of the module's transition list */
+	private Vector<SetTransition> enabledTransitions = new Vector<SetTransition>();
+
+	/* The node reached by firing each enabled transition (the entry at index i is reached by enabled transition i) */
+	private Vector<AutoFireNode> successors = new Vector<AutoFireNode>();
+
+	/* Constructor for the node of the given state and pending inputs, which should not be modified afterwards */
+	AutoFireNode(int state, IntSet pendingInputs) {
+		this.state=state;
+		this.pendingInputs=pendingInputs;
+	}
+
+	/* Adds an enabled transition, and the node reached by firing it */
+	void addSuccessor(SetTransition transition, AutoFireNode successor) {
+		enabledTransitions.add(transition);
+		successors.add(successor);
+	}
+
+	/* Returns the state of the module at this node */
+	public int getState() {
+		return state;
+	}
+
+	/* Returns the input signals still pending at this node. This must not be modified */
+	public IntSet getPendingInputs() {
+		return pendingInputs;
+	}
+
+	/* Returns the number of transitions enabled at this node */
+	public int getNoOfEnabledTransitions() {
+		return enabledTransitions.size();
+	}
+
+	/* Returns the enabled transition at the given index */
+	public SetTransition getEnabledTransition(int index) {
+		return enabledTransitions.get(index);
+	}
+
+	/* Returns the node reached by firing the enabled transition at the given index */
+	public AutoFireNode getSuccessor(int index) {
+		return successors.get(index);
+	}
+
+	/* Checks whether this node is the end of an autopath, which is when no transitions are enabled */
+	public boolean terminal() {
+		return enabledTransitions.size()==0;
+	}
+
+	/* Lists every autopath from this node, each one following on from the given path (which is not modified).
+	 * The paths are listed depth first, following the enabled transitions in order at each node */
+	public Vector<Vector<SetTransition>> listPaths(Vector<SetTransition> pathHere) {
+		Vector<Vector<SetTransition>> paths = new Vector<Vector<SetTransition>>();
+		Vector<SetTransition> currentPath = new Vector<SetTransition>(pathHere);
+		addPaths(currentPath,paths);
+		return paths;
+	}
+
+	/* Adds a copy of every autopath from this node, following on from the given path, to the given list.
+	 * The given path is extended while each successor is visited, and restored before returning */
+	private void addPaths(Vector<SetTransition> currentPath, Vector<Vector<SetTransition>> paths) {
+		if(terminal()){
+			paths.add(new Vector<SetTransition>(currentPath));
+			return;
+		}
+		for(int i=0;i<enabledTransitions.size();i++){
+			currentPath.add(enabledTransitions.get(i));
+			successors.get(i).addPaths(currentPath,paths);
+			currentPath.remove(currentPath.size()-1);
+		}
+	}
+
+}
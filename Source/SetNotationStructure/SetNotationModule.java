@@ -1,7 +1,9 @@
 package SetNotationStructure;
 
+import java.util.HashMap;
 import java.util.Vector;
 import CommonStructures.IntSet;
+import CommonStructures.PermutationIterator;
 
 /* Encapsulates an entire Set Notation module definition. It contains lists of input, output
  * and state names, and a list of transitions. The transitions themselves utilise int values,
@@ -20,6 +22,10 @@ public class SetNotationModule {
 	/* The list of transitions */
 	private Vector<SetTransition> transitions = new Vector<SetTransition>();
 
+	/* The nodes of the graph of auto-fire paths built so far (see AutoFireNode), indexed by state and then by the
+	 * set of pending inputs. This is a cache, which is discarded whenever the transitions change (see transitionsChanged) */
+	private HashMap<Integer,HashMap<IntSet,AutoFireNode>> autoFireNodes = new HashMap<Integer,HashMap<IntSet,AutoFireNode>>();
+
 	/* Return a deep copy of this definition */
 	public SetNotationModule deepCopy(){
 		SetNotationModule copy= new SetNotationModule();
@@ -77,6 +83,7 @@ public class SetNotationModule {
 	public boolean addTransition(SetTransition transition){
 		if(!transitionExists(transition)){
 			transitions.add(transition);
+			transitionsChanged();
 			return true;
 		}
 		return false;
@@ -146,17 +153,10 @@ public class SetNotationModule {
 				/* Retrieve the input set */
 				IntSet inputs = transitionsByState.get(j).getInputSet();
 				
-				/* Find all autopaths which are fired as a result of sending this input set
-				 * in this state */
-				Vector<Vector<SetTransition>> pathsFromHere = getAutoFiredPaths(i,inputs,new Vector<SetTransition>());
-				
-				/* For each autopath */
-				for(int k=0;k<pathsFromHere.size();k++){
-					
-					/* Check that there is not an auto-clash on this path */
-					if(checkAutoPathClash(pathsFromHere.get(k), new IntSet())){
-						return true;
-					}
+				/* Check that there is not an auto-clash on any autopath which is fired as a result of
+				 * sending this input set in this state */
+				if(autoPathClashes(getAutoFireNode(i,inputs),new IntSet())){
+					return true;
 				}
 			}
 		}
@@ -176,15 +176,14 @@ public class SetNotationModule {
 				/* Retrieve the input set */
 				IntSet inputs = transitionsByState.get(j).getInputSet();
 				
-				/* Find all autopaths which are fired as a result of sending this input set
+				/* Find the autopaths which are fired as a result of sending this input set
 				 * in this state */
-				Vector<Vector<SetTransition>> pathsFromHere = getAutoFiredPaths(i,inputs,new Vector<SetTransition>());
+				AutoFireNode start = getAutoFireNode(i,inputs);
 				
-				/* For each autopath */
-				for(int k=0;k<pathsFromHere.size();k++){
-					
-					/* If the length of the path is longer than 1, then it is auto-firing by definition */
-					if(pathsFromHere.get(k).size()>1){
+				/* If any autopath is longer than 1, then it is auto-firing by definition. This is
+				 * the case if a second transition is enabled after any first one */
+				for(int k=0;k<start.getNoOfEnabledTransitions();k++){
+					if(!start.getSuccessor(k).terminal()){
 						return true;
 					}
 				}
@@ -194,44 +193,29 @@ public class SetNotationModule {
 	}
 
 	/* This checks how many permutations/sequences are "available" to sequentially-implement a given action in a given state, 
-	 * after ruling out permutations due to smaller input sets which are a subset. It is used by SetToSeqConversion */
+	 * after ruling out permutations due to smaller input sets which are a subset. It is used by SetToSeqConversion.
+	 * A permutation is ruled out if some permutation of a smaller input set is a prefix of it, or equivalently if its
+	 * first elements are exactly that smaller set, so the permutations are counted without generating those ruled out */
 	public int availablePermutations(IntSet inputs, int state){
 		
 		/* Retrieve all lists of sublists of transitions for the given state, where a sublist of transitions
 		 * all share the same input set */
 		Vector<Vector<SetTransition>> aggregatedByInputSets = aggregateTransitionsByInputSet(state);
 		
-		/* Retrieve all sequences/permutations of the given input set */
-		Vector<IntSet> availablePermutations=inputs.permutations();
-		
-		/* For each sublist of transitions */
+		/* Collect the input sets of each sublist of transitions which are a proper subset of the given input set,
+		 * as these are noteworthy and will affect the number of available permutations */
+		Vector<IntSet> smallerInputSets = new Vector<IntSet>();
 		for(int i=0;i<aggregatedByInputSets.size();i++){
-			
-			/* Retrieve the input set shared by this sublist of transitions */
 			IntSet currentInputSet = aggregatedByInputSets.get(i).get(0).getInputSet();
-			
-			/* If this input set is a proper subset of the given input set, it is noteworthy
-			 * and will affect the number of available permutations */
 			if(currentInputSet.properSubset(inputs)){
-				
-				/* Retrieve all sequences/permutations of the smaller input set */
-				Vector<IntSet> permutationsForSmallerSet = currentInputSet.permutations();
-				
-				/* For every sequence/permutation of the smaller set */
-				for(int j=0;j<permutationsForSmallerSet.size();j++){
-					IntSet currentPermutation = permutationsForSmallerSet.get(j);
-					
-					/* Iterate through each currently "available" sequences/permutations of the larger
-					 * set, and remove it if the current smaller permutation is a prefix of the larger permutation */
-					for(int k=availablePermutations.size()-1;k>=0;k--){
-						if(currentPermutation.prefix(availablePermutations.get(k))){
-							availablePermutations.remove(k);
-						}
-					}
-				}
+				smallerInputSets.add(currentInputSet);
 			}
 		}
-		return availablePermutations.size();
+		
+		/* Count the sequences/permutations of the given input set which do not start with any of the smaller input sets */
+		PermutationIterator availablePermutations = inputs.permutationIterator();
+		availablePermutations.excludePrefixSets(smallerInputSets);
+		return availablePermutations.countRemaining();
 	}
 
 	/* Checks whether a module is arb in the expected way by comparing input sets of transitions */
@@ -271,6 +255,36 @@ public class SetNotationModule {
 		return false;
 	}
 
+	/* Checks whether any autopath from the given node of the graph of auto-fire paths can lead to an output clash
+	 * with whatever output lines already contain signals (given by the accumulated outputs). This is checkAutoPathClash
+	 * applied to every autopath, but the paths share their common prefixes and the search stops at the first clash.
+	 * The accumulated outputs are extended while each transition is followed, and restored before returning */
+	private boolean autoPathClashes(AutoFireNode node, IntSet accumulatedOutputs){
+		for(int i=0;i<node.getNoOfEnabledTransitions();i++){
+			IntSet currentOutputs = node.getEnabledTransition(i).getOutputSet();
+			boolean clash = false;
+			int added = 0;
+			for(int j=0;j<currentOutputs.size();j++){
+				if(accumulatedOutputs.contains(currentOutputs.get(j))!=-1){
+					clash=true;
+					break;
+				}
+				accumulatedOutputs.add(currentOutputs.get(j));
+				added++;
+			}
+			if(!clash){
+				clash=autoPathClashes(node.getSuccessor(i),accumulatedOutputs);
+			}
+			for(int j=0;j<added;j++){
+				accumulatedOutputs.remove(currentOutputs.get(j));
+			}
+			if(clash){
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/* Checks whether processing a given autopath can result in non-safety. It simply iterates through
 	 * each transition, removing inputs which are pending at each point (as they have been
 	 * absorbed by the module) and then checking that safety holds for the current state
@@ -434,57 +448,45 @@ public class SetNotationModule {
 		return false;
 	}
 
-	/* Retrieves the set of autopaths for a given state and set of pending input signals. The algorithm
-	 * works by checking to see what transitions are enabled in each state, then branching and recursing 
-	 * until no more transitions can be processed. Effectively an exhaustive "depth" first search */
-	public Vector<Vector<SetTransition>> getAutoFiredPaths(int state, IntSet pendingInputs, Vector<SetTransition> pathHere){
-		
-		/* Work out which transitions may fire in this state */
-		Vector<SetTransition> transitionsFromHere = getTransitionsWithSource(state);
-		
-		/* This is a global list of paths to return up the stack */
-		Vector<Vector<SetTransition>> pathsToReturn = new Vector<Vector<SetTransition>>();
+	/* Retrieves the node of the graph of auto-fire paths (see AutoFireNode) for a given state and set of pending
+	 * input signals. The algorithm works by checking to see what transitions are enabled in the state, then
+	 * retrieving the node reached by each of them in the same way, until no more transitions can be processed.
+	 * Effectively an exhaustive "depth" first search, except that every node is kept, so a state which is reached
+	 * again with the same inputs pending (by this or any later search) is not searched again */
+	public synchronized AutoFireNode getAutoFireNode(int state, IntSet pendingInputs){
+		HashMap<IntSet,AutoFireNode> nodesForState = autoFireNodes.get(state);
+		if(nodesForState==null){
+			nodesForState = new HashMap<IntSet,AutoFireNode>();
+			autoFireNodes.put(state,nodesForState);
+		}
+		AutoFireNode node = nodesForState.get(pendingInputs);
+		if(node!=null){
+			return node;
+		}
 
-		/* Assume that this path terminates here */
-		boolean thisPathTerminatesHere = true;
-		
-		/* For every transition which may occur from here */
+		/* The node keeps its own copy of the pending inputs, as it is also their key in the cache */
+		IntSet pendingHere = pendingInputs.deepCopy();
+		node = new AutoFireNode(state,pendingHere);
+
+		/* For every transition which may occur from here, check if it is "enabled", and if it is, work out the
+		 * node reached by firing it, with the now remaining pending inputs (after processing this transition) */
+		Vector<SetTransition> transitionsFromHere = getTransitionsWithSource(state);
 		for(int i=0;i<transitionsFromHere.size();i++){
 			SetTransition currentTransition = transitionsFromHere.get(i);
-			
-			/* Check if it is "enabled" */
-			if(currentTransition.getInputSet().subset(pendingInputs)){
-				
-				/* If it is, the path clearly doesn't terminate here, and continues to the next state */
-				thisPathTerminatesHere=false;
-				
-				/* Make a copy of the path that has led to this state, and add the new transition to the end
-				 * of it */
-				Vector<SetTransition> pathHereAndNewTransition = new Vector<SetTransition>();
-				for(int j=0;j<pathHere.size();j++){
-					pathHereAndNewTransition.add(pathHere.get(j));
-				}				
-				pathHereAndNewTransition.add(currentTransition);
-				
-				/* Work out the now remaining pending inputs (after processing this transition) */
-				IntSet remainingPendingInputs = pendingInputs.setDifference(currentTransition.getInputSet());
-				
-				/* Recurse, and see what options there are for the path to continue. It may possibly branch
-				 * and return multiple paths */
-				Vector<Vector<SetTransition>> pathsHereAndOnwards = getAutoFiredPaths
-						(currentTransition.getResultState(),remainingPendingInputs,pathHereAndNewTransition);
-				
-				/* These "continued" paths are sent back up the stack */
-				for(int j=0;j<pathsHereAndOnwards.size();j++){
-					pathsToReturn.add(pathsHereAndOnwards.get(j));
-				}
+			if(currentTransition.getInputSet().subset(pendingHere)){
+				IntSet remainingPendingInputs = pendingHere.setDifference(currentTransition.getInputSet());
+				node.addSuccessor(currentTransition,getAutoFireNode(currentTransition.getResultState(),remainingPendingInputs));
 			}
 		}
-		
-		if(thisPathTerminatesHere){
-			pathsToReturn.add(pathHere);
-		}
-		return pathsToReturn;
+		nodesForState.put(pendingHere,node);
+		return node;
+	}
+
+	/* Retrieves the set of autopaths for a given state and set of pending input signals, each following on from
+	 * the given path. The paths are listed from the graph of auto-fire paths (see getAutoFireNode), so those
+	 * which only need to check or count the paths should use the graph directly rather than listing them */
+	public Vector<Vector<SetTransition>> getAutoFiredPaths(int state, IntSet pendingInputs, Vector<SetTransition> pathHere){
+		return getAutoFireNode(state,pendingInputs).listPaths(pathHere);
 	}
 
 	/* Get the index value of a given input name in the overall input name list */
@@ -618,6 +620,7 @@ public class SetNotationModule {
 		for(int i=0;i<transitions.size();i++){
 			transitions.get(i).invert();
 		}
+		transitionsChanged();
 	}
 
 	/* Retrieves the number of transitions which share a particular state and input set. 
@@ -657,11 +660,13 @@ public class SetNotationModule {
 	/* Removes the state name at the specified index in the state name list */
 	public void removeStateName(int index) {
 		stateNames.remove(index);
+		transitionsChanged();
 	}
 
 	/* Removes the transition at the specified index in the transition list */
 	public void removeTransition(int index) {
 		transitions.remove(index);
+		transitionsChanged();
 	}
 
 	/* Replaces the state name at the specified index in the state name list */
@@ -682,6 +687,14 @@ public class SetNotationModule {
 		return false;
 	}
 
+	/* Discards the graph of auto-fire paths built so far. This is called whenever a transition is added, removed or
+	 * changed, and must also be called after modifying the input or output set of a transition in place */
+	public synchronized void transitionsChanged(){
+		if(autoFireNodes.size()>0){
+			autoFireNodes = new HashMap<Integer,HashMap<IntSet,AutoFireNode>>();
+		}
+	}
+
 	/* This checks whether the transition list contains the given transition. It helps
 	 * with maintaining uniqueness */
 	private boolean transitionExists(SetTransition transition){
@@ -703,16 +716,46 @@ public class SetNotationModule {
 			return 1;
 		}
 		
-		Vector<Vector<SetTransition>> autoPaths= getAutoFiredPaths(state,inputSet,new Vector<SetTransition>());
-		for(int i=0;i<autoPaths.size();i++){
-			if(!checkAutoPathSafe(autoPaths.get(i),inputSet)){
+		return autoPathViolation(getAutoFireNode(state,inputSet),currentTravellingOutputs.deepCopy(),false);
+	}
+
+	/* Finds the first autopath from the given node of the graph of auto-fire paths (in the order of getAutoFiredPaths)
+	 * which results in non-safety or an output clash, and returns 1 or 2 respectively (with non-safety taking priority
+	 * on the same path), or 0 if there is none. This is checkAutoPathSafe and checkAutoPathClash applied to every autopath,
+	 * but the paths share their common prefixes. The node is reached along a path which has already clashed if the given
+	 * flag is set, and otherwise the outputs accumulated along it are given, which are restored before returning */
+	private int autoPathViolation(AutoFireNode node, IntSet accumulatedOutputs, boolean clashed){
+		if(node.terminal()){
+			return clashed ? 2 : 0;
+		}
+		for(int i=0;i<node.getNoOfEnabledTransitions();i++){
+			SetTransition currentTransition = node.getEnabledTransition(i);
+			AutoFireNode successor = node.getSuccessor(i);
+
+			/* Every path through an unsafe node results in non-safety */
+			if(!safelyDefined(successor.getPendingInputs(),successor.getState())){
 				return 1;
 			}
-			if(checkAutoPathClash(autoPaths.get(i),currentTravellingOutputs)){
-				return 2;
+			boolean clash = clashed;
+			int added = 0;
+			IntSet currentOutputs = currentTransition.getOutputSet();
+			for(int j=0;j<currentOutputs.size() && !clash;j++){
+				if(accumulatedOutputs.contains(currentOutputs.get(j))!=-1){
+					clash=true;
+				}
+				else{
+					accumulatedOutputs.add(currentOutputs.get(j));
+					added++;
+				}
+			}
+			int violation = autoPathViolation(successor,accumulatedOutputs,clash);
+			for(int j=0;j<added;j++){
+				accumulatedOutputs.remove(currentOutputs.get(j));
+			}
+			if(violation!=0){
+				return violation;
 			}
 		}
-
 		return 0;
 	}
 
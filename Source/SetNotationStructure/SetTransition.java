@@ -67,6 +67,7 @@ public class SetTransition {
 		IntSet tempSetSwap= inputSet;
 		inputSet=outputSet;
 		outputSet=tempSetSwap;
+		moduleChanged();
 	}
 	
 	/* Prints the transition in the form of an action (A,B).q' - using literal
@@ -83,11 +84,21 @@ public class SetTransition {
 	/* Sets the target state to the specified state value */
 	public void setTargetState(int i) {
 		resultState=i;
+		moduleChanged();
 	}
 
 	/* Sets the source state to the specified state value */
 	public void setSourceState(int i) {
 		sourceState=i;
+		moduleChanged();
+	}
+
+	/* Lets the module know that one of its transitions has changed, so that it discards anything
+	 * it has worked out from them */
+	private void moduleChanged() {
+		if(setModule!=null){
+			setModule.transitionsChanged();
+		}
 	}
 
 	/* Compares for equality against the passed transition - this helps maintain uniqueness of